@@ -0,0 +1,31 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+
+final class BenchmarkPaths {
+    static final TrajectoryConstraint[] CONSTRAINTS = {
+            new CentripetalAccelerationConstraint(7.5),
+            new MaxAccelerationConstraint(30.0),
+            new FeedforwardConstraint(10.0, 0.8, 0.1, true)
+    };
+
+    private BenchmarkPaths() {
+    }
+
+    /**
+     * Creates an S-shaped path made out of hermite splines.
+     *
+     * @param segments the number of splines in the path. Each spline is about 15 units long.
+     * @return the path
+     */
+    static Path create(int segments) {
+        SplinePathBuilder builder = new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d());
+        for (int i = 1; i <= segments; i++) {
+            builder.hermite(new Translation2d(10.0 * i, i % 2 == 0 ? 0.0 : 10.0), new Rotation2d(),
+                    Rotation2d.fromDegrees(90.0 * i));
+        }
+
+        return builder.build();
+    }
+}
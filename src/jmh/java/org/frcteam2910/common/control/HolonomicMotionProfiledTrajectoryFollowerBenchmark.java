@@ -0,0 +1,52 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.util.DrivetrainFeedforwardConstants;
+import org.frcteam2910.common.util.HolonomicDriveSignal;
+import org.frcteam2910.common.util.HolonomicFeedforward;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolonomicMotionProfiledTrajectoryFollowerBenchmark {
+    private static final double DT = 5.0e-3;
+
+    private final Pose2d pose = new Pose2d(new Translation2d(0.1, -0.1), Rotation2d.fromDegrees(5.0));
+    private final Translation2d velocity = new Translation2d(1.0, 0.0);
+
+    private HolonomicMotionProfiledTrajectoryFollower follower;
+    private Trajectory trajectory;
+    private double time = 0.0;
+
+    @Setup
+    public void setup() {
+        follower = new HolonomicMotionProfiledTrajectoryFollower(
+                new PidConstants(0.4, 0.0, 0.025),
+                new PidConstants(5.0, 0.0, 0.0),
+                new HolonomicFeedforward(new DrivetrainFeedforwardConstants(0.042746, 0.0032181, 0.30764))
+        );
+        trajectory = new Trajectory(BenchmarkPaths.create(5), BenchmarkPaths.CONSTRAINTS, 1.0e-2);
+        follower.follow(trajectory);
+    }
+
+    @Benchmark
+    public Optional<HolonomicDriveSignal> update() {
+        time += DT;
+        if (time > trajectory.getDuration()) {
+            // Restart the trajectory so every update does the full amount of work
+            time = 0.0;
+            follower.follow(trajectory);
+        }
+
+        return follower.update(pose, velocity, 0.0, time, DT);
+    }
+}
@@ -0,0 +1,60 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.math.spline.CubicHermiteSpline;
+import org.frcteam2910.common.math.spline.Spline;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathBenchmark {
+    private Spline spline;
+    private Path path;
+    private double distance = 0.0;
+
+    @Setup
+    public void setup() {
+        spline = new CubicHermiteSpline(new Translation2d(), new Rotation2d(),
+                new Translation2d(50.0, 50.0), Rotation2d.fromDegrees(90.0));
+        path = BenchmarkPaths.create(10);
+    }
+
+    /**
+     * Measures the arc length calculation done the first time {@link SplinePathSegment#getLength()} is called.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double splinePathSegmentGetLength() {
+        return new SplinePathSegment(spline).getLength();
+    }
+
+    @Benchmark
+    public Path.State calculate() {
+        distance += 0.01;
+        if (distance > path.getLength()) {
+            distance = 0.0;
+        }
+
+        return path.calculate(distance);
+    }
+
+    @Benchmark
+    public double project() {
+        distance += 0.01;
+        if (distance > path.getLength()) {
+            distance = 0.0;
+        }
+
+        // Project a point just off the path so the search has to do some work
+        Path.State state = path.calculate(distance);
+        return path.project(state.getPosition().plus(new Translation2d(0.1, state.getHeading().rotateBy(
+                Rotation2d.fromDegrees(90.0)))));
+    }
+}
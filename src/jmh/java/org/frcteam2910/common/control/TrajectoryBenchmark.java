@@ -0,0 +1,53 @@
+package org.frcteam2910.common.control;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrajectoryBenchmark {
+    @Param({"1", "5", "20"})
+    public int pathSegments;
+
+    @Param({"0.1", "0.01"})
+    public double sampleDistance;
+
+    private Path path;
+
+    @Setup
+    public void setup() {
+        path = BenchmarkPaths.create(pathSegments);
+    }
+
+    @Benchmark
+    public Trajectory construct() {
+        return new Trajectory(path, BenchmarkPaths.CONSTRAINTS, sampleDistance);
+    }
+
+    @State(Scope.Thread)
+    public static class CalculateState {
+        private Trajectory trajectory;
+        private double time = 0.0;
+
+        @Setup
+        public void setup(TrajectoryBenchmark benchmark) {
+            trajectory = new Trajectory(benchmark.path, BenchmarkPaths.CONSTRAINTS, benchmark.sampleDistance);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Trajectory.State calculate(CalculateState state) {
+        state.time += 5.0e-3;
+        if (state.time > state.trajectory.getDuration()) {
+            state.time = 0.0;
+        }
+
+        return state.trajectory.calculate(state.time);
+    }
+}
@@ -0,0 +1,63 @@
+package org.frcteam2910.common.math.spline;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplineBenchmark {
+    @Param({"cubicHermite", "cubicBezier", "quinticBezier"})
+    public String splineType;
+
+    private Spline spline;
+    private double t = 0.0;
+
+    @Setup
+    public void setup() {
+        switch (splineType) {
+            case "cubicHermite":
+                spline = new CubicHermiteSpline(new Translation2d(), new Rotation2d(),
+                        new Translation2d(50.0, 50.0), Rotation2d.fromDegrees(90.0));
+                break;
+            case "cubicBezier":
+                spline = new CubicBezierSpline(new Translation2d(), new Translation2d(5.0, 0.0),
+                        new Translation2d(45.0, 50.0), new Translation2d(50.0, 50.0));
+                break;
+            case "quinticBezier":
+                spline = new QuinticBezierSpline(new Translation2d(), new Translation2d(5.0, 0.0),
+                        new Translation2d(10.0, 5.0), new Translation2d(40.0, 45.0), new Translation2d(45.0, 50.0),
+                        new Translation2d(50.0, 50.0));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown spline type " + splineType);
+        }
+
+        // Make sure the cached derivatives are calculated before measuring
+        spline.getCurvature(0.0);
+    }
+
+    private double nextT() {
+        t += 0.001;
+        if (t > 1.0) {
+            t = 0.0;
+        }
+        return t;
+    }
+
+    @Benchmark
+    public Translation2d getPoint() {
+        return spline.getPoint(nextT());
+    }
+
+    @Benchmark
+    public double getCurvature() {
+        return spline.getCurvature(nextT());
+    }
+}
@@ -0,0 +1,117 @@
+package org.frcteam2910.common.control;
+
+import org.frcteam2910.common.metrics.LatencyHistogram;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming statistics of the magnitude of an error signal.
+ * <p>
+ * Errors are recorded by a single thread. Any number of threads may read the statistics at the same time without
+ * locking. Percentiles are tracked with a {@link LatencyHistogram} at a resolution of {@value #RESOLUTION} units.
+ */
+public final class ErrorStatistics {
+    /**
+     * The smallest error that can be told apart in percentiles.
+     */
+    public static final double RESOLUTION = 1.0e-6;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /**
+     * Odd while the producer is updating the statistics. Readers retry until they see the same even version before
+     * and after reading.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    private long count = 0;
+    private double sumOfSquares = 0.0;
+    private double max = 0.0;
+
+    /**
+     * Records an error. Must only be called from a single thread.
+     *
+     * @param error the error to record
+     */
+    public void record(double error) {
+        error = Math.abs(error);
+
+        long currentVersion = version.get();
+        version.set(currentVersion + 1);
+        VarHandle.releaseFence();
+        count++;
+        sumOfSquares += error * error;
+        max = Math.max(max, error);
+        version.set(currentVersion + 2);
+
+        histogram.record((long) Math.min(error / RESOLUTION, Long.MAX_VALUE));
+    }
+
+    /**
+     * Clears the statistics. Must only be called from the thread that records errors.
+     */
+    public void reset() {
+        long currentVersion = version.get();
+        version.set(currentVersion + 1);
+        VarHandle.releaseFence();
+        count = 0;
+        sumOfSquares = 0.0;
+        max = 0.0;
+        version.set(currentVersion + 2);
+
+        histogram.reset();
+    }
+
+    public long getCount() {
+        while (true) {
+            long startVersion = version.get();
+            long value = count;
+            if (isConsistent(startVersion)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Gets the root mean square of every recorded error.
+     *
+     * @return the RMS error or 0 if no errors were recorded
+     */
+    public double getRms() {
+        while (true) {
+            long startVersion = version.get();
+            long currentCount = count;
+            double currentSumOfSquares = sumOfSquares;
+            if (isConsistent(startVersion)) {
+                return currentCount == 0 ? 0.0 : Math.sqrt(currentSumOfSquares / currentCount);
+            }
+        }
+    }
+
+    public double getMax() {
+        while (true) {
+            long startVersion = version.get();
+            double value = max;
+            if (isConsistent(startVersion)) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Gets the error at a percentile.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the error at the percentile, accurate to within a few percent
+     */
+    public double getPercentile(double percentile) {
+        return histogram.snapshot().getValueAtPercentile(percentile) * RESOLUTION;
+    }
+
+    private boolean isConsistent(long startVersion) {
+        // Make sure the reads of the statistics are not moved after the version is read again
+        VarHandle.acquireFence();
+        return (startVersion & 1) == 0 && version.get() == startVersion;
+    }
+}
@@ -0,0 +1,152 @@
+package org.frcteam2910.common.control;
+
+import org.frcteam2910.common.io.ReplayLog;
+import org.frcteam2910.common.util.HolonomicDriveSignal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Replays logged follower inputs through a follower and checks that it returns exactly the logged drive signals.
+ * <p>
+ * Updates are replayed back to back using the logged times so a replay takes as long as the follower takes to
+ * calculate, not as long as the original run. Drive signals are compared bit for bit, so any change to a controller
+ * that changes its output even slightly is reported. Many logs can be replayed in parallel with
+ * {@link #replayAll(List, int)}, which makes a directory of logs usable as a regression suite for follower changes.
+ */
+public final class FollowerReplay {
+    private FollowerReplay() {
+    }
+
+    /**
+     * Replays a log.
+     *
+     * @param follower the follower to replay through. It must already be following the trajectory the log was
+     *                 recorded with.
+     * @param log      the log to replay
+     * @return the result of the replay
+     */
+    public static Result replay(TrajectoryFollower<HolonomicDriveSignal> follower, ReplayLog log) {
+        int mismatches = 0;
+        int firstMismatch = -1;
+        for (int i = 0; i < log.getUpdateCount(); i++) {
+            Optional<HolonomicDriveSignal> signal = follower.update(log.getPose(i), log.getVelocity(i),
+                    log.getRotationalVelocity(i), log.getTime(i), log.getDt(i));
+
+            if (!signalsAreIdentical(log.getSignal(i), signal.orElse(null))) {
+                mismatches++;
+                if (firstMismatch == -1) {
+                    firstMismatch = i;
+                }
+            }
+        }
+
+        return new Result(log.getUpdateCount(), mismatches, firstMismatch);
+    }
+
+    /**
+     * Replays many logs in parallel. Every case gets its own follower so cases do not share any state.
+     *
+     * @param cases   the cases to replay
+     * @param threads the number of threads to replay on
+     * @return the result of every case in the same order as the cases
+     */
+    public static List<Result> replayAll(List<Case> cases, int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Result>> futures = new ArrayList<>(cases.size());
+            for (Case replayCase : cases) {
+                futures.add(executor.submit(() -> replay(replayCase.followerFactory.get(), replayCase.log)));
+            }
+
+            List<Result> results = new ArrayList<>(cases.size());
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while replaying logs");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static boolean signalsAreIdentical(HolonomicDriveSignal expected, HolonomicDriveSignal actual) {
+        if (expected == null || actual == null) {
+            return expected == actual;
+        }
+
+        return bitsAreEqual(expected.getTranslation().getX(), actual.getTranslation().getX()) &&
+                bitsAreEqual(expected.getTranslation().getY(), actual.getTranslation().getY()) &&
+                bitsAreEqual(expected.getRotation(), actual.getRotation()) &&
+                expected.isFieldOriented() == actual.isFieldOriented();
+    }
+
+    private static boolean bitsAreEqual(double a, double b) {
+        return Double.doubleToRawLongBits(a) == Double.doubleToRawLongBits(b);
+    }
+
+    /**
+     * A log to replay along with a way to create the follower to replay it through.
+     */
+    public static final class Case {
+        private final ReplayLog log;
+        private final Supplier<? extends TrajectoryFollower<HolonomicDriveSignal>> followerFactory;
+
+        /**
+         * @param log             the log to replay
+         * @param followerFactory creates a follower that is already following the trajectory the log was recorded
+         *                        with
+         */
+        public Case(ReplayLog log, Supplier<? extends TrajectoryFollower<HolonomicDriveSignal>> followerFactory) {
+            this.log = log;
+            this.followerFactory = followerFactory;
+        }
+
+        public ReplayLog getLog() {
+            return log;
+        }
+    }
+
+    public static final class Result {
+        private final int updateCount;
+        private final int mismatchCount;
+        private final int firstMismatch;
+
+        public Result(int updateCount, int mismatchCount, int firstMismatch) {
+            this.updateCount = updateCount;
+            this.mismatchCount = mismatchCount;
+            this.firstMismatch = firstMismatch;
+        }
+
+        public int getUpdateCount() {
+            return updateCount;
+        }
+
+        public int getMismatchCount() {
+            return mismatchCount;
+        }
+
+        /**
+         * Gets the index of the first update whose drive signal did not match the log.
+         *
+         * @return the index of the first mismatch or -1 if every update matched
+         */
+        public int getFirstMismatch() {
+            return firstMismatch;
+        }
+
+        public boolean isIdentical() {
+            return mismatchCount == 0;
+        }
+    }
+}
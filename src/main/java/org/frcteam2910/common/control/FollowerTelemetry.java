@@ -0,0 +1,227 @@
+package org.frcteam2910.common.control;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A ring buffer of the inputs and outputs of every update of a {@link HolonomicMotionProfiledTrajectoryFollower}.
+ * <p>
+ * The follower is the only writer. Any number of threads may read samples at the same time without locking and
+ * without slowing the follower down. A sample that is overwritten while it is being read is reported as unavailable
+ * instead of being returned torn. Streaming statistics of the tracking error are kept alongside the buffer.
+ */
+public final class FollowerTelemetry {
+    private static final int TIME = 0;
+    private static final int SETPOINT_X = 1;
+    private static final int SETPOINT_Y = 2;
+    private static final int SETPOINT_ROTATION = 3;
+    private static final int MEASURED_X = 4;
+    private static final int MEASURED_Y = 5;
+    private static final int MEASURED_ROTATION = 6;
+    private static final int FORWARD_P = 7;
+    private static final int FORWARD_I = 8;
+    private static final int FORWARD_D = 9;
+    private static final int STRAFE_P = 10;
+    private static final int STRAFE_I = 11;
+    private static final int STRAFE_D = 12;
+    private static final int ROTATION_P = 13;
+    private static final int ROTATION_I = 14;
+    private static final int ROTATION_D = 15;
+    private static final int FEEDFORWARD_X = 16;
+    private static final int FEEDFORWARD_Y = 17;
+    private static final int FIELD_COUNT = 18;
+
+    private final int capacity;
+    private final int mask;
+
+    private final double[] data;
+    /**
+     * The version of each slot. While sample {@code n} is being written to its slot the version is {@code 2n + 1} and
+     * once it has been written it is {@code 2n + 2}.
+     */
+    private final AtomicLongArray slotVersions;
+    /**
+     * The sequence number the next sample will be written with.
+     */
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    private final ErrorStatistics translationError = new ErrorStatistics();
+    private final ErrorStatistics rotationError = new ErrorStatistics();
+
+    /**
+     * @param capacity the number of samples to keep. Must be a power of two.
+     */
+    public FollowerTelemetry(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.data = new double[capacity * FIELD_COUNT];
+        this.slotVersions = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Records a sample. Must only be called from a single thread.
+     */
+    void record(double time, double setpointX, double setpointY, double setpointRotation,
+                double measuredX, double measuredY, double measuredRotation,
+                PidController forwardController, PidController strafeController, PidController rotationController,
+                double feedforwardX, double feedforwardY) {
+        long sequence = nextSequence.get();
+        int slot = (int) (sequence & mask);
+        int offset = slot * FIELD_COUNT;
+
+        slotVersions.set(slot, 2 * sequence + 1);
+        VarHandle.releaseFence();
+
+        data[offset + TIME] = time;
+        data[offset + SETPOINT_X] = setpointX;
+        data[offset + SETPOINT_Y] = setpointY;
+        data[offset + SETPOINT_ROTATION] = setpointRotation;
+        data[offset + MEASURED_X] = measuredX;
+        data[offset + MEASURED_Y] = measuredY;
+        data[offset + MEASURED_ROTATION] = measuredRotation;
+        data[offset + FORWARD_P] = forwardController.getLastProportionalTerm();
+        data[offset + FORWARD_I] = forwardController.getLastIntegralTerm();
+        data[offset + FORWARD_D] = forwardController.getLastDerivativeTerm();
+        data[offset + STRAFE_P] = strafeController.getLastProportionalTerm();
+        data[offset + STRAFE_I] = strafeController.getLastIntegralTerm();
+        data[offset + STRAFE_D] = strafeController.getLastDerivativeTerm();
+        data[offset + ROTATION_P] = rotationController.getLastProportionalTerm();
+        data[offset + ROTATION_I] = rotationController.getLastIntegralTerm();
+        data[offset + ROTATION_D] = rotationController.getLastDerivativeTerm();
+        data[offset + FEEDFORWARD_X] = feedforwardX;
+        data[offset + FEEDFORWARD_Y] = feedforwardY;
+
+        slotVersions.setRelease(slot, 2 * sequence + 2);
+        nextSequence.setRelease(sequence + 1);
+
+        translationError.record(Math.hypot(setpointX - measuredX, setpointY - measuredY));
+        rotationError.record(Math.IEEEremainder(setpointRotation - measuredRotation, 2.0 * Math.PI));
+    }
+
+    /**
+     * Clears the error statistics. Samples that were already recorded stay readable.
+     */
+    void resetStatistics() {
+        translationError.reset();
+        rotationError.reset();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the sequence number of the most recently recorded sample.
+     *
+     * @return the latest sequence number or -1 if nothing has been recorded
+     */
+    public long getLatestSequence() {
+        return nextSequence.getAcquire() - 1;
+    }
+
+    /**
+     * Gets the sequence number of the oldest sample that has not been overwritten yet.
+     *
+     * @return the oldest available sequence number
+     */
+    public long getOldestSequence() {
+        return Math.max(0, nextSequence.getAcquire() - capacity);
+    }
+
+    /**
+     * Reads a sample.
+     *
+     * @param sequence the sequence number of the sample
+     * @param sample   the sample to read into
+     * @return false if the sample has not been recorded yet or has already been overwritten
+     */
+    public boolean read(long sequence, Sample sample) {
+        if (sequence < 0) {
+            return false;
+        }
+
+        int slot = (int) (sequence & mask);
+        int offset = slot * FIELD_COUNT;
+        long expectedVersion = 2 * sequence + 2;
+
+        if (slotVersions.getAcquire(slot) != expectedVersion) {
+            return false;
+        }
+
+        sample.sequence = sequence;
+        sample.time = data[offset + TIME];
+        sample.setpointX = data[offset + SETPOINT_X];
+        sample.setpointY = data[offset + SETPOINT_Y];
+        sample.setpointRotation = data[offset + SETPOINT_ROTATION];
+        sample.measuredX = data[offset + MEASURED_X];
+        sample.measuredY = data[offset + MEASURED_Y];
+        sample.measuredRotation = data[offset + MEASURED_ROTATION];
+        sample.forwardP = data[offset + FORWARD_P];
+        sample.forwardI = data[offset + FORWARD_I];
+        sample.forwardD = data[offset + FORWARD_D];
+        sample.strafeP = data[offset + STRAFE_P];
+        sample.strafeI = data[offset + STRAFE_I];
+        sample.strafeD = data[offset + STRAFE_D];
+        sample.rotationP = data[offset + ROTATION_P];
+        sample.rotationI = data[offset + ROTATION_I];
+        sample.rotationD = data[offset + ROTATION_D];
+        sample.feedforwardX = data[offset + FEEDFORWARD_X];
+        sample.feedforwardY = data[offset + FEEDFORWARD_Y];
+
+        // If the slot was written to while we were reading, the sample may be torn
+        VarHandle.acquireFence();
+        return slotVersions.get(slot) == expectedVersion;
+    }
+
+    /**
+     * Gets the statistics of the distance between the setpoint position and the measured position.
+     *
+     * @return the translation error statistics
+     */
+    public ErrorStatistics getTranslationError() {
+        return translationError;
+    }
+
+    /**
+     * Gets the statistics of the angle between the setpoint rotation and the measured rotation in radians.
+     *
+     * @return the rotation error statistics
+     */
+    public ErrorStatistics getRotationError() {
+        return rotationError;
+    }
+
+    /**
+     * A single update of the follower. Samples are mutable so a reader can reuse one instance for every read.
+     */
+    public static final class Sample {
+        public long sequence;
+        public double time;
+
+        public double setpointX;
+        public double setpointY;
+        public double setpointRotation;
+
+        public double measuredX;
+        public double measuredY;
+        public double measuredRotation;
+
+        public double forwardP;
+        public double forwardI;
+        public double forwardD;
+        public double strafeP;
+        public double strafeI;
+        public double strafeD;
+        public double rotationP;
+        public double rotationI;
+        public double rotationD;
+
+        public double feedforwardX;
+        public double feedforwardY;
+    }
+}
@@ -6,6 +6,11 @@ import org.frcteam2910.common.util.HolonomicDriveSignal;
 import org.frcteam2910.common.util.HolonomicFeedforward;
 
 public class HolonomicMotionProfiledTrajectoryFollower extends TrajectoryFollower<HolonomicDriveSignal> {
+    /**
+     * The number of updates kept in the telemetry buffer by default. This is about 20 seconds at a 50 Hz loop rate.
+     */
+    public static final int DEFAULT_TELEMETRY_CAPACITY = 1024;
+
     private PidController forwardController;
     private PidController strafeController;
     private PidController rotationController;
@@ -16,8 +21,18 @@ public class HolonomicMotionProfiledTrajectoryFollower extends TrajectoryFollowe
 
     private boolean finished = false;
 
+    private final FollowerTelemetry telemetry;
+
     public HolonomicMotionProfiledTrajectoryFollower(PidConstants translationConstants, PidConstants rotationConstants,
                                                      HolonomicFeedforward feedforward) {
+        this(translationConstants, rotationConstants, feedforward, DEFAULT_TELEMETRY_CAPACITY);
+    }
+
+    /**
+     * @param telemetryCapacity the number of updates to keep in the telemetry buffer. Must be a power of two.
+     */
+    public HolonomicMotionProfiledTrajectoryFollower(PidConstants translationConstants, PidConstants rotationConstants,
+                                                     HolonomicFeedforward feedforward, int telemetryCapacity) {
         this.forwardController = new PidController(translationConstants);
         this.strafeController = new PidController(translationConstants);
         this.rotationController = new PidController(rotationConstants);
@@ -25,6 +40,7 @@ public class HolonomicMotionProfiledTrajectoryFollower extends TrajectoryFollowe
         this.rotationController.setInputRange(0.0, 2.0 * Math.PI);
 
         this.feedforward = feedforward;
+        this.telemetry = new FollowerTelemetry(telemetryCapacity);
     }
 
     @Override
@@ -38,12 +54,13 @@ public class HolonomicMotionProfiledTrajectoryFollower extends TrajectoryFollowe
 
         lastState = trajectory.calculate(time);
 
-        Translation2d segment =  new Translation2d(
-                lastState.getPathState().getHeading().getCos(),
-                lastState.getPathState().getHeading().getSin());
+        double segmentX = lastState.getPathState().getHeading().getCos();
+        double segmentY = lastState.getPathState().getHeading().getSin();
 
-        Translation2d segmentVelocity = segment.times(lastState.getVelocity());
-        Translation2d segmentAcceleration = segment.times(lastState.getAcceleration());
+        Translation2d segmentVelocity = new Translation2d(segmentX * lastState.getVelocity(),
+                segmentY * lastState.getVelocity());
+        Translation2d segmentAcceleration = new Translation2d(segmentX * lastState.getAcceleration(),
+                segmentY * lastState.getAcceleration());
 
         Translation2d feedforwardVector = feedforward.calculateFeedforward(segmentVelocity, segmentAcceleration);
 
@@ -51,12 +68,24 @@ public class HolonomicMotionProfiledTrajectoryFollower extends TrajectoryFollowe
         strafeController.setSetpoint(lastState.getPathState().getPosition().getY());
         rotationController.setSetpoint(lastState.getPathState().getRotation().getRadians());
 
+        double forwardOutput = forwardController.calculate(currentPose.getTranslation().getX(), dt);
+        double strafeOutput = strafeController.calculate(currentPose.getTranslation().getY(), dt);
+        double rotationOutput = rotationController.calculate(currentPose.getRotation().getRadians(), dt);
+
+        telemetry.record(time,
+                forwardController.getSetpoint(), strafeController.getSetpoint(), rotationController.getSetpoint(),
+                currentPose.getTranslation().getX(), currentPose.getTranslation().getY(),
+                currentPose.getRotation().getRadians(),
+                forwardController, strafeController, rotationController,
+                feedforwardVector.getX(), feedforwardVector.getY());
+        logState(time, lastState, feedforwardVector.getX() * segmentX + feedforwardVector.getY() * segmentY);
+
         return new HolonomicDriveSignal(
                 new Translation2d(
-                        forwardController.calculate(currentPose.getTranslation().getX(), dt) + feedforwardVector.getX(),
-                        strafeController.calculate(currentPose.getTranslation().getY(), dt) + feedforwardVector.getY()
+                        forwardOutput + feedforwardVector.getX(),
+                        strafeOutput + feedforwardVector.getY()
                 ),
-                rotationController.calculate(currentPose.getRotation().getRadians(), dt),
+                rotationOutput,
                 true
         );
     }
@@ -65,6 +94,15 @@ public class HolonomicMotionProfiledTrajectoryFollower extends TrajectoryFollowe
         return lastState;
     }
 
+    /**
+     * Gets the telemetry of this follower. The telemetry can be read from any thread while the follower is running.
+     *
+     * @return the telemetry
+     */
+    public FollowerTelemetry getTelemetry() {
+        return telemetry;
+    }
+
     @Override
     protected boolean isFinished() {
         return finished;
@@ -75,6 +113,7 @@ public class HolonomicMotionProfiledTrajectoryFollower extends TrajectoryFollowe
         forwardController.reset();
         strafeController.reset();
         rotationController.reset();
+        telemetry.resetStatistics();
 
         finished = false;
     }
@@ -0,0 +1,21 @@
+package org.frcteam2910.common.control;
+
+/**
+ * A constraint that limits the jerk. Trajectories with this constraint have continuous acceleration.
+ */
+public class MaxJerkConstraint extends TrajectoryConstraint {
+    private final double maxJerk;
+
+    public MaxJerkConstraint(double maxJerk) {
+        if (maxJerk <= 0.0) {
+            throw new IllegalArgumentException("Max jerk must be positive");
+        }
+
+        this.maxJerk = maxJerk;
+    }
+
+    @Override
+    public double getMaxJerk(Path.State state, double velocity) {
+        return maxJerk;
+    }
+}
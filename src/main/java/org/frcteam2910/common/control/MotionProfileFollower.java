@@ -1,6 +1,8 @@
 package org.frcteam2910.common.control;
 
+import org.frcteam2910.common.io.TelemetryLogger;
 import org.frcteam2910.common.motion.MotionProfile;
+import org.frcteam2910.common.motion.TrapezoidalMotionProfile;
 
 import java.util.Optional;
 
@@ -8,6 +10,7 @@ public class MotionProfileFollower {
     private final Object profileLock = new Object();
     private MotionProfile currentMotionProfile = null;
     private double startTime = Double.NaN;
+    private double lastUpdateTime = Double.NaN;
 
     private final PidController controller;
     private final double kV;
@@ -15,6 +18,8 @@ public class MotionProfileFollower {
 
     private MotionProfile.State lastState = null;
 
+    private volatile TelemetryLogger.Channel telemetryChannel = null;
+
     public MotionProfileFollower(PidController controller, double kV, double kA) {
         this.controller = controller;
         this.kV = kV;
@@ -24,9 +29,11 @@ public class MotionProfileFollower {
     public double update(double currentPosition,
                          double time,
                          double dt) {
-        MotionProfile profile;
+        MotionProfile.State state;
         double timeSinceStart;
 
+        // The state is calculated while holding the lock so a replan always starts from the state of the profile it
+        // replaces
         synchronized (profileLock) {
             if (currentMotionProfile == null) {
                 return 0.0;
@@ -36,13 +43,17 @@ public class MotionProfileFollower {
                 startTime = time;
             }
 
-            profile = currentMotionProfile;
             timeSinceStart = time - startTime;
+            state = currentMotionProfile.calculate(timeSinceStart);
+            lastState = state;
+            lastUpdateTime = time;
         }
 
-        MotionProfile.State state = profile.calculate(timeSinceStart);
-        synchronized (profileLock) {
-            lastState = state;
+        TelemetryLogger.Channel channel = telemetryChannel;
+        if (channel != null) {
+            // Mechanism profiles have no field position
+            channel.log(timeSinceStart, Double.NaN, Double.NaN, state.position, state.velocity, state.acceleration,
+                    kV * state.velocity + kA * state.acceleration);
         }
 
         controller.setSetpoint(state.position);
@@ -56,6 +67,51 @@ public class MotionProfileFollower {
         }
     }
 
+    /**
+     * Changes the goal of the profile being followed without stopping. The new profile starts from the state that was
+     * commanded by the last update, so the next update continues from it without a jump in position or velocity.
+     * This is cheap enough to be called every loop while the goal is moving.
+     * <p>
+     * Profiles that can't be replanned themselves, like sampled profiles, are replaced by a
+     * {@link TrapezoidalMotionProfile} with the same constraints.
+     *
+     * @param goal the new goal
+     * @throws IllegalStateException if no profile is being followed
+     * @see MotionProfile#canReplan()
+     */
+    public void replan(MotionProfile.Goal goal) {
+        synchronized (profileLock) {
+            if (currentMotionProfile == null) {
+                throw new IllegalStateException("No profile is being followed");
+            }
+
+            if (Double.isNaN(startTime)) {
+                // The profile has not started yet so start the new profile where it would have
+                currentMotionProfile = replan(currentMotionProfile, currentMotionProfile.calculate(0.0), goal);
+            } else {
+                currentMotionProfile = replan(currentMotionProfile, lastState, goal);
+                startTime = lastUpdateTime;
+            }
+        }
+    }
+
+    private static MotionProfile replan(MotionProfile profile, MotionProfile.State current, MotionProfile.Goal goal) {
+        if (profile.canReplan()) {
+            return profile.replan(current, goal);
+        }
+
+        return new TrapezoidalMotionProfile(new MotionProfile.Goal(current), goal, profile.getConstraints());
+    }
+
+    /**
+     * Sets the channel the profile states being followed are logged to. The x and y of every record are NaN.
+     *
+     * @param telemetryChannel the channel to log to or null to stop logging
+     */
+    public void setTelemetryChannel(TelemetryLogger.Channel telemetryChannel) {
+        this.telemetryChannel = telemetryChannel;
+    }
+
     public MotionProfile getCurrentMotionProfile() {
         synchronized (profileLock) {
             return currentMotionProfile;
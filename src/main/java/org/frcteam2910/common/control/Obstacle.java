@@ -0,0 +1,235 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Translation2d;
+
+import java.util.Arrays;
+
+/**
+ * A polygonal obstacle on the field.
+ * <p>
+ * Vertices are stored counter-clockwise no matter which order they were given in.
+ */
+public final class Obstacle {
+    private static final double EPSILON = 1.0e-9;
+
+    private final double[] xs;
+    private final double[] ys;
+
+    public Obstacle(Translation2d... vertices) {
+        if (vertices.length < 3) {
+            throw new IllegalArgumentException("An obstacle must have at least 3 vertices");
+        }
+
+        int vertexCount = vertices.length;
+        xs = new double[vertexCount];
+        ys = new double[vertexCount];
+
+        double signedArea = 0.0;
+        for (int i = 0; i < vertexCount; i++) {
+            Translation2d current = vertices[i];
+            Translation2d next = vertices[(i + 1) % vertexCount];
+            signedArea += current.getX() * next.getY() - next.getX() * current.getY();
+        }
+
+        for (int i = 0; i < vertexCount; i++) {
+            Translation2d vertex = vertices[signedArea < 0.0 ? vertexCount - 1 - i : i];
+            xs[i] = vertex.getX();
+            ys[i] = vertex.getY();
+        }
+    }
+
+    private Obstacle(double[] xs, double[] ys) {
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    /**
+     * Creates a rectangular obstacle.
+     *
+     * @param center the center of the rectangle
+     * @param width  the size of the rectangle along the x axis
+     * @param height the size of the rectangle along the y axis
+     * @return the obstacle
+     */
+    public static Obstacle rectangle(Translation2d center, double width, double height) {
+        double minX = center.getX() - width / 2.0;
+        double maxX = center.getX() + width / 2.0;
+        double minY = center.getY() - height / 2.0;
+        double maxY = center.getY() + height / 2.0;
+
+        return new Obstacle(
+                new double[]{minX, maxX, maxX, minX},
+                new double[]{minY, minY, maxY, maxY}
+        );
+    }
+
+    /**
+     * Grows the obstacle outward so a robot of a certain radius can be treated as a point.
+     * <p>
+     * Every edge is moved out by the radius and the new vertices are where neighbouring edges meet. This covers every
+     * position that is within the radius of the obstacle, with some extra room around convex vertices.
+     *
+     * @param radius the distance to move every edge
+     * @return the inflated obstacle
+     */
+    public Obstacle inflate(double radius) {
+        int vertexCount = xs.length;
+        double[] inflatedXs = new double[vertexCount];
+        double[] inflatedYs = new double[vertexCount];
+
+        for (int i = 0; i < vertexCount; i++) {
+            int previous = (i + vertexCount - 1) % vertexCount;
+            int next = (i + 1) % vertexCount;
+
+            // Outward normals of the edges on either side of the vertex
+            double previousLength = Math.hypot(xs[i] - xs[previous], ys[i] - ys[previous]);
+            double previousNormalX = (ys[i] - ys[previous]) / previousLength;
+            double previousNormalY = -(xs[i] - xs[previous]) / previousLength;
+            double nextLength = Math.hypot(xs[next] - xs[i], ys[next] - ys[i]);
+            double nextNormalX = (ys[next] - ys[i]) / nextLength;
+            double nextNormalY = -(xs[next] - xs[i]) / nextLength;
+
+            // The miter point is along the sum of the normals and the distance to both offset edges is the radius
+            double scale = radius / (1.0 + previousNormalX * nextNormalX + previousNormalY * nextNormalY);
+            inflatedXs[i] = xs[i] + (previousNormalX + nextNormalX) * scale;
+            inflatedYs[i] = ys[i] + (previousNormalY + nextNormalY) * scale;
+        }
+
+        return new Obstacle(inflatedXs, inflatedYs);
+    }
+
+    /**
+     * Checks if a point is strictly inside the obstacle.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @return true if the point is inside the obstacle
+     */
+    public boolean contains(double x, double y) {
+        boolean inside = false;
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+            if ((ys[i] > y) != (ys[j] > y) &&
+                    x < xs[j] + (y - ys[j]) * (xs[i] - xs[j]) / (ys[i] - ys[j])) {
+                inside = !inside;
+            }
+        }
+
+        return inside;
+    }
+
+    public boolean contains(Translation2d point) {
+        return contains(point.getX(), point.getY());
+    }
+
+    /**
+     * Checks if a line segment goes through the obstacle.
+     * <p>
+     * The segment is split everywhere it meets the boundary of the obstacle, including where it only touches a vertex
+     * or runs along an edge. Each piece is then either entirely inside or entirely outside the obstacle, so checking
+     * the middle of every piece is enough.
+     *
+     * @return true if any part of the segment is strictly inside the obstacle
+     */
+    public boolean intersects(double startX, double startY, double endX, double endY) {
+        double deltaX = endX - startX;
+        double deltaY = endY - startY;
+
+        double[] splits = new double[2 * xs.length + 2];
+        int splitCount = 0;
+        splits[splitCount++] = 0.0;
+        splits[splitCount++] = 1.0;
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+            double edgeX = xs[i] - xs[j];
+            double edgeY = ys[i] - ys[j];
+            double offsetX = xs[j] - startX;
+            double offsetY = ys[j] - startY;
+
+            double denominator = deltaX * edgeY - deltaY * edgeX;
+            if (denominator != 0.0) {
+                double t = (offsetX * edgeY - offsetY * edgeX) / denominator;
+                double u = (offsetX * deltaY - offsetY * deltaX) / denominator;
+                if (t > 0.0 && t < 1.0 && u >= 0.0 && u <= 1.0) {
+                    splits[splitCount++] = t;
+                }
+            } else {
+                // Parallel edges can only meet the segment at their ends
+                double lengthSquared = deltaX * deltaX + deltaY * deltaY;
+                double t = (offsetX * deltaX + offsetY * deltaY) / lengthSquared;
+                if (t > 0.0 && t < 1.0) {
+                    splits[splitCount++] = t;
+                }
+                t = ((xs[i] - startX) * deltaX + (ys[i] - startY) * deltaY) / lengthSquared;
+                if (t > 0.0 && t < 1.0) {
+                    splits[splitCount++] = t;
+                }
+            }
+        }
+        Arrays.sort(splits, 0, splitCount);
+
+        for (int i = 1; i < splitCount; i++) {
+            if (splits[i] - splits[i - 1] <= EPSILON) {
+                continue;
+            }
+
+            double t = (splits[i - 1] + splits[i]) / 2.0;
+            double x = startX + t * deltaX;
+            double y = startY + t * deltaY;
+            if (contains(x, y) && !isOnBoundary(x, y)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if a point is on an edge of the obstacle, within a small tolerance.
+     */
+    private boolean isOnBoundary(double x, double y) {
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+            double edgeX = xs[i] - xs[j];
+            double edgeY = ys[i] - ys[j];
+            double t = ((x - xs[j]) * edgeX + (y - ys[j]) * edgeY) / (edgeX * edgeX + edgeY * edgeY);
+            t = Math.max(0.0, Math.min(1.0, t));
+            if (Math.hypot(xs[j] + t * edgeX - x, ys[j] + t * edgeY - y) <= EPSILON) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public boolean intersects(Translation2d start, Translation2d end) {
+        return intersects(start.getX(), start.getY(), end.getX(), end.getY());
+    }
+
+    /**
+     * Checks if a vertex is convex. Paths around the obstacle only ever turn at convex vertices.
+     */
+    boolean isConvex(int vertex) {
+        int previous = (vertex + xs.length - 1) % xs.length;
+        int next = (vertex + 1) % xs.length;
+
+        return cross(xs[previous], ys[previous], xs[vertex], ys[vertex], xs[next], ys[next]) > 0.0;
+    }
+
+    private static double cross(double ax, double ay, double bx, double by, double px, double py) {
+        return (bx - ax) * (py - ay) - (by - ay) * (px - ax);
+    }
+
+    public int getVertexCount() {
+        return xs.length;
+    }
+
+    public double getVertexX(int vertex) {
+        return xs[vertex];
+    }
+
+    public double getVertexY(int vertex) {
+        return ys[vertex];
+    }
+
+    public Translation2d getVertex(int vertex) {
+        return new Translation2d(xs[vertex], ys[vertex]);
+    }
+}
@@ -2,6 +2,7 @@ package org.frcteam2910.common.control;
 
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.math.MathUtils;
 import org.frcteam2910.common.util.InterpolatingDouble;
 import org.frcteam2910.common.util.InterpolatingTreeMap;
 
@@ -15,6 +16,8 @@ public class Path {
 
     private final double length;
 
+    private volatile PathIndex index = null;
+
     public Path(PathSegment[] segments, Map<Double, Rotation2d> rotationMap) {
         this.segments = segments;
 
@@ -79,6 +82,59 @@ public class Path {
         return length;
     }
 
+    /**
+     * Finds the distance along the path of the point on the path closest to a position.
+     * <p>
+     * The first projection onto a path builds a spatial index of the path, after which every projection takes
+     * logarithmic time in the length of the path.
+     *
+     * @param position the position to project onto the path
+     * @return the distance along the path of the closest point
+     */
+    public double project(Translation2d position) {
+        return getIndex().project(position.getX(), position.getY(), 0.0, length, 0.0);
+    }
+
+    /**
+     * Finds the distance along the path of the point closest to a position, only searching the part of the path near
+     * a previous result. Limiting the search keeps the projection from jumping to another part of the path that
+     * happens to pass close by, such as where the path crosses itself.
+     *
+     * @param position       the position to project onto the path
+     * @param hint           the distance along the path to search around, usually the previous projection
+     * @param searchDistance how far along the path to search on either side of the hint
+     * @return the distance along the path of the closest point within the search distance of the hint
+     * @throws IllegalArgumentException if the hint is {@code NaN} or the search distance is negative or {@code NaN}
+     */
+    public double project(Translation2d position, double hint, double searchDistance) {
+        if (Double.isNaN(hint)) {
+            throw new IllegalArgumentException("Hint must be a number");
+        }
+        if (!(searchDistance >= 0.0)) {
+            throw new IllegalArgumentException("Search distance must not be negative");
+        }
+
+        hint = MathUtils.clamp(hint, 0.0, length);
+
+        return getIndex().project(position.getX(), position.getY(), Math.max(0.0, hint - searchDistance),
+                Math.min(length, hint + searchDistance), hint);
+    }
+
+    private PathIndex getIndex() {
+        PathIndex index = this.index;
+        if (index == null) {
+            synchronized (this) {
+                index = this.index;
+                if (index == null) {
+                    index = new PathIndex(segments);
+                    this.index = index;
+                }
+            }
+        }
+
+        return index;
+    }
+
     public PathSegment[] getSegments() {
         return segments;
     }
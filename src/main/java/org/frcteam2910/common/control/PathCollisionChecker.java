@@ -0,0 +1,485 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import org.ejml.simple.SimpleMatrix;
+import org.frcteam2910.common.math.spline.Spline;
+import org.frcteam2910.common.util.Angles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.*;
+
+/**
+ * Checks if the footprint of a robot hits any obstacles while it drives along a path.
+ * <p>
+ * The footprint is rotated by the rotation of the path, so a robot that turns while it drives past an obstacle is
+ * checked with the corners it actually has at every point. Checking happens in two phases. First every segment of the
+ * path gets a bounding box that covers every position the footprint can reach on it, and obstacles are looked up in
+ * a spatial hash using that box. Segments that are nowhere near an obstacle are skipped without sampling them. The
+ * remaining segments are sampled and the footprint at every sample is tested against the nearby obstacles using the
+ * separating axis theorem.
+ * <p>
+ * The footprint and every obstacle must be convex. Collisions that happen entirely between two samples can be missed,
+ * so the sample distance should be smaller than the thinnest obstacle.
+ * <p>
+ * This class is thread safe.
+ */
+public final class PathCollisionChecker {
+    private static final int ROOT_BISECTION_ITERATIONS = 60;
+
+    private final double[][] obstacleXs;
+    private final double[][] obstacleYs;
+    private final double[][] obstacleAxisXs;
+    private final double[][] obstacleAxisYs;
+    private final double[] obstacleMinXs;
+    private final double[] obstacleMinYs;
+    private final double[] obstacleMaxXs;
+    private final double[] obstacleMaxYs;
+
+    private final double[] footprintXs;
+    private final double[] footprintYs;
+    private final double[] footprintAxisXs;
+    private final double[] footprintAxisYs;
+    private final double footprintRadius;
+
+    private final double sampleDistance;
+
+    private final double cellSize;
+    private final Map<Long, int[]> cells = new HashMap<>();
+
+    /**
+     * @param obstacles      the obstacles to check against
+     * @param footprint      the corners of the robot relative to its center when it has a rotation of zero
+     * @param sampleDistance the distance between the samples of the path that are tested against obstacles
+     */
+    public PathCollisionChecker(Obstacle[] obstacles, Translation2d[] footprint, double sampleDistance) {
+        if (sampleDistance <= 0.0) {
+            throw new IllegalArgumentException("Sample distance must be positive");
+        }
+        this.sampleDistance = sampleDistance;
+
+        Obstacle footprintPolygon = new Obstacle(footprint);
+        if (!isConvex(footprintPolygon)) {
+            throw new IllegalArgumentException("The footprint must be convex");
+        }
+
+        int footprintVertexCount = footprintPolygon.getVertexCount();
+        footprintXs = new double[footprintVertexCount];
+        footprintYs = new double[footprintVertexCount];
+        double footprintRadius = 0.0;
+        for (int i = 0; i < footprintVertexCount; i++) {
+            footprintXs[i] = footprintPolygon.getVertexX(i);
+            footprintYs[i] = footprintPolygon.getVertexY(i);
+            footprintRadius = Math.max(footprintRadius, Math.hypot(footprintXs[i], footprintYs[i]));
+        }
+        this.footprintRadius = footprintRadius;
+        footprintAxisXs = new double[footprintVertexCount];
+        footprintAxisYs = new double[footprintVertexCount];
+        getAxes(footprintXs, footprintYs, footprintAxisXs, footprintAxisYs);
+
+        int obstacleCount = obstacles.length;
+        obstacleXs = new double[obstacleCount][];
+        obstacleYs = new double[obstacleCount][];
+        obstacleAxisXs = new double[obstacleCount][];
+        obstacleAxisYs = new double[obstacleCount][];
+        obstacleMinXs = new double[obstacleCount];
+        obstacleMinYs = new double[obstacleCount];
+        obstacleMaxXs = new double[obstacleCount];
+        obstacleMaxYs = new double[obstacleCount];
+
+        double totalObstacleSize = 0.0;
+        for (int i = 0; i < obstacleCount; i++) {
+            Obstacle obstacle = obstacles[i];
+            if (!isConvex(obstacle)) {
+                throw new IllegalArgumentException("Every obstacle must be convex");
+            }
+
+            int vertexCount = obstacle.getVertexCount();
+            obstacleXs[i] = new double[vertexCount];
+            obstacleYs[i] = new double[vertexCount];
+            obstacleMinXs[i] = Double.POSITIVE_INFINITY;
+            obstacleMinYs[i] = Double.POSITIVE_INFINITY;
+            obstacleMaxXs[i] = Double.NEGATIVE_INFINITY;
+            obstacleMaxYs[i] = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < vertexCount; j++) {
+                obstacleXs[i][j] = obstacle.getVertexX(j);
+                obstacleYs[i][j] = obstacle.getVertexY(j);
+                obstacleMinXs[i] = Math.min(obstacleMinXs[i], obstacleXs[i][j]);
+                obstacleMinYs[i] = Math.min(obstacleMinYs[i], obstacleYs[i][j]);
+                obstacleMaxXs[i] = Math.max(obstacleMaxXs[i], obstacleXs[i][j]);
+                obstacleMaxYs[i] = Math.max(obstacleMaxYs[i], obstacleYs[i][j]);
+            }
+
+            obstacleAxisXs[i] = new double[vertexCount];
+            obstacleAxisYs[i] = new double[vertexCount];
+            getAxes(obstacleXs[i], obstacleYs[i], obstacleAxisXs[i], obstacleAxisYs[i]);
+
+            totalObstacleSize += Math.max(obstacleMaxXs[i] - obstacleMinXs[i], obstacleMaxYs[i] - obstacleMinYs[i]);
+        }
+
+        // Cells about the size of an obstacle keep the number of cells per obstacle and obstacles per cell small
+        double averageObstacleSize = obstacleCount > 0 ? totalObstacleSize / obstacleCount : 0.0;
+        cellSize = Math.max(2.0 * footprintRadius, averageObstacleSize);
+
+        Map<Long, List<Integer>> cellLists = new HashMap<>();
+        for (int i = 0; i < obstacleCount; i++) {
+            for (long x = getCell(obstacleMinXs[i]); x <= getCell(obstacleMaxXs[i]); x++) {
+                for (long y = getCell(obstacleMinYs[i]); y <= getCell(obstacleMaxYs[i]); y++) {
+                    cellLists.computeIfAbsent(getCellKey(x, y), key -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+        for (Map.Entry<Long, List<Integer>> entry : cellLists.entrySet()) {
+            cells.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    private static boolean isConvex(Obstacle polygon) {
+        for (int i = 0; i < polygon.getVertexCount(); i++) {
+            if (!polygon.isConvex(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the normal of every edge of a polygon. These are the only axes that can separate it from another polygon.
+     */
+    private static void getAxes(double[] xs, double[] ys, double[] axisXs, double[] axisYs) {
+        for (int i = 0; i < xs.length; i++) {
+            int next = (i + 1) % xs.length;
+            axisXs[i] = ys[next] - ys[i];
+            axisYs[i] = xs[i] - xs[next];
+        }
+    }
+
+    private long getCell(double coordinate) {
+        return (long) Math.floor(coordinate / cellSize);
+    }
+
+    private static long getCellKey(long x, long y) {
+        return (x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Finds the first point along a path where the robot hits an obstacle.
+     *
+     * @param path the path to check
+     * @return the distance along the path of the first collision or nothing if the path is clear
+     */
+    public OptionalDouble findFirstCollision(Path path) {
+        PathSegment[] segments = path.getSegments();
+        double segmentStart = 0.0;
+        for (PathSegment segment : segments) {
+            double collision = findFirstCollision(path, segment, segmentStart);
+            if (!Double.isNaN(collision)) {
+                return OptionalDouble.of(collision);
+            }
+            segmentStart += segment.getLength();
+        }
+
+        return OptionalDouble.empty();
+    }
+
+    /**
+     * Finds the first point along a path where the robot hits an obstacle, checking segments of the path in parallel.
+     *
+     * @param path    the path to check
+     * @param threads the number of threads to check on
+     * @return the distance along the path of the first collision or nothing if the path is clear
+     */
+    public OptionalDouble findFirstCollision(Path path, int threads) {
+        PathSegment[] segments = path.getSegments();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Double>> futures = new ArrayList<>(segments.length);
+            double segmentStart = 0.0;
+            for (PathSegment segment : segments) {
+                double start = segmentStart;
+                futures.add(executor.submit(() -> findFirstCollision(path, segment, start)));
+                segmentStart += segment.getLength();
+            }
+
+            // Segments are checked in order so the first collision found is the first along the path. Any segments
+            // that are still being checked are cancelled when the executor is shut down.
+            for (Future<Double> future : futures) {
+                double collision = future.get();
+                if (!Double.isNaN(collision)) {
+                    return OptionalDouble.of(collision);
+                }
+            }
+            return OptionalDouble.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while checking for collisions");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Finds the first point along a segment where the robot hits an obstacle.
+     *
+     * @return the distance along the path of the first collision or NaN if the segment is clear
+     */
+    private double findFirstCollision(Path path, PathSegment segment, double segmentStart) {
+        // The footprint can be rotated any way so it can reach anywhere within its radius of the segment
+        double[] bounds = getBounds(segment, sampleDistance);
+        int[] candidates = getCandidates(bounds[0] - footprintRadius, bounds[1] - footprintRadius,
+                bounds[2] + footprintRadius, bounds[3] + footprintRadius);
+        if (candidates.length == 0) {
+            return Double.NaN;
+        }
+
+        int vertexCount = footprintXs.length;
+        double[] xs = new double[vertexCount];
+        double[] ys = new double[vertexCount];
+        double[] axisXs = new double[vertexCount];
+        double[] axisYs = new double[vertexCount];
+
+        int sampleCount = Math.max(1, (int) Math.ceil(segment.getLength() / sampleDistance));
+        for (int i = 0; i <= sampleCount; i++) {
+            double distance = segmentStart + segment.getLength() * i / sampleCount;
+            Path.State state = path.calculate(distance);
+            double x = state.getPosition().getX();
+            double y = state.getPosition().getY();
+            double cos = state.getRotation().getCos();
+            double sin = state.getRotation().getSin();
+
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < vertexCount; j++) {
+                xs[j] = x + footprintXs[j] * cos - footprintYs[j] * sin;
+                ys[j] = y + footprintXs[j] * sin + footprintYs[j] * cos;
+                axisXs[j] = footprintAxisXs[j] * cos - footprintAxisYs[j] * sin;
+                axisYs[j] = footprintAxisXs[j] * sin + footprintAxisYs[j] * cos;
+
+                minX = Math.min(minX, xs[j]);
+                minY = Math.min(minY, ys[j]);
+                maxX = Math.max(maxX, xs[j]);
+                maxY = Math.max(maxY, ys[j]);
+            }
+
+            for (int obstacle : candidates) {
+                if (maxX <= obstacleMinXs[obstacle] || obstacleMaxXs[obstacle] <= minX ||
+                        maxY <= obstacleMinYs[obstacle] || obstacleMaxYs[obstacle] <= minY) {
+                    continue;
+                }
+
+                if (!isSeparated(xs, ys, axisXs, axisYs, obstacle) &&
+                        !isSeparated(xs, ys, obstacleAxisXs[obstacle], obstacleAxisYs[obstacle], obstacle)) {
+                    return distance;
+                }
+            }
+        }
+
+        return Double.NaN;
+    }
+
+    /**
+     * Gets every obstacle in the cells a box overlaps.
+     */
+    private int[] getCandidates(double minX, double minY, double maxX, double maxY) {
+        boolean[] found = new boolean[obstacleXs.length];
+        int candidateCount = 0;
+        for (long x = getCell(minX); x <= getCell(maxX); x++) {
+            for (long y = getCell(minY); y <= getCell(maxY); y++) {
+                int[] cell = cells.get(getCellKey(x, y));
+                if (cell == null) {
+                    continue;
+                }
+
+                for (int obstacle : cell) {
+                    if (!found[obstacle]) {
+                        found[obstacle] = true;
+                        candidateCount++;
+                    }
+                }
+            }
+        }
+
+        int[] candidates = new int[candidateCount];
+        for (int i = 0, j = 0; i < found.length; i++) {
+            if (found[i]) {
+                candidates[j++] = i;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Checks if any of a set of axes separates the footprint from an obstacle. Polygons that only touch are separated.
+     */
+    private boolean isSeparated(double[] xs, double[] ys, double[] axisXs, double[] axisYs, int obstacle) {
+        for (int i = 0; i < axisXs.length; i++) {
+            double footprintMin = Double.POSITIVE_INFINITY;
+            double footprintMax = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < xs.length; j++) {
+                double projection = xs[j] * axisXs[i] + ys[j] * axisYs[i];
+                footprintMin = Math.min(footprintMin, projection);
+                footprintMax = Math.max(footprintMax, projection);
+            }
+
+            double obstacleMin = Double.POSITIVE_INFINITY;
+            double obstacleMax = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < obstacleXs[obstacle].length; j++) {
+                double projection = obstacleXs[obstacle][j] * axisXs[i] + obstacleYs[obstacle][j] * axisYs[i];
+                obstacleMin = Math.min(obstacleMin, projection);
+                obstacleMax = Math.max(obstacleMax, projection);
+            }
+
+            if (footprintMax <= obstacleMin || obstacleMax <= footprintMin) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the smallest box that contains a segment.
+     * <p>
+     * Lines and arcs have exact bounds. A spline is furthest along an axis either at one of its ends or where its
+     * derivative along that axis is zero, so its bounds come from the roots of its derivative. Any other kind of
+     * segment is sampled and the box is grown by the sample distance.
+     *
+     * @return the minimum x, minimum y, maximum x and maximum y of the box
+     */
+    static double[] getBounds(PathSegment segment, double sampleDistance) {
+        double[] bounds = {
+                Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY
+        };
+        include(bounds, segment.getStart().getPosition());
+        include(bounds, segment.getEnd().getPosition());
+
+        if (segment instanceof SimplePathBuilder.LineSegment) {
+            return bounds;
+        } else if (segment instanceof SimplePathBuilder.ArcSegment) {
+            SimplePathBuilder.ArcSegment arc = (SimplePathBuilder.ArcSegment) segment;
+            Translation2d deltaStart = arc.getStartPosition().minus(arc.getCenter());
+            Translation2d deltaEnd = arc.getEndPosition().minus(arc.getCenter());
+            double startAngle = Math.atan2(deltaStart.getY(), deltaStart.getX());
+            double arcAngle = Angles.shortestAngularDistance(startAngle,
+                    Math.atan2(deltaEnd.getY(), deltaEnd.getX()));
+            double radius = deltaStart.getNorm();
+
+            // The arc reaches further than its ends along an axis if it passes through that axis
+            for (int i = 0; i < 4; i++) {
+                double axisAngle = i * Math.PI / 2.0;
+                double sweep = arcAngle >= 0.0 ? Angles.normalizeAnglePositive(axisAngle - startAngle) :
+                        Angles.normalizeAnglePositive(startAngle - axisAngle);
+                if (sweep <= Math.abs(arcAngle)) {
+                    include(bounds, arc.getCenter().plus(new Translation2d(radius * Math.cos(axisAngle),
+                            radius * Math.sin(axisAngle))));
+                }
+            }
+            return bounds;
+        } else if (segment instanceof SplinePathSegment) {
+            Spline spline = ((SplinePathSegment) segment).getSpline();
+            SimpleMatrix coefficients = spline.getBasisMatrix().mult(spline.getBasisWeightMatrix());
+            for (int axis = 0; axis < 2; axis++) {
+                double[] derivative = new double[coefficients.numRows() - 1];
+                for (int i = 0; i < derivative.length; i++) {
+                    derivative[i] = (i + 1) * coefficients.get(i + 1, axis);
+                }
+
+                for (double root : findRoots(derivative)) {
+                    include(bounds, spline.getPoint(root));
+                }
+            }
+            return bounds;
+        }
+
+        int sampleCount = Math.max(1, (int) Math.ceil(segment.getLength() / sampleDistance));
+        for (int i = 1; i < sampleCount; i++) {
+            include(bounds, segment.calculate(segment.getLength() * i / sampleCount).getPosition());
+        }
+        bounds[0] -= sampleDistance;
+        bounds[1] -= sampleDistance;
+        bounds[2] += sampleDistance;
+        bounds[3] += sampleDistance;
+        return bounds;
+    }
+
+    private static void include(double[] bounds, Translation2d point) {
+        bounds[0] = Math.min(bounds[0], point.getX());
+        bounds[1] = Math.min(bounds[1], point.getY());
+        bounds[2] = Math.max(bounds[2], point.getX());
+        bounds[3] = Math.max(bounds[3], point.getY());
+    }
+
+    /**
+     * Finds the roots of a polynomial between 0 and 1.
+     * <p>
+     * The roots of the polynomial's derivative split the interval into pieces where the polynomial only increases or
+     * only decreases, so every piece has at most one root and it can be found by bisection.
+     *
+     * @param coefficients the coefficients of the polynomial, starting with the constant term
+     */
+    static List<Double> findRoots(double[] coefficients) {
+        List<Double> roots = new ArrayList<>();
+        if (coefficients.length < 2) {
+            return roots;
+        }
+
+        double[] derivative = new double[coefficients.length - 1];
+        for (int i = 0; i < derivative.length; i++) {
+            derivative[i] = (i + 1) * coefficients[i + 1];
+        }
+
+        List<Double> breakpoints = new ArrayList<>();
+        breakpoints.add(0.0);
+        breakpoints.addAll(findRoots(derivative));
+        breakpoints.add(1.0);
+
+        for (int i = 0; i < breakpoints.size() - 1; i++) {
+            double start = breakpoints.get(i);
+            double end = breakpoints.get(i + 1);
+            double startValue = evaluate(coefficients, start);
+            double endValue = evaluate(coefficients, end);
+
+            if (startValue == 0.0 && i == 0) {
+                roots.add(start);
+            }
+            if (startValue * endValue < 0.0) {
+                for (int j = 0; j < ROOT_BISECTION_ITERATIONS; j++) {
+                    double mid = (start + end) / 2.0;
+                    double midValue = evaluate(coefficients, mid);
+                    if (startValue * midValue <= 0.0) {
+                        end = mid;
+                    } else {
+                        start = mid;
+                        startValue = midValue;
+                    }
+                }
+                roots.add((start + end) / 2.0);
+            } else if (endValue == 0.0) {
+                roots.add(end);
+            }
+        }
+
+        return roots;
+    }
+
+    private static double evaluate(double[] coefficients, double t) {
+        double value = 0.0;
+        for (int i = coefficients.length - 1; i >= 0; i--) {
+            value = value * t + coefficients[i];
+        }
+        return value;
+    }
+}
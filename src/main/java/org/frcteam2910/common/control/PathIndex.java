@@ -0,0 +1,315 @@
+package org.frcteam2910.common.control;
+
+/**
+ * A bounding volume hierarchy over chords sampled along a path, used to find the point on the path closest to a
+ * position.
+ * <p>
+ * The chords are kept in the order they appear along the path, so every node of the hierarchy covers a contiguous
+ * range of the path. Nodes are stored in arrays using the same layout as a binary heap. A query walks the hierarchy
+ * nearest box first and skips every box that is further away than the closest chord found so far, which finds the
+ * closest chord in logarithmic time for paths that don't double back on themselves. The closest point on the chord is
+ * then refined with Newton's method on the segment it was sampled from.
+ */
+final class PathIndex {
+    /**
+     * The longest a chord can be. Chords are short enough that the closest chord is on the same part of the path as
+     * the closest point.
+     */
+    static final double MAX_CHORD_LENGTH = 0.05;
+
+    private static final int MAX_REFINEMENT_ITERATIONS = 8;
+    private static final double REFINEMENT_TOLERANCE = 1.0e-9;
+
+    private final PathSegment[] segments;
+    private final double[] segmentStarts;
+
+    private final int chordCount;
+    private final double[] chordStartXs;
+    private final double[] chordStartYs;
+    private final double[] chordEndXs;
+    private final double[] chordEndYs;
+    private final double[] chordStartDistances;
+    private final double[] chordEndDistances;
+    private final int[] chordSegments;
+
+    private final double[] nodeMinXs;
+    private final double[] nodeMinYs;
+    private final double[] nodeMaxXs;
+    private final double[] nodeMaxYs;
+
+    PathIndex(PathSegment[] segments) {
+        this.segments = segments;
+
+        segmentStarts = new double[segments.length];
+        int chordCount = 0;
+        double distance = 0.0;
+        for (int i = 0; i < segments.length; i++) {
+            segmentStarts[i] = distance;
+            distance += segments[i].getLength();
+            chordCount += getChordCount(segments[i]);
+        }
+
+        this.chordCount = chordCount;
+        chordStartXs = new double[chordCount];
+        chordStartYs = new double[chordCount];
+        chordEndXs = new double[chordCount];
+        chordEndYs = new double[chordCount];
+        chordStartDistances = new double[chordCount];
+        chordEndDistances = new double[chordCount];
+        chordSegments = new int[chordCount];
+
+        int chord = 0;
+        for (int i = 0; i < segments.length; i++) {
+            PathSegment segment = segments[i];
+            int segmentChordCount = getChordCount(segment);
+            double chordLength = segment.getLength() / segmentChordCount;
+
+            PathSegment.State start = segment.calculate(0.0);
+            for (int j = 0; j < segmentChordCount; j++) {
+                PathSegment.State end = segment.calculate((j + 1) * chordLength);
+
+                chordStartXs[chord] = start.getPosition().getX();
+                chordStartYs[chord] = start.getPosition().getY();
+                chordEndXs[chord] = end.getPosition().getX();
+                chordEndYs[chord] = end.getPosition().getY();
+                chordStartDistances[chord] = segmentStarts[i] + j * chordLength;
+                chordEndDistances[chord] = segmentStarts[i] + (j + 1) * chordLength;
+                chordSegments[chord] = i;
+
+                start = end;
+                chord++;
+            }
+        }
+
+        int nodeCount = 1;
+        while (nodeCount < 2 * chordCount) {
+            nodeCount *= 2;
+        }
+        nodeMinXs = new double[nodeCount];
+        nodeMinYs = new double[nodeCount];
+        nodeMaxXs = new double[nodeCount];
+        nodeMaxYs = new double[nodeCount];
+        if (chordCount > 0) {
+            build(0, 0, chordCount);
+        }
+    }
+
+    private static int getChordCount(PathSegment segment) {
+        return Math.max(1, (int) Math.ceil(segment.getLength() / MAX_CHORD_LENGTH));
+    }
+
+    private void build(int node, int start, int end) {
+        if (end - start == 1) {
+            nodeMinXs[node] = Math.min(chordStartXs[start], chordEndXs[start]);
+            nodeMinYs[node] = Math.min(chordStartYs[start], chordEndYs[start]);
+            nodeMaxXs[node] = Math.max(chordStartXs[start], chordEndXs[start]);
+            nodeMaxYs[node] = Math.max(chordStartYs[start], chordEndYs[start]);
+            return;
+        }
+
+        int mid = (start + end) >>> 1;
+        int left = 2 * node + 1;
+        int right = 2 * node + 2;
+        build(left, start, mid);
+        build(right, mid, end);
+
+        nodeMinXs[node] = Math.min(nodeMinXs[left], nodeMinXs[right]);
+        nodeMinYs[node] = Math.min(nodeMinYs[left], nodeMinYs[right]);
+        nodeMaxXs[node] = Math.max(nodeMaxXs[left], nodeMaxXs[right]);
+        nodeMaxYs[node] = Math.max(nodeMaxYs[left], nodeMaxYs[right]);
+    }
+
+    /**
+     * Finds the distance along the path of the point closest to a position, only considering the part of the path
+     * between two distances. The hint is returned if no part of the path is between the distances.
+     */
+    double project(double x, double y, double minDistance, double maxDistance, double hint) {
+        if (chordCount == 0) {
+            return 0.0;
+        }
+
+        // Starting from the chord at the hint means most of the hierarchy can be skipped right away
+        int bestChord = -1;
+        double bestDistanceSquared = Double.POSITIVE_INFINITY;
+        int hintChord = getChordAtDistance(hint);
+        double hintT = getClosestChordPosition(hintChord, x, y, minDistance, maxDistance);
+        if (!Double.isNaN(hintT)) {
+            bestChord = hintChord;
+            bestDistanceSquared = getChordDistanceSquared(hintChord, hintT, x, y);
+        }
+        bestChord = search(0, 0, chordCount, x, y, minDistance, maxDistance, bestChord, bestDistanceSquared);
+        if (bestChord == -1) {
+            return hint;
+        }
+
+        double t = getClosestChordPosition(bestChord, x, y, minDistance, maxDistance);
+        double distance = chordStartDistances[bestChord] +
+                (chordEndDistances[bestChord] - chordStartDistances[bestChord]) * t;
+        return refine(bestChord, distance, x, y, minDistance, maxDistance);
+    }
+
+    private int getChordAtDistance(double distance) {
+        int start = 0;
+        int end = chordCount - 1;
+        while (start < end) {
+            int mid = (start + end) >>> 1;
+            if (distance > chordEndDistances[mid]) {
+                start = mid + 1;
+            } else {
+                end = mid;
+            }
+        }
+
+        return start;
+    }
+
+    /**
+     * Searches a node of the hierarchy for a chord closer to the position than the best chord found so far.
+     *
+     * @return the closest chord found, or the best chord if there is no closer one
+     */
+    private int search(int node, int start, int end, double x, double y, double minDistance, double maxDistance,
+                       int bestChord, double bestDistanceSquared) {
+        if (chordEndDistances[end - 1] < minDistance || chordStartDistances[start] > maxDistance ||
+                getBoxDistanceSquared(node, x, y) >= bestDistanceSquared) {
+            return bestChord;
+        }
+
+        if (end - start == 1) {
+            double t = getClosestChordPosition(start, x, y, minDistance, maxDistance);
+            if (!Double.isNaN(t) && getChordDistanceSquared(start, t, x, y) < bestDistanceSquared) {
+                return start;
+            }
+            return bestChord;
+        }
+
+        int mid = (start + end) >>> 1;
+        int left = 2 * node + 1;
+        int right = 2 * node + 2;
+        boolean leftFirst = getBoxDistanceSquared(left, x, y) <= getBoxDistanceSquared(right, x, y);
+
+        int closestChord = leftFirst ?
+                search(left, start, mid, x, y, minDistance, maxDistance, bestChord, bestDistanceSquared) :
+                search(right, mid, end, x, y, minDistance, maxDistance, bestChord, bestDistanceSquared);
+        if (closestChord != bestChord) {
+            bestDistanceSquared = getChordDistanceSquared(closestChord,
+                    getClosestChordPosition(closestChord, x, y, minDistance, maxDistance), x, y);
+        }
+
+        return leftFirst ?
+                search(right, mid, end, x, y, minDistance, maxDistance, closestChord, bestDistanceSquared) :
+                search(left, start, mid, x, y, minDistance, maxDistance, closestChord, bestDistanceSquared);
+    }
+
+    /**
+     * Finds the point on a chord closest to a position, only considering the part of the chord between two distances
+     * along the path.
+     *
+     * @return how far the point is from the start to the end of the chord, or {@code NaN} if no part of the chord is
+     * between the distances
+     */
+    private double getClosestChordPosition(int chord, double x, double y, double minDistance, double maxDistance) {
+        double startX = chordStartXs[chord];
+        double startY = chordStartYs[chord];
+        double deltaX = chordEndXs[chord] - startX;
+        double deltaY = chordEndYs[chord] - startY;
+        double lengthSquared = deltaX * deltaX + deltaY * deltaY;
+
+        double t = 0.0;
+        if (lengthSquared > 0.0) {
+            t = ((x - startX) * deltaX + (y - startY) * deltaY) / lengthSquared;
+        }
+
+        double startDistance = chordStartDistances[chord];
+        double chordDistance = chordEndDistances[chord] - startDistance;
+        double minT = 0.0;
+        double maxT = 1.0;
+        if (chordDistance > 0.0) {
+            minT = Math.max(minT, (minDistance - startDistance) / chordDistance);
+            maxT = Math.min(maxT, (maxDistance - startDistance) / chordDistance);
+        }
+        if (minT > maxT) {
+            return Double.NaN;
+        }
+
+        return Math.max(minT, Math.min(maxT, t));
+    }
+
+    private double getChordDistanceSquared(int chord, double t, double x, double y) {
+        double dx = chordStartXs[chord] + (chordEndXs[chord] - chordStartXs[chord]) * t - x;
+        double dy = chordStartYs[chord] + (chordEndYs[chord] - chordStartYs[chord]) * t - y;
+        return dx * dx + dy * dy;
+    }
+
+    private double getBoxDistanceSquared(int node, double x, double y) {
+        double dx = Math.max(0.0, Math.max(nodeMinXs[node] - x, x - nodeMaxXs[node]));
+        double dy = Math.max(0.0, Math.max(nodeMinYs[node] - y, y - nodeMaxYs[node]));
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Moves the closest point on a chord onto the segment it was sampled from by finding where the line from the
+     * position to the path is perpendicular to the path.
+     * <p>
+     * Segments are not always parameterized by arc length, so the position can move faster or slower than the
+     * distance along the segment. The speed is estimated from the length of the chord.
+     */
+    private double refine(int chord, double distance, double x, double y, double minDistance, double maxDistance) {
+        int segmentIndex = chordSegments[chord];
+        PathSegment segment = segments[segmentIndex];
+        double segmentStart = segmentStarts[segmentIndex];
+        double minSegmentDistance = Math.max(0.0, minDistance - segmentStart);
+        double maxSegmentDistance = Math.min(segment.getLength(), maxDistance - segmentStart);
+
+        double chordDistance = chordEndDistances[chord] - chordStartDistances[chord];
+        if (chordDistance <= 0.0) {
+            return distance;
+        }
+        double speed = Math.hypot(chordEndXs[chord] - chordStartXs[chord], chordEndYs[chord] - chordStartYs[chord]) /
+                chordDistance;
+        if (speed <= 0.0) {
+            return distance;
+        }
+
+        double bestSegmentDistance = distance - segmentStart;
+        double bestDistanceSquared = getDistanceSquared(segment.calculate(bestSegmentDistance), x, y);
+
+        double segmentDistance = bestSegmentDistance;
+        for (int i = 0; i < MAX_REFINEMENT_ITERATIONS; i++) {
+            PathSegment.State state = segment.calculate(segmentDistance);
+            double dx = state.getPosition().getX() - x;
+            double dy = state.getPosition().getY() - y;
+            double cos = state.getHeading().getCos();
+            double sin = state.getHeading().getSin();
+
+            // Newton's method on (dx, dy) . heading, which is zero at the closest point. The heading turns with the
+            // curvature as the position moves along the path.
+            double derivative = dx * cos + dy * sin;
+            double secondDerivative = 1.0 + state.getCurvature() * (dy * cos - dx * sin);
+            if (secondDerivative <= REFINEMENT_TOLERANCE) {
+                // The position is past the center of curvature so the closest point is not a minimum of the distance
+                break;
+            }
+
+            double step = derivative / (secondDerivative * speed);
+            segmentDistance = Math.max(minSegmentDistance, Math.min(maxSegmentDistance, segmentDistance - step));
+
+            double distanceSquared = getDistanceSquared(segment.calculate(segmentDistance), x, y);
+            if (distanceSquared < bestDistanceSquared) {
+                bestSegmentDistance = segmentDistance;
+                bestDistanceSquared = distanceSquared;
+            }
+            if (Math.abs(step) < REFINEMENT_TOLERANCE) {
+                break;
+            }
+        }
+
+        return segmentStart + bestSegmentDistance;
+    }
+
+    private static double getDistanceSquared(PathSegment.State state, double x, double y) {
+        double dx = state.getPosition().getX() - x;
+        double dy = state.getPosition().getY() - y;
+        return dx * dx + dy * dy;
+    }
+}
@@ -17,6 +17,10 @@ public class PidController {
     private double integralRange = Double.POSITIVE_INFINITY;
     private boolean shouldClearIntegralOnErrorSignChange = false;
 
+    private double lastProportionalTerm = 0.0;
+    private double lastIntegralTerm = 0.0;
+    private double lastDerivativeTerm = 0.0;
+
     public PidController(PidConstants constants) {
         this.constants = constants;
     }
@@ -50,13 +54,50 @@ public class PidController {
         }
         lastError = error;
 
-        return MathUtils.clamp(constants.p * error + constants.i * integral + constants.d * derivative,
-                minOutput, maxOutput);
+        lastProportionalTerm = constants.p * error;
+        lastIntegralTerm = constants.i * integral;
+        lastDerivativeTerm = constants.d * derivative;
+
+        return MathUtils.clamp(lastProportionalTerm + lastIntegralTerm + lastDerivativeTerm, minOutput, maxOutput);
     }
 
     public void reset() {
         lastError = Double.NaN;
         integralAccum = 0.0;
+
+        lastProportionalTerm = 0.0;
+        lastIntegralTerm = 0.0;
+        lastDerivativeTerm = 0.0;
+    }
+
+    /**
+     * Gets the proportional term of the output from the last call to {@link #calculate(double, double)}. The term is
+     * not clamped to the output range.
+     *
+     * @return the last proportional term
+     */
+    public double getLastProportionalTerm() {
+        return lastProportionalTerm;
+    }
+
+    /**
+     * Gets the integral term of the output from the last call to {@link #calculate(double, double)}. The term is not
+     * clamped to the output range.
+     *
+     * @return the last integral term
+     */
+    public double getLastIntegralTerm() {
+        return lastIntegralTerm;
+    }
+
+    /**
+     * Gets the derivative term of the output from the last call to {@link #calculate(double, double)}. The term is
+     * not clamped to the output range.
+     *
+     * @return the last derivative term
+     */
+    public double getLastDerivativeTerm() {
+        return lastDerivativeTerm;
     }
 
     public double getSetpoint() {
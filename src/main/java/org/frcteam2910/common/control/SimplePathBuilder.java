@@ -57,69 +57,91 @@ public final class SimplePathBuilder {
     }
 
     public static final class ArcSegment extends PathSegment {
+        private final Translation2d start;
+        private final Translation2d end;
         private final Translation2d center;
         private final Translation2d deltaStart;
-        private final Translation2d deltaEnd;
         private final boolean clockwise;
-        private final Rotation2d arcAngle;
+
+        /**
+         * The signed angle swept by the arc in radians. Counter-clockwise arcs have a positive angle.
+         */
+        private final double arcAngle;
 
         private final double curvature;
 
-        private  final double length;
+        private final double length;
 
         public ArcSegment(Translation2d start, Translation2d end, Translation2d center) {
+            this.start = start;
+            this.end = end;
             this.center = center;
             deltaStart = start.minus(center);
-            deltaEnd = end.minus(center);
-
-            var cross = deltaStart.getX() * deltaEnd.getY() - deltaStart.getY() * deltaEnd.getX();
-            clockwise = cross <= 0.0;
+            Translation2d deltaEnd = end.minus(center);
 
-            var r1 = new Rotation2d(deltaStart.getX(), deltaStart.getY());
-            var r2 = new Rotation2d(deltaEnd.getX(), deltaEnd.getY());
+            arcAngle = Angles.shortestAngularDistance(
+                    Math.atan2(deltaStart.getY(), deltaStart.getX()),
+                    Math.atan2(deltaEnd.getY(), deltaEnd.getX()));
+            clockwise = arcAngle < 0.0;
 
-            arcAngle = Rotation2d.fromDegrees(
-                    Math.toDegrees(Angles.shortestAngularDistance(r1.getRadians(), r2.getRadians())));
-
-            curvature = 1.0 / deltaStart.getNorm();
-            length = deltaStart.getNorm() * arcAngle.getRadians();
+            double radius = deltaStart.getNorm();
+            curvature = (clockwise ? -1.0 : 1.0) / radius;
+            length = radius * Math.abs(arcAngle);
         }
 
         @Override
         public State calculate(double distance) {
-            double percentage = distance / length;
+            Rotation2d angle = new Rotation2d(arcAngle * (distance / length));
+            Translation2d delta = deltaStart.rotateBy(angle);
 
-            Translation2d sampleHeading = deltaStart.rotateBy(Rotation2d.fromDegrees(percentage + (clockwise ? -1.0 : 1.0) * 90));
-            Rotation2d newHeading = new Rotation2d(sampleHeading.getX(), sampleHeading.getY());
+            // The heading is perpendicular to the radius, pointing in the direction of travel
+            Rotation2d heading = new Rotation2d(delta.getX(), delta.getY())
+                    .rotateBy(Rotation2d.fromDegrees(clockwise ? -90.0 : 90.0));
 
             return new State(
-                    center.plus(deltaStart.rotateBy(Rotation2d.fromDegrees(percentage))),
-                    newHeading,
+                    center.plus(delta),
+                    heading,
                     curvature
             );
         }
 
         @Override
         public double getLength() {
-            return length; //deltaStart.length * Vector2.getAngleBetween(deltaStart, deltaEnd).toRadians();
+            return length;
+        }
+
+        public Translation2d getStartPosition() {
+            return start;
+        }
+
+        public Translation2d getEndPosition() {
+            return end;
+        }
+
+        public Translation2d getCenter() {
+            return center;
         }
     }
 
     public static final class LineSegment extends PathSegment {
         private final Translation2d start;
+        private final Translation2d end;
         private final Translation2d delta;
         private final Rotation2d heading;
+        private final double length;
 
-        private LineSegment(Translation2d start, Translation2d end) {
+        public LineSegment(Translation2d start, Translation2d end) {
             this.start = start;
+            this.end = end;
             this.delta = end.minus(start);
             this.heading = new Rotation2d(delta.getX(), delta.getY());
+            this.length = delta.getNorm();
         }
 
         @Override
         public State calculate(double distance) {
             return new State(
-                    start.plus(delta.times(distance / getLength())),
+                    start.plus(delta.times(distance / length)),
                     heading,
                     0.0
             );
@@ -127,7 +149,15 @@ public final class SimplePathBuilder {
 
         @Override
         public double getLength() {
-            return delta.getNorm();
+            return length;
+        }
+
+        public Translation2d getStartPosition() {
+            return start;
+        }
+
+        public Translation2d getEndPosition() {
+            return end;
         }
     }
 }
@@ -1,9 +1,24 @@
 package org.frcteam2910.common.control;
 
+import org.ejml.simple.SimpleMatrix;
 import org.frcteam2910.common.math.spline.Spline;
 
 public final class SplinePathSegment extends PathSegment {
-    private static final double LENGTH_SAMPLE_STEP = 1.0e-4;
+    /**
+     * The nodes and weights of 5 point Gauss-Legendre quadrature over [-1, 1].
+     */
+    private static final double[] QUADRATURE_NODES = {
+            0.0, -0.5384693101056831, 0.5384693101056831, -0.9061798459386640, 0.9061798459386640
+    };
+    private static final double[] QUADRATURE_WEIGHTS = {
+            0.5688888888888889, 0.4786286704993665, 0.4786286704993665, 0.2369268850561891, 0.2369268850561891
+    };
+
+    /**
+     * The error allowed in the length, relative to the length.
+     */
+    private static final double LENGTH_TOLERANCE = 1.0e-10;
+    private static final int MAX_LENGTH_DEPTH = 16;
 
     private final Spline spline;
 
@@ -27,19 +42,59 @@ public final class SplinePathSegment extends PathSegment {
     @Override
     public double getLength() {
         if (!Double.isFinite(length)) {
-            length = 0.0;
-            var p0 = spline.getPoint(0.0);
-            for (double t = LENGTH_SAMPLE_STEP; t <= 1.0; t += LENGTH_SAMPLE_STEP) {
-                var  p1 = spline.getPoint(t);
-                length += p1.minus(p0).getNorm();
-
-                p0 = p1;
+            // The length is the integral of the speed along the spline. The speed is a smooth function of t except
+            // where it reaches zero, so the integral is only split up where the estimate has not converged yet.
+            Spline derivative = spline.derivative();
+            SimpleMatrix coefficients = derivative.getBasisMatrix().mult(derivative.getBasisWeightMatrix());
+            double[] xCoefficients = new double[coefficients.numRows()];
+            double[] yCoefficients = new double[coefficients.numRows()];
+            for (int i = 0; i < coefficients.numRows(); i++) {
+                xCoefficients[i] = coefficients.get(i, 0);
+                yCoefficients[i] = coefficients.get(i, 1);
             }
+
+            double estimate = integrateSpeed(xCoefficients, yCoefficients, 0.0, 1.0);
+            length = integrateSpeed(xCoefficients, yCoefficients, 0.0, 1.0, estimate,
+                    LENGTH_TOLERANCE * estimate, MAX_LENGTH_DEPTH);
         }
 
         return length;
     }
 
+    private static double integrateSpeed(double[] xCoefficients, double[] yCoefficients, double start, double end,
+                                         double estimate, double tolerance, int depth) {
+        double mid = (start + end) / 2.0;
+        double left = integrateSpeed(xCoefficients, yCoefficients, start, mid);
+        double right = integrateSpeed(xCoefficients, yCoefficients, mid, end);
+        if (depth == 0 || Math.abs(left + right - estimate) <= tolerance) {
+            return left + right;
+        }
+
+        return integrateSpeed(xCoefficients, yCoefficients, start, mid, left, tolerance / 2.0, depth - 1) +
+                integrateSpeed(xCoefficients, yCoefficients, mid, end, right, tolerance / 2.0, depth - 1);
+    }
+
+    private static double integrateSpeed(double[] xCoefficients, double[] yCoefficients, double start, double end) {
+        double halfWidth = (end - start) / 2.0;
+        double mid = (start + end) / 2.0;
+
+        double sum = 0.0;
+        for (int i = 0; i < QUADRATURE_NODES.length; i++) {
+            double t = mid + halfWidth * QUADRATURE_NODES[i];
+            sum += QUADRATURE_WEIGHTS[i] * Math.hypot(evaluate(xCoefficients, t), evaluate(yCoefficients, t));
+        }
+
+        return sum * halfWidth;
+    }
+
+    private static double evaluate(double[] coefficients, double t) {
+        double value = 0.0;
+        for (int i = coefficients.length - 1; i >= 0; i--) {
+            value = value * t + coefficients[i];
+        }
+        return value;
+    }
+
     public Spline getSpline() {
         return spline;
     }
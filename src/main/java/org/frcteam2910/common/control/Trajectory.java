@@ -1,14 +1,51 @@
 package org.frcteam2910.common.control;
 
 import org.frcteam2910.common.math.MathUtils;
+import org.frcteam2910.common.metrics.Metrics;
+import org.frcteam2910.common.metrics.MetricsSink;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class Trajectory {
+    /**
+     * The time taken to sample the path when generating a trajectory.
+     */
+    public static final String SAMPLING_METRIC = "trajectory.generation.sampling";
+    /**
+     * The time taken by the forward (acceleration limiting) pass when generating a trajectory.
+     */
+    public static final String FORWARD_PASS_METRIC = "trajectory.generation.forwardPass";
+    /**
+     * The time taken by the backward (deceleration limiting) pass when generating a trajectory.
+     */
+    public static final String BACKWARD_PASS_METRIC = "trajectory.generation.backwardPass";
+    /**
+     * The time taken to limit the jerk of a trajectory when it is generated with a jerk constraint.
+     */
+    public static final String JERK_LIMITING_METRIC = "trajectory.generation.jerkLimiting";
+    /**
+     * The time taken to calculate the start time of every sample when generating a trajectory.
+     */
+    public static final String TIMING_METRIC = "trajectory.generation.timing";
+    /**
+     * The total time taken to generate a trajectory.
+     */
+    public static final String GENERATION_METRIC = "trajectory.generation";
+    /**
+     * The number of samples in a generated trajectory.
+     */
+    public static final String SAMPLE_COUNT_METRIC = "trajectory.samples";
+
     private final Path path;
+    private final TrajectoryConstraint[] constraints;
+    private final double sampleDistance;
+    private final double startingVelocity;
+    private final double endingVelocity;
 
     private final double duration;
+    private final boolean jerkLimited;
 
     private List<ConstrainedPathState> constrainedPathStates = new ArrayList<>();
     private double[] pathStateStartTimes;
@@ -20,27 +57,268 @@ public class Trajectory {
     public Trajectory(Path path, TrajectoryConstraint[] trajectoryConstraints, double sampleDistance,
                       double trajectoryStartingVelocity, double trajectoryEndingVelocity) {
         this.path = path;
-
+        this.constraints = trajectoryConstraints;
+        this.sampleDistance = sampleDistance;
+        this.startingVelocity = trajectoryStartingVelocity;
+        this.endingVelocity = trajectoryEndingVelocity;
+
+        MetricsSink metrics = Metrics.getSink();
+        boolean recordMetrics = metrics.isEnabled();
+        long generationStartTime = recordMetrics ? System.nanoTime() : 0;
+        long phaseStartTime = generationStartTime;
+
+        // Sample the path at the start of every profile. The ending state of each profile is the starting state of
+        // the next one.
         double distance = 0.0;
-        ConstrainedPathState lastState = new ConstrainedPathState(
-                path.calculate(distance),
-                0.0,
-                0.0,
-                trajectoryStartingVelocity, // Trajectory starting velocity
-                0.0
-        );
         while (distance < path.getLength()) {
-            Path.State startingState = path.calculate(distance);
-
-
             double profileLength = sampleDistance;
             if (distance + sampleDistance > path.getLength()) {
                 profileLength = path.getLength() - distance;
             }
 
-            Path.State endingState = path.calculate(distance + profileLength);
+            constrainedPathStates.add(new ConstrainedPathState(
+                    path.calculate(distance),
+                    profileLength,
+                    0.0,
+                    0.0,
+                    0.0
+            ));
+
+            distance += profileLength;
+        }
+        Path.State finalState = path.calculate(distance);
+
+        if (recordMetrics) {
+            phaseStartTime = recordPhase(metrics, SAMPLING_METRIC, phaseStartTime);
+        }
+
+        double[] maxEndingVelocities = getMaxEndingVelocities(trajectoryConstraints, finalState);
+        applyForwardPass(trajectoryConstraints, finalState, trajectoryStartingVelocity, maxEndingVelocities);
+
+        if (recordMetrics) {
+            phaseStartTime = recordPhase(metrics, FORWARD_PASS_METRIC, phaseStartTime);
+        }
+
+        applyBackwardPass(trajectoryConstraints, trajectoryEndingVelocity);
+
+        if (recordMetrics) {
+            phaseStartTime = recordPhase(metrics, BACKWARD_PASS_METRIC, phaseStartTime);
+        }
+
+        double maxJerk = getMaxJerk(trajectoryConstraints, finalState);
+        jerkLimited = Double.isFinite(maxJerk);
+        if (jerkLimited) {
+            limitJerk(trajectoryConstraints, maxEndingVelocities, maxJerk);
+
+            if (recordMetrics) {
+                phaseStartTime = recordPhase(metrics, JERK_LIMITING_METRIC, phaseStartTime);
+            }
+        }
+
+        pathStateStartTimes = new double[constrainedPathStates.size()];
 
-            double startingVelocity = lastState.endingVelocity;
+        double duration = 0.0;
+        for (int i = 0; i < constrainedPathStates.size(); i++) {
+            pathStateStartTimes[i] = duration;
+            duration += constrainedPathStates.get(i).getDuration();
+        }
+        this.duration = duration;
+
+        if (recordMetrics) {
+            recordPhase(metrics, TIMING_METRIC, phaseStartTime);
+            metrics.recordDuration(GENERATION_METRIC, System.nanoTime() - generationStartTime);
+            metrics.recordValue(SAMPLE_COUNT_METRIC, constrainedPathStates.size());
+        }
+    }
+
+    private static long recordPhase(MetricsSink metrics, String name, long phaseStartTime) {
+        long now = System.nanoTime();
+        metrics.recordDuration(name, now - phaseStartTime);
+        return now;
+    }
+
+    /**
+     * Gets the lowest jerk limit of the constraints anywhere along the trajectory.
+     *
+     * @return the maximum jerk or positive infinity if none of the constraints limit jerk
+     */
+    private double getMaxJerk(TrajectoryConstraint[] trajectoryConstraints, Path.State finalState) {
+        double maxJerk = Double.POSITIVE_INFINITY;
+        for (TrajectoryConstraint constraint : trajectoryConstraints) {
+            for (ConstrainedPathState state : constrainedPathStates) {
+                maxJerk = Math.min(maxJerk, constraint.getMaxJerk(state.pathState, state.startingVelocity));
+            }
+            maxJerk = Math.min(maxJerk, constraint.getMaxJerk(finalState, endingVelocity));
+        }
+
+        return maxJerk;
+    }
+
+    /**
+     * Turns the velocity profile found by the forward and backward passes into an S-curve.
+     * <p>
+     * The S-curve is the profile averaged over a window of {@code (maxAcceleration + maxDeceleration) / maxJerk}
+     * seconds centred on every time. Its velocity and acceleration are the change in the profile's position and
+     * velocity across the window divided by the window, so its acceleration is continuous and never changes faster
+     * than the jerk limit. The profile has a constant acceleration between samples, so the acceleration of the S-curve
+     * changes linearly between the times where either edge of the window passes a sample. Those times are where the
+     * states of the jerk limited trajectory start.
+     * <p>
+     * Before the profile is averaged the passes are run again so the average still obeys the constraints. Every
+     * maximum velocity is lowered to the lowest one within the distance that can be travelled during the window, the
+     * acceleration is limited to what the first passes used so the window doesn't have to grow, and the profile only
+     * covers the part of the path left after travelling for half a window at the starting and ending velocities. It is
+     * treated as keeping those velocities before it starts and after it ends, which makes the average start and end at
+     * the ends of the path with the right velocities and no acceleration.
+     *
+     * @param trajectoryConstraints the constraints of the trajectory
+     * @param maxEndingVelocities   the maximum velocity at the end of every state
+     * @param maxJerk               the jerk limit of the trajectory
+     */
+    private void limitJerk(TrajectoryConstraint[] trajectoryConstraints, double[] maxEndingVelocities,
+                           double maxJerk) {
+        double maxAcceleration = 0.0;
+        double maxDeceleration = 0.0;
+        double peakVelocity = 0.0;
+        for (ConstrainedPathState state : constrainedPathStates) {
+            double acceleration = (state.endingVelocity * state.endingVelocity -
+                    state.startingVelocity * state.startingVelocity) / (2.0 * state.length);
+            maxAcceleration = Math.max(maxAcceleration, acceleration);
+            maxDeceleration = Math.max(maxDeceleration, -acceleration);
+            peakVelocity = Math.max(peakVelocity, Math.max(state.startingVelocity, state.endingVelocity));
+        }
+
+        double window = (maxAcceleration + maxDeceleration) / maxJerk;
+        if (window == 0.0) {
+            // The trajectory never accelerates
+            return;
+        }
+        if (startingVelocity + endingVelocity > 0.0) {
+            // A path too short to travel half a window at both velocities can only be followed with a shorter window,
+            // which goes over the jerk limit
+            window = Math.min(window, 2.0 * path.getLength() / (startingVelocity + endingVelocity));
+        }
+
+        double[] erodedEndingVelocities = erode(maxEndingVelocities,
+                (int) Math.ceil(peakVelocity * window / sampleDistance));
+        double startDistance = 0.5 * startingVelocity * window;
+        double endDistance = Math.max(startDistance, path.getLength() - 0.5 * endingVelocity * window);
+
+        List<ConstrainedPathState> profileStates = new ArrayList<>();
+        double[] profileEndingVelocities = new double[constrainedPathStates.size()];
+        for (int i = 0; i < constrainedPathStates.size(); i++) {
+            ConstrainedPathState state = constrainedPathStates.get(i);
+            double start = Math.max(state.pathState.getDistance(), startDistance);
+            double end = Math.min(state.pathState.getDistance() + state.length, endDistance);
+            if (end > start) {
+                Path.State pathState = start == state.pathState.getDistance() ? state.pathState :
+                        path.calculate(start);
+                profileEndingVelocities[profileStates.size()] = erodedEndingVelocities[i];
+                profileStates.add(new ConstrainedPathState(pathState, end - start, 0.0, 0.0, 0.0));
+            }
+        }
+
+        TrajectoryConstraint[] profileConstraints = Arrays.copyOf(trajectoryConstraints,
+                trajectoryConstraints.length + 1);
+        profileConstraints[trajectoryConstraints.length] = new MaxAccelerationConstraint(maxAcceleration,
+                maxDeceleration);
+
+        constrainedPathStates = profileStates;
+        applyForwardPass(profileConstraints, path.calculate(endDistance), startingVelocity, profileEndingVelocities);
+        applyBackwardPass(profileConstraints, endingVelocity);
+        PiecewiseProfile profile = new PiecewiseProfile(profileStates, startDistance, startingVelocity,
+                endingVelocity);
+
+        // The states change wherever the leading or trailing edge of the window passes the start of a state of the
+        // profile, from when the trailing edge is at the start of the profile to when the leading edge is at the end
+        double halfWindow = 0.5 * window;
+        double[] times = profile.times;
+        int stateCount = profileStates.size();
+        List<ConstrainedPathState> jerkLimitedStates = new ArrayList<>(2 * stateCount + 1);
+        int leading = 0;
+        int trailing = 0;
+        double time = -halfWindow;
+        double endTime = times[stateCount] + halfWindow;
+        while (time < endTime) {
+            while (leading <= stateCount && times[leading] - halfWindow <= time) {
+                leading++;
+            }
+            while (trailing <= stateCount && times[trailing] + halfWindow <= time) {
+                trailing++;
+            }
+            double nextTime = endTime;
+            if (leading <= stateCount) {
+                nextTime = Math.min(nextTime, times[leading] - halfWindow);
+            }
+            if (trailing <= stateCount) {
+                nextTime = Math.min(nextTime, times[trailing] + halfWindow);
+            }
+
+            // The edges are in the states of the profile before the next ones they reach
+            int leadingState = leading - 1;
+            int trailingState = trailing - 1;
+            double leadingTime = time + halfWindow;
+            double trailingTime = time - halfWindow;
+            double distance = (profile.getPositionIntegral(leadingState, leadingTime) -
+                    profile.getPositionIntegral(trailingState, trailingTime)) / window;
+            double velocity = (profile.getPosition(leadingState, leadingTime) -
+                    profile.getPosition(trailingState, trailingTime)) / window;
+            double acceleration = (profile.getVelocity(leadingState, leadingTime) -
+                    profile.getVelocity(trailingState, trailingTime)) / window;
+            double jerk = (profile.getAcceleration(leadingState) - profile.getAcceleration(trailingState)) / window;
+
+            double duration = nextTime - time;
+            jerkLimitedStates.add(new JerkLimitedPathState(
+                    path.calculate(distance),
+                    duration * (velocity + duration * (0.5 * acceleration + duration * jerk / 6.0)),
+                    velocity,
+                    velocity + duration * (acceleration + 0.5 * duration * jerk),
+                    acceleration,
+                    jerk,
+                    duration
+            ));
+
+            time = nextTime;
+        }
+
+        constrainedPathStates = jerkLimitedStates;
+    }
+
+    /**
+     * Lowers every value to the lowest value within a number of elements of it.
+     */
+    private static double[] erode(double[] values, int radius) {
+        double[] eroded = new double[values.length];
+
+        // Indices of a window's values in increasing order of value. Only values that can still be the minimum of a
+        // later window are kept.
+        int[] candidates = new int[values.length];
+        int head = 0;
+        int tail = 0;
+        int next = 0;
+        for (int i = 0; i < values.length; i++) {
+            int windowEnd = Math.min(values.length - 1, i + radius);
+            while (next <= windowEnd) {
+                while (tail > head && values[candidates[tail - 1]] >= values[next]) {
+                    tail--;
+                }
+                candidates[tail++] = next++;
+            }
+            while (candidates[head] < i - radius) {
+                head++;
+            }
+
+            eroded[i] = values[candidates[head]];
+        }
+
+        return eroded;
+    }
+
+    private double[] getMaxEndingVelocities(TrajectoryConstraint[] trajectoryConstraints, Path.State finalState) {
+        double[] maxEndingVelocities = new double[constrainedPathStates.size()];
+        for (int i = 0; i < constrainedPathStates.size(); i++) {
+            Path.State endingState = i + 1 < constrainedPathStates.size() ?
+                    constrainedPathStates.get(i + 1).pathState : finalState;
 
             double maxEndingVelocity = Double.POSITIVE_INFINITY;
 
@@ -48,13 +326,34 @@ public class Trajectory {
                 maxEndingVelocity = Math.min(constraint.getMaxVelocity(endingState), maxEndingVelocity);
             }
 
-            ConstrainedPathState state = new ConstrainedPathState(
-                    startingState,
-                    profileLength,
-                    startingVelocity,
-                    maxEndingVelocity,
-                    0.0
-            );
+            maxEndingVelocities[i] = maxEndingVelocity;
+        }
+
+        return maxEndingVelocities;
+    }
+
+    /**
+     * Limits the velocity of every state by the maximum velocity and acceleration of the constraints.
+     *
+     * @param trajectoryConstraints      the constraints of the trajectory
+     * @param finalState                 the path state at the end of the trajectory
+     * @param trajectoryStartingVelocity the starting velocity of the trajectory
+     * @param maxEndingVelocities        the maximum velocity at the end of every state
+     */
+    private void applyForwardPass(TrajectoryConstraint[] trajectoryConstraints, Path.State finalState,
+                                  double trajectoryStartingVelocity, double[] maxEndingVelocities) {
+        double startingVelocity = trajectoryStartingVelocity; // Trajectory starting velocity
+        for (int i = 0; i < constrainedPathStates.size(); i++) {
+            ConstrainedPathState state = constrainedPathStates.get(i);
+            Path.State startingState = state.pathState;
+            Path.State endingState = i + 1 < constrainedPathStates.size() ?
+                    constrainedPathStates.get(i + 1).pathState : finalState;
+            double profileLength = state.length;
+
+            double maxEndingVelocity = maxEndingVelocities[i];
+
+            state.startingVelocity = startingVelocity;
+            state.endingVelocity = maxEndingVelocity;
 
             // If the max ending velocity is lower than the starting velocity we know that we have to decelerate
             double maxDeltaVelocity = maxEndingVelocity - startingVelocity;
@@ -80,12 +379,18 @@ public class Trajectory {
                 // Use the optimal acceleration if we can
                 acceleration = Math.min(acceleration, optimalAcceleration);
 
-                // Find the maximum velocity we can reach during this profile
-                double[] roots = MathUtils.quadratic(0.5 * acceleration, startingVelocity, -profileLength);
-                double duration = Math.max(roots[0], roots[1]);
-
-                state.endingVelocity = startingVelocity + acceleration * duration;
-                state.acceleration = acceleration;
+                if (acceleration <= 0.0) {
+                    // The constraints don't allow us to accelerate
+                    state.acceleration = 0.0;
+                    state.endingVelocity = state.startingVelocity;
+                } else {
+                    // Find the maximum velocity we can reach during this profile
+                    double[] roots = MathUtils.quadratic(0.5 * acceleration, startingVelocity, -profileLength);
+                    double duration = Math.max(roots[0], roots[1]);
+
+                    state.endingVelocity = startingVelocity + acceleration * duration;
+                    state.acceleration = acceleration;
+                }
             } else {
                 // If we can decelerate before we reach the end of the profile, use that deceleration.
                 // This acceleration may not be achievable. When we go over the trajectory in reverse we will take care
@@ -93,12 +398,17 @@ public class Trajectory {
                 state.acceleration = optimalAcceleration;
             }
 
-            constrainedPathStates.add(state);
-            lastState = state;
-
-            distance += profileLength;
+            startingVelocity = state.endingVelocity;
         }
+    }
 
+    /**
+     * Limits the velocity of every state so the trajectory can decelerate in time for the states after it.
+     *
+     * @param trajectoryConstraints    the constraints of the trajectory
+     * @param trajectoryEndingVelocity the ending velocity of the trajectory
+     */
+    private void applyBackwardPass(TrajectoryConstraint[] trajectoryConstraints, double trajectoryEndingVelocity) {
         for (int i = constrainedPathStates.size() - 1; i >= 0; i--) {
             ConstrainedPathState constrainedState = constrainedPathStates.get(i);
 
@@ -136,15 +446,56 @@ public class Trajectory {
                 }
             }
         }
+    }
 
-        pathStateStartTimes = new double[constrainedPathStates.size()];
-
-        double duration = 0.0;
-        for (int i = 0; i < constrainedPathStates.size(); i++) {
-            pathStateStartTimes[i] = duration;
-            duration += constrainedPathStates.get(i).getDuration();
+    /**
+     * Creates a trajectory from a state table that was previously generated with the same path and constraints.
+     * <p>
+     * No constraints are evaluated when the trajectory is created this way. The caller is responsible for making sure
+     * the state table actually belongs to the path and constraints.
+     *
+     * @param path                  the path the state table was generated for
+     * @param trajectoryConstraints the constraints the state table was generated with
+     * @param sampleDistance        the sample distance the state table was generated with
+     * @param startingVelocity      the starting velocity the state table was generated with
+     * @param endingVelocity        the ending velocity the state table was generated with
+     * @param stateTable            the generated state table
+     */
+    public Trajectory(Path path, TrajectoryConstraint[] trajectoryConstraints, double sampleDistance,
+                      double startingVelocity, double endingVelocity, StateTable stateTable) {
+        this.path = path;
+        this.constraints = trajectoryConstraints;
+        this.sampleDistance = sampleDistance;
+        this.startingVelocity = startingVelocity;
+        this.endingVelocity = endingVelocity;
+
+        int stateCount = stateTable.distances.length;
+        for (int i = 0; i < stateCount; i++) {
+            if (stateTable.jerkLimited) {
+                double stateEndTime = i + 1 < stateCount ? stateTable.startTimes[i + 1] : stateTable.duration;
+                constrainedPathStates.add(new JerkLimitedPathState(
+                        path.calculate(stateTable.distances[i]),
+                        stateTable.lengths[i],
+                        stateTable.startingVelocities[i],
+                        stateTable.endingVelocities[i],
+                        stateTable.accelerations[i],
+                        stateTable.jerks[i],
+                        stateEndTime - stateTable.startTimes[i]
+                ));
+            } else {
+                constrainedPathStates.add(new ConstrainedPathState(
+                        path.calculate(stateTable.distances[i]),
+                        stateTable.lengths[i],
+                        stateTable.startingVelocities[i],
+                        stateTable.endingVelocities[i],
+                        stateTable.accelerations[i]
+                ));
+            }
         }
-        this.duration = duration;
+        pathStateStartTimes = stateTable.startTimes.clone();
+        duration = stateTable.duration;
+
+        jerkLimited = stateTable.jerkLimited;
     }
 
     public State calculate(double time) {
@@ -180,6 +531,143 @@ public class Trajectory {
         return path;
     }
 
+    public TrajectoryConstraint[] getConstraints() {
+        return constraints;
+    }
+
+    public double getSampleDistance() {
+        return sampleDistance;
+    }
+
+    public double getStartingVelocity() {
+        return startingVelocity;
+    }
+
+    public double getEndingVelocity() {
+        return endingVelocity;
+    }
+
+    /**
+     * Gets if the trajectory was generated with a jerk constraint. The acceleration of a jerk limited trajectory is
+     * continuous and changes linearly within every state at no more than the jerk limit.
+     *
+     * @return true if the trajectory is jerk limited
+     */
+    public boolean isJerkLimited() {
+        return jerkLimited;
+    }
+
+    /**
+     * Gets a copy of the constrained states that make up this trajectory.
+     *
+     * @return the state table
+     */
+    public StateTable getStateTable() {
+        int stateCount = constrainedPathStates.size();
+        StateTable table = new StateTable(stateCount, duration, jerkLimited);
+        for (int i = 0; i < stateCount; i++) {
+            ConstrainedPathState state = constrainedPathStates.get(i);
+            table.distances[i] = state.pathState.getDistance();
+            table.lengths[i] = state.length;
+            table.startingVelocities[i] = state.startingVelocity;
+            table.endingVelocities[i] = state.endingVelocity;
+            table.accelerations[i] = state.acceleration;
+            table.jerks[i] = state.getJerk();
+            table.startTimes[i] = pathStateStartTimes[i];
+        }
+
+        return table;
+    }
+
+    /**
+     * The velocity profile found by the forward and backward passes as a function of time. The acceleration is
+     * constant within every state and the profile keeps its starting velocity before it starts and its ending velocity
+     * after it ends.
+     * <p>
+     * States are numbered from zero, with -1 meaning before the profile starts and the number of states meaning after
+     * it ends.
+     */
+    private static final class PiecewiseProfile {
+        /**
+         * The times, positions and velocities at the start of every state and at the end of the last one.
+         */
+        private final double[] times;
+        private final double[] positions;
+        private final double[] velocities;
+        private final double[] accelerations;
+        /**
+         * The integral of the position from the start of the profile to the start of every state.
+         */
+        private final double[] positionIntegrals;
+        private final double startingVelocity;
+
+        PiecewiseProfile(List<ConstrainedPathState> states, double startDistance, double startingVelocity,
+                         double endingVelocity) {
+            int stateCount = states.size();
+            times = new double[stateCount + 1];
+            positions = new double[stateCount + 1];
+            velocities = new double[stateCount + 1];
+            accelerations = new double[stateCount];
+            positionIntegrals = new double[stateCount + 1];
+
+            positions[0] = startDistance;
+            if (stateCount == 0) {
+                // Nothing is left between travelling at the starting and ending velocities
+                this.startingVelocity = startingVelocity;
+                velocities[0] = endingVelocity;
+                return;
+            }
+
+            this.startingVelocity = states.get(0).startingVelocity;
+            velocities[0] = this.startingVelocity;
+            for (int i = 0; i < stateCount; i++) {
+                ConstrainedPathState state = states.get(i);
+                double duration = 2.0 * state.length / (state.startingVelocity + state.endingVelocity);
+
+                times[i + 1] = times[i] + duration;
+                positions[i + 1] = positions[i] + state.length;
+                velocities[i + 1] = state.endingVelocity;
+                accelerations[i] = (state.endingVelocity - state.startingVelocity) / duration;
+                positionIntegrals[i + 1] = positionIntegrals[i] + duration * (positions[i] +
+                        duration * (0.5 * state.startingVelocity + duration * accelerations[i] / 6.0));
+            }
+        }
+
+        double getAcceleration(int state) {
+            return state >= 0 && state < accelerations.length ? accelerations[state] : 0.0;
+        }
+
+        double getVelocity(int state, double time) {
+            if (state < 0) {
+                return startingVelocity;
+            }
+
+            int i = Math.min(state, accelerations.length);
+            return velocities[i] + getAcceleration(state) * (time - times[i]);
+        }
+
+        double getPosition(int state, double time) {
+            if (state < 0) {
+                return positions[0] + startingVelocity * time;
+            }
+
+            int i = Math.min(state, accelerations.length);
+            double stateTime = time - times[i];
+            return positions[i] + stateTime * (velocities[i] + 0.5 * getAcceleration(state) * stateTime);
+        }
+
+        double getPositionIntegral(int state, double time) {
+            if (state < 0) {
+                return time * (positions[0] + 0.5 * startingVelocity * time);
+            }
+
+            int i = Math.min(state, accelerations.length);
+            double stateTime = time - times[i];
+            return positionIntegrals[i] + stateTime * (positions[i] +
+                    stateTime * (0.5 * velocities[i] + stateTime * getAcceleration(state) / 6.0));
+        }
+    }
+
     class ConstrainedPathState {
         public Path.State pathState;
         public double length;
@@ -204,13 +692,16 @@ public class Trajectory {
                 return (startingVelocity / -acceleration);
             }
 
-            double[] roots = MathUtils.quadratic(0.5 * acceleration, startingVelocity, -length);
+            // The larger root when accelerating and the smaller one when decelerating are the same root of the
+            // quadratic. It's solved here instead of with MathUtils.quadratic because this is called while searching
+            // for the state at a time, which must not allocate.
+            double a = 0.5 * acceleration;
+            double c = -length;
+            return (-startingVelocity + Math.sqrt(startingVelocity * startingVelocity - 4 * a * c)) / (2 * a);
+        }
 
-            if (acceleration > 0.0) {
-                return Math.max(roots[0], roots[1]);
-            } else {
-                return Math.min(roots[0], roots[1]);
-            }
+        public double getJerk() {
+            return 0.0;
         }
 
         public State calculate(double time) {
@@ -226,6 +717,113 @@ public class Trajectory {
         }
     }
 
+    /**
+     * A state of a jerk limited trajectory. Its acceleration starts at {@code acceleration} and changes linearly at
+     * its jerk.
+     */
+    class JerkLimitedPathState extends ConstrainedPathState {
+        public double jerk;
+        public double duration;
+
+        public JerkLimitedPathState(Path.State pathState, double length, double startingVelocity,
+                                    double endingVelocity, double acceleration, double jerk, double duration) {
+            super(pathState, length, startingVelocity, endingVelocity, acceleration);
+            this.jerk = jerk;
+            this.duration = duration;
+        }
+
+        @Override
+        public double getDuration() {
+            return duration;
+        }
+
+        @Override
+        public double getJerk() {
+            return jerk;
+        }
+
+        @Override
+        public State calculate(double time) {
+            time = MathUtils.clamp(time, 0.0, duration);
+
+            double distance = pathState.getDistance() +
+                    time * (startingVelocity + time * (0.5 * acceleration + time * jerk / 6.0));
+
+            return new State(
+                    path.calculate(distance),
+                    startingVelocity + time * (acceleration + 0.5 * time * jerk),
+                    acceleration + time * jerk
+            );
+        }
+    }
+
+    /**
+     * The constrained states of a trajectory stored as primitive arrays. Every array has one element per state.
+     * <p>
+     * The acceleration of a state is its acceleration at its start. It only changes within the state, at the jerk of
+     * the state, if the trajectory is jerk limited.
+     */
+    public static final class StateTable {
+        public final double[] distances;
+        public final double[] lengths;
+        public final double[] startingVelocities;
+        public final double[] endingVelocities;
+        public final double[] accelerations;
+        public final double[] jerks;
+        public final double[] startTimes;
+        public final double duration;
+        /**
+         * If the states belong to a jerk limited trajectory.
+         */
+        public final boolean jerkLimited;
+
+        public StateTable(int stateCount, double duration) {
+            this(stateCount, duration, false);
+        }
+
+        public StateTable(int stateCount, double duration, boolean jerkLimited) {
+            this(new double[stateCount], new double[stateCount], new double[stateCount], new double[stateCount],
+                    new double[stateCount], new double[stateCount], new double[stateCount], duration, jerkLimited);
+        }
+
+        public StateTable(double[] distances, double[] lengths, double[] startingVelocities,
+                          double[] endingVelocities, double[] accelerations, double[] startTimes, double duration) {
+            this(distances, lengths, startingVelocities, endingVelocities, accelerations, startTimes, duration, false);
+        }
+
+        public StateTable(double[] distances, double[] lengths, double[] startingVelocities,
+                          double[] endingVelocities, double[] accelerations, double[] startTimes, double duration,
+                          boolean jerkLimited) {
+            this(distances, lengths, startingVelocities, endingVelocities, accelerations,
+                    new double[accelerations.length], startTimes, duration, jerkLimited);
+        }
+
+        public StateTable(double[] distances, double[] lengths, double[] startingVelocities,
+                          double[] endingVelocities, double[] accelerations, double[] jerks, double[] startTimes,
+                          double duration, boolean jerkLimited) {
+            int stateCount = distances.length;
+            if (lengths.length != stateCount || startingVelocities.length != stateCount ||
+                    endingVelocities.length != stateCount || accelerations.length != stateCount ||
+                    jerks.length != stateCount || startTimes.length != stateCount) {
+                throw new IllegalArgumentException("All state arrays must have the same length");
+            }
+
+            this.distances = distances;
+            this.lengths = lengths;
+            this.startingVelocities = startingVelocities;
+            this.endingVelocities = endingVelocities;
+            this.accelerations = accelerations;
+            this.jerks = jerks;
+            this.startTimes = startTimes;
+            this.duration = duration;
+            this.jerkLimited = jerkLimited;
+        }
+
+        public int getStateCount() {
+            return distances.length;
+        }
+    }
+
     public static class State {
         private final Path.State pathState;
         private final double velocity;
@@ -32,4 +32,18 @@ public abstract class TrajectoryConstraint {
     public double getMaxDeceleration(Path.State state, double velocity) {
         return getMaxAcceleration(state, velocity);
     }
+
+    /**
+     * Gets the maximum jerk this constraint allows for a path state and velocity.
+     * <p>
+     * Trajectories are only jerk limited if at least one of their constraints returns a finite jerk. The lowest jerk
+     * anywhere along the trajectory is used for the whole trajectory.
+     *
+     * @param state    the path state.
+     * @param velocity the velocity.
+     * @return the maximum jerk.
+     */
+    public double getMaxJerk(Path.State state, double velocity) {
+        return Double.POSITIVE_INFINITY;
+    }
 }
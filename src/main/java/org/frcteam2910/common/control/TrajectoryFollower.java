@@ -2,10 +2,18 @@ package org.frcteam2910.common.control;
 
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.io.TelemetryLogger;
+import org.frcteam2910.common.metrics.Metrics;
+import org.frcteam2910.common.metrics.MetricsSink;
 
 import java.util.Optional;
 
 public abstract class TrajectoryFollower<DriveSignalType> {
+    /**
+     * The time taken to calculate a drive signal in {@link #update(Pose2d, Translation2d, double, double, double)}.
+     */
+    public static final String UPDATE_METRIC = "trajectoryFollower.update";
+
     private final Object trajectoryLock = new Object();
 
     /**
@@ -22,6 +30,8 @@ public abstract class TrajectoryFollower<DriveSignalType> {
      */
     private double startTime = Double.NaN;
 
+    private volatile TelemetryLogger.Channel telemetryChannel = null;
+
     /**
      * Calculates the drive signal required to follow the trajectory.
      *
@@ -65,6 +75,35 @@ public abstract class TrajectoryFollower<DriveSignalType> {
         }
     }
 
+    /**
+     * Sets the channel the trajectory states being followed are logged to.
+     *
+     * @param telemetryChannel the channel to log to or null to stop logging
+     */
+    public final void setTelemetryChannel(TelemetryLogger.Channel telemetryChannel) {
+        this.telemetryChannel = telemetryChannel;
+    }
+
+    /**
+     * Logs the trajectory state that is being followed if a telemetry channel is set. Never blocks.
+     *
+     * @param time        the amount of time that has elapsed since the current trajectory started to be followed
+     * @param state       the trajectory state being followed
+     * @param feedforward the feedforward applied along the path
+     */
+    protected final void logState(double time, Trajectory.State state, double feedforward) {
+        TelemetryLogger.Channel channel = telemetryChannel;
+        if (channel != null) {
+            channel.log(time,
+                    state.getPathState().getPosition().getX(),
+                    state.getPathState().getPosition().getY(),
+                    state.getPathState().getDistance(),
+                    state.getVelocity(),
+                    state.getAcceleration(),
+                    feedforward);
+        }
+    }
+
     /**
      * Gets the current trajectory that is being followed if any.
      *
@@ -112,8 +151,16 @@ public abstract class TrajectoryFollower<DriveSignalType> {
             timeSinceStart = time - startTime;
         }
 
+        MetricsSink metrics = Metrics.getSink();
+        if (!metrics.isEnabled()) {
+            return Optional.of(calculateDriveSignal(currentPose, velocity, rotationalVelocity, trajectory,
+                    timeSinceStart, dt));
+        }
+
+        long updateStartTime = System.nanoTime();
         DriveSignalType signal = calculateDriveSignal(currentPose, velocity, rotationalVelocity, trajectory,
                 timeSinceStart, dt);
+        metrics.recordDuration(UPDATE_METRIC, System.nanoTime() - updateStartTime);
 
         return Optional.of(signal);
     }
@@ -0,0 +1,164 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.math.KdTree;
+import org.frcteam2910.common.util.InterpolatingDouble;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Trajectories that were generated ahead of time from a grid of start positions to a fixed set of goals.
+ * <p>
+ * Instead of generating a trajectory from wherever the robot is, the trajectory that starts nearest to the robot is
+ * looked up and a short line from the robot to its start is spliced onto the front. Only the line has to be
+ * generated so getting a trajectory to a goal takes about as long as decoding one. Every stored trajectory starts and
+ * ends at rest, so the robot briefly comes to a stop where the line joins the stored trajectory. The line is not
+ * checked against obstacles, so the start grid should be fine enough that the robot is always close to a start.
+ * <p>
+ * This class is thread safe.
+ */
+public final class TrajectoryLibrary {
+    private static final double EPSILON = 1.0e-6;
+
+    private final Pose2d[] goals;
+    private final Trajectory[][] trajectories;
+    private final KdTree[] startTrees;
+
+    /**
+     * @param goals        the goals the trajectories drive to
+     * @param trajectories the trajectories to every goal. {@code trajectories[i]} holds every trajectory that ends at
+     *                     {@code goals[i]}.
+     */
+    public TrajectoryLibrary(Pose2d[] goals, Trajectory[][] trajectories) {
+        if (goals.length != trajectories.length) {
+            throw new IllegalArgumentException("Every goal must have an array of trajectories");
+        }
+
+        this.goals = goals.clone();
+        this.trajectories = new Trajectory[goals.length][];
+        this.startTrees = new KdTree[goals.length];
+        for (int i = 0; i < goals.length; i++) {
+            this.trajectories[i] = trajectories[i].clone();
+
+            double[] xs = new double[trajectories[i].length];
+            double[] ys = new double[trajectories[i].length];
+            for (int j = 0; j < trajectories[i].length; j++) {
+                Translation2d start = trajectories[i][j].getPath().calculate(0.0).getPosition();
+                xs[j] = start.getX();
+                ys[j] = start.getY();
+            }
+            startTrees[i] = new KdTree(xs, ys);
+        }
+    }
+
+    /**
+     * Gets the stored trajectory to a goal that starts nearest to a position.
+     *
+     * @param position the position to start near
+     * @param goal     the index of the goal
+     * @return the nearest trajectory or null if there are no trajectories to the goal
+     */
+    public Trajectory getNearestTrajectory(Translation2d position, int goal) {
+        int nearest = startTrees[goal].nearest(position.getX(), position.getY());
+        if (nearest == -1) {
+            return null;
+        }
+
+        return trajectories[goal][nearest];
+    }
+
+    /**
+     * Gets a trajectory from a pose to a goal by splicing a line from the pose onto the nearest stored trajectory.
+     * <p>
+     * The robot turns from the rotation of the pose to the rotations of the stored path over the whole trajectory.
+     *
+     * @param pose the pose of the robot
+     * @param goal the index of the goal
+     * @return the trajectory or null if there are no trajectories to the goal
+     */
+    public Trajectory getTrajectory(Pose2d pose, int goal) {
+        Trajectory stored = getNearestTrajectory(pose.getTranslation(), goal);
+        if (stored == null) {
+            return null;
+        }
+
+        Path storedPath = stored.getPath();
+        Translation2d storedStart = storedPath.calculate(0.0).getPosition();
+        double connectorLength = pose.getTranslation().getDistance(storedStart);
+        if (connectorLength < EPSILON) {
+            connectorLength = 0.0;
+        }
+
+        // Shift the stored path along by the connecting line, replacing its starting rotation with the robot's
+        PathSegment[] storedSegments = storedPath.getSegments();
+        PathSegment[] segments;
+        if (connectorLength > 0.0) {
+            segments = new PathSegment[storedSegments.length + 1];
+            segments[0] = new SimplePathBuilder.LineSegment(pose.getTranslation(), storedStart);
+            System.arraycopy(storedSegments, 0, segments, 1, storedSegments.length);
+        } else {
+            segments = storedSegments;
+        }
+
+        Map<Double, Rotation2d> rotations = new TreeMap<>();
+        rotations.put(0.0, pose.getRotation());
+        for (Map.Entry<InterpolatingDouble, Rotation2d> rotation : storedPath.getRotationMap().entrySet()) {
+            if (rotation.getKey().value > 0.0) {
+                rotations.put(rotation.getKey().value + connectorLength, rotation.getValue());
+            }
+        }
+        Path path = new Path(segments, rotations);
+
+        Trajectory.StateTable storedTable = stored.getStateTable();
+        Trajectory.StateTable connectorTable;
+        if (connectorLength > 0.0) {
+            Path connectorPath = new Path(new PathSegment[]{segments[0]}, Map.of(0.0, pose.getRotation()));
+            connectorTable = new Trajectory(connectorPath, stored.getConstraints(), stored.getSampleDistance(),
+                    0.0, stored.getStartingVelocity()).getStateTable();
+        } else {
+            connectorTable = new Trajectory.StateTable(0, 0.0, storedTable.jerkLimited);
+        }
+
+        int connectorStateCount = connectorTable.getStateCount();
+        int stateCount = connectorStateCount + storedTable.getStateCount();
+        Trajectory.StateTable table = new Trajectory.StateTable(stateCount,
+                connectorTable.duration + storedTable.duration, storedTable.jerkLimited);
+        for (int i = 0; i < stateCount; i++) {
+            boolean connector = i < connectorStateCount;
+            Trajectory.StateTable source = connector ? connectorTable : storedTable;
+            int j = connector ? i : i - connectorStateCount;
+
+            table.distances[i] = source.distances[j] + (connector ? 0.0 : connectorLength);
+            table.lengths[i] = source.lengths[j];
+            table.startingVelocities[i] = source.startingVelocities[j];
+            table.endingVelocities[i] = source.endingVelocities[j];
+            table.accelerations[i] = source.accelerations[j];
+            table.jerks[i] = source.jerks[j];
+            table.startTimes[i] = source.startTimes[j] + (connector ? 0.0 : connectorTable.duration);
+        }
+
+        return new Trajectory(path, stored.getConstraints(), stored.getSampleDistance(), 0.0,
+                stored.getEndingVelocity(), table);
+    }
+
+    public Pose2d getGoal(int goal) {
+        return goals[goal];
+    }
+
+    public int getGoalCount() {
+        return goals.length;
+    }
+
+    /**
+     * Gets every stored trajectory to a goal.
+     *
+     * @param goal the index of the goal
+     * @return the trajectories
+     */
+    public Trajectory[] getTrajectories(int goal) {
+        return trajectories[goal].clone();
+    }
+}
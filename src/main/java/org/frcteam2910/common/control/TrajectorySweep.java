@@ -0,0 +1,263 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Translation2d;
+
+import java.util.OptionalDouble;
+
+/**
+ * The area a robot covers over time while it follows a trajectory, used to check if robots following different
+ * trajectories get too close to each other.
+ * <p>
+ * The trajectory is split into short windows of time and every window gets a box that contains every position the
+ * robot is at during it. The windows are the leaves of a hierarchy where every node covers a longer window of time
+ * with a box that contains the boxes of its children, stored in arrays using the same layout as a binary heap. Two
+ * sweeps are checked against each other by walking both hierarchies together. Pairs of nodes that don't overlap in
+ * time or whose boxes are too far apart are skipped, so only the short windows where the robots are actually near each
+ * other are ever sampled.
+ * <p>
+ * A robot is assumed to start its trajectory at a time of zero and to stay at the end of its trajectory forever once
+ * it finishes. Sweeps are immutable and can be shared between threads.
+ */
+public final class TrajectorySweep {
+    /**
+     * The length of the windows of time at the leaves of the hierarchy.
+     */
+    static final double LEAF_DURATION = 0.1;
+
+    /**
+     * The distance between the samples of the path used to build the box of a leaf.
+     */
+    private static final double BOUNDS_SAMPLE_DISTANCE = 0.05;
+
+    private static final double TIME_EPSILON = 1.0e-9;
+
+    private final Trajectory trajectory;
+    private final double duration;
+
+    private final double[] nodeStartTimes;
+    private final double[] nodeEndTimes;
+    private final double[] nodeMinXs;
+    private final double[] nodeMinYs;
+    private final double[] nodeMaxXs;
+    private final double[] nodeMaxYs;
+    private final boolean[] nodeIsLeaf;
+
+    public TrajectorySweep(Trajectory trajectory) {
+        this.trajectory = trajectory;
+        this.duration = trajectory.getDuration();
+
+        // The last leaf covers the robot sitting at the end of the trajectory after it has finished
+        int leafCount = (int) Math.ceil(duration / LEAF_DURATION) + 1;
+        double[] leafStartTimes = new double[leafCount];
+        double[] leafEndTimes = new double[leafCount];
+        double[] leafBounds = new double[4 * leafCount];
+        Path path = trajectory.getPath();
+        for (int i = 0; i < leafCount - 1; i++) {
+            leafStartTimes[i] = i * LEAF_DURATION;
+            leafEndTimes[i] = Math.min((i + 1) * LEAF_DURATION, duration);
+
+            // The robot never drives backwards along the path so it only covers the path between these distances
+            double startDistance = getState(leafStartTimes[i]).getPathState().getDistance();
+            double endDistance = getState(leafEndTimes[i]).getPathState().getDistance();
+            int sampleCount = Math.max(1, (int) Math.ceil((endDistance - startDistance) / BOUNDS_SAMPLE_DISTANCE));
+            double sampleSpacing = (endDistance - startDistance) / sampleCount;
+            setBounds(leafBounds, i, path.calculate(startDistance).getPosition());
+            for (int j = 1; j <= sampleCount; j++) {
+                include(leafBounds, i, path.calculate(startDistance + j * sampleSpacing).getPosition());
+            }
+
+            // Every point between two samples is within half the spacing of one of them
+            double padding = sampleSpacing / 2.0;
+            leafBounds[4 * i] -= padding;
+            leafBounds[4 * i + 1] -= padding;
+            leafBounds[4 * i + 2] += padding;
+            leafBounds[4 * i + 3] += padding;
+        }
+        leafStartTimes[leafCount - 1] = duration;
+        leafEndTimes[leafCount - 1] = Double.POSITIVE_INFINITY;
+        setBounds(leafBounds, leafCount - 1, getPosition(duration));
+
+        int nodeCount = 1;
+        while (nodeCount < 2 * leafCount) {
+            nodeCount *= 2;
+        }
+        nodeStartTimes = new double[nodeCount];
+        nodeEndTimes = new double[nodeCount];
+        nodeMinXs = new double[nodeCount];
+        nodeMinYs = new double[nodeCount];
+        nodeMaxXs = new double[nodeCount];
+        nodeMaxYs = new double[nodeCount];
+        nodeIsLeaf = new boolean[nodeCount];
+        build(0, 0, leafCount, leafStartTimes, leafEndTimes, leafBounds);
+    }
+
+    private static void setBounds(double[] bounds, int leaf, Translation2d position) {
+        bounds[4 * leaf] = position.getX();
+        bounds[4 * leaf + 1] = position.getY();
+        bounds[4 * leaf + 2] = position.getX();
+        bounds[4 * leaf + 3] = position.getY();
+    }
+
+    private static void include(double[] bounds, int leaf, Translation2d position) {
+        bounds[4 * leaf] = Math.min(bounds[4 * leaf], position.getX());
+        bounds[4 * leaf + 1] = Math.min(bounds[4 * leaf + 1], position.getY());
+        bounds[4 * leaf + 2] = Math.max(bounds[4 * leaf + 2], position.getX());
+        bounds[4 * leaf + 3] = Math.max(bounds[4 * leaf + 3], position.getY());
+    }
+
+    private void build(int node, int start, int end, double[] leafStartTimes, double[] leafEndTimes,
+                       double[] leafBounds) {
+        if (end - start == 1) {
+            nodeStartTimes[node] = leafStartTimes[start];
+            nodeEndTimes[node] = leafEndTimes[start];
+            nodeMinXs[node] = leafBounds[4 * start];
+            nodeMinYs[node] = leafBounds[4 * start + 1];
+            nodeMaxXs[node] = leafBounds[4 * start + 2];
+            nodeMaxYs[node] = leafBounds[4 * start + 3];
+            nodeIsLeaf[node] = true;
+            return;
+        }
+
+        int mid = (start + end) >>> 1;
+        int left = 2 * node + 1;
+        int right = 2 * node + 2;
+        build(left, start, mid, leafStartTimes, leafEndTimes, leafBounds);
+        build(right, mid, end, leafStartTimes, leafEndTimes, leafBounds);
+
+        nodeStartTimes[node] = nodeStartTimes[left];
+        nodeEndTimes[node] = nodeEndTimes[right];
+        nodeMinXs[node] = Math.min(nodeMinXs[left], nodeMinXs[right]);
+        nodeMinYs[node] = Math.min(nodeMinYs[left], nodeMinYs[right]);
+        nodeMaxXs[node] = Math.max(nodeMaxXs[left], nodeMaxXs[right]);
+        nodeMaxYs[node] = Math.max(nodeMaxYs[left], nodeMaxYs[right]);
+    }
+
+    private Trajectory.State getState(double time) {
+        return trajectory.calculate(Math.min(time, duration));
+    }
+
+    /**
+     * Gets the position of the robot at a time. Once the trajectory has finished the robot stays at its end.
+     *
+     * @param time the time since the start of the trajectory
+     * @return the position of the robot
+     */
+    public Translation2d getPosition(double time) {
+        return getState(time).getPathState().getPosition();
+    }
+
+    public Trajectory getTrajectory() {
+        return trajectory;
+    }
+
+    /**
+     * Finds the earliest time two robots get closer than a distance to each other.
+     * <p>
+     * Only times that are a multiple of the time step are checked, so the result is the same as checking every time
+     * step from the start but only the time steps where the robots could be close are ever calculated.
+     *
+     * @param other    the sweep of the other robot
+     * @param distance the distance the robots have to stay apart, usually the sum of their radii
+     * @param timeStep the time between checks, usually the period of the control loop
+     * @return the earliest time the robots are closer than the distance or nothing if they never are
+     */
+    public OptionalDouble findEarliestApproach(TrajectorySweep other, double distance, double timeStep) {
+        if (timeStep <= 0.0) {
+            throw new IllegalArgumentException("Time step must be positive");
+        }
+
+        double time = search(this, 0, other, 0, distance, timeStep, Double.POSITIVE_INFINITY);
+        return Double.isNaN(time) ? OptionalDouble.empty() : OptionalDouble.of(time);
+    }
+
+    /**
+     * Finds the earliest time any two of a group of robots get closer than a distance to each other.
+     *
+     * @param sweeps   the sweeps of every robot
+     * @param distance the distance the robots have to stay apart, usually the sum of their radii
+     * @param timeStep the time between checks, usually the period of the control loop
+     * @return the earliest time any two robots are closer than the distance or nothing if they never are
+     */
+    public static OptionalDouble findEarliestApproach(TrajectorySweep[] sweeps, double distance, double timeStep) {
+        if (timeStep <= 0.0) {
+            throw new IllegalArgumentException("Time step must be positive");
+        }
+
+        // Later pairs only have to look before the earliest approach found so far
+        double earliest = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < sweeps.length; i++) {
+            for (int j = i + 1; j < sweeps.length; j++) {
+                double time = search(sweeps[i], 0, sweeps[j], 0, distance, timeStep, earliest);
+                if (!Double.isNaN(time)) {
+                    earliest = time;
+                }
+            }
+        }
+
+        return Double.isInfinite(earliest) ? OptionalDouble.empty() : OptionalDouble.of(earliest);
+    }
+
+    /**
+     * Finds the earliest approach between two nodes before a time.
+     *
+     * @return the time of the earliest approach or NaN if there isn't one
+     */
+    private static double search(TrajectorySweep a, int nodeA, TrajectorySweep b, int nodeB, double distance,
+                                 double timeStep, double before) {
+        double startTime = Math.max(a.nodeStartTimes[nodeA], b.nodeStartTimes[nodeB]);
+        double endTime = Math.min(a.nodeEndTimes[nodeA], b.nodeEndTimes[nodeB]);
+        if (startTime > endTime || startTime >= before) {
+            return Double.NaN;
+        }
+
+        double dx = Math.max(0.0, Math.max(a.nodeMinXs[nodeA] - b.nodeMaxXs[nodeB],
+                b.nodeMinXs[nodeB] - a.nodeMaxXs[nodeA]));
+        double dy = Math.max(0.0, Math.max(a.nodeMinYs[nodeA] - b.nodeMaxYs[nodeB],
+                b.nodeMinYs[nodeB] - a.nodeMaxYs[nodeA]));
+        if (dx * dx + dy * dy >= distance * distance) {
+            return Double.NaN;
+        }
+
+        if (a.nodeIsLeaf[nodeA] && b.nodeIsLeaf[nodeB]) {
+            return scan(a, b, startTime, Math.min(endTime, before), distance, timeStep);
+        }
+
+        // Split the node that covers the longer window of time. Children are searched in order so the first
+        // approach found is the earliest.
+        boolean splitA = b.nodeIsLeaf[nodeB] || (!a.nodeIsLeaf[nodeA] &&
+                a.nodeEndTimes[nodeA] - a.nodeStartTimes[nodeA] >= b.nodeEndTimes[nodeB] - b.nodeStartTimes[nodeB]);
+        if (splitA) {
+            double time = search(a, 2 * nodeA + 1, b, nodeB, distance, timeStep, before);
+            if (Double.isNaN(time)) {
+                time = search(a, 2 * nodeA + 2, b, nodeB, distance, timeStep, before);
+            }
+            return time;
+        } else {
+            double time = search(a, nodeA, b, 2 * nodeB + 1, distance, timeStep, before);
+            if (Double.isNaN(time)) {
+                time = search(a, nodeA, b, 2 * nodeB + 2, distance, timeStep, before);
+            }
+            return time;
+        }
+    }
+
+    /**
+     * Checks every multiple of the time step in a window of time.
+     */
+    private static double scan(TrajectorySweep a, TrajectorySweep b, double startTime, double endTime,
+                               double distance, double timeStep) {
+        long step = (long) Math.ceil(startTime / timeStep - TIME_EPSILON);
+        for (double time = step * timeStep; time <= endTime + TIME_EPSILON; time = ++step * timeStep) {
+            if (a.getPosition(time).getDistance(b.getPosition(time)) < distance) {
+                return time;
+            }
+
+            // Both robots have finished so they never move again
+            if (time >= a.duration && time >= b.duration) {
+                break;
+            }
+        }
+
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,371 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+
+import java.util.Arrays;
+
+/**
+ * Plans paths around polygonal obstacles.
+ * <p>
+ * Obstacles are inflated by the radius of the robot so the robot can be treated as a point. The shortest path
+ * between two points then only ever turns at the vertices of the inflated obstacles, so a graph of which vertices can
+ * see each other is built once when the planner is created. Planning a path only has to connect the start and goal
+ * to the graph and search it with A*.
+ * <p>
+ * The corners of the shortest path are rounded off with arcs so the path has no sharp turns. The arcs are kept outside
+ * the radius of the robot from the original obstacles.
+ */
+public final class VisibilityGraphPlanner {
+    private static final double EPSILON = 1.0e-9;
+
+    private final Obstacle[] inflatedObstacles;
+    private final double robotRadius;
+
+    private final int nodeCount;
+    private final double[] nodeXs;
+    private final double[] nodeYs;
+    /**
+     * The vertex of the original obstacle that each node was inflated from.
+     */
+    private final double[] cornerXs;
+    private final double[] cornerYs;
+    private final int[] nodeObstacles;
+
+    private final int[][] neighbors;
+    private final double[][] neighborDistances;
+
+    public VisibilityGraphPlanner(Obstacle[] obstacles, double robotRadius) {
+        this.robotRadius = robotRadius;
+
+        inflatedObstacles = new Obstacle[obstacles.length];
+        int maxNodeCount = 0;
+        for (int i = 0; i < obstacles.length; i++) {
+            inflatedObstacles[i] = obstacles[i].inflate(robotRadius);
+            maxNodeCount += obstacles[i].getVertexCount();
+        }
+
+        double[] nodeXs = new double[maxNodeCount];
+        double[] nodeYs = new double[maxNodeCount];
+        double[] cornerXs = new double[maxNodeCount];
+        double[] cornerYs = new double[maxNodeCount];
+        int[] nodeObstacles = new int[maxNodeCount];
+        int[] nodeVertices = new int[maxNodeCount];
+        int nodeCount = 0;
+        for (int i = 0; i < obstacles.length; i++) {
+            Obstacle inflated = inflatedObstacles[i];
+            for (int j = 0; j < inflated.getVertexCount(); j++) {
+                double x = inflated.getVertexX(j);
+                double y = inflated.getVertexY(j);
+                // The vertex is on the boundary of its own obstacle so only the others are checked
+                if (!obstacles[i].isConvex(j) || !isFree(x, y, i)) {
+                    continue;
+                }
+
+                nodeXs[nodeCount] = x;
+                nodeYs[nodeCount] = y;
+                cornerXs[nodeCount] = obstacles[i].getVertexX(j);
+                cornerYs[nodeCount] = obstacles[i].getVertexY(j);
+                nodeObstacles[nodeCount] = i;
+                nodeVertices[nodeCount] = j;
+                nodeCount++;
+            }
+        }
+
+        this.nodeCount = nodeCount;
+        this.nodeXs = Arrays.copyOf(nodeXs, nodeCount);
+        this.nodeYs = Arrays.copyOf(nodeYs, nodeCount);
+        this.cornerXs = Arrays.copyOf(cornerXs, nodeCount);
+        this.cornerYs = Arrays.copyOf(cornerYs, nodeCount);
+        this.nodeObstacles = Arrays.copyOf(nodeObstacles, nodeCount);
+
+        int[][] neighbors = new int[nodeCount][nodeCount];
+        int[] neighborCounts = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            for (int j = i + 1; j < nodeCount; j++) {
+                // Edges between neighbouring vertices lie on the boundary of their own obstacle, which can't be
+                // checked reliably, so only the other obstacles are checked. Those still have to be checked because
+                // obstacles on a field often overlap or touch.
+                boolean sameEdge = nodeObstacles[i] == nodeObstacles[j] &&
+                        areAdjacent(nodeVertices[i], nodeVertices[j], obstacles[nodeObstacles[i]].getVertexCount());
+                if (isVisible(nodeXs[i], nodeYs[i], nodeXs[j], nodeYs[j], sameEdge ? nodeObstacles[i] : -1)) {
+                    neighbors[i][neighborCounts[i]++] = j;
+                    neighbors[j][neighborCounts[j]++] = i;
+                }
+            }
+        }
+
+        this.neighbors = new int[nodeCount][];
+        this.neighborDistances = new double[nodeCount][];
+        for (int i = 0; i < nodeCount; i++) {
+            this.neighbors[i] = Arrays.copyOf(neighbors[i], neighborCounts[i]);
+            this.neighborDistances[i] = new double[neighborCounts[i]];
+            for (int j = 0; j < neighborCounts[i]; j++) {
+                int neighbor = this.neighbors[i][j];
+                this.neighborDistances[i][j] = Math.hypot(this.nodeXs[neighbor] - this.nodeXs[i],
+                        this.nodeYs[neighbor] - this.nodeYs[i]);
+            }
+        }
+    }
+
+    private static boolean areAdjacent(int a, int b, int vertexCount) {
+        return (a + 1) % vertexCount == b || (b + 1) % vertexCount == a;
+    }
+
+    private boolean isFree(double x, double y, int ignoredObstacle) {
+        for (int i = 0; i < inflatedObstacles.length; i++) {
+            if (i != ignoredObstacle && inflatedObstacles[i].contains(x, y)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isVisible(double startX, double startY, double endX, double endY) {
+        return isVisible(startX, startY, endX, endY, -1);
+    }
+
+    /**
+     * Plans the shortest path between two points.
+     *
+     * @param start         the position to start at
+     * @param startRotation the rotation of the robot at the start
+     * @param goal          the position to end at
+     * @param goalRotation  the rotation of the robot at the goal
+     * @return the path or null if the start or goal is inside an obstacle or the goal can't be reached
+     */
+    public Path plan(Translation2d start, Rotation2d startRotation, Translation2d goal, Rotation2d goalRotation) {
+        double startX = start.getX();
+        double startY = start.getY();
+        double goalX = goal.getX();
+        double goalY = goal.getY();
+        if (!isFree(startX, startY, -1) || !isFree(goalX, goalY, -1) ||
+                Math.hypot(goalX - startX, goalY - startY) < EPSILON) {
+            return null;
+        }
+
+        // The start and goal are added to the end of the graph
+        int startNode = nodeCount;
+        int goalNode = nodeCount + 1;
+
+        double[] startDistances = new double[nodeCount];
+        double[] goalDistances = new double[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            startDistances[i] = isVisible(startX, startY, nodeXs[i], nodeYs[i]) ?
+                    Math.hypot(nodeXs[i] - startX, nodeYs[i] - startY) : Double.NaN;
+            goalDistances[i] = isVisible(nodeXs[i], nodeYs[i], goalX, goalY) ?
+                    Math.hypot(goalX - nodeXs[i], goalY - nodeYs[i]) : Double.NaN;
+        }
+
+        double[] costs = new double[nodeCount + 2];
+        double[] estimates = new double[nodeCount + 2];
+        int[] previous = new int[nodeCount + 2];
+        boolean[] open = new boolean[nodeCount + 2];
+        boolean[] closed = new boolean[nodeCount + 2];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        Arrays.fill(previous, -1);
+
+        costs[startNode] = 0.0;
+        estimates[startNode] = Math.hypot(goalX - startX, goalY - startY);
+        open[startNode] = true;
+        if (isVisible(startX, startY, goalX, goalY)) {
+            relax(startNode, goalNode, estimates[startNode], 0.0, costs, estimates, previous, open, closed);
+        }
+
+        while (true) {
+            // The graph is small enough that scanning for the best open node is faster than maintaining a heap
+            int current = -1;
+            for (int i = 0; i < nodeCount + 2; i++) {
+                if (open[i] && (current == -1 || estimates[i] < estimates[current])) {
+                    current = i;
+                }
+            }
+
+            if (current == -1) {
+                return null;
+            }
+            if (current == goalNode) {
+                break;
+            }
+            open[current] = false;
+            closed[current] = true;
+
+            if (current == startNode) {
+                for (int i = 0; i < nodeCount; i++) {
+                    if (!Double.isNaN(startDistances[i])) {
+                        relax(current, i, startDistances[i], getHeuristic(i, goalX, goalY), costs, estimates,
+                                previous, open, closed);
+                    }
+                }
+                continue;
+            }
+
+            for (int i = 0; i < neighbors[current].length; i++) {
+                int neighbor = neighbors[current][i];
+                relax(current, neighbor, neighborDistances[current][i], getHeuristic(neighbor, goalX, goalY), costs,
+                        estimates, previous, open, closed);
+            }
+            if (!Double.isNaN(goalDistances[current])) {
+                relax(current, goalNode, goalDistances[current], 0.0, costs, estimates, previous, open, closed);
+            }
+        }
+
+        int waypointCount = 0;
+        for (int node = goalNode; node != -1; node = previous[node]) {
+            waypointCount++;
+        }
+
+        int[] waypoints = new int[waypointCount];
+        double[] xs = new double[waypointCount];
+        double[] ys = new double[waypointCount];
+        for (int node = goalNode, i = waypointCount - 1; node != -1; node = previous[node], i--) {
+            waypoints[i] = node;
+            xs[i] = node == startNode ? startX : node == goalNode ? goalX : nodeXs[node];
+            ys[i] = node == startNode ? startY : node == goalNode ? goalY : nodeYs[node];
+        }
+
+        return buildPath(xs, ys, waypoints, start, startRotation, goal, goalRotation);
+    }
+
+    private double getHeuristic(int node, double goalX, double goalY) {
+        return Math.hypot(goalX - nodeXs[node], goalY - nodeYs[node]);
+    }
+
+    private static void relax(int from, int to, double distance, double heuristic, double[] costs, double[] estimates,
+                              int[] previous, boolean[] open, boolean[] closed) {
+        double cost = costs[from] + distance;
+        if (closed[to] || cost >= costs[to]) {
+            return;
+        }
+
+        costs[to] = cost;
+        estimates[to] = cost + heuristic;
+        previous[to] = from;
+        open[to] = true;
+    }
+
+    /**
+     * Builds a path through waypoints, rounding off every corner with the largest arc that fits.
+     */
+    private Path buildPath(double[] xs, double[] ys, int[] nodes, Translation2d start, Rotation2d startRotation,
+                           Translation2d goal, Rotation2d goalRotation) {
+        SimplePathBuilder builder = new SimplePathBuilder(start, startRotation);
+
+        int waypointCount = xs.length;
+        double lastX = xs[0];
+        double lastY = ys[0];
+        for (int i = 1; i < waypointCount - 1; i++) {
+            double previousLength = Math.hypot(xs[i - 1] - xs[i], ys[i - 1] - ys[i]);
+            double nextLength = Math.hypot(xs[i + 1] - xs[i], ys[i + 1] - ys[i]);
+            double previousDirectionX = (xs[i - 1] - xs[i]) / previousLength;
+            double previousDirectionY = (ys[i - 1] - ys[i]) / previousLength;
+            double nextDirectionX = (xs[i + 1] - xs[i]) / nextLength;
+            double nextDirectionY = (ys[i + 1] - ys[i]) / nextLength;
+
+            // The angle inside the corner
+            double cosAngle = previousDirectionX * nextDirectionX + previousDirectionY * nextDirectionY;
+            double sinHalfAngle = Math.sqrt((1.0 - cosAngle) / 2.0);
+            double cosHalfAngle = Math.sqrt((1.0 + cosAngle) / 2.0);
+            if (cosHalfAngle < EPSILON) {
+                // The path goes straight through the corner
+                continue;
+            }
+
+            // Neighbouring corners share the segment between them
+            double maxTangentLength = Math.min(
+                    i == 1 ? previousLength : previousLength / 2.0,
+                    i == waypointCount - 2 ? nextLength : nextLength / 2.0);
+            double radius = Math.min(maxTangentLength * sinHalfAngle / cosHalfAngle,
+                    getMaxCornerRadius(nodes[i], xs[i], ys[i], previousDirectionX + nextDirectionX,
+                            previousDirectionY + nextDirectionY, sinHalfAngle));
+
+            double tangentLength = radius * cosHalfAngle / sinHalfAngle;
+            double arcStartX = xs[i] + previousDirectionX * tangentLength;
+            double arcStartY = ys[i] + previousDirectionY * tangentLength;
+            double arcEndX = xs[i] + nextDirectionX * tangentLength;
+            double arcEndY = ys[i] + nextDirectionY * tangentLength;
+            if (radius < EPSILON || !isVisible(arcStartX, arcStartY, arcEndX, arcEndY, nodeObstacles[nodes[i]])) {
+                builder.lineTo(new Translation2d(xs[i], ys[i]));
+                lastX = xs[i];
+                lastY = ys[i];
+                continue;
+            }
+
+            if (Math.hypot(arcStartX - lastX, arcStartY - lastY) > EPSILON) {
+                builder.lineTo(new Translation2d(arcStartX, arcStartY));
+            }
+
+            double bisectorX = previousDirectionX + nextDirectionX;
+            double bisectorY = previousDirectionY + nextDirectionY;
+            double centerDistance = radius / sinHalfAngle / Math.hypot(bisectorX, bisectorY);
+            Translation2d center = new Translation2d(xs[i] + bisectorX * centerDistance,
+                    ys[i] + bisectorY * centerDistance);
+            lastX = arcEndX;
+            lastY = arcEndY;
+
+            if (Math.hypot(goal.getX() - lastX, goal.getY() - lastY) > EPSILON) {
+                builder.arcTo(new Translation2d(arcEndX, arcEndY), center);
+            } else {
+                // The arc ends at the goal so there is no line to put the goal rotation on
+                return builder.arcTo(goal, center, goalRotation).build();
+            }
+        }
+
+        return builder.lineTo(goal, goalRotation).build();
+    }
+
+    /**
+     * Finds the largest arc that can round off a corner without coming within the radius of the robot of the
+     * obstacle vertex the corner was inflated from.
+     * <p>
+     * The center of the arc is along the bisector of the corner at {@code k * r} where {@code k = 1 / sin(angle / 2)}.
+     * The arc stays clear if the center is at least {@code r + robotRadius} from the vertex, which is a quadratic in
+     * {@code r}.
+     */
+    private double getMaxCornerRadius(int node, double cornerX, double cornerY, double bisectorX, double bisectorY,
+                                      double sinHalfAngle) {
+        double bisectorLength = Math.hypot(bisectorX, bisectorY);
+        double k = 1.0 / sinHalfAngle;
+        double offsetX = cornerX - cornerXs[node];
+        double offsetY = cornerY - cornerYs[node];
+
+        double a = k * k - 1.0;
+        double b = 2.0 * (k * (bisectorX * offsetX + bisectorY * offsetY) / bisectorLength - robotRadius);
+        double c = offsetX * offsetX + offsetY * offsetY - robotRadius * robotRadius;
+        if (b >= 0.0) {
+            // The arc moves away from the vertex as it gets bigger
+            return Double.POSITIVE_INFINITY;
+        }
+        if (a < EPSILON) {
+            return -c / b;
+        }
+
+        double discriminant = b * b - 4.0 * a * c;
+        if (discriminant < 0.0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return (-b - Math.sqrt(discriminant)) / (2.0 * a);
+    }
+
+    /**
+     * Checks if a segment is visible, ignoring one obstacle. The segment can lie on the boundary of that obstacle.
+     */
+    private boolean isVisible(double startX, double startY, double endX, double endY, int ignoredObstacle) {
+        for (int i = 0; i < inflatedObstacles.length; i++) {
+            if (i != ignoredObstacle && inflatedObstacles[i].intersects(startX, startY, endX, endY)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public double getRobotRadius() {
+        return robotRadius;
+    }
+}
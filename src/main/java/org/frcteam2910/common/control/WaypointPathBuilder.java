@@ -0,0 +1,77 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.math.spline.CubicHermiteSpline;
+
+import java.util.*;
+
+/**
+ * Builds a spline path that goes through a list of waypoints without having to give the heading at every waypoint.
+ * <p>
+ * The headings come from fitting a spline through all of the waypoints at once, either a natural cubic spline which
+ * has continuous curvature or a Catmull-Rom spline which is cheaper to fit. This is useful for long lists of waypoints
+ * that come from a planner or a recorded drive.
+ */
+public final class WaypointPathBuilder {
+    private final List<Translation2d> waypoints = new ArrayList<>();
+    private final Map<Integer, Rotation2d> rotations = new HashMap<>();
+
+    public WaypointPathBuilder(Translation2d initialPosition, Rotation2d initialRotation) {
+        waypoints.add(initialPosition);
+        rotations.put(0, initialRotation);
+    }
+
+    public WaypointPathBuilder waypoint(Translation2d position) {
+        waypoints.add(position);
+        return this;
+    }
+
+    public WaypointPathBuilder waypoint(Translation2d position, Rotation2d rotation) {
+        waypoints.add(position);
+        rotations.put(waypoints.size() - 1, rotation);
+        return this;
+    }
+
+    public WaypointPathBuilder waypoints(List<Translation2d> positions) {
+        waypoints.addAll(positions);
+        return this;
+    }
+
+    /**
+     * Builds a path made out of a natural cubic spline through the waypoints.
+     *
+     * @return the path
+     */
+    public Path buildNatural() {
+        return build(CubicHermiteSpline.fitNatural(waypoints.toArray(new Translation2d[0])));
+    }
+
+    /**
+     * Builds a path made out of a Catmull-Rom spline through the waypoints.
+     *
+     * @return the path
+     */
+    public Path buildCatmullRom() {
+        return build(CubicHermiteSpline.fitCatmullRom(waypoints.toArray(new Translation2d[0])));
+    }
+
+    private Path build(CubicHermiteSpline[] splines) {
+        PathSegment[] segments = new PathSegment[splines.length];
+        Map<Double, Rotation2d> rotationMap = new TreeMap<>();
+        rotationMap.put(0.0, rotations.get(0));
+
+        double length = 0.0;
+        for (int i = 0; i < splines.length; i++) {
+            segments[i] = new SplinePathSegment(splines[i]);
+            length += segments[i].getLength();
+
+            Rotation2d rotation = rotations.get(i + 1);
+            if (rotation != null) {
+                rotationMap.put(length, rotation);
+            }
+        }
+
+        return new Path(segments, rotationMap);
+    }
+}
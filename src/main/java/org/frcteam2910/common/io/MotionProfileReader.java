@@ -0,0 +1,70 @@
+package org.frcteam2910.common.io;
+
+import org.frcteam2910.common.motion.MotionProfile;
+import org.frcteam2910.common.motion.SampledMotionProfile;
+
+import java.io.*;
+
+/**
+ * Reads a sampled motion profile written by {@link MotionProfileWriter}.
+ */
+public final class MotionProfileReader implements AutoCloseable {
+    private final DataInputStream in;
+
+    public MotionProfileReader(InputStream in) {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+    }
+
+    public SampledMotionProfile read() throws IOException {
+        try {
+            if (in.readInt() != MotionProfileWriter.MAGIC) {
+                throw new IOException("Input is not a motion profile");
+            }
+            int version = in.readInt();
+            if (version != MotionProfileWriter.VERSION) {
+                throw new IOException(String.format("Unsupported motion profile version %d", version));
+            }
+
+            MotionProfile.Goal start = readGoal();
+            MotionProfile.Goal end = readGoal();
+            MotionProfile.Constraints constraints = new MotionProfile.Constraints(in.readDouble(), in.readDouble());
+            double dt = in.readDouble();
+            double duration = in.readDouble();
+
+            int sampleCount = in.readInt();
+            if (sampleCount < 1) {
+                throw new IOException("Motion profile is not valid");
+            }
+
+            double[] positions = readArray(sampleCount);
+            double[] velocities = readArray(sampleCount);
+            double[] accelerations = readArray(sampleCount);
+
+            try {
+                return new SampledMotionProfile(start, end, constraints, dt, duration, positions, velocities,
+                        accelerations);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Motion profile is not valid", e);
+            }
+        } catch (EOFException e) {
+            throw new IOException("Motion profile is truncated", e);
+        }
+    }
+
+    private MotionProfile.Goal readGoal() throws IOException {
+        return new MotionProfile.Goal(in.readDouble(), in.readDouble());
+    }
+
+    private double[] readArray(int length) throws IOException {
+        double[] array = new double[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = in.readDouble();
+        }
+        return array;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
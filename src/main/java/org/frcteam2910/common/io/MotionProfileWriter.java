@@ -0,0 +1,61 @@
+package org.frcteam2910.common.io;
+
+import org.frcteam2910.common.motion.MotionProfile;
+import org.frcteam2910.common.motion.SampledMotionProfile;
+
+import java.io.*;
+
+/**
+ * Writes a sampled motion profile in a compact binary format that can be read with {@link MotionProfileReader}.
+ * <p>
+ * To load a profile with {@link TrajectoryResources}, write it to the trajectory source directory as
+ * {@code <name>.profile}. {@link TrajectoryGenerator} copies it into the generated resources at build time.
+ */
+public final class MotionProfileWriter implements AutoCloseable, Flushable {
+    static final int MAGIC = 0x4D505246; // "MPRF"
+    static final int VERSION = 1;
+
+    private final DataOutputStream out;
+
+    public MotionProfileWriter(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    public void write(SampledMotionProfile profile) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        writeGoal(profile.getStart());
+        writeGoal(profile.getEnd());
+        out.writeDouble(profile.getConstraints().maxVelocity);
+        out.writeDouble(profile.getConstraints().maxAcceleration);
+        out.writeDouble(profile.getDt());
+        out.writeDouble(profile.getDuration());
+
+        int sampleCount = profile.getSampleCount();
+        out.writeInt(sampleCount);
+        for (int i = 0; i < sampleCount; i++) {
+            out.writeDouble(profile.getPosition(i));
+        }
+        for (int i = 0; i < sampleCount; i++) {
+            out.writeDouble(profile.getVelocity(i));
+        }
+        for (int i = 0; i < sampleCount; i++) {
+            out.writeDouble(profile.getAcceleration(i));
+        }
+    }
+
+    private void writeGoal(MotionProfile.Goal goal) throws IOException {
+        out.writeDouble(goal.position);
+        out.writeDouble(goal.velocity);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,218 @@
+package org.frcteam2910.common.io;
+
+import org.frcteam2910.common.control.Path;
+import org.frcteam2910.common.control.Trajectory;
+import org.frcteam2910.common.control.TrajectoryConstraint;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.ref.SoftReference;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * A read-only collection of paths and precomputed trajectories written by {@link PathBundleWriter}.
+ * <p>
+ * Opening a bundle only reads its index. The bundle file is memory mapped and each entry is decoded the first time it
+ * is requested. Decoded entries are kept in a soft reference cache so they can be reclaimed if memory is needed.
+ * <p>
+ * This class is thread safe.
+ */
+public final class PathBundle {
+    private final ByteBuffer data;
+    private final Map<String, Entry> pathEntries;
+    private final Map<String, Entry> trajectoryEntries;
+
+    private final Map<String, SoftReference<Path>> pathCache = new ConcurrentHashMap<>();
+
+    private PathBundle(ByteBuffer data, Map<String, Entry> pathEntries, Map<String, Entry> trajectoryEntries) {
+        this.data = data;
+        this.pathEntries = pathEntries;
+        this.trajectoryEntries = trajectoryEntries;
+    }
+
+    /**
+     * Opens a bundle file and reads its index.
+     *
+     * @param file the bundle file
+     * @return the opened bundle
+     * @throws IOException if the file could not be mapped or its index is not valid
+     */
+    public static PathBundle open(File file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        return read(buffer);
+    }
+
+    static PathBundle read(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != PathBundleWriter.MAGIC) {
+                throw new IOException("File is not a path bundle");
+            }
+            int version = buffer.getInt();
+            if (version != PathBundleWriter.VERSION) {
+                throw new IOException(String.format("Unsupported path bundle version %d", version));
+            }
+
+            int entryCount = buffer.getInt();
+            if (entryCount < 0) {
+                throw new IOException("Path bundle index is not valid");
+            }
+
+            List<String> names = new ArrayList<>(entryCount);
+            List<Entry> entries = new ArrayList<>(entryCount);
+            for (int i = 0; i < entryCount; i++) {
+                byte[] name = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(name);
+
+                names.add(new String(name, StandardCharsets.UTF_8));
+                entries.add(new Entry(
+                        buffer.get(),
+                        buffer.getLong(),
+                        buffer.getInt(),
+                        buffer.getInt()
+                ));
+            }
+
+            ByteBuffer data = buffer.slice();
+            Map<String, Entry> pathEntries = new LinkedHashMap<>();
+            Map<String, Entry> trajectoryEntries = new LinkedHashMap<>();
+            for (int i = 0; i < entryCount; i++) {
+                Entry entry = entries.get(i);
+                if (entry.offset < 0 || entry.length < 0 || entry.offset + entry.length > data.capacity()) {
+                    throw new IOException("Path bundle index is not valid");
+                }
+
+                if (entry.kind == PathBundleWriter.PATH_ENTRY) {
+                    pathEntries.put(names.get(i), entry);
+                } else if (entry.kind == PathBundleWriter.TRAJECTORY_ENTRY) {
+                    trajectoryEntries.put(names.get(i), entry);
+                }
+                // Skip unknown entry kinds so newer bundles can still be read
+            }
+
+            return new PathBundle(data, pathEntries, trajectoryEntries);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Path bundle is truncated", e);
+        }
+    }
+
+    /**
+     * Gets the names of every path in the bundle in the order they were written.
+     *
+     * @return the path names
+     */
+    public Set<String> getPathNames() {
+        return Collections.unmodifiableSet(pathEntries.keySet());
+    }
+
+    public boolean hasPath(String name) {
+        return pathEntries.containsKey(name);
+    }
+
+    public boolean hasTrajectory(String name) {
+        return trajectoryEntries.containsKey(name);
+    }
+
+    /**
+     * Gets a path from the bundle, decoding it if it has not been decoded yet.
+     *
+     * @param name the name of the path
+     * @return the path
+     * @throws IOException if the bundle does not contain the path or the path could not be decoded
+     */
+    public Path getPath(String name) throws IOException {
+        SoftReference<Path> reference = pathCache.get(name);
+        if (reference != null) {
+            Path path = reference.get();
+            if (path != null) {
+                return path;
+            }
+        }
+
+        ByteBuffer entryData = getEntryData(name, pathEntries.get(name));
+
+        Path path;
+        try (PathReader reader = new PathReader(new StringReader(StandardCharsets.UTF_8.decode(entryData).toString()))) {
+            path = reader.read();
+        }
+
+        pathCache.put(name, new SoftReference<>(path));
+        return path;
+    }
+
+    /**
+     * Gets a precomputed trajectory from the bundle.
+     * <p>
+     * The trajectory follows the path with the same name. If the trajectory was generated with different constraints
+     * it is generated again, see {@link TrajectoryReader}.
+     *
+     * @param name                  the name of the trajectory
+     * @param trajectoryConstraints the constraints the trajectory should obey
+     * @param sampleDistance        the sample distance the trajectory should use
+     * @return the trajectory
+     * @throws IOException if the bundle does not contain the trajectory or the trajectory could not be decoded
+     */
+    public Trajectory getTrajectory(String name, TrajectoryConstraint[] trajectoryConstraints,
+                                    double sampleDistance) throws IOException {
+        return getTrajectory(name, trajectoryConstraints, sampleDistance, 0.0, 0.0);
+    }
+
+    public Trajectory getTrajectory(String name, TrajectoryConstraint[] trajectoryConstraints, double sampleDistance,
+                                    double startingVelocity, double endingVelocity) throws IOException {
+        ByteBuffer entryData = getEntryData(name, trajectoryEntries.get(name));
+        Path path = getPath(name);
+
+        byte[] bytes = new byte[entryData.remaining()];
+        entryData.get(bytes);
+        try (TrajectoryReader reader = new TrajectoryReader(new ByteArrayInputStream(bytes))) {
+            return reader.read(path, trajectoryConstraints, sampleDistance, startingVelocity, endingVelocity);
+        }
+    }
+
+    private ByteBuffer getEntryData(String name, Entry entry) throws IOException {
+        if (entry == null) {
+            throw new IOException(String.format("Path bundle does not contain \"%s\"", name));
+        }
+
+        ByteBuffer entryData = data.duplicate();
+        entryData.position((int) entry.offset);
+        entryData.limit((int) (entry.offset + entry.length));
+        entryData = entryData.slice();
+
+        CRC32 crc = new CRC32();
+        crc.update(entryData.duplicate());
+        if ((int) crc.getValue() != entry.hash) {
+            throw new IOException(String.format("Path bundle entry \"%s\" is corrupted", name));
+        }
+
+        return entryData;
+    }
+
+    private static final class Entry {
+        private final byte kind;
+        private final long offset;
+        private final int length;
+        private final int hash;
+
+        private Entry(byte kind, long offset, int length, int hash) {
+            this.kind = kind;
+            this.offset = offset;
+            this.length = length;
+            this.hash = hash;
+        }
+    }
+}
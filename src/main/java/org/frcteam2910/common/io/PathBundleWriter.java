@@ -0,0 +1,153 @@
+package org.frcteam2910.common.io;
+
+import org.frcteam2910.common.control.Path;
+import org.frcteam2910.common.control.Trajectory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Writes many paths into a single indexed bundle that can be opened with {@link PathBundle}.
+ * <p>
+ * The bundle starts with a header containing an index of every entry's name, offset, length and CRC32 hash. The
+ * entries themselves are stored after the header. Paths are stored in the same JSON format that {@link PathWriter}
+ * produces and precomputed trajectories are stored in the format {@link TrajectoryWriter} produces.
+ */
+public final class PathBundleWriter implements AutoCloseable, Flushable {
+    static final int MAGIC = 0x50424E44; // "PBND"
+    static final int VERSION = 1;
+
+    static final byte PATH_ENTRY = 0;
+    static final byte TRAJECTORY_ENTRY = 1;
+
+    /**
+     * The longest name that fits in the index, in UTF-8 bytes.
+     */
+    static final int MAX_NAME_LENGTH = 0xFFFF;
+
+    private final DataOutputStream out;
+
+    private boolean written = false;
+
+    public PathBundleWriter(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    public void write(Map<String, Path> paths) throws IOException {
+        write(paths, Collections.emptyMap());
+    }
+
+    /**
+     * Writes paths and precomputed trajectories to the bundle.
+     * <p>
+     * A trajectory is stored under the same name as its path. If the path of a trajectory is not in {@code paths} it
+     * is written to the bundle as well.
+     * <p>
+     * A bundle has a single index so this can only be called once for every writer.
+     *
+     * @param paths        the paths to write
+     * @param trajectories the trajectories to write
+     * @throws IOException              if the bundle could not be written
+     * @throws IllegalArgumentException if a name is longer than {@value #MAX_NAME_LENGTH} bytes in UTF-8
+     * @throws IllegalStateException    if the bundle has already been written
+     */
+    public void write(Map<String, Path> paths, Map<String, Trajectory> trajectories) throws IOException {
+        if (written) {
+            throw new IllegalStateException("The bundle has already been written");
+        }
+
+        List<Entry> entries = new ArrayList<>(paths.size() + 2 * trajectories.size());
+        for (Map.Entry<String, Path> path : paths.entrySet()) {
+            entries.add(new Entry(path.getKey(), PATH_ENTRY, encodePath(path.getValue())));
+        }
+        for (Map.Entry<String, Trajectory> trajectory : trajectories.entrySet()) {
+            Path path = paths.get(trajectory.getKey());
+            if (path == null) {
+                entries.add(new Entry(trajectory.getKey(), PATH_ENTRY, encodePath(trajectory.getValue().getPath())));
+            } else if (path != trajectory.getValue().getPath()) {
+                throw new IllegalArgumentException(String.format("Trajectory \"%s\" does not follow the path with the same name",
+                        trajectory.getKey()));
+            }
+
+            entries.add(new Entry(trajectory.getKey(), TRAJECTORY_ENTRY, encodeTrajectory(trajectory.getValue())));
+        }
+
+        written = true;
+        writeEntries(entries);
+    }
+
+    private void writeEntries(List<Entry> entries) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(entries.size());
+
+        // Offsets are relative to the end of the index so the index can be written in a single pass
+        long offset = 0;
+        for (Entry entry : entries) {
+            CRC32 crc = new CRC32();
+            crc.update(entry.data);
+
+            out.writeShort(entry.name.length);
+            out.write(entry.name);
+            out.writeByte(entry.kind);
+            out.writeLong(offset);
+            out.writeInt(entry.data.length);
+            out.writeInt((int) crc.getValue());
+
+            offset += entry.data.length;
+        }
+
+        for (Entry entry : entries) {
+            out.write(entry.data);
+        }
+    }
+
+    private static byte[] encodePath(Path path) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (PathWriter writer = new PathWriter(new OutputStreamWriter(buffer, StandardCharsets.UTF_8))) {
+            writer.write(path);
+        }
+
+        return buffer.toByteArray();
+    }
+
+    private static byte[] encodeTrajectory(Trajectory trajectory) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (TrajectoryWriter writer = new TrajectoryWriter(buffer)) {
+            writer.write(trajectory);
+        }
+
+        return buffer.toByteArray();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private static final class Entry {
+        private final byte[] name;
+        private final byte kind;
+        private final byte[] data;
+
+        private Entry(String name, byte kind, byte[] data) {
+            this.name = name.getBytes(StandardCharsets.UTF_8);
+            if (this.name.length > MAX_NAME_LENGTH) {
+                throw new IllegalArgumentException(String.format("Name \"%.32s...\" is longer than %d bytes",
+                        name, MAX_NAME_LENGTH));
+            }
+            this.kind = kind;
+            this.data = data;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonIOException;
 import com.google.gson.JsonObject;
 import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
 import org.ejml.simple.SimpleMatrix;
 import org.frcteam2910.common.control.Path;
 import org.frcteam2910.common.control.PathSegment;
@@ -12,6 +13,7 @@ import org.frcteam2910.common.io.json.InterpolatingDoubleJsonHandler;
 import org.frcteam2910.common.io.json.PathSegmentJsonHandler;
 import org.frcteam2910.common.io.json.Rotation2JsonHandler;
 import org.frcteam2910.common.io.json.SimpleMatrixJsonHandler;
+import org.frcteam2910.common.io.json.Translation2JsonHandler;
 import org.frcteam2910.common.util.InterpolatingDouble;
 
 import java.io.Flushable;
@@ -28,6 +30,7 @@ public final class PathWriter implements AutoCloseable, Flushable {
                 .registerTypeHierarchyAdapter(PathSegment.class, new PathSegmentJsonHandler())
                 .registerTypeAdapter(Rotation2d.class, new Rotation2JsonHandler())
                 .registerTypeAdapter(SimpleMatrix.class, new SimpleMatrixJsonHandler())
+                .registerTypeAdapter(Translation2d.class, new Translation2JsonHandler())
                 .enableComplexMapKeySerialization()
                 .create();
         this.out = out;
@@ -0,0 +1,69 @@
+package org.frcteam2910.common.io;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.util.HolonomicDriveSignal;
+
+/**
+ * The inputs and outputs of every update of a follower, as written by {@link ReplayLogWriter}.
+ * <p>
+ * Every input is created ahead of time so replaying the log only has to call the follower.
+ */
+public final class ReplayLog {
+    private final Pose2d[] poses;
+    private final Translation2d[] velocities;
+    private final double[] rotationalVelocities;
+    private final double[] times;
+    private final double[] dts;
+    private final HolonomicDriveSignal[] signals;
+
+    public ReplayLog(Pose2d[] poses, Translation2d[] velocities, double[] rotationalVelocities, double[] times,
+                     double[] dts, HolonomicDriveSignal[] signals) {
+        int updateCount = poses.length;
+        if (velocities.length != updateCount || rotationalVelocities.length != updateCount ||
+                times.length != updateCount || dts.length != updateCount || signals.length != updateCount) {
+            throw new IllegalArgumentException("All update arrays must have the same length");
+        }
+
+        this.poses = poses;
+        this.velocities = velocities;
+        this.rotationalVelocities = rotationalVelocities;
+        this.times = times;
+        this.dts = dts;
+        this.signals = signals;
+    }
+
+    public int getUpdateCount() {
+        return poses.length;
+    }
+
+    public Pose2d getPose(int update) {
+        return poses[update];
+    }
+
+    public Translation2d getVelocity(int update) {
+        return velocities[update];
+    }
+
+    public double getRotationalVelocity(int update) {
+        return rotationalVelocities[update];
+    }
+
+    public double getTime(int update) {
+        return times[update];
+    }
+
+    public double getDt(int update) {
+        return dts[update];
+    }
+
+    /**
+     * Gets the drive signal the follower returned for an update.
+     *
+     * @param update the index of the update
+     * @return the drive signal or null if the follower did not return one
+     */
+    public HolonomicDriveSignal getSignal(int update) {
+        return signals[update];
+    }
+}
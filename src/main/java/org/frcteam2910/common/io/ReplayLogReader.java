@@ -0,0 +1,143 @@
+package org.frcteam2910.common.io;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.util.HolonomicDriveSignal;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads logs written by {@link ReplayLogWriter}.
+ */
+public final class ReplayLogReader implements AutoCloseable {
+    private static final Field ROTATION_VALUE_FIELD = getRotationField("m_value");
+    private static final Field ROTATION_COS_FIELD = getRotationField("m_cos");
+    private static final Field ROTATION_SIN_FIELD = getRotationField("m_sin");
+
+    private final DataInputStream in;
+
+    public ReplayLogReader(InputStream in) {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+    }
+
+    public ReplayLog read() throws IOException {
+        if (in.readInt() != ReplayLogWriter.MAGIC) {
+            throw new IOException("Not a replay log");
+        }
+        int version = in.readInt();
+        if (version != ReplayLogWriter.VERSION) {
+            throw new IOException(String.format("Unsupported replay log version %d", version));
+        }
+
+        List<Pose2d> poses = new ArrayList<>();
+        List<Translation2d> velocities = new ArrayList<>();
+        List<HolonomicDriveSignal> signals = new ArrayList<>();
+        double[] rotationalVelocities = new double[16];
+        double[] times = new double[16];
+        double[] dts = new double[16];
+
+        int updateCount = 0;
+        while (true) {
+            double time;
+            try {
+                time = in.readDouble();
+            } catch (EOFException e) {
+                break;
+            }
+
+            try {
+                if (updateCount == times.length) {
+                    rotationalVelocities = Arrays.copyOf(rotationalVelocities, updateCount * 2);
+                    times = Arrays.copyOf(times, updateCount * 2);
+                    dts = Arrays.copyOf(dts, updateCount * 2);
+                }
+
+                times[updateCount] = time;
+                dts[updateCount] = in.readDouble();
+                poses.add(new Pose2d(in.readDouble(), in.readDouble(), readRotation()));
+                velocities.add(new Translation2d(in.readDouble(), in.readDouble()));
+                rotationalVelocities[updateCount] = in.readDouble();
+
+                if (in.readBoolean()) {
+                    signals.add(new HolonomicDriveSignal(new Translation2d(in.readDouble(), in.readDouble()),
+                            in.readDouble(), in.readBoolean()));
+                } else {
+                    signals.add(null);
+                }
+            } catch (EOFException e) {
+                throw new IOException("Replay log is truncated", e);
+            }
+
+            updateCount++;
+        }
+
+        return new ReplayLog(
+                poses.toArray(new Pose2d[0]),
+                velocities.toArray(new Translation2d[0]),
+                Arrays.copyOf(rotationalVelocities, updateCount),
+                Arrays.copyOf(times, updateCount),
+                Arrays.copyOf(dts, updateCount),
+                signals.toArray(new HolonomicDriveSignal[0])
+        );
+    }
+
+    /**
+     * Reads a rotation so it has exactly the same radians, cosine and sine as the one that was written. Otherwise a
+     * replayed follower could calculate a different output from the same pose.
+     */
+    private Rotation2d readRotation() throws IOException {
+        double radians = in.readDouble();
+        double cos = in.readDouble();
+        double sin = in.readDouble();
+
+        // Rotations are usually created from an angle or from a cosine and sine, so one of these is exact
+        Rotation2d rotation = new Rotation2d(radians);
+        if (isSameRotation(rotation, radians, cos, sin)) {
+            return rotation;
+        }
+        rotation = new Rotation2d(cos, sin);
+        if (isSameRotation(rotation, radians, cos, sin)) {
+            return rotation;
+        }
+
+        // Otherwise the fields have to be set directly
+        if (ROTATION_VALUE_FIELD == null || ROTATION_COS_FIELD == null || ROTATION_SIN_FIELD == null) {
+            throw new IOException("Rotation can not be restored exactly");
+        }
+        try {
+            rotation = new Rotation2d();
+            ROTATION_VALUE_FIELD.setDouble(rotation, radians);
+            ROTATION_COS_FIELD.setDouble(rotation, cos);
+            ROTATION_SIN_FIELD.setDouble(rotation, sin);
+            return rotation;
+        } catch (IllegalAccessException e) {
+            throw new IOException("Rotation can not be restored exactly", e);
+        }
+    }
+
+    private static boolean isSameRotation(Rotation2d rotation, double radians, double cos, double sin) {
+        return Double.doubleToLongBits(rotation.getRadians()) == Double.doubleToLongBits(radians) &&
+                Double.doubleToLongBits(rotation.getCos()) == Double.doubleToLongBits(cos) &&
+                Double.doubleToLongBits(rotation.getSin()) == Double.doubleToLongBits(sin);
+    }
+
+    private static Field getRotationField(String name) {
+        try {
+            Field field = Rotation2d.class.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
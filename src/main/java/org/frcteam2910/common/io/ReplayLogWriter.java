@@ -0,0 +1,68 @@
+package org.frcteam2910.common.io;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.util.HolonomicDriveSignal;
+
+import java.io.*;
+import java.util.Optional;
+
+/**
+ * Writes the inputs and outputs of a follower's updates so they can be replayed with
+ * {@link org.frcteam2910.common.control.FollowerReplay}.
+ * <p>
+ * The file starts with the magic number and version. Every update is written as the time, dt, x, y, the rotation's
+ * radians, cosine and sine, velocity x, velocity y and rotational velocity as doubles, then a byte that is 1 if the
+ * follower returned a drive signal. If it did, the translation x, translation y and rotation of the signal follow as doubles along with
+ * a byte that is 1 if the signal is field oriented.
+ */
+public final class ReplayLogWriter implements AutoCloseable, Flushable {
+    static final int MAGIC = 0x52504C59; // "RPLY"
+    static final int VERSION = 2;
+
+    private final DataOutputStream out;
+
+    public ReplayLogWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.out.writeInt(MAGIC);
+        this.out.writeInt(VERSION);
+    }
+
+    /**
+     * Writes an update. The arguments match those of
+     * {@link org.frcteam2910.common.control.TrajectoryFollower#update(Pose2d, Translation2d, double, double, double)}.
+     *
+     * @param signal the drive signal the follower returned
+     */
+    public void write(Pose2d currentPose, Translation2d velocity, double rotationalVelocity, double time, double dt,
+                      Optional<HolonomicDriveSignal> signal) throws IOException {
+        out.writeDouble(time);
+        out.writeDouble(dt);
+        out.writeDouble(currentPose.getTranslation().getX());
+        out.writeDouble(currentPose.getTranslation().getY());
+        out.writeDouble(currentPose.getRotation().getRadians());
+        out.writeDouble(currentPose.getRotation().getCos());
+        out.writeDouble(currentPose.getRotation().getSin());
+        out.writeDouble(velocity.getX());
+        out.writeDouble(velocity.getY());
+        out.writeDouble(rotationalVelocity);
+
+        out.writeBoolean(signal.isPresent());
+        if (signal.isPresent()) {
+            out.writeDouble(signal.get().getTranslation().getX());
+            out.writeDouble(signal.get().getTranslation().getY());
+            out.writeDouble(signal.get().getRotation());
+            out.writeBoolean(signal.get().isFieldOriented());
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,105 @@
+package org.frcteam2910.common.io;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts logs written by {@link TelemetryLogger} into the CSV format read by {@code graph_csv.py}.
+ * <p>
+ * The CSV has a header row followed by one row per record with the columns
+ * {@code time,x,y,position,velocity,acceleration,f}.
+ */
+public final class TelemetryCsvConverter {
+    static final String HEADER = "time,x,y,position,velocity,acceleration,f";
+
+    private TelemetryCsvConverter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Usage: TelemetryCsvConverter <log directory> <log name> <source> <output file>");
+            System.exit(1);
+        }
+
+        try (Writer out = Files.newBufferedWriter(new File(args[3]).toPath(), StandardCharsets.UTF_8)) {
+            long records = convert(findFiles(new File(args[0]), args[1]), Integer.parseInt(args[2]), out);
+            System.out.printf("Converted %d records%n", records);
+        }
+    }
+
+    /**
+     * Finds every file of a log in the order they were written.
+     *
+     * @param directory the directory the log was written to
+     * @param name      the name of the log
+     * @return the log files
+     */
+    public static List<File> findFiles(File directory, String name) {
+        List<File> files = new ArrayList<>();
+        for (int i = 0; ; i++) {
+            File file = TelemetryLogger.getFile(directory, name, i);
+            if (!file.isFile()) {
+                return files;
+            }
+            files.add(file);
+        }
+    }
+
+    /**
+     * Converts the records from a source into CSV.
+     *
+     * @param logFiles the log files in the order they were written
+     * @param source   the source id of the records to convert
+     * @param out      the writer to write the CSV to
+     * @return the number of records that were converted
+     * @throws IOException if a log file is not valid or the CSV could not be written
+     */
+    public static long convert(List<File> logFiles, int source, Writer out) throws IOException {
+        out.write(HEADER);
+        out.write(System.lineSeparator());
+
+        long records = 0;
+        for (File logFile : logFiles) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(logFile)))) {
+                if (in.readInt() != TelemetryLogger.MAGIC) {
+                    throw new IOException(logFile + " is not a telemetry log");
+                }
+                int version = in.readInt();
+                if (version != TelemetryLogger.VERSION) {
+                    throw new IOException(String.format("Unsupported telemetry log version %d", version));
+                }
+                int recordSize = in.readInt();
+                if (recordSize != TelemetryLogger.RECORD_SIZE) {
+                    throw new IOException(String.format("Unsupported telemetry record size %d", recordSize));
+                }
+
+                long recordCount = (logFile.length() - TelemetryLogger.HEADER_SIZE) / recordSize;
+                for (long i = 0; i < recordCount; i++) {
+                    int recordSource = in.readInt();
+                    in.readInt();
+                    double time = in.readDouble();
+                    double x = in.readDouble();
+                    double y = in.readDouble();
+                    double position = in.readDouble();
+                    double velocity = in.readDouble();
+                    double acceleration = in.readDouble();
+                    double feedforward = in.readDouble();
+
+                    if (recordSource != source) {
+                        continue;
+                    }
+
+                    out.write(String.format("%s,%s,%s,%s,%s,%s,%s", time, x, y, position, velocity, acceleration,
+                            feedforward));
+                    out.write(System.lineSeparator());
+                    records++;
+                }
+            }
+        }
+
+        return records;
+    }
+}
@@ -0,0 +1,342 @@
+package org.frcteam2910.common.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logs follower telemetry to disk without blocking the thread that produces it.
+ * <p>
+ * Records are fixed size and are passed to a background thread through a bounded lock-free queue. The background
+ * thread writes them to a {@link FileChannel} in batches and starts a new file once the current one reaches the
+ * maximum file size. If the queue is full, the record is dropped and counted instead of waiting for the disk. Logs
+ * can be converted into the CSV format read by {@code graph_csv.py} with {@link TelemetryCsvConverter}.
+ * <p>
+ * Files are named {@code <name>-<index>.tlog} and start with a header of the magic number, the version and the
+ * record size. Every record is made up of the source id, 4 bytes of padding, and the time, x, y, position, velocity,
+ * acceleration and feedforward as doubles.
+ */
+public final class TelemetryLogger implements AutoCloseable {
+    static final int MAGIC = 0x544C4F47; // "TLOG"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 12;
+    static final int RECORD_SIZE = 64;
+
+    /**
+     * The file extension of telemetry logs.
+     */
+    public static final String EXTENSION = ".tlog";
+
+    private static final int FIELD_COUNT = 7;
+    private static final int BATCH_SIZE = 1024 * RECORD_SIZE;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    /**
+     * Set in the tail once the logger is closed so no more slots can be claimed.
+     */
+    private static final long CLOSED_TAIL = Long.MIN_VALUE;
+
+    private final File directory;
+    private final String name;
+    private final long maxFileSize;
+
+    private final int capacity;
+    private final int mask;
+    private final int[] sources;
+    private final double[] data;
+    /**
+     * The sequence number of each slot. A slot can be claimed by the producer of position {@code p} when its sequence
+     * is {@code p}, and can be consumed when its sequence is {@code p + 1}.
+     */
+    private final AtomicLongArray slotSequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head = 0;
+
+    private final AtomicLong droppedRecords = new AtomicLong();
+    private final AtomicLong writtenRecords = new AtomicLong();
+    private long writtenRecordsBeforeCurrentFile = 0;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_SIZE);
+    private FileChannel channel = null;
+    private int fileIndex = 0;
+    private long fileSize = 0;
+
+    private final Thread writerThread;
+    private volatile boolean running = true;
+    /**
+     * The tail when the logger was closed. Every slot before it was claimed before the logger was closed.
+     */
+    private volatile long closedTail = -1;
+    private volatile IOException writeException = null;
+
+    /**
+     * @param directory     the directory to write logs in
+     * @param name          the name log files start with
+     * @param queueCapacity the number of records that can be waiting to be written. Must be a power of two.
+     * @param maxFileSize   the size in bytes at which a new file is started
+     * @throws IOException if the first log file could not be created
+     */
+    public TelemetryLogger(File directory, String name, int queueCapacity, long maxFileSize) throws IOException {
+        if (queueCapacity <= 0 || Integer.bitCount(queueCapacity) != 1) {
+            throw new IllegalArgumentException("Queue capacity must be a power of two");
+        }
+        if (maxFileSize < HEADER_SIZE + RECORD_SIZE) {
+            throw new IllegalArgumentException("Max file size must fit at least one record");
+        }
+
+        this.directory = directory;
+        this.name = name;
+        this.maxFileSize = maxFileSize;
+
+        this.capacity = queueCapacity;
+        this.mask = queueCapacity - 1;
+        this.sources = new int[queueCapacity];
+        this.data = new double[queueCapacity * FIELD_COUNT];
+        this.slotSequences = new AtomicLongArray(queueCapacity);
+        for (int i = 0; i < queueCapacity; i++) {
+            slotSequences.set(i, i);
+        }
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create " + directory);
+        }
+        openNextFile();
+
+        writerThread = new Thread(this::run, "TelemetryLogger-" + name);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Gets the file a log with the given name and index is written to.
+     *
+     * @param directory the directory the log is in
+     * @param name      the name of the log
+     * @param index     the index of the file
+     * @return the log file
+     */
+    public static File getFile(File directory, String name, int index) {
+        return new File(directory, String.format("%s-%d%s", name, index, EXTENSION));
+    }
+
+    /**
+     * Gets a channel that logs records under a source id.
+     *
+     * @param source the id records from the channel are logged with
+     * @return the channel
+     */
+    public Channel getChannel(int source) {
+        return new Channel(this, source);
+    }
+
+    /**
+     * Queues a record to be logged. This never blocks and does not allocate.
+     *
+     * @return false if the queue was full and the record was dropped
+     */
+    public boolean log(int source, double time, double x, double y, double position, double velocity,
+                       double acceleration, double feedforward) {
+        if (!running) {
+            droppedRecords.incrementAndGet();
+            return false;
+        }
+
+        long sequence;
+        int slot;
+        while (true) {
+            sequence = tail.get();
+            if (sequence < 0) {
+                // The logger was closed after the check above
+                droppedRecords.incrementAndGet();
+                return false;
+            }
+            slot = (int) (sequence & mask);
+            long difference = slotSequences.getAcquire(slot) - sequence;
+            if (difference == 0) {
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                // The consumer has not freed this slot yet so the queue is full
+                droppedRecords.incrementAndGet();
+                return false;
+            }
+            // Another producer claimed the slot first, try again
+        }
+
+        int offset = slot * FIELD_COUNT;
+        sources[slot] = source;
+        data[offset] = time;
+        data[offset + 1] = x;
+        data[offset + 2] = y;
+        data[offset + 3] = position;
+        data[offset + 4] = velocity;
+        data[offset + 5] = acceleration;
+        data[offset + 6] = feedforward;
+        slotSequences.setRelease(slot, sequence + 1);
+
+        return true;
+    }
+
+    /**
+     * Gets the number of records that were dropped because the queue was full.
+     *
+     * @return the number of dropped records
+     */
+    public long getDroppedRecords() {
+        return droppedRecords.get();
+    }
+
+    public long getWrittenRecords() {
+        return writtenRecords.get();
+    }
+
+    /**
+     * Writes every queued record and stops the background thread. Records logged after the logger is closed are
+     * dropped.
+     *
+     * @throws IOException if the background thread failed to write a record
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        // Claiming a slot compares and sets the tail, so once the closed flag is set no more slots can be claimed
+        closedTail = tail.getAndAccumulate(CLOSED_TAIL, (current, closed) -> current | closed) & ~CLOSED_TAIL;
+
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing telemetry logger");
+        }
+
+        if (writeException != null) {
+            throw writeException;
+        }
+    }
+
+    private void run() {
+        try {
+            while (closedTail == -1) {
+                if (drain() == 0) {
+                    flush();
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+
+            // Producers that claimed a slot before the logger was closed may still be writing their records
+            while (head != closedTail) {
+                if (drain() == 0) {
+                    Thread.onSpinWait();
+                }
+            }
+            flush();
+        } catch (IOException e) {
+            writeException = e;
+            running = false;
+        } finally {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                if (writeException == null) {
+                    writeException = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves every record that is ready from the queue into the write buffer.
+     *
+     * @return the number of records that were drained
+     */
+    private int drain() throws IOException {
+        int drained = 0;
+        while (true) {
+            int slot = (int) (head & mask);
+            if (slotSequences.getAcquire(slot) != head + 1) {
+                return drained;
+            }
+
+            if (buffer.remaining() < RECORD_SIZE) {
+                flush();
+            }
+            if (fileSize + buffer.position() + RECORD_SIZE > maxFileSize) {
+                flush();
+                openNextFile();
+            }
+
+            int offset = slot * FIELD_COUNT;
+            buffer.putInt(sources[slot]);
+            buffer.putInt(0);
+            for (int i = 0; i < FIELD_COUNT; i++) {
+                buffer.putDouble(data[offset + i]);
+            }
+            slotSequences.setRelease(slot, head + capacity);
+
+            head++;
+            drained++;
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            fileSize += channel.write(buffer);
+        }
+        buffer.clear();
+
+        long written = (fileSize - HEADER_SIZE) / RECORD_SIZE;
+        writtenRecords.set(writtenRecordsBeforeCurrentFile + written);
+    }
+
+    private void openNextFile() throws IOException {
+        if (channel != null) {
+            writtenRecordsBeforeCurrentFile += (fileSize - HEADER_SIZE) / RECORD_SIZE;
+            channel.close();
+        }
+
+        channel = FileChannel.open(getFile(directory, name, fileIndex++).toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        fileSize = 0;
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(RECORD_SIZE);
+        flush();
+    }
+
+    /**
+     * Logs records from a single source. Followers log through a channel so they don't need to know their source id.
+     */
+    public static final class Channel {
+        private final TelemetryLogger logger;
+        private final int source;
+
+        private Channel(TelemetryLogger logger, int source) {
+            this.logger = logger;
+            this.source = source;
+        }
+
+        public boolean log(double time, double x, double y, double position, double velocity, double acceleration,
+                           double feedforward) {
+            return logger.log(source, time, x, y, position, velocity, acceleration, feedforward);
+        }
+
+        public TelemetryLogger getLogger() {
+            return logger;
+        }
+
+        public int getSource() {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.frcteam2910.common.io;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.frcteam2910.common.control.Path;
+import org.frcteam2910.common.control.TrajectoryConstraint;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Calculates a fingerprint of everything that affects how a trajectory is generated.
+ * <p>
+ * The path is hashed as the JSON written by {@link PathWriter} and every constraint is hashed as its class name and
+ * its fields serialized to JSON, so any change to the path or to a constraint's parameters changes the fingerprint.
+ * Constraints have to keep their parameters in fields for this to work. Anonymous constraints can't be serialized, so
+ * they are only told apart by their class.
+ */
+public final class TrajectoryFingerprint {
+    /**
+     * Changed whenever trajectories are generated differently so stored ones are generated again.
+     */
+    private static final long GENERATION_VERSION = 3;
+
+    private static final Gson CONSTRAINT_GSON = new GsonBuilder().serializeSpecialFloatingPointValues().create();
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private long hash = FNV_OFFSET_BASIS;
+
+    private TrajectoryFingerprint() {
+    }
+
+    /**
+     * Calculates the fingerprint for a trajectory's generation parameters.
+     *
+     * @param path                  the path
+     * @param trajectoryConstraints the constraints
+     * @param sampleDistance        the sample distance
+     * @param startingVelocity      the starting velocity of the trajectory
+     * @param endingVelocity        the ending velocity of the trajectory
+     * @return the fingerprint
+     * @throws IllegalArgumentException if the path has a segment type that can't be written by {@link PathWriter}
+     */
+    public static long calculate(Path path, TrajectoryConstraint[] trajectoryConstraints, double sampleDistance,
+                                 double startingVelocity, double endingVelocity) {
+        TrajectoryFingerprint fingerprint = new TrajectoryFingerprint();
+        fingerprint.add(GENERATION_VERSION);
+        fingerprint.add(sampleDistance);
+        fingerprint.add(startingVelocity);
+        fingerprint.add(endingVelocity);
+
+        StringWriter pathJson = new StringWriter();
+        try (PathWriter writer = new PathWriter(pathJson)) {
+            writer.write(path);
+        } catch (IOException e) {
+            // Writing to a string never fails
+            throw new UncheckedIOException(e);
+        }
+        fingerprint.add(pathJson.toString());
+
+        fingerprint.add(trajectoryConstraints.length);
+        for (TrajectoryConstraint constraint : trajectoryConstraints) {
+            fingerprint.add(constraint.getClass().getName());
+            fingerprint.add(CONSTRAINT_GSON.toJson(constraint));
+        }
+
+        return fingerprint.hash;
+    }
+
+    private void add(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        add(bytes.length);
+        for (byte b : bytes) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+    }
+
+    private void add(double value) {
+        add(Double.doubleToLongBits(value));
+    }
+
+    private void add(long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (value >>> (i * 8)) & 0xFF;
+            hash *= FNV_PRIME;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.frcteam2910.common.io;
+
+import org.frcteam2910.common.control.Path;
+import org.frcteam2910.common.control.Trajectory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Generates trajectories ahead of time so they can be loaded at runtime with {@link TrajectoryResources}.
+ * <p>
+ * The source directory contains a {@value TrajectorySettings#FILE_NAME} settings file and any number of path files
+ * written by {@link PathWriter}. For every path file, the path is copied into the output directory and its trajectory
+ * is generated and written next to it with {@link TrajectoryWriter}. Paths are generated in parallel. A trajectory is
+ * only generated again if the fingerprint of its path and settings has changed since it was last written.
+ * <p>
+ * The source directory can also contain sampled motion profiles written with {@link MotionProfileWriter} as
+ * {@code <name>.profile}. Every profile is checked that it can be read and copied into the output directory so it can
+ * be loaded with {@link TrajectoryResources#loadMotionProfile(String)} next to the generated trajectories.
+ */
+public final class TrajectoryGenerator {
+    static final String PATH_EXTENSION = ".json";
+    static final String TRAJECTORY_EXTENSION = ".trajectory";
+    static final String MOTION_PROFILE_EXTENSION = ".profile";
+    static final String TRAJECTORY_LIBRARY_EXTENSION = ".library";
+
+    private final File sourceDirectory;
+    private final File outputDirectory;
+
+    public TrajectoryGenerator(File sourceDirectory, File outputDirectory) {
+        this.sourceDirectory = sourceDirectory;
+        this.outputDirectory = outputDirectory;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: TrajectoryGenerator <source directory> <output directory>");
+            System.exit(1);
+        }
+
+        Result result = new TrajectoryGenerator(new File(args[0]), new File(args[1])).generate();
+        System.out.printf("Generated %d trajectories, %d up to date%n", result.getGenerated(), result.getUpToDate());
+    }
+
+    /**
+     * Generates every out of date trajectory in the source directory.
+     *
+     * @return how many trajectories were generated and how many were already up to date
+     * @throws IOException if a path could not be read or a trajectory could not be written
+     */
+    public Result generate() throws IOException {
+        TrajectorySettings settings;
+        try (Reader in = Files.newBufferedReader(new File(sourceDirectory, TrajectorySettings.FILE_NAME).toPath(),
+                StandardCharsets.UTF_8)) {
+            settings = TrajectorySettings.read(in);
+        }
+
+        File[] pathFiles = sourceDirectory.listFiles((dir, fileName) -> fileName.endsWith(PATH_EXTENSION) &&
+                !fileName.equals(TrajectorySettings.FILE_NAME));
+        if (pathFiles == null) {
+            throw new IOException("Unable to list " + sourceDirectory);
+        }
+        Arrays.sort(pathFiles);
+        File[] profileFiles = sourceDirectory.listFiles((dir, fileName) ->
+                fileName.endsWith(MOTION_PROFILE_EXTENSION));
+        if (profileFiles == null) {
+            throw new IOException("Unable to list " + sourceDirectory);
+        }
+
+        if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+            throw new IOException("Unable to create " + outputDirectory);
+        }
+        removeStaleOutputs(pathFiles, profileFiles);
+        Files.copy(new File(sourceDirectory, TrajectorySettings.FILE_NAME).toPath(),
+                new File(outputDirectory, TrajectorySettings.FILE_NAME).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        for (File profileFile : profileFiles) {
+            copyProfile(profileFile);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<Boolean>> results = new ArrayList<>(pathFiles.length);
+            for (File pathFile : pathFiles) {
+                results.add(executor.submit(() -> generate(pathFile, settings)));
+            }
+
+            int generated = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    generated++;
+                }
+            }
+
+            return new Result(generated, pathFiles.length - generated);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while generating trajectories");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean generate(File pathFile, TrajectorySettings settings) throws IOException {
+        String name = pathFile.getName().substring(0, pathFile.getName().length() - PATH_EXTENSION.length());
+        File trajectoryFile = new File(outputDirectory, name + TRAJECTORY_EXTENSION);
+
+        Path path;
+        try (PathReader reader = new PathReader(Files.newBufferedReader(pathFile.toPath(), StandardCharsets.UTF_8))) {
+            path = reader.read();
+        }
+        Files.copy(pathFile.toPath(), new File(outputDirectory, pathFile.getName()).toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+
+        long fingerprint = TrajectoryFingerprint.calculate(path, settings.getConstraints(),
+                settings.getSampleDistance(), settings.getStartingVelocity(), settings.getEndingVelocity());
+        if (trajectoryFile.isFile() && readFingerprint(trajectoryFile) == fingerprint) {
+            return false;
+        }
+
+        Trajectory trajectory = new Trajectory(path, settings.getConstraints(), settings.getSampleDistance(),
+                settings.getStartingVelocity(), settings.getEndingVelocity());
+
+        // Write to a temporary file first so an interrupted build never leaves a partial trajectory behind
+        File tempFile = new File(outputDirectory, name + TRAJECTORY_EXTENSION + ".tmp");
+        try (TrajectoryWriter writer = new TrajectoryWriter(new FileOutputStream(tempFile))) {
+            writer.write(trajectory);
+        }
+        Files.move(tempFile.toPath(), trajectoryFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        return true;
+    }
+
+    private void copyProfile(File profileFile) throws IOException {
+        // Read the profile first so a profile that can't be loaded fails the build instead of the robot
+        try (MotionProfileReader reader = new MotionProfileReader(new FileInputStream(profileFile))) {
+            reader.read();
+        } catch (IOException e) {
+            throw new IOException("Unable to read motion profile " + profileFile, e);
+        }
+
+        Files.copy(profileFile.toPath(), new File(outputDirectory, profileFile.getName()).toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void removeStaleOutputs(File[] pathFiles, File[] profileFiles) throws IOException {
+        Set<String> names = new HashSet<>();
+        for (File pathFile : pathFiles) {
+            names.add(pathFile.getName());
+            String name = pathFile.getName().substring(0, pathFile.getName().length() - PATH_EXTENSION.length());
+            names.add(name + TRAJECTORY_EXTENSION);
+        }
+        for (File profileFile : profileFiles) {
+            names.add(profileFile.getName());
+        }
+
+        // Trajectory libraries are written by other tools so they are never stale
+        File[] outputs = outputDirectory.listFiles((dir, fileName) -> !names.contains(fileName) &&
+                !fileName.equals(TrajectorySettings.FILE_NAME) && !fileName.endsWith(TRAJECTORY_LIBRARY_EXTENSION));
+        if (outputs == null) {
+            throw new IOException("Unable to list " + outputDirectory);
+        }
+        for (File output : outputs) {
+            Files.delete(output.toPath());
+        }
+    }
+
+    private static long readFingerprint(File trajectoryFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(trajectoryFile)))) {
+            if (in.readInt() != TrajectoryWriter.MAGIC || in.readInt() != TrajectoryWriter.VERSION) {
+                // Treat anything we can't read as out of date
+                return 0;
+            }
+            return in.readLong();
+        } catch (EOFException e) {
+            return 0;
+        }
+    }
+
+    public static final class Result {
+        private final int generated;
+        private final int upToDate;
+
+        public Result(int generated, int upToDate) {
+            this.generated = generated;
+            this.upToDate = upToDate;
+        }
+
+        public int getGenerated() {
+            return generated;
+        }
+
+        public int getUpToDate() {
+            return upToDate;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.frcteam2910.common.io;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.control.Path;
+import org.frcteam2910.common.control.Trajectory;
+import org.frcteam2910.common.control.TrajectoryConstraint;
+import org.frcteam2910.common.control.TrajectoryLibrary;
+import org.frcteam2910.common.control.VisibilityGraphPlanner;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates a {@link TrajectoryLibrary} by planning and generating a trajectory from every start position to every
+ * goal in parallel.
+ * <p>
+ * Start positions that are inside an obstacle or can't reach a goal are left out of the library for that goal.
+ */
+public final class TrajectoryLibraryGenerator {
+    private final VisibilityGraphPlanner planner;
+    private final TrajectoryConstraint[] constraints;
+    private final double sampleDistance;
+
+    public TrajectoryLibraryGenerator(VisibilityGraphPlanner planner, TrajectoryConstraint[] constraints,
+                                      double sampleDistance) {
+        this.planner = planner;
+        this.constraints = constraints;
+        this.sampleDistance = sampleDistance;
+    }
+
+    /**
+     * Creates a grid of start positions.
+     *
+     * @param min     the corner of the grid with the smallest coordinates
+     * @param max     the corner of the grid with the largest coordinates
+     * @param spacing the distance between neighbouring positions
+     * @return the positions in the grid
+     */
+    public static Translation2d[] createGrid(Translation2d min, Translation2d max, double spacing) {
+        if (spacing <= 0.0) {
+            throw new IllegalArgumentException("Spacing must be positive");
+        }
+
+        int columns = (int) Math.floor((max.getX() - min.getX()) / spacing) + 1;
+        int rows = (int) Math.floor((max.getY() - min.getY()) / spacing) + 1;
+        Translation2d[] grid = new Translation2d[columns * rows];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                grid[row * columns + column] = new Translation2d(min.getX() + column * spacing,
+                        min.getY() + row * spacing);
+            }
+        }
+
+        return grid;
+    }
+
+    /**
+     * Generates a trajectory from every start to every goal.
+     *
+     * @param starts the positions to start from
+     * @param goals  the poses to end at
+     * @return the library of generated trajectories
+     * @throws IOException if generation was interrupted
+     */
+    public TrajectoryLibrary generate(Translation2d[] starts, Pose2d[] goals) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<List<Future<Trajectory>>> results = new ArrayList<>(goals.length);
+            for (Pose2d goal : goals) {
+                List<Future<Trajectory>> goalResults = new ArrayList<>(starts.length);
+                for (Translation2d start : starts) {
+                    goalResults.add(executor.submit(() -> generate(start, goal)));
+                }
+                results.add(goalResults);
+            }
+
+            Trajectory[][] trajectories = new Trajectory[goals.length][];
+            for (int i = 0; i < goals.length; i++) {
+                List<Trajectory> goalTrajectories = new ArrayList<>(starts.length);
+                for (Future<Trajectory> result : results.get(i)) {
+                    Trajectory trajectory = result.get();
+                    if (trajectory != null) {
+                        goalTrajectories.add(trajectory);
+                    }
+                }
+                trajectories[i] = goalTrajectories.toArray(new Trajectory[0]);
+            }
+
+            return new TrajectoryLibrary(goals, trajectories);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while generating trajectories");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Trajectory generate(Translation2d start, Pose2d goal) {
+        // Stored paths keep the goal rotation the whole way so the rotation of the robot can be spliced in later
+        Path path = planner.plan(start, goal.getRotation(), goal.getTranslation(), goal.getRotation());
+        if (path == null) {
+            return null;
+        }
+
+        return new Trajectory(path, constraints, sampleDistance);
+    }
+}
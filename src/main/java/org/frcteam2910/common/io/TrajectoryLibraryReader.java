@@ -0,0 +1,94 @@
+package org.frcteam2910.common.io;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import org.frcteam2910.common.control.Path;
+import org.frcteam2910.common.control.Trajectory;
+import org.frcteam2910.common.control.TrajectoryConstraint;
+import org.frcteam2910.common.control.TrajectoryLibrary;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a trajectory library written by {@link TrajectoryLibraryWriter}.
+ */
+public final class TrajectoryLibraryReader implements AutoCloseable {
+    private final DataInputStream in;
+
+    public TrajectoryLibraryReader(InputStream in) {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+    }
+
+    /**
+     * Reads a library. Trajectories that were not generated with the same constraints and sample distance are
+     * generated again.
+     *
+     * @param trajectoryConstraints the constraints the trajectories should obey
+     * @param sampleDistance        the sample distance the trajectories should use
+     * @return the library
+     * @throws IOException if the library could not be read
+     */
+    public TrajectoryLibrary read(TrajectoryConstraint[] trajectoryConstraints,
+                                  double sampleDistance) throws IOException {
+        try {
+            if (in.readInt() != TrajectoryLibraryWriter.MAGIC) {
+                throw new IOException("Input is not a trajectory library");
+            }
+            int version = in.readInt();
+            if (version != TrajectoryLibraryWriter.VERSION) {
+                throw new IOException(String.format("Unsupported trajectory library version %d", version));
+            }
+
+            int goalCount = in.readInt();
+            if (goalCount < 0) {
+                throw new IOException("Trajectory library is not valid");
+            }
+
+            Pose2d[] goals = new Pose2d[goalCount];
+            Trajectory[][] trajectories = new Trajectory[goalCount][];
+            for (int i = 0; i < goalCount; i++) {
+                goals[i] = new Pose2d(in.readDouble(), in.readDouble(),
+                        new Rotation2d(in.readDouble()));
+
+                int trajectoryCount = in.readInt();
+                if (trajectoryCount < 0) {
+                    throw new IOException("Trajectory library is not valid");
+                }
+
+                trajectories[i] = new Trajectory[trajectoryCount];
+                for (int j = 0; j < trajectoryCount; j++) {
+                    Path path;
+                    try (PathReader reader = new PathReader(new InputStreamReader(
+                            new ByteArrayInputStream(readBytes()), StandardCharsets.UTF_8))) {
+                        path = reader.read();
+                    }
+
+                    try (TrajectoryReader reader = new TrajectoryReader(new ByteArrayInputStream(readBytes()))) {
+                        trajectories[i][j] = reader.read(path, trajectoryConstraints, sampleDistance);
+                    }
+                }
+            }
+
+            return new TrajectoryLibrary(goals, trajectories);
+        } catch (EOFException e) {
+            throw new IOException("Trajectory library is truncated", e);
+        }
+    }
+
+    private byte[] readBytes() throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Trajectory library is not valid");
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
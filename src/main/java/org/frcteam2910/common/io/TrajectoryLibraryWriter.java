@@ -0,0 +1,76 @@
+package org.frcteam2910.common.io;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import org.frcteam2910.common.control.Trajectory;
+import org.frcteam2910.common.control.TrajectoryLibrary;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a trajectory library in a binary format that can be read with {@link TrajectoryLibraryReader}.
+ * <p>
+ * Every trajectory is written with {@link TrajectoryWriter} alongside its path, so out of date trajectories are
+ * generated again when the library is read.
+ */
+public final class TrajectoryLibraryWriter implements AutoCloseable, Flushable {
+    static final int MAGIC = 0x544C4942; // "TLIB"
+    static final int VERSION = 1;
+
+    private final DataOutputStream out;
+
+    public TrajectoryLibraryWriter(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    public void write(TrajectoryLibrary library) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(library.getGoalCount());
+
+        for (int i = 0; i < library.getGoalCount(); i++) {
+            Pose2d goal = library.getGoal(i);
+            out.writeDouble(goal.getX());
+            out.writeDouble(goal.getY());
+            out.writeDouble(goal.getRotation().getRadians());
+
+            Trajectory[] trajectories = library.getTrajectories(i);
+            out.writeInt(trajectories.length);
+            for (Trajectory trajectory : trajectories) {
+                writeBytes(encodePath(trajectory));
+                writeBytes(encodeTrajectory(trajectory));
+            }
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] encodePath(Trajectory trajectory) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (PathWriter writer = new PathWriter(new OutputStreamWriter(buffer, StandardCharsets.UTF_8))) {
+            writer.write(trajectory.getPath());
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] encodeTrajectory(Trajectory trajectory) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (TrajectoryWriter writer = new TrajectoryWriter(buffer)) {
+            writer.write(trajectory);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
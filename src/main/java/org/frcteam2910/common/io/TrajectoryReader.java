@@ -0,0 +1,95 @@
+package org.frcteam2910.common.io;
+
+import org.frcteam2910.common.control.Path;
+import org.frcteam2910.common.control.Trajectory;
+import org.frcteam2910.common.control.TrajectoryConstraint;
+
+import java.io.*;
+
+/**
+ * Reads a trajectory written by {@link TrajectoryWriter}.
+ * <p>
+ * The stored fingerprint is compared against the fingerprint of the path and constraints passed to
+ * {@link #read(Path, TrajectoryConstraint[], double, double, double)}. If they do not match the stored states are
+ * discarded and the trajectory is generated again.
+ */
+public final class TrajectoryReader implements AutoCloseable {
+    private final DataInputStream in;
+
+    private boolean regenerated = false;
+
+    public TrajectoryReader(InputStream in) {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+    }
+
+    public Trajectory read(Path path, TrajectoryConstraint[] trajectoryConstraints,
+                           double sampleDistance) throws IOException {
+        return read(path, trajectoryConstraints, sampleDistance, 0.0, 0.0);
+    }
+
+    public Trajectory read(Path path, TrajectoryConstraint[] trajectoryConstraints, double sampleDistance,
+                           double startingVelocity, double endingVelocity) throws IOException {
+        try {
+            if (in.readInt() != TrajectoryWriter.MAGIC) {
+                throw new IOException("Input is not a trajectory");
+            }
+            int version = in.readInt();
+            if (version < 1 || version > TrajectoryWriter.VERSION) {
+                throw new IOException(String.format("Unsupported trajectory version %d", version));
+            }
+
+            long fingerprint = TrajectoryFingerprint.calculate(path, trajectoryConstraints, sampleDistance,
+                    startingVelocity, endingVelocity);
+            if (in.readLong() != fingerprint) {
+                regenerated = true;
+                return new Trajectory(path, trajectoryConstraints, sampleDistance, startingVelocity, endingVelocity);
+            }
+
+            int stateCount = in.readInt();
+            if (stateCount < 0) {
+                throw new IOException("Trajectory is not valid");
+            }
+
+            double duration = in.readDouble();
+            // Version 1 was written before trajectories could be jerk limited
+            boolean jerkLimited = version >= 2 && in.readBoolean();
+            double[] distances = readArray(stateCount);
+            double[] lengths = readArray(stateCount);
+            double[] startingVelocities = readArray(stateCount);
+            double[] endingVelocities = readArray(stateCount);
+            double[] accelerations = readArray(stateCount);
+            double[] startTimes = readArray(stateCount);
+            // Before version 3 the acceleration of every state was constant
+            double[] jerks = version >= 3 && jerkLimited ? readArray(stateCount) : new double[stateCount];
+            Trajectory.StateTable table = new Trajectory.StateTable(distances, lengths, startingVelocities,
+                    endingVelocities, accelerations, jerks, startTimes, duration, jerkLimited);
+
+            regenerated = false;
+            return new Trajectory(path, trajectoryConstraints, sampleDistance, startingVelocity, endingVelocity, table);
+        } catch (EOFException e) {
+            throw new IOException("Trajectory is truncated", e);
+        }
+    }
+
+    /**
+     * Gets if the last trajectory that was read had to be generated again because its fingerprint did not match.
+     *
+     * @return true if the last trajectory was regenerated
+     */
+    public boolean wasRegenerated() {
+        return regenerated;
+    }
+
+    private double[] readArray(int length) throws IOException {
+        double[] array = new double[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = in.readDouble();
+        }
+        return array;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
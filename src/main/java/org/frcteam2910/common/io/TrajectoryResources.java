@@ -0,0 +1,106 @@
+package org.frcteam2910.common.io;
+
+import org.frcteam2910.common.control.Path;
+import org.frcteam2910.common.control.Trajectory;
+import org.frcteam2910.common.control.TrajectoryLibrary;
+import org.frcteam2910.common.motion.SampledMotionProfile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads trajectories that were generated at build time by {@link TrajectoryGenerator} from the classpath.
+ * <p>
+ * As long as the resources were generated from the same paths and settings, loading a trajectory does not evaluate
+ * any constraints. Out of date trajectories are generated again when they are loaded. Sampled motion profiles in the
+ * trajectory source directory are copied alongside the trajectories and can be loaded with
+ * {@link #loadMotionProfile(String)}.
+ */
+public final class TrajectoryResources {
+    /**
+     * The classpath directory the build places generated trajectories in.
+     */
+    public static final String DEFAULT_DIRECTORY = "/trajectories";
+
+    private final String directory;
+
+    private TrajectorySettings settings = null;
+
+    public TrajectoryResources() {
+        this(DEFAULT_DIRECTORY);
+    }
+
+    public TrajectoryResources(String directory) {
+        this.directory = directory;
+    }
+
+    public synchronized TrajectorySettings getSettings() throws IOException {
+        if (settings == null) {
+            try (InputStream in = open(TrajectorySettings.FILE_NAME)) {
+                settings = TrajectorySettings.read(new InputStreamReader(in, StandardCharsets.UTF_8));
+            }
+        }
+
+        return settings;
+    }
+
+    public Path loadPath(String name) throws IOException {
+        try (PathReader reader = new PathReader(new InputStreamReader(open(name + TrajectoryGenerator.PATH_EXTENSION),
+                StandardCharsets.UTF_8))) {
+            return reader.read();
+        }
+    }
+
+    public Trajectory loadTrajectory(String name) throws IOException {
+        TrajectorySettings settings = getSettings();
+        Path path = loadPath(name);
+
+        try (TrajectoryReader reader = new TrajectoryReader(open(name + TrajectoryGenerator.TRAJECTORY_EXTENSION))) {
+            return reader.read(path, settings.getConstraints(), settings.getSampleDistance(),
+                    settings.getStartingVelocity(), settings.getEndingVelocity());
+        }
+    }
+
+    /**
+     * Loads a motion profile that was sampled and written with {@link MotionProfileWriter} into the trajectory source
+     * directory.
+     *
+     * @param name the name of the profile
+     * @return the sampled profile
+     * @throws IOException if the profile could not be found or read
+     */
+    public SampledMotionProfile loadMotionProfile(String name) throws IOException {
+        try (MotionProfileReader reader = new MotionProfileReader(
+                open(name + TrajectoryGenerator.MOTION_PROFILE_EXTENSION))) {
+            return reader.read();
+        }
+    }
+
+    /**
+     * Loads a trajectory library written with {@link TrajectoryLibraryWriter}. Trajectories in the library that were
+     * not generated with the current settings are generated again.
+     *
+     * @param name the name of the library
+     * @return the library
+     * @throws IOException if the library could not be found or read
+     */
+    public TrajectoryLibrary loadTrajectoryLibrary(String name) throws IOException {
+        TrajectorySettings settings = getSettings();
+
+        try (TrajectoryLibraryReader reader = new TrajectoryLibraryReader(
+                open(name + TrajectoryGenerator.TRAJECTORY_LIBRARY_EXTENSION))) {
+            return reader.read(settings.getConstraints(), settings.getSampleDistance());
+        }
+    }
+
+    private InputStream open(String fileName) throws IOException {
+        InputStream in = TrajectoryResources.class.getResourceAsStream(directory + "/" + fileName);
+        if (in == null) {
+            throw new IOException(String.format("Unable to find resource \"%s/%s\"", directory, fileName));
+        }
+
+        return in;
+    }
+}
@@ -0,0 +1,91 @@
+package org.frcteam2910.common.io;
+
+import com.google.gson.*;
+import org.frcteam2910.common.control.TrajectoryConstraint;
+import org.frcteam2910.common.io.json.TrajectoryConstraintJsonHandler;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The settings used to generate every trajectory in a trajectory source directory.
+ * <p>
+ * Settings are stored as JSON in the following format:
+ * <pre>
+ * {
+ *   "sampleDistance": 0.01,
+ *   "startingVelocity": 0.0,
+ *   "endingVelocity": 0.0,
+ *   "constraints": [
+ *     {"type": "maxVelocity", "maxVelocity": 12.0},
+ *     {"type": "maxAcceleration", "maxAcceleration": 10.0, "maxDeceleration": 8.0},
+ *     {"type": "maxJerk", "maxJerk": 50.0},
+ *     {"type": "centripetalAcceleration", "maxCentripetalAcceleration": 7.5},
+ *     {"type": "feedforward", "targetFeedforward": 10.0, "kV": 0.8, "kA": 0.1, "fastDeceleration": true}
+ *   ]
+ * }
+ * </pre>
+ * The starting and ending velocities are optional and default to zero.
+ */
+public final class TrajectorySettings {
+    /**
+     * The name of the settings file in a trajectory source directory.
+     */
+    public static final String FILE_NAME = "trajectories.json";
+
+    private final double sampleDistance;
+    private final double startingVelocity;
+    private final double endingVelocity;
+    private final TrajectoryConstraint[] constraints;
+
+    public TrajectorySettings(double sampleDistance, double startingVelocity, double endingVelocity,
+                              TrajectoryConstraint[] constraints) {
+        this.sampleDistance = sampleDistance;
+        this.startingVelocity = startingVelocity;
+        this.endingVelocity = endingVelocity;
+        this.constraints = constraints;
+    }
+
+    public static TrajectorySettings read(Reader in) throws IOException {
+        Gson gson = new GsonBuilder()
+                .registerTypeHierarchyAdapter(TrajectoryConstraint.class, new TrajectoryConstraintJsonHandler())
+                .create();
+
+        try {
+            JsonElement rootElement = JsonParser.parseReader(in);
+            if (!rootElement.isJsonObject()) {
+                throw new IOException("Trajectory settings must be a JSON object");
+            }
+
+            JsonObject root = rootElement.getAsJsonObject();
+            if (!root.has("sampleDistance") || !root.has("constraints")) {
+                throw new IOException("Trajectory settings are not valid");
+            }
+
+            return new TrajectorySettings(
+                    root.get("sampleDistance").getAsDouble(),
+                    root.has("startingVelocity") ? root.get("startingVelocity").getAsDouble() : 0.0,
+                    root.has("endingVelocity") ? root.get("endingVelocity").getAsDouble() : 0.0,
+                    gson.fromJson(root.get("constraints"), TrajectoryConstraint[].class)
+            );
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            throw new IOException(e);
+        }
+    }
+
+    public double getSampleDistance() {
+        return sampleDistance;
+    }
+
+    public double getStartingVelocity() {
+        return startingVelocity;
+    }
+
+    public double getEndingVelocity() {
+        return endingVelocity;
+    }
+
+    public TrajectoryConstraint[] getConstraints() {
+        return constraints;
+    }
+}
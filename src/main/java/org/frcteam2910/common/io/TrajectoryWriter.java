@@ -0,0 +1,60 @@
+package org.frcteam2910.common.io;
+
+import org.frcteam2910.common.control.Trajectory;
+
+import java.io.*;
+
+/**
+ * Writes a generated trajectory in a compact binary format that can be read with {@link TrajectoryReader}.
+ * <p>
+ * Only the constrained state table is written. The path is not included so it must be available when the trajectory
+ * is read. A fingerprint of the path and constraints is written alongside the state table so the reader can detect
+ * when the stored states are out of date.
+ */
+public final class TrajectoryWriter implements AutoCloseable, Flushable {
+    static final int MAGIC = 0x5452414A; // "TRAJ"
+    static final int VERSION = 3;
+
+    private final DataOutputStream out;
+
+    public TrajectoryWriter(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    public void write(Trajectory trajectory) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(TrajectoryFingerprint.calculate(trajectory.getPath(), trajectory.getConstraints(),
+                trajectory.getSampleDistance(), trajectory.getStartingVelocity(), trajectory.getEndingVelocity()));
+
+        Trajectory.StateTable table = trajectory.getStateTable();
+        out.writeInt(table.getStateCount());
+        out.writeDouble(table.duration);
+        out.writeBoolean(table.jerkLimited);
+        writeArray(table.distances);
+        writeArray(table.lengths);
+        writeArray(table.startingVelocities);
+        writeArray(table.endingVelocities);
+        writeArray(table.accelerations);
+        writeArray(table.startTimes);
+        if (table.jerkLimited) {
+            writeArray(table.jerks);
+        }
+    }
+
+    private void writeArray(double[] array) throws IOException {
+        for (double value : array) {
+            out.writeDouble(value);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
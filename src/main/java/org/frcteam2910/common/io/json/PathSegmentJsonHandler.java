@@ -1,29 +1,128 @@
 package org.frcteam2910.common.io.json;
 
 import com.google.gson.*;
+import edu.wpi.first.math.geometry.Translation2d;
 import org.ejml.simple.SimpleMatrix;
 import org.frcteam2910.common.control.PathSegment;
+import org.frcteam2910.common.control.SimplePathBuilder;
 import org.frcteam2910.common.control.SplinePathSegment;
 import org.frcteam2910.common.math.spline.Spline;
 
 import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class PathSegmentJsonHandler implements JsonSerializer<PathSegment>, JsonDeserializer<PathSegment> {
+    private static final Map<String, SegmentType<?>> TYPES_BY_NAME = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, SegmentType<?>> TYPES_BY_CLASS = new ConcurrentHashMap<>();
+
+    static {
+        registerSegmentType("spline", SplinePathSegment.class, new SegmentSerializer<>() {
+            @Override
+            public void serialize(SplinePathSegment segment, JsonObject root, JsonSerializationContext context) {
+                Spline spline = segment.getSpline();
+
+                root.add("basis", context.serialize(spline.getBasisMatrix()));
+                root.add("weights", context.serialize(spline.getBasisWeightMatrix()));
+            }
+
+            @Override
+            public SplinePathSegment deserialize(JsonObject root, JsonDeserializationContext context) {
+                SimpleMatrix basis = context.deserialize(root.get("basis"), SimpleMatrix.class);
+                SimpleMatrix weights = context.deserialize(root.get("weights"), SimpleMatrix.class);
+
+                return new SplinePathSegment(new Spline(basis, weights));
+            }
+        });
+        registerSegmentType("line", SimplePathBuilder.LineSegment.class, new SegmentSerializer<>() {
+            @Override
+            public void serialize(SimplePathBuilder.LineSegment segment, JsonObject root, JsonSerializationContext context) {
+                root.add("start", context.serialize(segment.getStartPosition(), Translation2d.class));
+                root.add("end", context.serialize(segment.getEndPosition(), Translation2d.class));
+            }
+
+            @Override
+            public SimplePathBuilder.LineSegment deserialize(JsonObject root, JsonDeserializationContext context) {
+                return new SimplePathBuilder.LineSegment(
+                        context.deserialize(root.get("start"), Translation2d.class),
+                        context.deserialize(root.get("end"), Translation2d.class)
+                );
+            }
+        });
+        registerSegmentType("arc", SimplePathBuilder.ArcSegment.class, new SegmentSerializer<>() {
+            @Override
+            public void serialize(SimplePathBuilder.ArcSegment segment, JsonObject root, JsonSerializationContext context) {
+                root.add("start", context.serialize(segment.getStartPosition(), Translation2d.class));
+                root.add("end", context.serialize(segment.getEndPosition(), Translation2d.class));
+                root.add("center", context.serialize(segment.getCenter(), Translation2d.class));
+            }
+
+            @Override
+            public SimplePathBuilder.ArcSegment deserialize(JsonObject root, JsonDeserializationContext context) {
+                return new SimplePathBuilder.ArcSegment(
+                        context.deserialize(root.get("start"), Translation2d.class),
+                        context.deserialize(root.get("end"), Translation2d.class),
+                        context.deserialize(root.get("center"), Translation2d.class)
+                );
+            }
+        });
+    }
+
+    /**
+     * Registers a custom path segment type so it can be read and written along with the built-in segment types.
+     *
+     * @param type         the name of the type, stored in the {@code type} property of every serialized segment
+     * @param segmentClass the class of the segment
+     * @param serializer   the serializer for the segment
+     * @param <T>          the type of the segment
+     * @throws IllegalArgumentException if the type name or class has already been registered
+     */
+    public static <T extends PathSegment> void registerSegmentType(String type, Class<T> segmentClass,
+                                                                  SegmentSerializer<T> serializer) {
+        SegmentType<T> segmentType = new SegmentType<>(type, segmentClass, serializer);
+
+        synchronized (TYPES_BY_NAME) {
+            if (TYPES_BY_NAME.containsKey(type)) {
+                throw new IllegalArgumentException(String.format("Segment type \"%s\" has already been registered", type));
+            }
+            if (TYPES_BY_CLASS.containsKey(segmentClass)) {
+                throw new IllegalArgumentException("Segment class " + segmentClass.getTypeName() + " has already been registered");
+            }
+
+            TYPES_BY_NAME.put(type, segmentType);
+            TYPES_BY_CLASS.put(segmentClass, segmentType);
+        }
+    }
+
+    /**
+     * Removes a custom path segment type that was registered with {@link #registerSegmentType}, so the name and class
+     * can be registered again.
+     *
+     * @param type the name of the type
+     * @return if the type was registered
+     */
+    public static boolean unregisterSegmentType(String type) {
+        synchronized (TYPES_BY_NAME) {
+            SegmentType<?> segmentType = TYPES_BY_NAME.remove(type);
+            if (segmentType == null) {
+                return false;
+            }
+
+            TYPES_BY_CLASS.remove(segmentType.segmentClass);
+            return true;
+        }
+    }
+
     @Override
     public JsonElement serialize(PathSegment src, Type typeOfSrc, JsonSerializationContext context) {
-        JsonObject root = new JsonObject();
-        String type;
-        if (typeOfSrc == SplinePathSegment.class) {
-            type = "spline";
-            Spline spline = ((SplinePathSegment) src).getSpline();
-
-            root.add("basis", context.serialize(spline.getBasisMatrix()));
-            root.add("weights", context.serialize(spline.getBasisWeightMatrix()));
-        } else {
-            throw new IllegalArgumentException("Tried to serialize unknown path segment type " + typeOfSrc.getTypeName());
+        SegmentType<?> segmentType = TYPES_BY_CLASS.get(src.getClass());
+        if (segmentType == null) {
+            throw new IllegalArgumentException("Tried to serialize unknown path segment type " + src.getClass().getTypeName());
         }
 
-        root.addProperty("type", type);
+        JsonObject root = new JsonObject();
+        segmentType.serialize(src, root, context);
+        root.addProperty("type", segmentType.name);
 
         return root;
     }
@@ -37,13 +136,45 @@ public final class PathSegmentJsonHandler implements JsonSerializer<PathSegment>
 
         String type = root.get("type").getAsString();
 
-        if (type.equals("spline")) {
-            SimpleMatrix basis = context.deserialize(root.get("basis"), SimpleMatrix.class);
-            SimpleMatrix weights = context.deserialize(root.get("weights"), SimpleMatrix.class);
-
-            return new SplinePathSegment(new Spline(basis, weights));
-        } else {
+        SegmentType<?> segmentType = TYPES_BY_NAME.get(type);
+        if (segmentType == null) {
             throw new JsonParseException(String.format("Unknown segment type \"%s\"", type));
         }
+
+        return segmentType.serializer.deserialize(root, context);
+    }
+
+    /**
+     * Converts a path segment to and from its JSON representation.
+     *
+     * @param <T> the type of the segment
+     */
+    public interface SegmentSerializer<T extends PathSegment> {
+        /**
+         * Adds the properties of a segment to its JSON object. The {@code type} property is added automatically.
+         *
+         * @param segment the segment
+         * @param root    the JSON object to add the properties to
+         * @param context the serialization context
+         */
+        void serialize(T segment, JsonObject root, JsonSerializationContext context);
+
+        T deserialize(JsonObject root, JsonDeserializationContext context) throws JsonParseException;
+    }
+
+    private static final class SegmentType<T extends PathSegment> {
+        private final String name;
+        private final Class<T> segmentClass;
+        private final SegmentSerializer<T> serializer;
+
+        private SegmentType(String name, Class<T> segmentClass, SegmentSerializer<T> serializer) {
+            this.name = name;
+            this.segmentClass = segmentClass;
+            this.serializer = serializer;
+        }
+
+        private void serialize(PathSegment segment, JsonObject root, JsonSerializationContext context) {
+            serializer.serialize(segmentClass.cast(segment), root, context);
+        }
     }
 }
@@ -0,0 +1,49 @@
+package org.frcteam2910.common.io.json;
+
+import com.google.gson.*;
+import org.frcteam2910.common.control.*;
+
+import java.lang.reflect.Type;
+
+public final class TrajectoryConstraintJsonHandler implements JsonDeserializer<TrajectoryConstraint> {
+    @Override
+    public TrajectoryConstraint deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+        JsonObject root = json.getAsJsonObject();
+        if (!root.has("type")) {
+            throw new JsonParseException("Constraint does not have a type");
+        }
+
+        String type = root.get("type").getAsString();
+        switch (type) {
+            case "maxVelocity":
+                return new MaxVelocityConstraint(getDouble(root, "maxVelocity"));
+            case "maxAcceleration":
+                double maxAcceleration = getDouble(root, "maxAcceleration");
+                if (root.has("maxDeceleration")) {
+                    return new MaxAccelerationConstraint(maxAcceleration, getDouble(root, "maxDeceleration"));
+                }
+                return new MaxAccelerationConstraint(maxAcceleration);
+            case "maxJerk":
+                return new MaxJerkConstraint(getDouble(root, "maxJerk"));
+            case "centripetalAcceleration":
+                return new CentripetalAccelerationConstraint(getDouble(root, "maxCentripetalAcceleration"));
+            case "feedforward":
+                return new FeedforwardConstraint(
+                        getDouble(root, "targetFeedforward"),
+                        getDouble(root, "kV"),
+                        getDouble(root, "kA"),
+                        !root.has("fastDeceleration") || root.get("fastDeceleration").getAsBoolean()
+                );
+            default:
+                throw new JsonParseException(String.format("Unknown constraint type \"%s\"", type));
+        }
+    }
+
+    private static double getDouble(JsonObject root, String name) {
+        if (!root.has(name)) {
+            throw new JsonParseException(String.format("Constraint is missing \"%s\"", name));
+        }
+
+        return root.get(name).getAsDouble();
+    }
+}
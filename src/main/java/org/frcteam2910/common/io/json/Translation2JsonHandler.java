@@ -0,0 +1,27 @@
+package org.frcteam2910.common.io.json;
+
+import com.google.gson.*;
+import edu.wpi.first.math.geometry.Translation2d;
+
+import java.lang.reflect.Type;
+
+public final class Translation2JsonHandler implements JsonDeserializer<Translation2d>, JsonSerializer<Translation2d> {
+    @Override
+    public JsonElement serialize(Translation2d src, Type typeOfSrc, JsonSerializationContext context) {
+        JsonArray root = new JsonArray();
+        root.add(src.getX());
+        root.add(src.getY());
+
+        return root;
+    }
+
+    @Override
+    public Translation2d deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+        JsonArray root = json.getAsJsonArray();
+        if (root.size() != 2) {
+            throw new JsonParseException("Translation must have 2 elements");
+        }
+
+        return new Translation2d(root.get(0).getAsDouble(), root.get(1).getAsDouble());
+    }
+}
@@ -0,0 +1,137 @@
+package org.frcteam2910.common.math;
+
+/**
+ * A 2d tree for finding the nearest of a fixed set of points.
+ * <p>
+ * The tree is stored implicitly in a single array. Every range of the array is split at its median so the point in
+ * the middle of a range is the node for that range and the points on either side are its children. Searching the
+ * tree does not allocate.
+ */
+public final class KdTree {
+	private final double[] xs;
+	private final double[] ys;
+	private final int[] indices;
+
+	/**
+	 * @param xs the x coordinates of the points
+	 * @param ys the y coordinates of the points
+	 */
+	public KdTree(double[] xs, double[] ys) {
+		if (xs.length != ys.length) {
+			throw new IllegalArgumentException("Every point must have an x and y coordinate");
+		}
+
+		int pointCount = xs.length;
+		this.xs = new double[pointCount];
+		this.ys = new double[pointCount];
+		this.indices = new int[pointCount];
+
+		int[] order = new int[pointCount];
+		for (int i = 0; i < pointCount; i++) {
+			order[i] = i;
+		}
+		build(xs, ys, order, 0, pointCount, true);
+
+		for (int i = 0; i < pointCount; i++) {
+			this.xs[i] = xs[order[i]];
+			this.ys[i] = ys[order[i]];
+			this.indices[i] = order[i];
+		}
+	}
+
+	private static void build(double[] xs, double[] ys, int[] order, int start, int end, boolean splitX) {
+		if (end - start <= 1) {
+			return;
+		}
+
+		int mid = (start + end) >>> 1;
+		select(splitX ? xs : ys, order, start, end - 1, mid);
+		build(xs, ys, order, start, mid, !splitX);
+		build(xs, ys, order, mid + 1, end, !splitX);
+	}
+
+	/**
+	 * Partially sorts a range of points so the k-th point is in place and every point before it is not greater.
+	 */
+	private static void select(double[] values, int[] order, int left, int right, int k) {
+		while (left < right) {
+			double pivot = values[order[(left + right) >>> 1]];
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (values[order[i]] < pivot) {
+					i++;
+				}
+				while (values[order[j]] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					int temp = order[i];
+					order[i] = order[j];
+					order[j] = temp;
+					i++;
+					j--;
+				}
+			}
+
+			if (k <= j) {
+				right = j;
+			} else if (k >= i) {
+				left = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Finds the point nearest to a position.
+	 *
+	 * @param x the x coordinate of the position
+	 * @param y the y coordinate of the position
+	 * @return the index of the nearest point in the arrays the tree was built from or -1 if the tree is empty
+	 */
+	public int nearest(double x, double y) {
+		if (xs.length == 0) {
+			return -1;
+		}
+
+		return indices[nearest(x, y, 0, xs.length, true, -1, Double.POSITIVE_INFINITY)];
+	}
+
+	private int nearest(double x, double y, int start, int end, boolean splitX, int best, double bestDistanceSquared) {
+		if (start >= end) {
+			return best;
+		}
+
+		int mid = (start + end) >>> 1;
+		double dx = xs[mid] - x;
+		double dy = ys[mid] - y;
+		double distanceSquared = dx * dx + dy * dy;
+		if (distanceSquared < bestDistanceSquared) {
+			best = mid;
+			bestDistanceSquared = distanceSquared;
+		}
+
+		// Search the side of the split the position is on first, then the other side only if it could be closer
+		double splitDistance = splitX ? x - xs[mid] : y - ys[mid];
+		int nearStart = splitDistance < 0.0 ? start : mid + 1;
+		int nearEnd = splitDistance < 0.0 ? mid : end;
+		int farStart = splitDistance < 0.0 ? mid + 1 : start;
+		int farEnd = splitDistance < 0.0 ? end : mid;
+
+		best = nearest(x, y, nearStart, nearEnd, !splitX, best, bestDistanceSquared);
+		dx = xs[best] - x;
+		dy = ys[best] - y;
+		bestDistanceSquared = dx * dx + dy * dy;
+		if (splitDistance * splitDistance < bestDistanceSquared) {
+			best = nearest(x, y, farStart, farEnd, !splitX, best, bestDistanceSquared);
+		}
+
+		return best;
+	}
+
+	public int size() {
+		return xs.length;
+	}
+}
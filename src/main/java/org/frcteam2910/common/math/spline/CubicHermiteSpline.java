@@ -27,6 +27,46 @@ public class CubicHermiteSpline extends Spline {
         super(BASIS_MATRIX, basisWeightMatrix);
     }
 
+    /**
+     * Fits a natural cubic spline through a list of waypoints.
+     * <p>
+     * The splines are joined with a continuous curvature and have no curvature at either end. Knots are spaced by the
+     * distance between waypoints so unevenly spaced waypoints don't cause loops or overshoot.
+     *
+     * @param waypoints The waypoints to go through.
+     * @return One spline between every pair of neighbouring waypoints.
+     */
+    public static CubicHermiteSpline[] fitNatural(Translation2d... waypoints) {
+        double[] spacings = HermiteSplineHelper.createKnotSpacings(waypoints);
+        return create(waypoints, spacings, HermiteSplineHelper.createNaturalTangents(waypoints, spacings));
+    }
+
+    /**
+     * Fits a Catmull-Rom spline through a list of waypoints.
+     * <p>
+     * This is cheaper to fit than a natural spline and moving a waypoint only changes the splines next to it, but the
+     * curvature jumps where splines are joined.
+     *
+     * @param waypoints The waypoints to go through.
+     * @return One spline between every pair of neighbouring waypoints.
+     */
+    public static CubicHermiteSpline[] fitCatmullRom(Translation2d... waypoints) {
+        double[] spacings = HermiteSplineHelper.createKnotSpacings(waypoints);
+        return create(waypoints, spacings, HermiteSplineHelper.createCatmullRomTangents(waypoints, spacings));
+    }
+
+    private static CubicHermiteSpline[] create(Translation2d[] waypoints, double[] spacings, Translation2d[] tangents) {
+        // Tangents are derivatives with respect to the knot parameter. Every spline goes from t = 0 to t = 1 so they
+        // are scaled by the spacing of its knots.
+        CubicHermiteSpline[] splines = new CubicHermiteSpline[spacings.length];
+        for (int i = 0; i < splines.length; i++) {
+            splines[i] = new CubicHermiteSpline(waypoints[i], tangents[i].times(spacings[i]),
+                    waypoints[i + 1], tangents[i + 1].times(spacings[i]));
+        }
+
+        return splines;
+    }
+
     /**
      * Converts a cubic spline to a cubic spline with a hermite representation.
      *
@@ -49,4 +49,110 @@ class HermiteSplineHelper {
                 end, new Translation2d(endHeading.getCos(), endHeading.getSin()).times(scale)
         );
     }
+
+    /**
+     * Gets the distance between every pair of neighbouring waypoints. These are used as the spacing between knots so
+     * waypoints that are far apart get longer tangents than waypoints that are close together.
+     *
+     * @param waypoints The waypoints the spline goes through.
+     * @return The spacing between every pair of waypoints.
+     */
+    static double[] createKnotSpacings(Translation2d[] waypoints) {
+        if (waypoints.length < 2) {
+            throw new IllegalArgumentException("At least 2 waypoints are needed to fit a spline");
+        }
+
+        double[] spacings = new double[waypoints.length - 1];
+        for (int i = 0; i < spacings.length; i++) {
+            spacings[i] = waypoints[i].getDistance(waypoints[i + 1]);
+            if (spacings[i] <= 0.0) {
+                throw new IllegalArgumentException("Neighbouring waypoints must be at different positions");
+            }
+        }
+
+        return spacings;
+    }
+
+    /**
+     * Solves for the tangents of a natural cubic spline through a list of waypoints.
+     * <p>
+     * Requiring the second derivative to be continuous at every waypoint and zero at both ends gives one equation per
+     * waypoint that only involves the tangents of it and its neighbours. The equations form a tridiagonal system that
+     * is solved in linear time using the Thomas algorithm. The system is diagonally dominant so no pivoting is needed.
+     *
+     * @param waypoints The waypoints the spline goes through.
+     * @param spacings  The spacing between every pair of waypoints.
+     * @return The derivative with respect to the knot parameter at every waypoint.
+     */
+    static Translation2d[] createNaturalTangents(Translation2d[] waypoints, double[] spacings) {
+        int n = waypoints.length;
+        double[] lower = new double[n];
+        double[] diagonal = new double[n];
+        double[] upper = new double[n];
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+
+        diagonal[0] = 2.0;
+        upper[0] = 1.0;
+        xs[0] = 3.0 * (waypoints[1].getX() - waypoints[0].getX()) / spacings[0];
+        ys[0] = 3.0 * (waypoints[1].getY() - waypoints[0].getY()) / spacings[0];
+        for (int i = 1; i < n - 1; i++) {
+            double previousInverse = 1.0 / spacings[i - 1];
+            double nextInverse = 1.0 / spacings[i];
+            lower[i] = previousInverse;
+            diagonal[i] = 2.0 * (previousInverse + nextInverse);
+            upper[i] = nextInverse;
+            xs[i] = 3.0 * ((waypoints[i].getX() - waypoints[i - 1].getX()) * previousInverse * previousInverse +
+                    (waypoints[i + 1].getX() - waypoints[i].getX()) * nextInverse * nextInverse);
+            ys[i] = 3.0 * ((waypoints[i].getY() - waypoints[i - 1].getY()) * previousInverse * previousInverse +
+                    (waypoints[i + 1].getY() - waypoints[i].getY()) * nextInverse * nextInverse);
+        }
+        lower[n - 1] = 1.0;
+        diagonal[n - 1] = 2.0;
+        xs[n - 1] = 3.0 * (waypoints[n - 1].getX() - waypoints[n - 2].getX()) / spacings[n - 2];
+        ys[n - 1] = 3.0 * (waypoints[n - 1].getY() - waypoints[n - 2].getY()) / spacings[n - 2];
+
+        // Forward elimination
+        for (int i = 1; i < n; i++) {
+            double factor = lower[i] / diagonal[i - 1];
+            diagonal[i] -= factor * upper[i - 1];
+            xs[i] -= factor * xs[i - 1];
+            ys[i] -= factor * ys[i - 1];
+        }
+
+        // Back substitution
+        Translation2d[] tangents = new Translation2d[n];
+        xs[n - 1] /= diagonal[n - 1];
+        ys[n - 1] /= diagonal[n - 1];
+        tangents[n - 1] = new Translation2d(xs[n - 1], ys[n - 1]);
+        for (int i = n - 2; i >= 0; i--) {
+            xs[i] = (xs[i] - upper[i] * xs[i + 1]) / diagonal[i];
+            ys[i] = (ys[i] - upper[i] * ys[i + 1]) / diagonal[i];
+            tangents[i] = new Translation2d(xs[i], ys[i]);
+        }
+
+        return tangents;
+    }
+
+    /**
+     * Gets the tangents of a Catmull-Rom spline through a list of waypoints.
+     * <p>
+     * The tangent at every waypoint points from the waypoint before it to the waypoint after it. The ends use the
+     * direction to their only neighbour.
+     *
+     * @param waypoints The waypoints the spline goes through.
+     * @param spacings  The spacing between every pair of waypoints.
+     * @return The derivative with respect to the knot parameter at every waypoint.
+     */
+    static Translation2d[] createCatmullRomTangents(Translation2d[] waypoints, double[] spacings) {
+        int n = waypoints.length;
+        Translation2d[] tangents = new Translation2d[n];
+        tangents[0] = waypoints[1].minus(waypoints[0]).div(spacings[0]);
+        for (int i = 1; i < n - 1; i++) {
+            tangents[i] = waypoints[i + 1].minus(waypoints[i - 1]).div(spacings[i - 1] + spacings[i]);
+        }
+        tangents[n - 1] = waypoints[n - 1].minus(waypoints[n - 2]).div(spacings[n - 2]);
+
+        return tangents;
+    }
 }
@@ -0,0 +1,26 @@
+package org.frcteam2910.common.metrics;
+
+/**
+ * Holds the metrics sink that instrumented code in the common library reports to.
+ * <p>
+ * Nothing is recorded unless a sink is installed with {@link #setSink(MetricsSink)}. While the default
+ * {@link NoOpMetricsSink} is installed, instrumented code does not even read the clock.
+ */
+public final class Metrics {
+    private static volatile MetricsSink sink = NoOpMetricsSink.INSTANCE;
+
+    private Metrics() {
+    }
+
+    public static MetricsSink getSink() {
+        return sink;
+    }
+
+    public static void setSink(MetricsSink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null, use NoOpMetricsSink.INSTANCE instead");
+        }
+
+        Metrics.sink = sink;
+    }
+}
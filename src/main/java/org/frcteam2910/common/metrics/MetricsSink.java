@@ -0,0 +1,34 @@
+package org.frcteam2910.common.metrics;
+
+/**
+ * Receives timing and value measurements from instrumented code.
+ * <p>
+ * Implementations must be thread safe and should not block or allocate when recording since they are called from
+ * control loops.
+ */
+public interface MetricsSink {
+    /**
+     * Gets if this sink records anything. Instrumented code skips taking measurements when this is false.
+     *
+     * @return true if measurements are recorded
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Records how long something took.
+     *
+     * @param name  the name of the metric
+     * @param nanos the duration in nanoseconds
+     */
+    void recordDuration(String name, long nanos);
+
+    /**
+     * Records a value, such as a count.
+     *
+     * @param name  the name of the metric
+     * @param value the value
+     */
+    void recordValue(String name, long value);
+}
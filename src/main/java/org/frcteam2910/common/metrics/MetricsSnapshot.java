@@ -0,0 +1,63 @@
+package org.frcteam2910.common.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The state of every metric recorded by a {@link RecordingMetricsSink} at a point in time.
+ */
+public final class MetricsSnapshot {
+    private final Map<String, LatencyHistogram.Snapshot> durations;
+    private final Map<String, LatencyHistogram.Snapshot> values;
+
+    MetricsSnapshot(Map<String, LatencyHistogram.Snapshot> durations, Map<String, LatencyHistogram.Snapshot> values) {
+        this.durations = Collections.unmodifiableMap(durations);
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Gets the duration metrics. Durations are in nanoseconds.
+     *
+     * @return the duration metrics by name
+     */
+    public Map<String, LatencyHistogram.Snapshot> getDurations() {
+        return durations;
+    }
+
+    public Map<String, LatencyHistogram.Snapshot> getValues() {
+        return values;
+    }
+
+    /**
+     * Formats the snapshot with one metric per line. Durations are written in microseconds.
+     *
+     * @return the formatted snapshot
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram.Snapshot> entry : durations.entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue();
+            builder.append(String.format("%s: count=%d min=%.3fus p50=%.3fus p99=%.3fus max=%.3fus mean=%.3fus",
+                    entry.getKey(), snapshot.getCount(),
+                    snapshot.getMin() / 1.0e3,
+                    snapshot.getValueAtPercentile(50.0) / 1.0e3,
+                    snapshot.getValueAtPercentile(99.0) / 1.0e3,
+                    snapshot.getMax() / 1.0e3,
+                    snapshot.getMean() / 1.0e3));
+            builder.append(System.lineSeparator());
+        }
+        for (Map.Entry<String, LatencyHistogram.Snapshot> entry : values.entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue();
+            builder.append(String.format("%s: count=%d min=%d p50=%d p99=%d max=%d mean=%.3f",
+                    entry.getKey(), snapshot.getCount(),
+                    snapshot.getMin(),
+                    snapshot.getValueAtPercentile(50.0),
+                    snapshot.getValueAtPercentile(99.0),
+                    snapshot.getMax(),
+                    snapshot.getMean()));
+            builder.append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+}
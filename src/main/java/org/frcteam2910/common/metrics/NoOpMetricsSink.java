@@ -0,0 +1,24 @@
+package org.frcteam2910.common.metrics;
+
+/**
+ * A metrics sink that discards every measurement. This is the default sink.
+ */
+public final class NoOpMetricsSink implements MetricsSink {
+    public static final NoOpMetricsSink INSTANCE = new NoOpMetricsSink();
+
+    private NoOpMetricsSink() {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void recordDuration(String name, long nanos) {
+    }
+
+    @Override
+    public void recordValue(String name, long value) {
+    }
+}
@@ -0,0 +1,61 @@
+package org.frcteam2910.common.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A metrics sink that keeps a {@link LatencyHistogram} for every metric it receives.
+ * <p>
+ * Recording a metric only allocates the first time a metric name is seen.
+ */
+public final class RecordingMetricsSink implements MetricsSink {
+    private final Map<String, LatencyHistogram> durations = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> values = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordDuration(String name, long nanos) {
+        getHistogram(durations, name).record(nanos);
+    }
+
+    @Override
+    public void recordValue(String name, long value) {
+        getHistogram(values, name).record(value);
+    }
+
+    private static LatencyHistogram getHistogram(Map<String, LatencyHistogram> histograms, String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(name, n -> new LatencyHistogram());
+        }
+        return histogram;
+    }
+
+    /**
+     * Takes a snapshot of every metric that has been recorded.
+     *
+     * @return the snapshot
+     */
+    public MetricsSnapshot snapshot() {
+        Map<String, LatencyHistogram.Snapshot> durationSnapshots = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : durations.entrySet()) {
+            durationSnapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+
+        Map<String, LatencyHistogram.Snapshot> valueSnapshots = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : values.entrySet()) {
+            valueSnapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+
+        return new MetricsSnapshot(durationSnapshots, valueSnapshots);
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : durations.values()) {
+            histogram.reset();
+        }
+        for (LatencyHistogram histogram : values.values()) {
+            histogram.reset();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package org.frcteam2910.common.motion;
+
+import org.frcteam2910.common.util.DrivetrainFeedforwardConstants;
+
+import java.io.Serializable;
+
+/**
+ * A time optimal motion profile for a mechanism whose voltage follows {@code V = kV * v + kA * a + kS}.
+ * <p>
+ * Unlike {@link TrapezoidalMotionProfile}, acceleration is not constant. The profile applies the max voltage to
+ * accelerate, so acceleration falls off exponentially as the mechanism speeds up, optionally cruises at a max
+ * velocity, then applies the max voltage in reverse to decelerate. Every command stays within the max voltage, so
+ * the mechanism can track the profile using the same feedforward constants.
+ * <p>
+ * Accelerating with the max voltage approaches the free speed {@code (maxVoltage - kS) / kV} with the time constant
+ * {@code kA / kV}, which gives a closed form for the peak velocity and the time of every phase.
+ * <p>
+ * If the distance is too short to change between the start and end velocities, the profile changes velocity as
+ * quickly as it can and overshoots the end position. Once it finishes it holds the position it reached instead of
+ * jumping back to the end position, so it has to be replanned from there to get back.
+ */
+public final class ExponentialMotionProfile extends MotionProfile implements Serializable {
+	private static final long serialVersionUID = -1826460357419585738L;
+
+	private final int direction;
+
+	private final double kV, kA, kS;
+	private final double freeSpeed;
+	private final double timeConstant;
+	private final double maxVelocity;
+	private final double maxVoltage;
+	private final Constraints constraints;
+	private final Goal start, end;
+	private final double endPosition;
+
+	private final double peakVelocity;
+	private final double endAccelerationTime, endFullSpeedTime, endDecelerationTime;
+	private final double endAccelerationPosition, endFullSpeedPosition;
+
+	public ExponentialMotionProfile(Goal start, Goal end, DrivetrainFeedforwardConstants feedforwardConstants,
+	                                double maxVoltage) {
+		this(start, end, feedforwardConstants, maxVoltage, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * @param start                the start of the profile
+	 * @param end                  the end of the profile
+	 * @param feedforwardConstants the feedforward constants of the mechanism. kV and kA must be positive.
+	 * @param maxVoltage           the most voltage the profile can command
+	 * @param maxVelocity          the velocity to cruise at if the mechanism can reach it
+	 */
+	public ExponentialMotionProfile(Goal start, Goal end, DrivetrainFeedforwardConstants feedforwardConstants,
+	                                double maxVoltage, double maxVelocity) {
+		this(start, end, feedforwardConstants.getVelocityConstant(), feedforwardConstants.getAccelerationConstant(),
+				feedforwardConstants.getStaticConstant(), maxVoltage, maxVelocity);
+	}
+
+	private ExponentialMotionProfile(Goal start, Goal end, double kV, double kA, double kS, double maxVoltage,
+	                                 double maxVelocity) {
+		super(start, end);
+
+		if (kV <= 0.0 || kA <= 0.0) {
+			throw new IllegalArgumentException("kV and kA must be positive");
+		}
+		if (maxVoltage <= kS) {
+			throw new IllegalArgumentException("Max voltage must be greater than kS");
+		}
+
+		this.kV = kV;
+		this.kA = kA;
+		this.kS = kS;
+		this.freeSpeed = (maxVoltage - kS) / kV;
+		this.timeConstant = kA / kV;
+		this.maxVelocity = Math.min(maxVelocity, freeSpeed);
+		this.maxVoltage = maxVoltage;
+		this.constraints = new Constraints(this.maxVelocity, (maxVoltage - kS) / kA);
+
+		this.direction = getStoppingPosition(start) > end.position ? -1 : 1;
+		start = direct(start);
+		end = direct(end);
+
+		this.start = start;
+		this.end = end;
+
+		// Solving distance = accelerationDistance(peak) + decelerationDistance(peak) for the peak velocity
+		double distance = end.position - start.position;
+		double exponent = -(distance - timeConstant * (start.velocity - end.velocity)) / (freeSpeed * timeConstant);
+		double peakVelocitySquared = freeSpeed * freeSpeed -
+				(freeSpeed - start.velocity) * (freeSpeed + end.velocity) * Math.exp(exponent);
+
+		// If the distance is too short to change between the start and end velocities the end position is overshot
+		double peakVelocity = Math.sqrt(Math.max(peakVelocitySquared, 0.0));
+		boolean reachesEnd = peakVelocity >= Math.max(start.velocity, end.velocity);
+		peakVelocity = Math.max(peakVelocity, Math.max(start.velocity, end.velocity));
+
+		double fullSpeedDistance = 0.0;
+		// Handle profiles where the max velocity is reached
+		if (peakVelocity > this.maxVelocity) {
+			peakVelocity = this.maxVelocity;
+			fullSpeedDistance = distance - getAccelerationDistance(start.velocity, peakVelocity) -
+					getDecelerationDistance(peakVelocity, end.velocity);
+		}
+		this.peakVelocity = peakVelocity;
+
+		endAccelerationTime = getAccelerationTime(start.velocity, peakVelocity);
+		endFullSpeedTime = endAccelerationTime + (peakVelocity > 0.0 ? fullSpeedDistance / peakVelocity : 0.0);
+		endDecelerationTime = endFullSpeedTime + getDecelerationTime(peakVelocity, end.velocity);
+
+		endAccelerationPosition = start.position + getAccelerationDistance(start.velocity, peakVelocity);
+		endFullSpeedPosition = endAccelerationPosition + fullSpeedDistance;
+		endPosition = reachesEnd ? end.position :
+				endFullSpeedPosition + getDecelerationDistance(peakVelocity, end.velocity);
+	}
+
+	private double getStoppingPosition(Goal goal) {
+		double speed = Math.abs(goal.velocity);
+		return goal.position + Math.signum(goal.velocity) * getDecelerationDistance(speed, 0.0);
+	}
+
+	private Goal direct(Goal in) {
+		return new Goal(
+				in.position * direction,
+				in.velocity * direction
+		);
+	}
+
+	private double getAccelerationTime(double startVelocity, double endVelocity) {
+		return timeConstant * Math.log((freeSpeed - startVelocity) / (freeSpeed - endVelocity));
+	}
+
+	private double getAccelerationDistance(double startVelocity, double endVelocity) {
+		return freeSpeed * getAccelerationTime(startVelocity, endVelocity) - timeConstant * (endVelocity - startVelocity);
+	}
+
+	private double getDecelerationTime(double startVelocity, double endVelocity) {
+		return timeConstant * Math.log((freeSpeed + startVelocity) / (freeSpeed + endVelocity));
+	}
+
+	private double getDecelerationDistance(double startVelocity, double endVelocity) {
+		return -freeSpeed * getDecelerationTime(startVelocity, endVelocity) +
+				timeConstant * (startVelocity - endVelocity);
+	}
+
+	@Override
+	public State calculate(double time) {
+		double[] state = new double[STATE_SIZE];
+		calculate(time, state, 0);
+
+		return new State(time, state[0], state[1], state[2]);
+	}
+
+	@Override
+	public void calculate(double time, double[] out, int offset) {
+		double acceleration;
+		double velocity;
+		double position;
+
+		if (time < endAccelerationTime) {
+			double decay = Math.exp(-time / timeConstant);
+			velocity = freeSpeed - (freeSpeed - start.velocity) * decay;
+			acceleration = (freeSpeed - velocity) / timeConstant;
+			position = start.position + freeSpeed * time - timeConstant * (velocity - start.velocity);
+		} else if (time < endFullSpeedTime) {
+			acceleration = 0.0;
+			velocity = peakVelocity;
+			position = endAccelerationPosition + peakVelocity * (time - endAccelerationTime);
+		} else if (time <= endDecelerationTime) {
+			double decelerationTime = time - endFullSpeedTime;
+			double decay = Math.exp(-decelerationTime / timeConstant);
+			velocity = -freeSpeed + (peakVelocity + freeSpeed) * decay;
+			acceleration = -(freeSpeed + velocity) / timeConstant;
+			position = endFullSpeedPosition - freeSpeed * decelerationTime + timeConstant * (peakVelocity - velocity);
+		} else {
+			acceleration = 0.0;
+			velocity = end.velocity;
+			position = endPosition;
+		}
+
+		out[offset] = position * direction;
+		out[offset + 1] = velocity * direction;
+		out[offset + 2] = acceleration * direction;
+	}
+
+	@Override
+	public ExponentialMotionProfile replan(State current, Goal goal) {
+		return new ExponentialMotionProfile(new Goal(current), goal, kV, kA, kS, maxVoltage, maxVelocity);
+	}
+
+	@Override
+	public boolean canReplan() {
+		return true;
+	}
+
+	/**
+	 * Gets the constraints of the profile. The max acceleration is the acceleration from rest. Decelerating while
+	 * moving can be faster because the velocity term of the feedforward works with the applied voltage.
+	 *
+	 * @return the constraints
+	 */
+	@Override
+	public Constraints getConstraints() {
+		return constraints;
+	}
+
+	@Override
+	public double getDuration() {
+		return endDecelerationTime;
+	}
+}
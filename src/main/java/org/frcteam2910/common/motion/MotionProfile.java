@@ -13,10 +13,55 @@ public abstract class MotionProfile implements Serializable {
 		this.end = end;
 	}
 
+	/**
+	 * The number of values written by {@link #calculate(double, double[], int)}.
+	 */
+	public static final int STATE_SIZE = 3;
+
 	public abstract State calculate(double time);
 
+	/**
+	 * Calculates the state of the profile into an array instead of allocating a new state. The position, velocity and
+	 * acceleration are written to {@code out} starting at {@code offset}.
+	 *
+	 * @param time   the time since the start of the profile
+	 * @param out    the array to write the state to
+	 * @param offset the index to write the position at
+	 */
+	public void calculate(double time, double[] out, int offset) {
+		State state = calculate(time);
+		out[offset] = state.position;
+		out[offset + 1] = state.velocity;
+		out[offset + 2] = state.acceleration;
+	}
+
 	public abstract Constraints getConstraints();
 
+	/**
+	 * Creates a profile with the same constraints that starts from a state and ends at a new goal. Profiles that
+	 * start from a state of this profile continue from it without a jump in position or velocity, so a profile
+	 * can be replanned every loop while it is being followed.
+	 *
+	 * @param current the state to start from. This is usually the state of this profile that was last commanded.
+	 * @param goal    the new goal
+	 * @return the new profile
+	 * @throws UnsupportedOperationException if the profile can not be replanned
+	 * @see #canReplan()
+	 */
+	public MotionProfile replan(State current, Goal goal) {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " can not be replanned");
+	}
+
+	/**
+	 * Checks if the profile can be replanned with {@link #replan(State, Goal)}. Profiles that override
+	 * {@code replan} should override this too.
+	 *
+	 * @return if the profile can be replanned
+	 */
+	public boolean canReplan() {
+		return false;
+	}
+
 	public abstract double getDuration();
 
 	public boolean isFinished(double time) {
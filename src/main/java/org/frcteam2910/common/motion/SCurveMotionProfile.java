@@ -0,0 +1,381 @@
+package org.frcteam2910.common.motion;
+
+import java.io.Serializable;
+
+/**
+ * A jerk limited motion profile. Acceleration ramps up and down at the max jerk instead of changing instantly, so the
+ * profile is made up of up to seven phases: jerk up, constant acceleration, jerk down, constant velocity and the same
+ * three phases mirrored to decelerate.
+ * <p>
+ * The constant acceleration phases are skipped when the velocity change is too small to reach the max acceleration
+ * and the constant velocity phase is skipped when the distance is too short to reach the max velocity. If the
+ * distance is too short to change between the start and end velocities at all, the profile changes velocity as
+ * quickly as the constraints allow and overshoots the end position. Once it finishes it holds the position it reached
+ * instead of jumping back to the end position, so it has to be replanned from there to get back.
+ * <p>
+ * A profile can start out accelerating, which lets it be replanned from the state of another S-curve profile without a
+ * jump in acceleration. Like {@link TrapezoidalMotionProfile} the profile accelerates towards the end position from
+ * where it would stop, so a goal inside the stopping distance is overshot and returned to. The exception is a goal
+ * that can still be reached by changing straight to its end velocity.
+ */
+public final class SCurveMotionProfile extends MotionProfile implements Serializable {
+	private static final long serialVersionUID = -1852401134664352350L;
+
+	private static final int PHASE_COUNT = 7;
+	private static final int PEAK_VELOCITY_ITERATIONS = 100;
+	private static final double POSITION_EPSILON = 1.0e-9;
+
+	private final int direction;
+
+	private final Constraints constraints;
+	private final double maxJerk;
+	private final Goal start, end;
+	private final double startAcceleration;
+	private final double endPosition;
+
+	private final double[] phaseStartTimes = new double[PHASE_COUNT + 1];
+	private final double[] phaseJerks = new double[PHASE_COUNT];
+	private final double[] phaseStartPositions = new double[PHASE_COUNT];
+	private final double[] phaseStartVelocities = new double[PHASE_COUNT];
+	private final double[] phaseStartAccelerations = new double[PHASE_COUNT];
+
+	public SCurveMotionProfile(Goal start, Goal end, Constraints constraints, double maxJerk) {
+		this(start, 0.0, end, constraints, maxJerk);
+	}
+
+	/**
+	 * Creates a profile that starts out accelerating.
+	 *
+	 * @param start             the start of the profile
+	 * @param startAcceleration the acceleration at the start of the profile. This should be within the max
+	 *                          acceleration.
+	 * @param end               the end of the profile
+	 * @param constraints       the max velocity and acceleration of the profile
+	 * @param maxJerk           the max jerk of the profile
+	 */
+	public SCurveMotionProfile(Goal start, double startAcceleration, Goal end, Constraints constraints,
+	                           double maxJerk) {
+		super(start, end);
+
+		if (maxJerk <= 0.0) {
+			throw new IllegalArgumentException("Max jerk must be positive");
+		}
+
+		this.constraints = constraints;
+		this.maxJerk = maxJerk;
+
+		// A profile that is still moving towards a goal with an end velocity can be inside the stopping distance
+		// without having to turn around, which happens when it's replanned close to the end
+		double stoppingPosition = start.position + getDistance(start.velocity, startAcceleration, 0.0);
+		double endVelocityPosition = start.position + getDistance(start.velocity, startAcceleration, end.velocity);
+		this.direction = stoppingPosition > end.position &&
+				endVelocityPosition > end.position + POSITION_EPSILON ? -1 : 1;
+		start = direct(start);
+		end = direct(end);
+		startAcceleration *= direction;
+
+		this.start = start;
+		this.end = end;
+		this.startAcceleration = startAcceleration;
+
+		double distance = end.position - start.position;
+		double peakVelocity = constraints.maxVelocity;
+		double cruiseTime = (distance - getDistance(start.velocity, startAcceleration, peakVelocity, end.velocity)) /
+				peakVelocity;
+
+		// Handle profiles where the max velocity is never reached
+		boolean reachesEnd = true;
+		if (cruiseTime < 0.0) {
+			peakVelocity = getPeakVelocity(distance);
+			cruiseTime = 0.0;
+			reachesEnd = getDistance(start.velocity, startAcceleration, end.velocity, end.velocity) <= distance;
+		}
+
+		double accelerationPeak = getPeakAcceleration(start.velocity, startAcceleration, peakVelocity);
+		double decelerationPeak = getPeakAcceleration(peakVelocity, 0.0, end.velocity);
+
+		double[] phaseDurations = {
+				Math.abs(accelerationPeak - startAcceleration) / maxJerk,
+				getConstantAccelerationTime(start.velocity, startAcceleration, peakVelocity, accelerationPeak),
+				Math.abs(accelerationPeak) / maxJerk,
+				cruiseTime,
+				Math.abs(decelerationPeak) / maxJerk,
+				getConstantAccelerationTime(peakVelocity, 0.0, end.velocity, decelerationPeak),
+				Math.abs(decelerationPeak) / maxJerk
+		};
+
+		phaseJerks[0] = Math.signum(accelerationPeak - startAcceleration) * maxJerk;
+		phaseJerks[2] = -Math.signum(accelerationPeak) * maxJerk;
+		phaseJerks[4] = Math.signum(decelerationPeak) * maxJerk;
+		phaseJerks[6] = -Math.signum(decelerationPeak) * maxJerk;
+
+		double position = start.position;
+		double velocity = start.velocity;
+		double acceleration = startAcceleration;
+		for (int i = 0; i < PHASE_COUNT; i++) {
+			double t = phaseDurations[i];
+			double jerk = phaseJerks[i];
+
+			phaseStartTimes[i + 1] = phaseStartTimes[i] + t;
+			phaseStartPositions[i] = position;
+			phaseStartVelocities[i] = velocity;
+			phaseStartAccelerations[i] = acceleration;
+
+			position += t * (velocity + t * (acceleration / 2.0 + t * jerk / 6.0));
+			velocity += t * (acceleration + t * jerk / 2.0);
+			acceleration += t * jerk;
+		}
+		this.endPosition = reachesEnd ? end.position : position;
+	}
+
+	private Goal direct(Goal in) {
+		return new Goal(
+				in.position * direction,
+				in.velocity * direction
+		);
+	}
+
+	/**
+	 * Gets the peak acceleration while changing from a velocity and acceleration to a velocity with no acceleration.
+	 * The acceleration changes to the peak at the max jerk, stays there and changes back to zero at the max jerk.
+	 */
+	private double getPeakAcceleration(double startVelocity, double startAcceleration, double endVelocity) {
+		double deltaVelocity = endVelocity - startVelocity;
+
+		// The velocity changes by this much when the acceleration goes straight to zero. The peak is on the same
+		// side of zero as any velocity change past that.
+		double sign = deltaVelocity >= startAcceleration * Math.abs(startAcceleration) / (2.0 * maxJerk) ? 1.0 : -1.0;
+		double peak = Math.sqrt(Math.max(0.0,
+				sign * maxJerk * deltaVelocity + startAcceleration * startAcceleration / 2.0));
+
+		return sign * Math.min(peak, constraints.maxAcceleration);
+	}
+
+	private double getConstantAccelerationTime(double startVelocity, double startAcceleration, double endVelocity,
+	                                           double peakAcceleration) {
+		if (peakAcceleration == 0.0) {
+			return 0.0;
+		}
+
+		double jerkDeltaVelocity = (startAcceleration + peakAcceleration) / 2.0 *
+				Math.abs(peakAcceleration - startAcceleration) / maxJerk +
+				peakAcceleration * Math.abs(peakAcceleration) / (2.0 * maxJerk);
+		return Math.max(0.0, (endVelocity - startVelocity - jerkDeltaVelocity) / peakAcceleration);
+	}
+
+	/**
+	 * Gets the distance travelled while changing from a velocity and acceleration to a velocity with no acceleration.
+	 */
+	private double getDistance(double startVelocity, double startAcceleration, double endVelocity) {
+		double peak = getPeakAcceleration(startVelocity, startAcceleration, endVelocity);
+		double rampUpTime = Math.abs(peak - startAcceleration) / maxJerk;
+		double constantTime = getConstantAccelerationTime(startVelocity, startAcceleration, endVelocity, peak);
+		double rampDownTime = Math.abs(peak) / maxJerk;
+
+		double rampUpJerk = Math.signum(peak - startAcceleration) * maxJerk;
+		double velocity = startVelocity + rampUpTime * (startAcceleration + rampUpTime * rampUpJerk / 2.0);
+		double distance = rampUpTime * (startVelocity +
+				rampUpTime * (startAcceleration / 2.0 + rampUpTime * rampUpJerk / 6.0));
+
+		distance += constantTime * (velocity + constantTime * peak / 2.0);
+		velocity += constantTime * peak;
+
+		double rampDownJerk = -Math.signum(peak) * maxJerk;
+		distance += rampDownTime * (velocity + rampDownTime * (peak / 2.0 + rampDownTime * rampDownJerk / 6.0));
+
+		return distance;
+	}
+
+	private double getDistance(double startVelocity, double startAcceleration, double peakVelocity,
+	                           double endVelocity) {
+		return getDistance(startVelocity, startAcceleration, peakVelocity) +
+				getDistance(peakVelocity, 0.0, endVelocity);
+	}
+
+	/**
+	 * Finds the peak velocity of a profile that never reaches the max velocity.
+	 */
+	private double getPeakVelocity(double distance) {
+		// Changing straight to the end velocity covers the least distance
+		if (getDistance(start.velocity, startAcceleration, end.velocity, end.velocity) >= distance) {
+			return end.velocity;
+		}
+
+		// The velocity reached when the start acceleration goes straight to zero. Peak velocities between the end
+		// velocity and this cover the distances in between, and the distance grows with any peak velocity above it.
+		double naturalVelocity = start.velocity + startAcceleration * Math.abs(startAcceleration) / (2.0 * maxJerk);
+		if (end.velocity < naturalVelocity &&
+				getDistance(start.velocity, startAcceleration, naturalVelocity, end.velocity) >= distance) {
+			return solvePeakVelocity(distance, end.velocity, naturalVelocity);
+		}
+		double lower = Math.max(naturalVelocity, end.velocity);
+		if (lower >= constraints.maxVelocity) {
+			// The start acceleration carries the profile past the max velocity and coming back down to it covers
+			// too much distance, so the peak velocity is in between
+			return solvePeakVelocity(distance, lower, constraints.maxVelocity);
+		}
+
+		// If the max acceleration is reached while both accelerating and decelerating the distance is a quadratic in
+		// the peak velocity
+		double maxAccelerationPeakVelocity = getMaxAccelerationPeakVelocity(distance);
+		if (maxAccelerationPeakVelocity >= lower && reachesMaxAcceleration(maxAccelerationPeakVelocity)) {
+			return maxAccelerationPeakVelocity;
+		}
+
+		// If the start and end velocities are the same and the max acceleration is never reached the distance is
+		// 2 * (v + vp) * x where x = sqrt((vp - v) / j), which is a depressed cubic in x
+		if (startAcceleration == 0.0 && start.velocity == end.velocity && start.velocity >= 0.0) {
+			double p = 2.0 * start.velocity / maxJerk;
+			double q = -distance / (2.0 * maxJerk);
+			double discriminant = Math.sqrt(q * q / 4.0 + p * p * p / 27.0);
+			double x = Math.cbrt(-q / 2.0 + discriminant) + Math.cbrt(-q / 2.0 - discriminant);
+
+			return start.velocity + maxJerk * x * x;
+		}
+
+		// The distance grows with the peak velocity so the remaining cases can be solved numerically
+		return solvePeakVelocity(distance, lower, constraints.maxVelocity);
+	}
+
+	/**
+	 * Finds the peak velocity of a profile that reaches the max acceleration while both accelerating and
+	 * decelerating.
+	 * <p>
+	 * Raising the peak velocity only lengthens the constant acceleration phases, so each half of the profile covers
+	 * {@code vp^2 / (2 * a) + vp * a / (2 * j)} plus a constant that only depends on where the half starts or ends.
+	 */
+	private double getMaxAccelerationPeakVelocity(double distance) {
+		double a = 1.0 / constraints.maxAcceleration;
+		double b = constraints.maxAcceleration / maxJerk;
+		double c = getMaxAccelerationDistanceOffset(start.velocity, startAcceleration) +
+				getMaxAccelerationDistanceOffset(end.velocity, 0.0) - distance;
+
+		return (-b + Math.sqrt(b * b - 4.0 * a * c)) / (2.0 * a);
+	}
+
+	/**
+	 * Gets the constant part of the distance covered while changing from a velocity and acceleration to a higher
+	 * velocity with no acceleration when the max acceleration is reached. Decelerating to a velocity covers the same
+	 * distance as accelerating from it with no acceleration.
+	 */
+	private double getMaxAccelerationDistanceOffset(double velocity, double acceleration) {
+		double maxAcceleration = constraints.maxAcceleration;
+		double rampTime = Math.abs(maxAcceleration - acceleration) / maxJerk;
+		double rampJerk = Math.signum(maxAcceleration - acceleration) * maxJerk;
+
+		double rampDistance = rampTime * (velocity + rampTime * (acceleration / 2.0 + rampTime * rampJerk / 6.0));
+		double rampVelocity = velocity + rampTime * (acceleration + rampTime * rampJerk / 2.0);
+
+		return rampDistance - rampVelocity * rampVelocity / (2.0 * maxAcceleration) -
+				maxAcceleration * maxAcceleration * maxAcceleration / (24.0 * maxJerk * maxJerk);
+	}
+
+	private boolean reachesMaxAcceleration(double peakVelocity) {
+		double maxAcceleration = constraints.maxAcceleration;
+		return maxJerk * (peakVelocity - start.velocity) + startAcceleration * startAcceleration / 2.0 >=
+				maxAcceleration * maxAcceleration &&
+				maxJerk * (peakVelocity - end.velocity) >= maxAcceleration * maxAcceleration;
+	}
+
+	/**
+	 * Finds the peak velocity that covers a distance between a peak velocity that covers less distance and one that
+	 * covers more.
+	 * <p>
+	 * The distance is smooth in the peak velocity, so the Illinois variant of regula falsi converges in a handful of
+	 * iterations while always keeping the peak velocity between the two.
+	 */
+	private double solvePeakVelocity(double distance, double lower, double upper) {
+		double lowerError = getDistance(start.velocity, startAcceleration, lower, end.velocity) - distance;
+		double upperError = getDistance(start.velocity, startAcceleration, upper, end.velocity) - distance;
+		if (lowerError >= 0.0) {
+			return lower;
+		}
+		if (upperError <= 0.0) {
+			return upper;
+		}
+
+		int lastMoved = 0;
+		for (int i = 0; i < PEAK_VELOCITY_ITERATIONS; i++) {
+			double peakVelocity = lower - lowerError * (upper - lower) / (upperError - lowerError);
+			if (!(peakVelocity > Math.min(lower, upper) && peakVelocity < Math.max(lower, upper))) {
+				// The bounds are as close as they can get
+				break;
+			}
+
+			double error = getDistance(start.velocity, startAcceleration, peakVelocity, end.velocity) - distance;
+			if (error == 0.0) {
+				return peakVelocity;
+			} else if (error < 0.0) {
+				lower = peakVelocity;
+				lowerError = error;
+				if (lastMoved < 0) {
+					// Halve the error of the bound that keeps staying put so it moves too
+					upperError /= 2.0;
+				}
+				lastMoved = -1;
+			} else {
+				upper = peakVelocity;
+				upperError = error;
+				if (lastMoved > 0) {
+					lowerError /= 2.0;
+				}
+				lastMoved = 1;
+			}
+		}
+
+		return -lowerError <= upperError ? lower : upper;
+	}
+
+	@Override
+	public State calculate(double time) {
+		if (time >= getDuration()) {
+			return new State(time, endPosition * direction, end.velocity * direction, 0.0);
+		}
+
+		int phase = 0;
+		while (phase < PHASE_COUNT - 1 && time >= phaseStartTimes[phase + 1]) {
+			phase++;
+		}
+
+		double t = Math.max(0.0, time - phaseStartTimes[phase]);
+		double jerk = phaseJerks[phase];
+		double acceleration = phaseStartAccelerations[phase];
+		double velocity = phaseStartVelocities[phase];
+
+		return new State(
+				time,
+				(phaseStartPositions[phase] + t * (velocity + t * (acceleration / 2.0 + t * jerk / 6.0))) * direction,
+				(velocity + t * (acceleration + t * jerk / 2.0)) * direction,
+				(acceleration + t * jerk) * direction
+		);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The new profile starts with the acceleration of the state so the acceleration is continuous too.
+	 */
+	@Override
+	public SCurveMotionProfile replan(State current, Goal goal) {
+		return new SCurveMotionProfile(new Goal(current), current.acceleration, goal, constraints, maxJerk);
+	}
+
+	@Override
+	public boolean canReplan() {
+		return true;
+	}
+
+	@Override
+	public Constraints getConstraints() {
+		return constraints;
+	}
+
+	public double getMaxJerk() {
+		return maxJerk;
+	}
+
+	@Override
+	public double getDuration() {
+		return phaseStartTimes[PHASE_COUNT];
+	}
+}
@@ -0,0 +1,148 @@
+package org.frcteam2910.common.motion;
+
+import java.io.Serializable;
+
+/**
+ * A motion profile that was sampled ahead of time at a fixed interval.
+ * <p>
+ * States between samples are linearly interpolated so calculating a state is an array lookup no matter how
+ * complicated the sampled profile is. This is meant for moves that are the same every time, which can be sampled
+ * once and stored with {@link org.frcteam2910.common.io.MotionProfileWriter} so they are ready as soon as the robot
+ * starts.
+ */
+public final class SampledMotionProfile extends MotionProfile implements Serializable {
+	private static final long serialVersionUID = 8133040457950924127L;
+
+	private final Constraints constraints;
+	private final double dt;
+	private final double duration;
+
+	private final double[] positions;
+	private final double[] velocities;
+	private final double[] accelerations;
+
+	/**
+	 * Samples a profile.
+	 *
+	 * @param profile the profile to sample
+	 * @param dt      the time between samples
+	 */
+	public SampledMotionProfile(MotionProfile profile, double dt) {
+		super(profile.getStart(), profile.getEnd());
+
+		if (dt <= 0.0) {
+			throw new IllegalArgumentException("dt must be positive");
+		}
+
+		this.constraints = profile.getConstraints();
+		this.dt = dt;
+		this.duration = profile.getDuration();
+
+		// The last sample is at or after the end of the profile so every time in the profile is between two evenly
+		// spaced samples
+		int sampleCount = (int) Math.ceil(duration / dt) + 1;
+		double[] state = new double[STATE_SIZE];
+		positions = new double[sampleCount];
+		velocities = new double[sampleCount];
+		accelerations = new double[sampleCount];
+		for (int i = 0; i < sampleCount; i++) {
+			profile.calculate(i * dt, state, 0);
+			positions[i] = state[0];
+			velocities[i] = state[1];
+			accelerations[i] = state[2];
+		}
+	}
+
+	/**
+	 * Creates a profile from samples that were taken earlier. The samples are copied so the arrays can be reused.
+	 *
+	 * @param start         the start of the sampled profile
+	 * @param end           the end of the sampled profile
+	 * @param constraints   the constraints of the sampled profile
+	 * @param dt            the time between samples
+	 * @param duration      the duration of the sampled profile
+	 * @param positions     the position of every sample
+	 * @param velocities    the velocity of every sample
+	 * @param accelerations the acceleration of every sample
+	 */
+	public SampledMotionProfile(Goal start, Goal end, Constraints constraints, double dt, double duration,
+	                            double[] positions, double[] velocities, double[] accelerations) {
+		super(start, end);
+
+		if (dt <= 0.0) {
+			throw new IllegalArgumentException("dt must be positive");
+		}
+		if (positions.length == 0 || velocities.length != positions.length ||
+				accelerations.length != positions.length) {
+			throw new IllegalArgumentException("Every sample must have a position, velocity and acceleration");
+		}
+		if ((positions.length - 1) * dt < duration) {
+			throw new IllegalArgumentException("Samples must cover the whole duration");
+		}
+
+		this.constraints = constraints;
+		this.dt = dt;
+		this.duration = duration;
+		this.positions = positions.clone();
+		this.velocities = velocities.clone();
+		this.accelerations = accelerations.clone();
+	}
+
+	@Override
+	public State calculate(double time) {
+		double[] state = new double[STATE_SIZE];
+		calculate(time, state, 0);
+
+		return new State(time, state[0], state[1], state[2]);
+	}
+
+	@Override
+	public void calculate(double time, double[] out, int offset) {
+		// The last sample is taken after the profile has finished so it is wherever the profile stopped, which is not
+		// always the end position
+		if (time >= duration) {
+			out[offset] = positions[positions.length - 1];
+			out[offset + 1] = velocities[velocities.length - 1];
+			out[offset + 2] = 0.0;
+			return;
+		}
+
+		double index = Math.max(time, 0.0) / dt;
+		int i = Math.min((int) index, positions.length - 2);
+		double t = index - i;
+
+		out[offset] = positions[i] + (positions[i + 1] - positions[i]) * t;
+		out[offset + 1] = velocities[i] + (velocities[i + 1] - velocities[i]) * t;
+		out[offset + 2] = accelerations[i] + (accelerations[i + 1] - accelerations[i]) * t;
+	}
+
+	@Override
+	public Constraints getConstraints() {
+		return constraints;
+	}
+
+	@Override
+	public double getDuration() {
+		return duration;
+	}
+
+	public double getDt() {
+		return dt;
+	}
+
+	public int getSampleCount() {
+		return positions.length;
+	}
+
+	public double getPosition(int sample) {
+		return positions[sample];
+	}
+
+	public double getVelocity(int sample) {
+		return velocities[sample];
+	}
+
+	public double getAcceleration(int sample) {
+		return accelerations[sample];
+	}
+}
@@ -0,0 +1,155 @@
+package org.frcteam2910.common.motion;
+
+import java.io.Serializable;
+
+/**
+ * Trapezoidal motion profiles for several axes that all finish at the same time.
+ * <p>
+ * The axis that takes the longest with its own constraints sets the duration. Every other axis cruises at the
+ * slowest velocity that still lets it finish in that time, so no axis goes over its max velocity or max acceleration.
+ * An axis that starts at rest but can't cruise slowly enough, like one that is already at its end or has to reach a
+ * high end velocity, waits at its start before it starts moving. An axis that is already moving can't wait, so if it
+ * can't be slowed down enough the profile can't be created.
+ * <p>
+ * All axes are calculated by a single call into a primitive array so coordinated mechanisms can be updated without
+ * allocating.
+ */
+public final class SynchronizedMotionProfile implements Serializable {
+	private static final long serialVersionUID = -6619052311795848710L;
+
+	private static final double DURATION_EPSILON = 1.0e-9;
+
+	private final TrapezoidalMotionProfile[] profiles;
+	private final double[] startTimes;
+	private final double duration;
+
+	/**
+	 * @param starts      the start of every axis
+	 * @param ends        the end of every axis
+	 * @param constraints the constraints of every axis
+	 * @throws IllegalArgumentException if an axis that starts out moving can't be slowed down to finish with the
+	 *                                  slowest axis
+	 */
+	public SynchronizedMotionProfile(MotionProfile.Goal[] starts, MotionProfile.Goal[] ends,
+	                                 MotionProfile.Constraints[] constraints) {
+		if (starts.length != ends.length || starts.length != constraints.length) {
+			throw new IllegalArgumentException("Every axis must have a start, end and constraints");
+		}
+
+		int axisCount = starts.length;
+		TrapezoidalMotionProfile[] fastestProfiles = new TrapezoidalMotionProfile[axisCount];
+		double duration = 0.0;
+		for (int i = 0; i < axisCount; i++) {
+			fastestProfiles[i] = new TrapezoidalMotionProfile(starts[i], ends[i], constraints[i]);
+			duration = Math.max(duration, fastestProfiles[i].getDuration());
+		}
+
+		profiles = new TrapezoidalMotionProfile[axisCount];
+		startTimes = new double[axisCount];
+		for (int i = 0; i < axisCount; i++) {
+			double cruiseVelocity = getCruiseVelocity(starts[i], ends[i], constraints[i], duration);
+			if (fastestProfiles[i].getDuration() >= duration - DURATION_EPSILON ||
+					cruiseVelocity >= constraints[i].maxVelocity) {
+				// The axis sets the duration
+				profiles[i] = fastestProfiles[i];
+			} else if (!Double.isNaN(cruiseVelocity)) {
+				profiles[i] = new TrapezoidalMotionProfile(starts[i], ends[i],
+						new MotionProfile.Constraints(cruiseVelocity, constraints[i].maxAcceleration));
+			} else if (starts[i].velocity == 0.0) {
+				profiles[i] = fastestProfiles[i];
+				startTimes[i] = duration - fastestProfiles[i].getDuration();
+			} else {
+				throw new IllegalArgumentException(String.format(
+						"Axis %d is already moving and can't be slowed down to finish with the other axes", i));
+			}
+		}
+		this.duration = duration;
+	}
+
+	/**
+	 * Finds the cruise velocity an axis has to move at to finish in a certain amount of time.
+	 * <p>
+	 * Solving {@code distance = (2v^2 - v0^2 - v1^2) / 2a + v * (duration - (2v - v0 - v1) / a)} for {@code v} gives
+	 * a quadratic whose smaller root is the slowest cruise velocity. The axis moves in the same direction as its
+	 * {@link TrapezoidalMotionProfile}, which is away from where it would stop if it decelerated right away.
+	 *
+	 * @return the cruise velocity or NaN if no cruise velocity lets the axis finish in time
+	 */
+	static double getCruiseVelocity(MotionProfile.Goal start, MotionProfile.Goal end,
+	                                MotionProfile.Constraints constraints, double duration) {
+		double direction = TrapezoidalMotionProfile.shouldFlipAcceleration(start, end, constraints) ? -1.0 : 1.0;
+		double distance = (end.position - start.position) * direction;
+		double startVelocity = start.velocity * direction;
+		double endVelocity = end.velocity * direction;
+		double maxAcceleration = constraints.maxAcceleration;
+
+		double a = 1.0 / maxAcceleration;
+		double b = -(duration + (startVelocity + endVelocity) / maxAcceleration);
+		double c = distance + (startVelocity * startVelocity + endVelocity * endVelocity) / (2.0 * maxAcceleration);
+		double discriminant = b * b - 4.0 * a * c;
+		if (discriminant < 0.0) {
+			return Double.NaN;
+		}
+
+		double cruiseVelocity = (-b - Math.sqrt(discriminant)) / (2.0 * a);
+		if (cruiseVelocity <= 0.0 || cruiseVelocity < Math.max(startVelocity, endVelocity)) {
+			// The axis would have to stop or slow down below its start or end velocity, which a trapezoid can't do
+			return Double.NaN;
+		}
+
+		return cruiseVelocity;
+	}
+
+	/**
+	 * Calculates every axis at a time. The position, velocity and acceleration of axis {@code i} are written to
+	 * {@code out[3 * i]}, {@code out[3 * i + 1]} and {@code out[3 * i + 2]}.
+	 *
+	 * @param time the time since the start of the profile
+	 * @param out  the array to write the states to. Must hold at least {@code 3 * getAxisCount()} values.
+	 */
+	public void calculate(double time, double[] out) {
+		for (int i = 0; i < profiles.length; i++) {
+			int offset = i * MotionProfile.STATE_SIZE;
+			if (time < startTimes[i]) {
+				out[offset] = profiles[i].getStart().position;
+				out[offset + 1] = 0.0;
+				out[offset + 2] = 0.0;
+			} else {
+				profiles[i].calculate(time - startTimes[i], out, offset);
+			}
+		}
+	}
+
+	/**
+	 * Gets the profile of an axis. The profile starts at {@link #getStartTime(int)}.
+	 *
+	 * @param axis the axis
+	 * @return the profile of the axis
+	 */
+	public TrapezoidalMotionProfile getProfile(int axis) {
+		return profiles[axis];
+	}
+
+	/**
+	 * Gets the time an axis waits at its start before it starts moving. This is zero unless the axis starts at rest
+	 * and can't cruise slowly enough to finish with the other axes.
+	 *
+	 * @param axis the axis
+	 * @return the time the profile of the axis starts at
+	 */
+	public double getStartTime(int axis) {
+		return startTimes[axis];
+	}
+
+	public int getAxisCount() {
+		return profiles.length;
+	}
+
+	public double getDuration() {
+		return duration;
+	}
+
+	public boolean isFinished(double time) {
+		return time > duration;
+	}
+}
@@ -3,34 +3,44 @@ package org.frcteam2910.common.motion;
 import java.io.Serializable;
 
 public final class TrapezoidalMotionProfile extends MotionProfile implements Serializable {
-	private static final long serialVersionUID = 6593296352896093663L;
+	private static final long serialVersionUID = 8231818346545223565L;
 
 	private final int direction;
 
 	private final Constraints constraints;
-	private final Goal start, end;
+	private final double startPosition, startVelocity;
+	private final double endPosition, endVelocity;
 
 	private final double endAccelerationTime, endFullSpeedTime, endDecelerationTime;
 
 	public TrapezoidalMotionProfile(Goal start, Goal end,
 	                                Constraints constraints) {
+		this(start, start.position, start.velocity, end, constraints);
+	}
+
+	/**
+	 * Creates a profile from the position and velocity of its start. Replanned profiles don't have a start goal until
+	 * one is asked for, so replanning every loop only allocates the new profile.
+	 */
+	private TrapezoidalMotionProfile(Goal start, double position, double velocity, Goal end,
+	                                 Constraints constraints) {
 		super(start, end);
 
-		this.direction = shouldFlipAcceleration(start, end) ? -1 : 1;
-		start = direct(start);
-		end = direct(end);
+		this.direction = shouldFlipAcceleration(position, velocity, end.position, constraints) ? -1 : 1;
 
 		this.constraints = constraints;
-		this.start = start;
-		this.end = end;
+		this.startPosition = position * direction;
+		this.startVelocity = velocity * direction;
+		this.endPosition = end.position * direction;
+		this.endVelocity = end.velocity * direction;
 
-		double cutoffBegin = start.velocity / constraints.maxAcceleration;
+		double cutoffBegin = startVelocity / constraints.maxAcceleration;
 		double cutoffDistBegin = cutoffBegin * cutoffBegin * constraints.maxAcceleration / 2;
 
-		double cutoffEnd = end.velocity / constraints.maxAcceleration;
+		double cutoffEnd = endVelocity / constraints.maxAcceleration;
 		double cutoffDistEnd = cutoffEnd * cutoffEnd * constraints.maxAcceleration / 2;
 
-		double fullTrapezoidDist = cutoffDistBegin + (end.position - start.position) + cutoffDistEnd;
+		double fullTrapezoidDist = cutoffDistBegin + (endPosition - startPosition) + cutoffDistEnd;
 		double accelerationTime = constraints.maxVelocity / constraints.maxAcceleration;
 
 		double fullSpeedDist = fullTrapezoidDist - accelerationTime * accelerationTime * constraints.maxAcceleration;
@@ -46,53 +56,92 @@ public final class TrapezoidalMotionProfile extends MotionProfile implements Ser
 		endDecelerationTime = endFullSpeedTime + accelerationTime - cutoffEnd;
 	}
 
-	private static boolean shouldFlipAcceleration(Goal start, Goal end) {
-		return start.position > end.position;
+	/**
+	 * Checks if the profile has to accelerate towards negative positions. This is the case when the goal is behind
+	 * where the profile would stop if it decelerated right away, which can happen even when the goal is ahead of the
+	 * start if the start is moving too quickly to stop in time.
+	 */
+	static boolean shouldFlipAcceleration(Goal start, Goal end, Constraints constraints) {
+		return shouldFlipAcceleration(start.position, start.velocity, end.position, constraints);
 	}
 
-	private State direct(State in) {
-		return new State(
-				in.time,
-				in.position * direction,
-				in.velocity * direction,
-				in.acceleration * direction
-		);
+	private static boolean shouldFlipAcceleration(double startPosition, double startVelocity, double endPosition,
+	                                              Constraints constraints) {
+		double stoppingPosition = startPosition +
+				startVelocity * Math.abs(startVelocity) / (2 * constraints.maxAcceleration);
+		return stoppingPosition > endPosition;
 	}
 
-	private Goal direct(Goal in) {
-		return new Goal(
-				in.position * direction,
-				in.velocity * direction
-		);
+	@Override
+	public State calculate(double time) {
+		return new State(time, getPosition(time) * direction, getVelocity(time) * direction,
+				getAcceleration(time) * direction);
 	}
 
 	@Override
-	public State calculate(double time) {
-		double acceleration;
-		double velocity;
-		double position;
+	public void calculate(double time, double[] out, int offset) {
+		out[offset] = getPosition(time) * direction;
+		out[offset + 1] = getVelocity(time) * direction;
+		out[offset + 2] = getAcceleration(time) * direction;
+	}
 
+	private double getPosition(double time) {
 		if (time < endAccelerationTime) {
-			acceleration = constraints.maxAcceleration;
-			velocity = start.velocity + time * constraints.maxAcceleration;
-			position = start.position + (start.velocity + time * constraints.maxAcceleration / 2) * time;
+			return startPosition + (startVelocity + time * constraints.maxAcceleration / 2) * time;
 		} else if (time < endFullSpeedTime) {
-			acceleration = 0;
-			velocity = constraints.maxVelocity;
-			position = start.position + (start.velocity + endAccelerationTime * constraints.maxAcceleration / 2) *
+			return startPosition + (startVelocity + endAccelerationTime * constraints.maxAcceleration / 2) *
 					endAccelerationTime + constraints.maxVelocity * (time - endAccelerationTime);
 		} else if (time <= endDecelerationTime) {
-			acceleration = -constraints.maxAcceleration;
-			velocity = end.velocity + (endDecelerationTime - time) * constraints.maxAcceleration;
 			double timeLeft = endDecelerationTime - time;
-			position = end.position - (end.velocity + timeLeft * constraints.maxAcceleration / 2) * timeLeft;
+			return endPosition - (endVelocity + timeLeft * constraints.maxAcceleration / 2) * timeLeft;
+		} else {
+			return endPosition;
+		}
+	}
+
+	private double getVelocity(double time) {
+		if (time < endAccelerationTime) {
+			return startVelocity + time * constraints.maxAcceleration;
+		} else if (time < endFullSpeedTime) {
+			return constraints.maxVelocity;
+		} else if (time <= endDecelerationTime) {
+			return endVelocity + (endDecelerationTime - time) * constraints.maxAcceleration;
+		} else {
+			return endVelocity;
+		}
+	}
+
+	private double getAcceleration(double time) {
+		if (time < endAccelerationTime) {
+			return constraints.maxAcceleration;
+		} else if (time < endFullSpeedTime) {
+			return 0;
+		} else if (time <= endDecelerationTime) {
+			return -constraints.maxAcceleration;
 		} else {
-			acceleration = 0;
-			velocity = end.velocity;
-			position = end.position;
+			return 0;
+		}
+	}
+
+	@Override
+	public TrapezoidalMotionProfile replan(State current, Goal goal) {
+		return new TrapezoidalMotionProfile(null, current.position, current.velocity, goal, constraints);
+	}
+
+	@Override
+	public boolean canReplan() {
+		return true;
+	}
+
+	@Override
+	public Goal getStart() {
+		Goal start = super.getStart();
+		if (start == null) {
+			// Multiplying by the direction again undoes the flip exactly
+			start = new Goal(startPosition * direction, startVelocity * direction);
 		}
 
-		return direct(new State(time, position, velocity, acceleration));
+		return start;
 	}
 
 	@Override
@@ -0,0 +1,73 @@
+package org.frcteam2910.common.sim;
+
+import java.util.Arrays;
+
+/**
+ * Summary statistics of a set of samples.
+ */
+public final class Distribution {
+    private final double[] sortedSamples;
+    private final double mean;
+    private final double standardDeviation;
+
+    /**
+     * @param samples the samples. The array is not modified.
+     */
+    public Distribution(double[] samples) {
+        this.sortedSamples = samples.clone();
+        Arrays.sort(sortedSamples);
+
+        double sum = 0.0;
+        for (double sample : sortedSamples) {
+            sum += sample;
+        }
+        mean = sortedSamples.length == 0 ? Double.NaN : sum / sortedSamples.length;
+
+        double sumOfSquares = 0.0;
+        for (double sample : sortedSamples) {
+            sumOfSquares += (sample - mean) * (sample - mean);
+        }
+        standardDeviation = sortedSamples.length == 0 ? Double.NaN : Math.sqrt(sumOfSquares / sortedSamples.length);
+    }
+
+    public int getSampleCount() {
+        return sortedSamples.length;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public double getMin() {
+        return sortedSamples.length == 0 ? Double.NaN : sortedSamples[0];
+    }
+
+    public double getMax() {
+        return sortedSamples.length == 0 ? Double.NaN : sortedSamples[sortedSamples.length - 1];
+    }
+
+    /**
+     * Gets the sample at a percentile using the nearest rank.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the sample at the percentile or NaN if there are no samples
+     */
+    public double getPercentile(double percentile) {
+        if (sortedSamples.length == 0) {
+            return Double.NaN;
+        }
+
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedSamples.length);
+        return sortedSamples[Math.max(0, Math.min(sortedSamples.length - 1, rank - 1))];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("mean=%.4f std=%.4f min=%.4f p50=%.4f p95=%.4f max=%.4f", getMean(),
+                getStandardDeviation(), getMin(), getPercentile(50.0), getPercentile(95.0), getMax());
+    }
+}
@@ -0,0 +1,218 @@
+package org.frcteam2910.common.sim;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.control.Path;
+import org.frcteam2910.common.control.Trajectory;
+import org.frcteam2910.common.control.TrajectoryFollower;
+import org.frcteam2910.common.util.HolonomicDriveSignal;
+
+import java.util.Optional;
+
+/**
+ * Runs a follower against a {@link HolonomicDrivetrainSimulator} with a fixed time step.
+ * <p>
+ * The follower is given the measured pose and velocity from the simulator every step and its drive signal is applied
+ * to the simulator. Time only advances by the time step, so a full autonomous routine simulates in milliseconds.
+ */
+public final class FollowerSimulation {
+    private final TrajectoryFollower<HolonomicDriveSignal> follower;
+    private final HolonomicDrivetrainSimulator simulator;
+    private final double dt;
+
+    private double abortTrackingError = Double.POSITIVE_INFINITY;
+
+    /**
+     * @param follower  the follower to simulate
+     * @param simulator the drivetrain the follower drives
+     * @param dt        the time step, usually the period of the robot loop
+     */
+    public FollowerSimulation(TrajectoryFollower<HolonomicDriveSignal> follower,
+                              HolonomicDrivetrainSimulator simulator, double dt) {
+        if (dt <= 0.0) {
+            throw new IllegalArgumentException("Time step must be positive");
+        }
+
+        this.follower = follower;
+        this.simulator = simulator;
+        this.dt = dt;
+    }
+
+    /**
+     * Stops a run early once the tracking error goes above a limit. Aborted runs are not completed.
+     *
+     * @param abortTrackingError the largest tracking error that is allowed
+     */
+    public void setAbortTrackingError(double abortTrackingError) {
+        this.abortTrackingError = abortTrackingError;
+    }
+
+    /**
+     * Follows a trajectory starting from the start of its path until the follower finishes or the timeout is reached.
+     *
+     * @param trajectory the trajectory to follow
+     * @param timeout    the longest time to simulate
+     * @return the result of the simulation
+     */
+    public Result run(Trajectory trajectory, double timeout) {
+        Path.State startState = trajectory.getPath().calculate(0.0);
+        return run(trajectory, new Pose2d(startState.getPosition(), startState.getRotation()), timeout);
+    }
+
+    /**
+     * Follows a trajectory until the follower finishes or the timeout is reached.
+     *
+     * @param trajectory  the trajectory to follow
+     * @param initialPose the pose the drivetrain starts at
+     * @param timeout     the longest time to simulate
+     * @return the result of the simulation
+     */
+    public Result run(Trajectory trajectory, Pose2d initialPose, double timeout) {
+        simulator.reset(initialPose);
+        follower.follow(trajectory);
+
+        double maxTrackingError = 0.0;
+        double sumOfSquaredTrackingError = 0.0;
+        double controlEffort = 0.0;
+        double completionTime = Double.NaN;
+        boolean aborted = false;
+        int steps = 0;
+
+        double time = 0.0;
+        while (time <= timeout) {
+            Optional<HolonomicDriveSignal> signal = follower.update(simulator.getMeasuredPose(),
+                    simulator.getMeasuredVelocity(), simulator.getMeasuredAngularVelocity(), time, dt);
+            if (!signal.isPresent()) {
+                completionTime = time;
+                break;
+            }
+
+            simulator.update(signal.get(), dt);
+            time += dt;
+            steps++;
+
+            Translation2d setpoint = trajectory.calculate(Math.min(time, trajectory.getDuration()))
+                    .getPathState().getPosition();
+            double trackingError = setpoint.getDistance(simulator.getPose().getTranslation());
+            maxTrackingError = Math.max(maxTrackingError, trackingError);
+            sumOfSquaredTrackingError += trackingError * trackingError;
+
+            double translation = signal.get().getTranslation().getNorm();
+            controlEffort += (translation * translation + signal.get().getRotation() * signal.get().getRotation()) * dt;
+
+            if (trackingError > abortTrackingError) {
+                aborted = true;
+                break;
+            }
+        }
+
+        if (Double.isNaN(completionTime)) {
+            // Stop following so the follower is not left running a trajectory that timed out
+            follower.cancel();
+        }
+
+        Path.State endState = trajectory.getPath().calculate(trajectory.getPath().getLength());
+        Pose2d finalPose = simulator.getPose();
+
+        return new Result(
+                finalPose,
+                endState.getPosition().getDistance(finalPose.getTranslation()),
+                Math.abs(Math.IEEEremainder(endState.getRotation().getRadians() - finalPose.getRotation().getRadians(),
+                        2.0 * Math.PI)),
+                maxTrackingError,
+                steps == 0 ? 0.0 : Math.sqrt(sumOfSquaredTrackingError / steps),
+                controlEffort,
+                completionTime,
+                aborted
+        );
+    }
+
+    public static final class Result {
+        private final Pose2d finalPose;
+        private final double finalPositionError;
+        private final double finalRotationError;
+        private final double maxTrackingError;
+        private final double rmsTrackingError;
+        private final double controlEffort;
+        private final double completionTime;
+        private final boolean aborted;
+
+        public Result(Pose2d finalPose, double finalPositionError, double finalRotationError, double maxTrackingError,
+                      double rmsTrackingError, double controlEffort, double completionTime, boolean aborted) {
+            this.finalPose = finalPose;
+            this.finalPositionError = finalPositionError;
+            this.finalRotationError = finalRotationError;
+            this.maxTrackingError = maxTrackingError;
+            this.rmsTrackingError = rmsTrackingError;
+            this.controlEffort = controlEffort;
+            this.completionTime = completionTime;
+            this.aborted = aborted;
+        }
+
+        public Pose2d getFinalPose() {
+            return finalPose;
+        }
+
+        /**
+         * Gets the distance between the final pose and the end of the path.
+         *
+         * @return the final position error
+         */
+        public double getFinalPositionError() {
+            return finalPositionError;
+        }
+
+        /**
+         * Gets the angle between the final rotation and the rotation at the end of the path in radians.
+         *
+         * @return the final rotation error
+         */
+        public double getFinalRotationError() {
+            return finalRotationError;
+        }
+
+        /**
+         * Gets the largest distance between the actual position and the trajectory setpoint during the simulation.
+         *
+         * @return the max tracking error
+         */
+        public double getMaxTrackingError() {
+            return maxTrackingError;
+        }
+
+        public double getRmsTrackingError() {
+            return rmsTrackingError;
+        }
+
+        /**
+         * Gets the integral of the squared drive signal over the simulation.
+         *
+         * @return the control effort
+         */
+        public double getControlEffort() {
+            return controlEffort;
+        }
+
+        /**
+         * Gets the time the follower finished.
+         *
+         * @return the completion time or NaN if the follower did not finish before the timeout
+         */
+        public double getCompletionTime() {
+            return completionTime;
+        }
+
+        public boolean isCompleted() {
+            return !Double.isNaN(completionTime);
+        }
+
+        /**
+         * Gets if the run was stopped because the tracking error went above the abort limit.
+         *
+         * @return true if the run was aborted
+         */
+        public boolean isAborted() {
+            return aborted;
+        }
+    }
+}
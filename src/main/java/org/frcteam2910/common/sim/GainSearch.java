@@ -0,0 +1,463 @@
+package org.frcteam2910.common.sim;
+
+import org.frcteam2910.common.control.HolonomicMotionProfiledTrajectoryFollower;
+import org.frcteam2910.common.control.PidConstants;
+import org.frcteam2910.common.control.Trajectory;
+import org.frcteam2910.common.util.DrivetrainFeedforwardConstants;
+import org.frcteam2910.common.util.HolonomicFeedforward;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Searches for {@link HolonomicMotionProfiledTrajectoryFollower} gains by simulating candidates against a
+ * {@link HolonomicDrivetrainSimulator}.
+ * <p>
+ * Every candidate follows each of the reference trajectories. A candidate is scored by its mean RMS tracking error
+ * and its mean control effort, and the search returns the Pareto front of candidates that no other candidate beats
+ * on both. Candidates are evaluated in parallel. A candidate is rejected as soon as its tracking error goes above
+ * {@link #setMaxTrackingError(double)} or it fails to finish a trajectory, so clearly bad gains only cost part of a
+ * single simulation.
+ * <p>
+ * Only the gains given a range with {@link #setRange(Gain, double, double)} are searched. Every other gain is zero.
+ */
+public final class GainSearch {
+    public enum Gain {
+        TRANSLATION_P,
+        TRANSLATION_I,
+        TRANSLATION_D,
+        ROTATION_P,
+        ROTATION_I,
+        ROTATION_D,
+        FEEDFORWARD_VELOCITY,
+        FEEDFORWARD_ACCELERATION,
+        FEEDFORWARD_STATIC
+    }
+
+    private static final Gain[] GAINS = Gain.values();
+
+    private final List<Trajectory> trajectories;
+    private final DrivetrainFeedforwardConstants plantTranslationConstants;
+    private final DrivetrainFeedforwardConstants plantRotationConstants;
+    private final double dt;
+    private final ForkJoinPool pool;
+
+    private final double[] minimums = new double[GAINS.length];
+    private final double[] maximums = new double[GAINS.length];
+
+    private double maxTrackingError = Double.POSITIVE_INFINITY;
+    private double maxVoltage = Double.POSITIVE_INFINITY;
+    private double effortWeight = 0.0;
+
+    /**
+     * @param trajectories              the trajectories every candidate is evaluated on
+     * @param plantTranslationConstants the translation constants of the simulated drivetrain
+     * @param plantRotationConstants    the rotation constants of the simulated drivetrain
+     * @param dt                        the time step of the simulation
+     */
+    public GainSearch(List<Trajectory> trajectories, DrivetrainFeedforwardConstants plantTranslationConstants,
+                      DrivetrainFeedforwardConstants plantRotationConstants, double dt) {
+        this(trajectories, plantTranslationConstants, plantRotationConstants, dt, ForkJoinPool.commonPool());
+    }
+
+    public GainSearch(List<Trajectory> trajectories, DrivetrainFeedforwardConstants plantTranslationConstants,
+                      DrivetrainFeedforwardConstants plantRotationConstants, double dt, ForkJoinPool pool) {
+        if (trajectories.isEmpty()) {
+            throw new IllegalArgumentException("At least one trajectory is required");
+        }
+
+        this.trajectories = new ArrayList<>(trajectories);
+        this.plantTranslationConstants = plantTranslationConstants;
+        this.plantRotationConstants = plantRotationConstants;
+        this.dt = dt;
+        this.pool = pool;
+    }
+
+    /**
+     * Sets the range a gain is searched in.
+     *
+     * @param gain    the gain
+     * @param minimum the smallest value of the gain
+     * @param maximum the largest value of the gain
+     */
+    public void setRange(Gain gain, double minimum, double maximum) {
+        if (maximum < minimum) {
+            throw new IllegalArgumentException("Minimum cannot be greater than maximum");
+        }
+
+        minimums[gain.ordinal()] = minimum;
+        maximums[gain.ordinal()] = maximum;
+    }
+
+    /**
+     * Sets the largest tracking error a candidate is allowed to have. Candidates are rejected as soon as they go
+     * above it.
+     *
+     * @param maxTrackingError the max tracking error
+     */
+    public void setMaxTrackingError(double maxTrackingError) {
+        this.maxTrackingError = maxTrackingError;
+    }
+
+    /**
+     * @see HolonomicDrivetrainSimulator#setMaxVoltage(double)
+     */
+    public void setMaxVoltage(double maxVoltage) {
+        this.maxVoltage = maxVoltage;
+    }
+
+    /**
+     * Sets how control effort is weighed against tracking error when {@link #evolutionSearch(int, int, long)} ranks
+     * candidates. Candidates are ranked by {@code trackingError + effortWeight * controlEffort}.
+     *
+     * @param effortWeight the weight of control effort
+     */
+    public void setEffortWeight(double effortWeight) {
+        this.effortWeight = effortWeight;
+    }
+
+    /**
+     * Evaluates every combination of evenly spaced values of the searched gains.
+     *
+     * @param pointsPerGain the number of values tried for each searched gain
+     * @return the result of the search
+     */
+    public Result gridSearch(int pointsPerGain) {
+        if (pointsPerGain < 1) {
+            throw new IllegalArgumentException("At least one point per gain is required");
+        }
+
+        List<Integer> searched = new ArrayList<>();
+        for (int i = 0; i < GAINS.length; i++) {
+            if (maximums[i] > minimums[i]) {
+                searched.add(i);
+            }
+        }
+
+        List<double[]> candidates = new ArrayList<>();
+        int[] indices = new int[searched.size()];
+        while (true) {
+            double[] normalized = new double[GAINS.length];
+            for (int i = 0; i < indices.length; i++) {
+                normalized[searched.get(i)] = pointsPerGain == 1 ? 0.5 : (double) indices[i] / (pointsPerGain - 1);
+            }
+            candidates.add(normalized);
+
+            // Advance to the next combination like an odometer
+            int digit = 0;
+            while (digit < indices.length && ++indices[digit] == pointsPerGain) {
+                indices[digit++] = 0;
+            }
+            if (digit == indices.length) {
+                break;
+            }
+        }
+
+        Result result = new Result();
+        result.addAll(evaluateAll(candidates));
+        return result;
+    }
+
+    /**
+     * Evaluates candidates chosen uniformly at random from the searched ranges.
+     *
+     * @param candidateCount the number of candidates to evaluate
+     * @param seed           the seed of the random candidates
+     * @return the result of the search
+     */
+    public Result randomSearch(int candidateCount, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<double[]> candidates = new ArrayList<>(candidateCount);
+        for (int i = 0; i < candidateCount; i++) {
+            double[] normalized = new double[GAINS.length];
+            for (int j = 0; j < GAINS.length; j++) {
+                normalized[j] = random.nextDouble();
+            }
+            candidates.add(normalized);
+        }
+
+        Result result = new Result();
+        result.addAll(evaluateAll(candidates));
+        return result;
+    }
+
+    /**
+     * Searches with an evolution strategy in the style of CMA-ES using a diagonal covariance.
+     * <p>
+     * Every generation samples candidates around a mean, ranks them by {@link #setEffortWeight(double) weighted
+     * score}, moves the mean towards the best half and adapts the spread of each gain to the spread of the best half.
+     * Gains are normalized to their ranges so they are searched on the same scale.
+     *
+     * @param generations    the number of generations
+     * @param populationSize the number of candidates in each generation
+     * @param seed           the seed of the random candidates
+     * @return the result of the search, including the Pareto front of every generation
+     */
+    public Result evolutionSearch(int generations, int populationSize, long seed) {
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("Population must have at least two candidates");
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int parentCount = populationSize / 2;
+
+        // Log-linear recombination weights as used by CMA-ES
+        double[] weights = new double[parentCount];
+        double weightSum = 0.0;
+        for (int i = 0; i < parentCount; i++) {
+            weights[i] = Math.log(parentCount + 0.5) - Math.log(i + 1);
+            weightSum += weights[i];
+        }
+        double weightSquareSum = 0.0;
+        for (int i = 0; i < parentCount; i++) {
+            weights[i] /= weightSum;
+            weightSquareSum += weights[i] * weights[i];
+        }
+        double effectiveParents = 1.0 / weightSquareSum;
+        double learningRate = Math.min(1.0, effectiveParents / (GAINS.length * GAINS.length + effectiveParents));
+
+        double[] mean = new double[GAINS.length];
+        double[] deviations = new double[GAINS.length];
+        Arrays.fill(mean, 0.5);
+        Arrays.fill(deviations, 0.3);
+
+        Result result = new Result();
+        for (int generation = 0; generation < generations; generation++) {
+            List<double[]> candidates = new ArrayList<>(populationSize);
+            for (int i = 0; i < populationSize; i++) {
+                double[] normalized = new double[GAINS.length];
+                for (int j = 0; j < GAINS.length; j++) {
+                    normalized[j] = Math.max(0.0, Math.min(1.0, mean[j] + deviations[j] * nextGaussian(random)));
+                }
+                candidates.add(normalized);
+            }
+
+            List<Candidate> evaluated = evaluateAll(candidates);
+            result.addAll(evaluated);
+
+            List<Candidate> ranked = new ArrayList<>();
+            for (Candidate candidate : evaluated) {
+                if (!candidate.isRejected()) {
+                    ranked.add(candidate);
+                }
+            }
+            if (ranked.size() < parentCount) {
+                // Too many candidates were rejected to learn anything, widen the search
+                for (int j = 0; j < GAINS.length; j++) {
+                    deviations[j] = Math.min(0.5, deviations[j] * 1.5);
+                }
+                continue;
+            }
+            ranked.sort(Comparator.comparingDouble(c -> c.getTrackingError() + effortWeight * c.getControlEffort()));
+
+            double[] newMean = new double[GAINS.length];
+            for (int i = 0; i < parentCount; i++) {
+                double[] normalized = ranked.get(i).normalized;
+                for (int j = 0; j < GAINS.length; j++) {
+                    newMean[j] += weights[i] * normalized[j];
+                }
+            }
+            for (int j = 0; j < GAINS.length; j++) {
+                double variance = 0.0;
+                for (int i = 0; i < parentCount; i++) {
+                    double step = ranked.get(i).normalized[j] - mean[j];
+                    variance += weights[i] * step * step;
+                }
+                deviations[j] = Math.sqrt((1.0 - learningRate) * deviations[j] * deviations[j] +
+                        learningRate * variance);
+            }
+            mean = newMean;
+        }
+
+        return result;
+    }
+
+    private static double nextGaussian(SplittableRandom random) {
+        // Box-Muller transform since SplittableRandom has no Gaussian method before Java 17
+        double u = 1.0 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+    }
+
+    private List<Candidate> evaluateAll(List<double[]> candidates) {
+        List<Callable<Candidate>> tasks = new ArrayList<>(candidates.size());
+        for (double[] normalized : candidates) {
+            tasks.add(() -> evaluate(normalized));
+        }
+
+        List<Candidate> evaluated = new ArrayList<>(candidates.size());
+        try {
+            for (Future<Candidate> future : pool.invokeAll(tasks)) {
+                evaluated.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while evaluating candidates");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        return evaluated;
+    }
+
+    private Candidate evaluate(double[] normalized) {
+        double[] gains = new double[GAINS.length];
+        for (int i = 0; i < GAINS.length; i++) {
+            gains[i] = minimums[i] + normalized[i] * (maximums[i] - minimums[i]);
+        }
+
+        PidConstants translationConstants = new PidConstants(gains[Gain.TRANSLATION_P.ordinal()],
+                gains[Gain.TRANSLATION_I.ordinal()], gains[Gain.TRANSLATION_D.ordinal()]);
+        PidConstants rotationConstants = new PidConstants(gains[Gain.ROTATION_P.ordinal()],
+                gains[Gain.ROTATION_I.ordinal()], gains[Gain.ROTATION_D.ordinal()]);
+        DrivetrainFeedforwardConstants feedforwardConstants = new DrivetrainFeedforwardConstants(
+                gains[Gain.FEEDFORWARD_VELOCITY.ordinal()], gains[Gain.FEEDFORWARD_ACCELERATION.ordinal()],
+                gains[Gain.FEEDFORWARD_STATIC.ordinal()]);
+
+        double trackingError = 0.0;
+        double controlEffort = 0.0;
+        for (Trajectory trajectory : trajectories) {
+            HolonomicDrivetrainSimulator simulator = new HolonomicDrivetrainSimulator(plantTranslationConstants,
+                    plantRotationConstants);
+            simulator.setMaxVoltage(maxVoltage);
+
+            FollowerSimulation simulation = new FollowerSimulation(new HolonomicMotionProfiledTrajectoryFollower(
+                    translationConstants, rotationConstants, new HolonomicFeedforward(feedforwardConstants)),
+                    simulator, dt);
+            simulation.setAbortTrackingError(maxTrackingError);
+
+            FollowerSimulation.Result result = simulation.run(trajectory, 2.0 * trajectory.getDuration());
+            if (!result.isCompleted()) {
+                return new Candidate(normalized, gains, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, true);
+            }
+
+            trackingError += result.getRmsTrackingError();
+            controlEffort += result.getControlEffort();
+        }
+
+        return new Candidate(normalized, gains, trackingError / trajectories.size(),
+                controlEffort / trajectories.size(), false);
+    }
+
+    public static final class Candidate {
+        private final double[] normalized;
+        private final double[] gains;
+        private final double trackingError;
+        private final double controlEffort;
+        private final boolean rejected;
+
+        private Candidate(double[] normalized, double[] gains, double trackingError, double controlEffort,
+                          boolean rejected) {
+            this.normalized = normalized;
+            this.gains = gains;
+            this.trackingError = trackingError;
+            this.controlEffort = controlEffort;
+            this.rejected = rejected;
+        }
+
+        public double getGain(Gain gain) {
+            return gains[gain.ordinal()];
+        }
+
+        public PidConstants getTranslationConstants() {
+            return new PidConstants(getGain(Gain.TRANSLATION_P), getGain(Gain.TRANSLATION_I),
+                    getGain(Gain.TRANSLATION_D));
+        }
+
+        public PidConstants getRotationConstants() {
+            return new PidConstants(getGain(Gain.ROTATION_P), getGain(Gain.ROTATION_I), getGain(Gain.ROTATION_D));
+        }
+
+        public DrivetrainFeedforwardConstants getFeedforwardConstants() {
+            return new DrivetrainFeedforwardConstants(getGain(Gain.FEEDFORWARD_VELOCITY),
+                    getGain(Gain.FEEDFORWARD_ACCELERATION), getGain(Gain.FEEDFORWARD_STATIC));
+        }
+
+        /**
+         * Gets the mean RMS tracking error over every reference trajectory.
+         *
+         * @return the tracking error or infinity if the candidate was rejected
+         */
+        public double getTrackingError() {
+            return trackingError;
+        }
+
+        /**
+         * Gets the mean control effort over every reference trajectory.
+         *
+         * @return the control effort or infinity if the candidate was rejected
+         */
+        public double getControlEffort() {
+            return controlEffort;
+        }
+
+        /**
+         * Gets if the candidate was stopped early because it went above the max tracking error or did not finish.
+         *
+         * @return true if the candidate was rejected
+         */
+        public boolean isRejected() {
+            return rejected;
+        }
+
+        boolean dominates(Candidate other) {
+            return trackingError <= other.trackingError && controlEffort <= other.controlEffort &&
+                    (trackingError < other.trackingError || controlEffort < other.controlEffort);
+        }
+    }
+
+    public static final class Result {
+        private final List<Candidate> paretoFront = new ArrayList<>();
+        private int evaluatedCount = 0;
+        private int rejectedCount = 0;
+
+        private void addAll(List<Candidate> candidates) {
+            for (Candidate candidate : candidates) {
+                evaluatedCount++;
+                if (candidate.isRejected()) {
+                    rejectedCount++;
+                    continue;
+                }
+
+                boolean dominated = false;
+                for (Candidate existing : paretoFront) {
+                    if (existing.dominates(candidate)) {
+                        dominated = true;
+                        break;
+                    }
+                }
+                if (!dominated) {
+                    paretoFront.removeIf(candidate::dominates);
+                    paretoFront.add(candidate);
+                }
+            }
+
+            paretoFront.sort(Comparator.comparingDouble(Candidate::getTrackingError));
+        }
+
+        /**
+         * Gets the candidates that no other candidate has both a lower tracking error and a lower control effort
+         * than, sorted by tracking error.
+         *
+         * @return the Pareto front
+         */
+        public List<Candidate> getParetoFront() {
+            return Collections.unmodifiableList(paretoFront);
+        }
+
+        public int getEvaluatedCount() {
+            return evaluatedCount;
+        }
+
+        public int getRejectedCount() {
+            return rejectedCount;
+        }
+    }
+}
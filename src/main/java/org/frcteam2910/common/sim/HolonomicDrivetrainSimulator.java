@@ -0,0 +1,279 @@
+package org.frcteam2910.common.sim;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.math.MathUtils;
+import org.frcteam2910.common.util.DrivetrainFeedforwardConstants;
+import org.frcteam2910.common.util.HolonomicDriveSignal;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A simple simulation of a holonomic drivetrain driven by {@link HolonomicDriveSignal}s.
+ * <p>
+ * Each axis is modeled by its feedforward constants, so a drive signal is treated as a voltage {@code V} and
+ * accelerates the axis by {@code (V - kS * sign(v) - kV * v) / kA}. The forward and strafe axes are the robot's own
+ * axes, so they turn with the robot. Static friction holds a stopped axis still until
+ * the voltage is larger than {@code kS}. Drive signals can be delayed to model latency, and the measured pose and
+ * velocity can have Gaussian noise added to them. The simulation is stepped with a fixed time step and does not
+ * depend on wall-clock time, so it runs as fast as the CPU allows.
+ */
+public class HolonomicDrivetrainSimulator {
+    private final DrivetrainFeedforwardConstants forwardConstants;
+    private final DrivetrainFeedforwardConstants strafeConstants;
+    private final DrivetrainFeedforwardConstants rotationConstants;
+
+    private double maxVoltage = Double.POSITIVE_INFINITY;
+
+    private double x = 0.0;
+    private double y = 0.0;
+    private double angle = 0.0;
+    private double xVelocity = 0.0;
+    private double yVelocity = 0.0;
+    private double angularVelocity = 0.0;
+
+    private Random noiseRandom = null;
+    private double positionNoise = 0.0;
+    private double angleNoise = 0.0;
+    private double velocityNoise = 0.0;
+
+    /**
+     * Drive signals waiting to be applied, stored as forward, strafe, rotation and field oriented (1 or 0) voltages.
+     * The oldest signal is at {@link #latencyIndex}.
+     */
+    private double[] latencyBuffer = new double[0];
+    private int latencyIndex = 0;
+
+    public HolonomicDrivetrainSimulator(DrivetrainFeedforwardConstants translationConstants,
+                                        DrivetrainFeedforwardConstants rotationConstants) {
+        this(translationConstants, translationConstants, rotationConstants);
+    }
+
+    public HolonomicDrivetrainSimulator(DrivetrainFeedforwardConstants forwardConstants,
+                                        DrivetrainFeedforwardConstants strafeConstants,
+                                        DrivetrainFeedforwardConstants rotationConstants) {
+        requireDynamics(forwardConstants);
+        requireDynamics(strafeConstants);
+        requireDynamics(rotationConstants);
+
+        this.forwardConstants = forwardConstants;
+        this.strafeConstants = strafeConstants;
+        this.rotationConstants = rotationConstants;
+    }
+
+    private static void requireDynamics(DrivetrainFeedforwardConstants constants) {
+        if (constants.getAccelerationConstant() <= 0.0) {
+            throw new IllegalArgumentException("Acceleration constant must be positive to simulate an axis");
+        }
+    }
+
+    /**
+     * Sets the largest voltage that can be applied to an axis. Drive signals are clamped to this value.
+     *
+     * @param maxVoltage the max voltage
+     */
+    public void setMaxVoltage(double maxVoltage) {
+        this.maxVoltage = maxVoltage;
+    }
+
+    /**
+     * Adds Gaussian noise to the measured pose and velocity.
+     *
+     * @param random        the source of noise
+     * @param positionNoise the standard deviation of the position noise
+     * @param angleNoise    the standard deviation of the angle noise in radians
+     * @param velocityNoise the standard deviation of the translational and angular velocity noise
+     */
+    public void setMeasurementNoise(Random random, double positionNoise, double angleNoise, double velocityNoise) {
+        this.noiseRandom = random;
+        this.positionNoise = positionNoise;
+        this.angleNoise = angleNoise;
+        this.velocityNoise = velocityNoise;
+    }
+
+    /**
+     * Delays every drive signal by a number of steps before it is applied.
+     *
+     * @param steps the number of steps to delay drive signals by
+     */
+    public void setLatencySteps(int steps) {
+        if (steps < 0) {
+            throw new IllegalArgumentException("Latency cannot be negative");
+        }
+
+        latencyBuffer = new double[steps * 4];
+        latencyIndex = 0;
+    }
+
+    /**
+     * Moves the drivetrain to a pose and stops it. Drive signals waiting to be applied are cleared.
+     *
+     * @param pose the pose to move to
+     */
+    public void reset(Pose2d pose) {
+        x = pose.getTranslation().getX();
+        y = pose.getTranslation().getY();
+        angle = pose.getRotation().getRadians();
+        xVelocity = 0.0;
+        yVelocity = 0.0;
+        angularVelocity = 0.0;
+
+        Arrays.fill(latencyBuffer, 0.0);
+        latencyIndex = 0;
+    }
+
+    /**
+     * Applies a drive signal and advances the simulation.
+     *
+     * @param signal the drive signal to apply or null to apply no voltage
+     * @param dt     the time to advance by
+     */
+    public void update(HolonomicDriveSignal signal, double dt) {
+        double forward = 0.0;
+        double strafe = 0.0;
+        double rotation = 0.0;
+        boolean fieldOriented = true;
+        if (signal != null) {
+            forward = signal.getTranslation().getX();
+            strafe = signal.getTranslation().getY();
+            rotation = signal.getRotation();
+            fieldOriented = signal.isFieldOriented();
+        }
+
+        if (latencyBuffer.length > 0) {
+            double delayedForward = latencyBuffer[latencyIndex];
+            double delayedStrafe = latencyBuffer[latencyIndex + 1];
+            double delayedRotation = latencyBuffer[latencyIndex + 2];
+            boolean delayedFieldOriented = latencyBuffer[latencyIndex + 3] == 0.0;
+
+            latencyBuffer[latencyIndex] = forward;
+            latencyBuffer[latencyIndex + 1] = strafe;
+            latencyBuffer[latencyIndex + 2] = rotation;
+            latencyBuffer[latencyIndex + 3] = fieldOriented ? 0.0 : 1.0;
+            latencyIndex = (latencyIndex + 4) % latencyBuffer.length;
+
+            forward = delayedForward;
+            strafe = delayedStrafe;
+            rotation = delayedRotation;
+            fieldOriented = delayedFieldOriented;
+        }
+
+        // The forward and strafe axes are modeled along the robot's own axes, so field oriented voltages and the
+        // field oriented velocity are rotated onto the robot
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        if (fieldOriented) {
+            double robotForward = forward * cos + strafe * sin;
+            strafe = strafe * cos - forward * sin;
+            forward = robotForward;
+        }
+        double forwardVelocity = xVelocity * cos + yVelocity * sin;
+        double strafeVelocity = yVelocity * cos - xVelocity * sin;
+
+        double forwardAcceleration = calculateAcceleration(forwardConstants, forward, forwardVelocity);
+        double strafeAcceleration = calculateAcceleration(strafeConstants, strafe, strafeVelocity);
+        double angularAcceleration = calculateAcceleration(rotationConstants, rotation, angularVelocity);
+
+        // Semi-implicit Euler integration. Friction must not reverse the direction of a moving axis within a step.
+        forwardVelocity = integrateVelocity(forwardConstants, forward, forwardVelocity, forwardAcceleration, dt);
+        strafeVelocity = integrateVelocity(strafeConstants, strafe, strafeVelocity, strafeAcceleration, dt);
+        angularVelocity = integrateVelocity(rotationConstants, rotation, angularVelocity, angularAcceleration, dt);
+
+        xVelocity = forwardVelocity * cos - strafeVelocity * sin;
+        yVelocity = forwardVelocity * sin + strafeVelocity * cos;
+
+        x += xVelocity * dt;
+        y += yVelocity * dt;
+        angle += angularVelocity * dt;
+    }
+
+    private double calculateAcceleration(DrivetrainFeedforwardConstants constants, double voltage, double velocity) {
+        voltage = MathUtils.clamp(voltage, -maxVoltage, maxVoltage);
+
+        double friction;
+        if (velocity != 0.0) {
+            friction = Math.copySign(constants.getStaticConstant(), velocity);
+        } else {
+            friction = MathUtils.clamp(voltage, -constants.getStaticConstant(), constants.getStaticConstant());
+        }
+
+        return (voltage - friction - constants.getVelocityConstant() * velocity) / constants.getAccelerationConstant();
+    }
+
+    private double integrateVelocity(DrivetrainFeedforwardConstants constants, double voltage, double velocity,
+                                     double acceleration, double dt) {
+        double newVelocity = velocity + acceleration * dt;
+        if (velocity != 0.0 && Math.signum(newVelocity) != Math.signum(velocity) &&
+                Math.abs(MathUtils.clamp(voltage, -maxVoltage, maxVoltage)) <= constants.getStaticConstant()) {
+            // Friction stopped the axis
+            return 0.0;
+        }
+
+        return newVelocity;
+    }
+
+    /**
+     * Gets the actual pose of the drivetrain without any noise.
+     *
+     * @return the actual pose
+     */
+    public Pose2d getPose() {
+        return new Pose2d(x, y, new Rotation2d(angle));
+    }
+
+    /**
+     * Gets the actual field oriented velocity of the drivetrain without any noise.
+     *
+     * @return the actual velocity
+     */
+    public Translation2d getVelocity() {
+        return new Translation2d(xVelocity, yVelocity);
+    }
+
+    public double getAngularVelocity() {
+        return angularVelocity;
+    }
+
+    /**
+     * Gets the pose as it would be measured by the robot.
+     *
+     * @return the measured pose
+     */
+    public Pose2d getMeasuredPose() {
+        if (noiseRandom == null) {
+            return getPose();
+        }
+
+        return new Pose2d(
+                x + noiseRandom.nextGaussian() * positionNoise,
+                y + noiseRandom.nextGaussian() * positionNoise,
+                new Rotation2d(angle + noiseRandom.nextGaussian() * angleNoise)
+        );
+    }
+
+    /**
+     * Gets the field oriented velocity as it would be measured by the robot.
+     *
+     * @return the measured velocity
+     */
+    public Translation2d getMeasuredVelocity() {
+        if (noiseRandom == null) {
+            return getVelocity();
+        }
+
+        return new Translation2d(
+                xVelocity + noiseRandom.nextGaussian() * velocityNoise,
+                yVelocity + noiseRandom.nextGaussian() * velocityNoise
+        );
+    }
+
+    public double getMeasuredAngularVelocity() {
+        if (noiseRandom == null) {
+            return angularVelocity;
+        }
+
+        return angularVelocity + noiseRandom.nextGaussian() * velocityNoise;
+    }
+}
@@ -0,0 +1,266 @@
+package org.frcteam2910.common.sim;
+
+import org.frcteam2910.common.control.Trajectory;
+import org.frcteam2910.common.control.TrajectoryFollower;
+import org.frcteam2910.common.util.DrivetrainFeedforwardConstants;
+import org.frcteam2910.common.util.HolonomicDriveSignal;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * Simulates a follower many times with randomized drivetrain constants, sensor noise and latency to find out how
+ * robust it is.
+ * <p>
+ * Every run gets its own random stream split from a single seed before any run starts, so the results only depend on
+ * the seed and not on how the runs are scheduled across threads. Runs are spread across a {@link ForkJoinPool}.
+ */
+public final class MonteCarloSweep {
+    private static final int RUNS_PER_TASK = 8;
+
+    private final Trajectory trajectory;
+    private final Supplier<? extends TrajectoryFollower<HolonomicDriveSignal>> followerFactory;
+    private final DrivetrainFeedforwardConstants translationConstants;
+    private final DrivetrainFeedforwardConstants rotationConstants;
+    private final double dt;
+
+    private double constantVariation = 0.0;
+    private double positionNoise = 0.0;
+    private double angleNoise = 0.0;
+    private double velocityNoise = 0.0;
+    private int latencySteps = 0;
+    private double maxVoltage = Double.POSITIVE_INFINITY;
+    private double timeout;
+
+    /**
+     * @param trajectory           the trajectory every run follows
+     * @param followerFactory      creates a new follower for every run
+     * @param translationConstants the nominal translation constants of the drivetrain
+     * @param rotationConstants    the nominal rotation constants of the drivetrain
+     * @param dt                   the time step of the simulation
+     */
+    public MonteCarloSweep(Trajectory trajectory,
+                           Supplier<? extends TrajectoryFollower<HolonomicDriveSignal>> followerFactory,
+                           DrivetrainFeedforwardConstants translationConstants,
+                           DrivetrainFeedforwardConstants rotationConstants, double dt) {
+        this.trajectory = trajectory;
+        this.followerFactory = followerFactory;
+        this.translationConstants = translationConstants;
+        this.rotationConstants = rotationConstants;
+        this.dt = dt;
+        this.timeout = 2.0 * trajectory.getDuration();
+    }
+
+    /**
+     * Sets how much the drivetrain constants vary between runs. Each of kV, kA and kS of every axis is scaled by a
+     * uniformly distributed factor between {@code 1 - variation} and {@code 1 + variation}.
+     *
+     * @param variation the fractional variation, for example 0.1 for plus or minus 10%
+     */
+    public void setConstantVariation(double variation) {
+        if (variation < 0.0 || variation >= 1.0) {
+            throw new IllegalArgumentException("Variation must be between 0 and 1");
+        }
+
+        this.constantVariation = variation;
+    }
+
+    /**
+     * @see HolonomicDrivetrainSimulator#setMeasurementNoise(Random, double, double, double)
+     */
+    public void setMeasurementNoise(double positionNoise, double angleNoise, double velocityNoise) {
+        this.positionNoise = positionNoise;
+        this.angleNoise = angleNoise;
+        this.velocityNoise = velocityNoise;
+    }
+
+    /**
+     * @see HolonomicDrivetrainSimulator#setLatencySteps(int)
+     */
+    public void setLatencySteps(int latencySteps) {
+        this.latencySteps = latencySteps;
+    }
+
+    /**
+     * @see HolonomicDrivetrainSimulator#setMaxVoltage(double)
+     */
+    public void setMaxVoltage(double maxVoltage) {
+        this.maxVoltage = maxVoltage;
+    }
+
+    /**
+     * Sets the longest time a run is simulated for. Defaults to twice the duration of the trajectory.
+     *
+     * @param timeout the timeout
+     */
+    public void setTimeout(double timeout) {
+        this.timeout = timeout;
+    }
+
+    public Results run(int runs, long seed) {
+        return run(runs, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs the sweep.
+     *
+     * @param runs the number of simulations to run
+     * @param seed the seed all randomness is derived from
+     * @param pool the pool to run simulations on
+     * @return the distributions of the results
+     */
+    public Results run(int runs, long seed, ForkJoinPool pool) {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[runs];
+        for (int i = 0; i < runs; i++) {
+            streams[i] = root.split();
+        }
+
+        FollowerSimulation.Result[] results = new FollowerSimulation.Result[runs];
+        pool.invoke(new SweepTask(streams, results, 0, runs));
+
+        return new Results(results);
+    }
+
+    private FollowerSimulation.Result simulate(SplittableRandom random) {
+        HolonomicDrivetrainSimulator simulator = new HolonomicDrivetrainSimulator(
+                vary(translationConstants, random),
+                vary(translationConstants, random),
+                vary(rotationConstants, random)
+        );
+        simulator.setMaxVoltage(maxVoltage);
+        simulator.setLatencySteps(latencySteps);
+        if (positionNoise != 0.0 || angleNoise != 0.0 || velocityNoise != 0.0) {
+            simulator.setMeasurementNoise(new Random(random.nextLong()), positionNoise, angleNoise, velocityNoise);
+        }
+
+        return new FollowerSimulation(followerFactory.get(), simulator, dt).run(trajectory, timeout);
+    }
+
+    private DrivetrainFeedforwardConstants vary(DrivetrainFeedforwardConstants constants, SplittableRandom random) {
+        if (constantVariation == 0.0) {
+            return constants;
+        }
+
+        return new DrivetrainFeedforwardConstants(
+                constants.getVelocityConstant() * random.nextDouble(1.0 - constantVariation, 1.0 + constantVariation),
+                constants.getAccelerationConstant() * random.nextDouble(1.0 - constantVariation, 1.0 + constantVariation),
+                constants.getStaticConstant() * random.nextDouble(1.0 - constantVariation, 1.0 + constantVariation)
+        );
+    }
+
+    private final class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 5372188309452140926L;
+
+        private final SplittableRandom[] streams;
+        private final FollowerSimulation.Result[] results;
+        private final int start;
+        private final int end;
+
+        SweepTask(SplittableRandom[] streams, FollowerSimulation.Result[] results, int start, int end) {
+            this.streams = streams;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= RUNS_PER_TASK) {
+                for (int i = start; i < end; i++) {
+                    results[i] = simulate(streams[i]);
+                }
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            invokeAll(new SweepTask(streams, results, start, middle), new SweepTask(streams, results, middle, end));
+        }
+    }
+
+    public static final class Results {
+        private final FollowerSimulation.Result[] runs;
+        private final int completedRuns;
+        private final Distribution finalPositionError;
+        private final Distribution finalRotationError;
+        private final Distribution maxTrackingError;
+        private final Distribution completionTime;
+
+        Results(FollowerSimulation.Result[] runs) {
+            this.runs = runs;
+
+            double[] finalPositionErrors = new double[runs.length];
+            double[] finalRotationErrors = new double[runs.length];
+            double[] maxTrackingErrors = new double[runs.length];
+            double[] completionTimes = new double[runs.length];
+            int completed = 0;
+            for (int i = 0; i < runs.length; i++) {
+                finalPositionErrors[i] = runs[i].getFinalPositionError();
+                finalRotationErrors[i] = runs[i].getFinalRotationError();
+                maxTrackingErrors[i] = runs[i].getMaxTrackingError();
+                if (runs[i].isCompleted()) {
+                    completionTimes[completed++] = runs[i].getCompletionTime();
+                }
+            }
+
+            this.completedRuns = completed;
+            this.finalPositionError = new Distribution(finalPositionErrors);
+            this.finalRotationError = new Distribution(finalRotationErrors);
+            this.maxTrackingError = new Distribution(maxTrackingErrors);
+            this.completionTime = new Distribution(Arrays.copyOf(completionTimes, completed));
+        }
+
+        public int getRunCount() {
+            return runs.length;
+        }
+
+        public FollowerSimulation.Result getRun(int index) {
+            return runs[index];
+        }
+
+        /**
+         * Gets the number of runs that finished before the timeout.
+         *
+         * @return the number of completed runs
+         */
+        public int getCompletedRunCount() {
+            return completedRuns;
+        }
+
+        public Distribution getFinalPositionError() {
+            return finalPositionError;
+        }
+
+        public Distribution getFinalRotationError() {
+            return finalRotationError;
+        }
+
+        public Distribution getMaxTrackingError() {
+            return maxTrackingError;
+        }
+
+        /**
+         * Gets the distribution of completion times of the runs that completed.
+         *
+         * @return the completion time distribution
+         */
+        public Distribution getCompletionTime() {
+            return completionTime;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d/%d runs completed%n" +
+                            "Final position error: %s%n" +
+                            "Final rotation error: %s%n" +
+                            "Max tracking error: %s%n" +
+                            "Completion time: %s%n",
+                    completedRuns, runs.length, finalPositionError, finalRotationError, maxTrackingError,
+                    completionTime);
+        }
+    }
+}
@@ -26,16 +26,14 @@ public class HolonomicFeedforward {
         double strafeFeedforward = strafeConstants.getVelocityConstant() * velocity.getY();
         strafeFeedforward += strafeConstants.getAccelerationConstant() * acceleration.getY();
 
-        Translation2d feedforwardVector = new Translation2d(forwardFeedforward, strafeFeedforward);
-
         // Apply the kS constant proportionally to the forward and strafe feedforwards based on their relative
         // magnitudes
-        Translation2d feedforwardUnitVector = feedforwardVector.times( 1 / feedforwardVector.getNorm());
+        double norm = Math.hypot(forwardFeedforward, strafeFeedforward);
+        double forwardUnit = forwardFeedforward * (1 / norm);
+        double strafeUnit = strafeFeedforward * (1 / norm);
 
-        forwardFeedforward += Math.copySign(feedforwardUnitVector.getX() * forwardConstants.getStaticConstant(),
-                forwardFeedforward);
-        strafeFeedforward += Math.copySign(feedforwardUnitVector.getY() * strafeConstants.getStaticConstant(),
-                strafeFeedforward);
+        forwardFeedforward += Math.copySign(forwardUnit * forwardConstants.getStaticConstant(), forwardFeedforward);
+        strafeFeedforward += Math.copySign(strafeUnit * strafeConstants.getStaticConstant(), strafeFeedforward);
 
         return new Translation2d(forwardFeedforward, strafeFeedforward);
     }
@@ -0,0 +1,189 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.motion.MotionProfile;
+import org.frcteam2910.common.motion.TrapezoidalMotionProfile;
+import org.frcteam2910.common.util.AllocationMeter;
+import org.frcteam2910.common.util.DrivetrainFeedforwardConstants;
+import org.frcteam2910.common.util.HolonomicDriveSignal;
+import org.frcteam2910.common.util.HolonomicFeedforward;
+import org.junit.Test;
+
+import java.util.Optional;
+
+/**
+ * Makes sure the code that runs every control loop iteration does not start allocating more memory.
+ * <p>
+ * Code that returns nothing new must not allocate at all once warmed up. Everything else is compared against a
+ * baseline measured in the same run that only allocates the objects the code returns or has to pass on, along with
+ * the path states it has to calculate, so the tests don't depend on how large objects are on the JVM running them.
+ * The Gradle build runs the tests with escape analysis disabled so every temporary object counts. If one of these
+ * tests fails, the change being tested added garbage to the control loop.
+ */
+public class ControlLoopAllocationTest {
+    private static final double DT = 5.0e-3;
+
+    private static final TrajectoryConstraint[] CONSTRAINTS = {
+            new MaxVelocityConstraint(12.0),
+            new MaxAccelerationConstraint(10.0),
+            new CentripetalAccelerationConstraint(7.5)
+    };
+
+    private static final Trajectory TRAJECTORY = new Trajectory(
+            new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d())
+                    .hermite(new Translation2d(20.0, 10.0), Rotation2d.fromDegrees(90.0), Rotation2d.fromDegrees(90.0))
+                    .build(),
+            CONSTRAINTS, 1.0e-2);
+
+    private static final HolonomicFeedforward FEEDFORWARD = new HolonomicFeedforward(
+            new DrivetrainFeedforwardConstants(0.042746, 0.0032181, 0.30764));
+
+    /**
+     * Steps through time in control loop sized increments, wrapping back to the start after a duration.
+     */
+    private static final class Clock {
+        private final double duration;
+        private double time = 0.0;
+
+        private Clock(double duration) {
+            this.duration = duration;
+        }
+
+        private double next() {
+            time += DT;
+            if (time > duration) {
+                time = 0.0;
+            }
+            return time;
+        }
+
+        private boolean isAtStart() {
+            return time == 0.0;
+        }
+    }
+
+    /**
+     * The states of the trajectory at every time of a {@link Clock}, so a baseline can calculate the same path states
+     * without calculating the trajectory.
+     */
+    private static final class TrajectorySamples {
+        private final double[] distances;
+        private final double[] velocities;
+        private final double[] accelerations;
+        private int index = 0;
+
+        private TrajectorySamples(Trajectory trajectory) {
+            Clock clock = new Clock(trajectory.getDuration());
+            int sampleCount = 0;
+            do {
+                clock.next();
+                sampleCount++;
+            } while (!clock.isAtStart());
+
+            distances = new double[sampleCount];
+            velocities = new double[sampleCount];
+            accelerations = new double[sampleCount];
+            for (int i = 0; i < sampleCount; i++) {
+                Trajectory.State state = trajectory.calculate(clock.next());
+                distances[i] = state.getPathState().getDistance();
+                velocities[i] = state.getVelocity();
+                accelerations[i] = state.getAcceleration();
+            }
+        }
+
+        private Trajectory.State next(Path path) {
+            Trajectory.State state = new Trajectory.State(path.calculate(distances[index]), velocities[index],
+                    accelerations[index]);
+            index = (index + 1) % distances.length;
+            return state;
+        }
+    }
+
+    /**
+     * Keeps the results of the code being measured so the JIT can't remove their allocations.
+     */
+    private static volatile Object result;
+
+    @Test
+    public void pidControllerCalculate() {
+        PidController controller = new PidController(new PidConstants(1.0, 0.1, 0.01));
+        controller.setSetpoint(1.0);
+        Clock clock = new Clock(1.0);
+
+        AllocationMeter.assertAllocatesAtMost("PidController.calculate", 0.0,
+                () -> controller.calculate(clock.next(), DT));
+    }
+
+    @Test
+    public void holonomicFeedforwardCalculateFeedforward() {
+        Translation2d velocity = new Translation2d(1.0, 2.0);
+        Translation2d acceleration = new Translation2d(0.5, -0.5);
+
+        AllocationMeter.assertAllocatesAtMostBaseline("HolonomicFeedforward.calculateFeedforward",
+                () -> result = new Translation2d(velocity.getX(), acceleration.getY()),
+                () -> result = FEEDFORWARD.calculateFeedforward(velocity, acceleration));
+    }
+
+    @Test
+    public void trajectoryCalculate() {
+        TrajectorySamples samples = new TrajectorySamples(TRAJECTORY);
+        Clock clock = new Clock(TRAJECTORY.getDuration());
+
+        AllocationMeter.assertAllocatesAtMostBaseline("Trajectory.calculate",
+                () -> result = samples.next(TRAJECTORY.getPath()),
+                () -> result = TRAJECTORY.calculate(clock.next()));
+    }
+
+    @Test
+    public void motionProfileFollowerUpdate() {
+        MotionProfileFollower follower = new MotionProfileFollower(
+                new PidController(new PidConstants(1.0, 0.0, 0.0)), 0.1, 0.01);
+        MotionProfile profile = new TrapezoidalMotionProfile(
+                new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(10.0, 0.0),
+                new MotionProfile.Constraints(5.0, 10.0)
+        );
+        follower.follow(profile);
+        Clock clock = new Clock(profile.getDuration());
+
+        // The follower keeps the state it calculates
+        AllocationMeter.assertAllocatesAtMostBaseline("MotionProfileFollower.update",
+                () -> result = new MotionProfile.State(clock.next(), 1.0, 0.0, 0.0),
+                () -> follower.update(1.0, clock.next(), DT));
+    }
+
+    @Test
+    public void trajectoryFollowerUpdate() {
+        HolonomicMotionProfiledTrajectoryFollower follower = new HolonomicMotionProfiledTrajectoryFollower(
+                new PidConstants(0.4, 0.0, 0.025),
+                new PidConstants(5.0, 0.0, 0.0),
+                FEEDFORWARD
+        );
+        Pose2d pose = new Pose2d(new Translation2d(0.1, -0.1), Rotation2d.fromDegrees(5.0));
+        Translation2d velocity = new Translation2d(1.0, 0.0);
+        TrajectorySamples samples = new TrajectorySamples(TRAJECTORY);
+        Clock clock = new Clock(TRAJECTORY.getDuration());
+
+        // The follower keeps the trajectory state it calculates, passes the velocity and acceleration along it to
+        // the feedforward and returns a drive signal
+        AllocationMeter.assertAllocatesAtMostBaseline("TrajectoryFollower.update", () -> {
+            Trajectory.State state = samples.next(TRAJECTORY.getPath());
+            result = state;
+            // The velocity and acceleration passed to the feedforward and the feedforward it returns
+            result = new Translation2d(state.getVelocity(), 0.0);
+            result = new Translation2d(state.getAcceleration(), 0.0);
+            result = new Translation2d(state.getVelocity(), state.getAcceleration());
+            result = Optional.of(new HolonomicDriveSignal(new Translation2d(state.getVelocity(), 0.0),
+                    state.getAcceleration(), true));
+        }, () -> {
+            double time = clock.next();
+            if (clock.isAtStart()) {
+                // Restart the trajectory so every update does the full amount of work
+                follower.follow(TRAJECTORY);
+            }
+            result = follower.update(pose, velocity, 0.0, time, DT);
+        });
+    }
+}
@@ -0,0 +1,132 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.io.ReplayLog;
+import org.frcteam2910.common.io.ReplayLogReader;
+import org.frcteam2910.common.io.ReplayLogWriter;
+import org.frcteam2910.common.util.DrivetrainFeedforwardConstants;
+import org.frcteam2910.common.util.HolonomicDriveSignal;
+import org.frcteam2910.common.util.HolonomicFeedforward;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class FollowerReplayTest {
+    private static final Trajectory TRAJECTORY = new Trajectory(
+            new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d())
+                    .hermite(new Translation2d(3.0, 1.0), new Rotation2d())
+                    .build(),
+            new TrajectoryConstraint[]{
+                    new MaxVelocityConstraint(3.0),
+                    new MaxAccelerationConstraint(3.0)
+            },
+            1.0e-2
+    );
+
+    private static HolonomicMotionProfiledTrajectoryFollower createFollower(double p) {
+        HolonomicMotionProfiledTrajectoryFollower follower = new HolonomicMotionProfiledTrajectoryFollower(
+                new PidConstants(p, 0.1, 0.01),
+                new PidConstants(1.0, 0.0, 0.0),
+                new HolonomicFeedforward(new DrivetrainFeedforwardConstants(0.3, 0.05, 0.02))
+        );
+        follower.follow(TRAJECTORY);
+        return follower;
+    }
+
+    private static ReplayLog record() throws IOException {
+        HolonomicMotionProfiledTrajectoryFollower follower = createFollower(1.0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReplayLogWriter writer = new ReplayLogWriter(out)) {
+            // Crudely integrate the drive signal so the follower sees a moving robot
+            Pose2d pose = new Pose2d(0.1, -0.1, Rotation2d.fromDegrees(5.0));
+            Translation2d velocity = new Translation2d();
+            double time = 0.0;
+            for (int i = 0; i < 200; i++) {
+                Optional<HolonomicDriveSignal> signal = follower.update(pose, velocity, 0.0, time, 0.02);
+                writer.write(pose, velocity, 0.0, time, 0.02, signal);
+
+                if (signal.isPresent()) {
+                    velocity = signal.get().getTranslation().times(3.0);
+                    pose = new Pose2d(pose.getTranslation().plus(velocity.times(0.02)), pose.getRotation());
+                }
+                time += 0.02;
+            }
+        }
+
+        try (ReplayLogReader reader = new ReplayLogReader(new ByteArrayInputStream(out.toByteArray()))) {
+            return reader.read();
+        }
+    }
+
+    @Test
+    public void replayOfSameFollowerIsIdentical() throws IOException {
+        ReplayLog log = record();
+        assertEquals(200, log.getUpdateCount());
+        assertNull("Follower should be finished by the end of the log", log.getSignal(199));
+
+        FollowerReplay.Result result = FollowerReplay.replay(createFollower(1.0), log);
+        assertTrue(result.isIdentical());
+        assertEquals(-1, result.getFirstMismatch());
+    }
+
+    @Test
+    public void replayDetectsChangedGains() throws IOException {
+        FollowerReplay.Result result = FollowerReplay.replay(createFollower(1.0 + 1.0e-12), record());
+
+        assertFalse(result.isIdentical());
+        assertEquals(0, result.getFirstMismatch());
+    }
+
+    @Test
+    public void replayAllKeepsCaseOrder() throws IOException {
+        ReplayLog log = record();
+        List<FollowerReplay.Result> results = FollowerReplay.replayAll(Arrays.asList(
+                new FollowerReplay.Case(log, () -> createFollower(1.0)),
+                new FollowerReplay.Case(log, () -> createFollower(2.0)),
+                new FollowerReplay.Case(log, () -> createFollower(1.0))
+        ), 2);
+
+        assertTrue(results.get(0).isIdentical());
+        assertFalse(results.get(1).isIdentical());
+        assertTrue(results.get(2).isIdentical());
+    }
+
+    @Test
+    public void logKeepsRotationsExactly() throws IOException {
+        Rotation2d[] rotations = {
+                Rotation2d.fromDegrees(5.0),
+                new Rotation2d(3.0, 4.0),
+                // Neither constructor recreates this one exactly
+                Rotation2d.fromDegrees(52.0).rotateBy(Rotation2d.fromDegrees(9.0)),
+                new Rotation2d(7.0 * Math.PI)
+        };
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ReplayLogWriter writer = new ReplayLogWriter(out)) {
+            for (Rotation2d rotation : rotations) {
+                writer.write(new Pose2d(new Translation2d(), rotation), new Translation2d(), 0.0, 0.0, 0.02,
+                        Optional.empty());
+            }
+        }
+
+        try (ReplayLogReader reader = new ReplayLogReader(new ByteArrayInputStream(out.toByteArray()))) {
+            ReplayLog log = reader.read();
+            for (int i = 0; i < rotations.length; i++) {
+                Rotation2d rotation = log.getPose(i).getRotation();
+                assertEquals(rotations[i].getRadians(), rotation.getRadians(), 0.0);
+                assertEquals(rotations[i].getCos(), rotation.getCos(), 0.0);
+                assertEquals(rotations[i].getSin(), rotation.getSin(), 0.0);
+            }
+        }
+    }
+}
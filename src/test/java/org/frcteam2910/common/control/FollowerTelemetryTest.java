@@ -0,0 +1,113 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.util.DrivetrainFeedforwardConstants;
+import org.frcteam2910.common.util.HolonomicFeedforward;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class FollowerTelemetryTest {
+    private static final PidController IDLE_CONTROLLER = new PidController(new PidConstants(0.0, 0.0, 0.0));
+
+    private static void record(FollowerTelemetry telemetry, double value) {
+        telemetry.record(value, value, value, value, value, value, value,
+                IDLE_CONTROLLER, IDLE_CONTROLLER, IDLE_CONTROLLER, value, value);
+    }
+
+    @Test
+    public void followerRecordsEveryUpdate() {
+        HolonomicMotionProfiledTrajectoryFollower follower = new HolonomicMotionProfiledTrajectoryFollower(
+                new PidConstants(1.0, 0.0, 0.0),
+                new PidConstants(1.0, 0.0, 0.0),
+                new HolonomicFeedforward(new DrivetrainFeedforwardConstants(1.0, 0.0, 0.0))
+        );
+        Path path = new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d())
+                .hermite(new Translation2d(5.0, 0.0), new Rotation2d())
+                .build();
+        follower.follow(new Trajectory(path, new TrajectoryConstraint[]{
+                new MaxVelocityConstraint(5.0),
+                new MaxAccelerationConstraint(5.0)
+        }, 1.0e-2));
+
+        Pose2d pose = new Pose2d(0.0, 0.5, new Rotation2d());
+        for (int i = 0; i < 10; i++) {
+            follower.update(pose, new Translation2d(), 0.0, i * 0.02, 0.02);
+        }
+
+        FollowerTelemetry telemetry = follower.getTelemetry();
+        assertEquals(9, telemetry.getLatestSequence());
+
+        FollowerTelemetry.Sample sample = new FollowerTelemetry.Sample();
+        assertTrue(telemetry.read(9, sample));
+        assertEquals(0.18, sample.time, 1.0e-9);
+        assertEquals(0.5, sample.measuredY, 1.0e-9);
+        assertEquals(-0.5, sample.strafeP, 1.0e-9);
+        assertEquals(follower.getLastState().getPathState().getPosition().getX(), sample.setpointX, 1.0e-9);
+
+        assertEquals(10, telemetry.getTranslationError().getCount());
+        assertTrue(telemetry.getTranslationError().getMax() >= 0.5);
+        assertTrue(telemetry.getTranslationError().getRms() >= 0.5);
+        assertEquals(0.0, telemetry.getRotationError().getMax(), 1.0e-9);
+    }
+
+    @Test
+    public void overwrittenSamplesAreUnavailable() {
+        FollowerTelemetry telemetry = new FollowerTelemetry(4);
+        FollowerTelemetry.Sample sample = new FollowerTelemetry.Sample();
+        assertFalse(telemetry.read(0, sample));
+
+        for (int i = 0; i < 6; i++) {
+            record(telemetry, i);
+        }
+
+        assertEquals(2, telemetry.getOldestSequence());
+        assertFalse(telemetry.read(1, sample));
+        assertFalse(telemetry.read(6, sample));
+        assertTrue(telemetry.read(2, sample));
+        assertEquals(2.0, sample.time, 0.0);
+    }
+
+    @Test
+    public void readersNeverSeeTornSamples() throws InterruptedException {
+        FollowerTelemetry telemetry = new FollowerTelemetry(8);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong tornSamples = new AtomicLong();
+
+        Thread[] readers = new Thread[2];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(() -> {
+                FollowerTelemetry.Sample sample = new FollowerTelemetry.Sample();
+                while (running.get()) {
+                    long sequence = telemetry.getLatestSequence();
+                    if (telemetry.read(sequence, sample) && (sample.time != sequence ||
+                            sample.setpointX != sequence || sample.measuredRotation != sequence ||
+                            sample.feedforwardY != sequence)) {
+                        tornSamples.incrementAndGet();
+                    }
+                }
+            });
+            readers[i].start();
+        }
+
+        for (int i = 0; i < 1_000_000; i++) {
+            record(telemetry, i);
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(0, tornSamples.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMustBePowerOfTwo() {
+        new FollowerTelemetry(100);
+    }
+}
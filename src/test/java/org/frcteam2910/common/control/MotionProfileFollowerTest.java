@@ -0,0 +1,110 @@
+package org.frcteam2910.common.control;
+
+import org.frcteam2910.common.motion.MotionProfile;
+import org.frcteam2910.common.motion.SCurveMotionProfile;
+import org.frcteam2910.common.motion.SampledMotionProfile;
+import org.frcteam2910.common.motion.TrapezoidalMotionProfile;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MotionProfileFollowerTest {
+    private static final double DT = 5.0e-3;
+
+    private static final MotionProfile.Constraints CONSTRAINTS = new MotionProfile.Constraints(2.0, 4.0);
+
+    @Test
+    public void replanningEveryUpdateIsContinuous() {
+        MotionProfileFollower follower = new MotionProfileFollower(new PidController(new PidConstants(0.0, 0.0, 0.0)),
+                0.0, 0.0);
+        follower.follow(new TrapezoidalMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(1.0, 0.0), CONSTRAINTS));
+
+        MotionProfile.State previousState = null;
+        double time = 0.0;
+        for (int i = 0; i < 2000; i++) {
+            // The goal sweeps back and forth for the first 5 seconds then stops at 1.5
+            double goal = time < 5.0 ? 1.5 + Math.sin(2.0 * time) : 1.5;
+            follower.replan(new MotionProfile.Goal(goal, 0.0));
+            follower.update(0.0, time, DT);
+
+            MotionProfile.State state = follower.getLastState().orElseThrow(AssertionError::new);
+            if (previousState != null) {
+                assertTrue("Velocity jumped",
+                        Math.abs(state.velocity - previousState.velocity) <= CONSTRAINTS.maxAcceleration * DT + 1.0e-9);
+                // Acceleration can change part way through an update so allow for that
+                assertEquals("Position jumped", (state.velocity + previousState.velocity) / 2.0 * DT,
+                        state.position - previousState.position, CONSTRAINTS.maxAcceleration * DT * DT);
+            }
+
+            previousState = state;
+            time += DT;
+        }
+
+        assertEquals(1.5, previousState.position, 1.0e-9);
+        assertEquals(0.0, previousState.velocity, 1.0e-9);
+    }
+
+    @Test
+    public void replanningSCurveEveryUpdateLimitsJerk() {
+        double maxJerk = 20.0;
+        MotionProfileFollower follower = new MotionProfileFollower(new PidController(new PidConstants(0.0, 0.0, 0.0)),
+                0.0, 0.0);
+        follower.follow(new SCurveMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(1.0, 0.0), CONSTRAINTS, maxJerk));
+
+        MotionProfile.State previousState = null;
+        double maxAcceleration = 0.0;
+        double time = 0.0;
+        for (int i = 0; i < 2000; i++) {
+            double goal = time < 5.0 ? 1.5 + Math.sin(2.0 * time) : 1.5;
+            follower.replan(new MotionProfile.Goal(goal, 0.0));
+            follower.update(0.0, time, DT);
+
+            MotionProfile.State state = follower.getLastState().orElseThrow(AssertionError::new);
+            if (previousState != null) {
+                assertTrue("Acceleration jumped",
+                        Math.abs(state.acceleration - previousState.acceleration) <= maxJerk * DT + 1.0e-9);
+                assertEquals("Velocity jumped", (state.acceleration + previousState.acceleration) / 2.0 * DT,
+                        state.velocity - previousState.velocity, maxJerk * DT * DT);
+            }
+            maxAcceleration = Math.max(maxAcceleration, Math.abs(state.acceleration));
+
+            previousState = state;
+            time += DT;
+        }
+
+        // Replanning from the commanded acceleration doesn't keep pulling it back towards zero
+        assertEquals(CONSTRAINTS.maxAcceleration, maxAcceleration, 1.0e-9);
+        assertEquals(1.5, previousState.position, 1.0e-6);
+        assertEquals(0.0, previousState.velocity, 1.0e-6);
+    }
+
+    @Test
+    public void profilesThatCanNotReplanAreReplacedWhenReplanned() {
+        MotionProfileFollower follower = new MotionProfileFollower(new PidController(new PidConstants(0.0, 0.0, 0.0)),
+                0.0, 0.0);
+        MotionProfile profile = new SampledMotionProfile(new TrapezoidalMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(1.0, 0.0), CONSTRAINTS), DT);
+        assertFalse(profile.canReplan());
+        follower.follow(profile);
+
+        follower.update(0.0, 0.0, DT);
+        follower.update(0.0, DT, DT);
+        MotionProfile.State state = follower.getLastState().orElseThrow(AssertionError::new);
+        follower.replan(new MotionProfile.Goal(-1.0, 0.0));
+        follower.update(0.0, 2.0 * DT, DT);
+
+        MotionProfile.State replannedState = follower.getLastState().orElseThrow(AssertionError::new);
+        assertEquals(state.velocity, replannedState.velocity, CONSTRAINTS.maxAcceleration * DT + 1.0e-9);
+        assertEquals(CONSTRAINTS.maxAcceleration, follower.getCurrentMotionProfile().getConstraints().maxAcceleration,
+                0.0);
+        assertEquals(-1.0, follower.getCurrentMotionProfile().getEnd().position, 0.0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void replanRequiresProfile() {
+        new MotionProfileFollower(new PidController(new PidConstants(0.0, 0.0, 0.0)), 0.0, 0.0)
+                .replan(new MotionProfile.Goal(1.0, 0.0));
+    }
+}
@@ -0,0 +1,141 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.OptionalDouble;
+
+import static org.junit.Assert.*;
+
+public class PathCollisionCheckerTest {
+    private static final double SAMPLE_DISTANCE = 1.0e-2;
+
+    private static final Translation2d[] FOOTPRINT = {
+            new Translation2d(-0.5, -0.5),
+            new Translation2d(0.5, -0.5),
+            new Translation2d(0.5, 0.5),
+            new Translation2d(-0.5, 0.5)
+    };
+
+    private static Path createLine(Rotation2d rotation) {
+        return new SimplePathBuilder(new Translation2d(), rotation)
+                .lineTo(new Translation2d(10.0, 0.0), rotation)
+                .build();
+    }
+
+    @Test
+    public void findsFirstCollision() {
+        PathCollisionChecker checker = new PathCollisionChecker(new Obstacle[]{
+                Obstacle.rectangle(new Translation2d(5.0, 0.0), 2.0, 2.0),
+                Obstacle.rectangle(new Translation2d(8.0, 0.0), 2.0, 2.0)
+        }, FOOTPRINT, SAMPLE_DISTANCE);
+
+        // The front of the robot reaches the first obstacle when its center is at 3.5
+        OptionalDouble collision = checker.findFirstCollision(createLine(new Rotation2d()));
+        assertTrue("Collision was not found", collision.isPresent());
+        assertEquals(3.5, collision.getAsDouble(), SAMPLE_DISTANCE);
+        assertTrue("Collision was found before the robot reached the obstacle", collision.getAsDouble() > 3.5);
+    }
+
+    @Test
+    public void footprintIsRotatedWithPath() {
+        PathCollisionChecker checker = new PathCollisionChecker(new Obstacle[]{
+                Obstacle.rectangle(new Translation2d(5.0, 1.2), 2.0, 1.0)
+        }, FOOTPRINT, SAMPLE_DISTANCE);
+
+        // The corners of the robot only reach the obstacle when it is rotated
+        assertFalse("Robot that clears the obstacle collided",
+                checker.findFirstCollision(createLine(new Rotation2d())).isPresent());
+        assertTrue("Rotated robot did not collide",
+                checker.findFirstCollision(createLine(Rotation2d.fromDegrees(45.0))).isPresent());
+    }
+
+    @Test
+    public void parallelMatchesSequential() {
+        SplinePathBuilder builder = new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d());
+        for (int i = 1; i <= 6; i++) {
+            builder.hermite(new Translation2d(10.0 * i, i % 2 == 0 ? 0.0 : 10.0), new Rotation2d(),
+                    Rotation2d.fromDegrees(30.0 * i));
+        }
+        Path path = builder.build();
+
+        PathCollisionChecker clearChecker = new PathCollisionChecker(new Obstacle[]{
+                Obstacle.rectangle(new Translation2d(20.0, 30.0), 2.0, 2.0)
+        }, FOOTPRINT, SAMPLE_DISTANCE);
+        assertFalse(clearChecker.findFirstCollision(path).isPresent());
+        assertFalse(clearChecker.findFirstCollision(path, 4).isPresent());
+
+        // Obstacles on the last spline and on the second to last spline
+        PathCollisionChecker checker = new PathCollisionChecker(new Obstacle[]{
+                Obstacle.rectangle(path.calculate(path.getLength() - 2.0).getPosition(), 0.5, 0.5),
+                Obstacle.rectangle(path.calculate(path.getLength() - 20.0).getPosition(), 0.5, 0.5)
+        }, FOOTPRINT, SAMPLE_DISTANCE);
+        OptionalDouble sequential = checker.findFirstCollision(path);
+        OptionalDouble parallel = checker.findFirstCollision(path, 4);
+        assertTrue("Collision was not found", sequential.isPresent());
+        assertTrue("Collision was found after the first obstacle",
+                sequential.getAsDouble() < path.getLength() - 20.0);
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void splineBoundsContainSpline() {
+        SplinePathBuilder builder = new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d());
+        builder.hermite(new Translation2d(5.0, 5.0), Rotation2d.fromDegrees(180.0), new Rotation2d());
+        PathSegment segment = builder.build().getSegments()[0];
+
+        double[] bounds = PathCollisionChecker.getBounds(segment, SAMPLE_DISTANCE);
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (double distance = 0.0; distance <= segment.getLength(); distance += 1.0e-3) {
+            Translation2d position = segment.calculate(distance).getPosition();
+            minX = Math.min(minX, position.getX());
+            minY = Math.min(minY, position.getY());
+            maxX = Math.max(maxX, position.getX());
+            maxY = Math.max(maxY, position.getY());
+        }
+
+        // The spline overshoots the goal in x before turning back to it
+        assertTrue("Spline does not overshoot", maxX > 5.0 + 0.1);
+        assertEquals(minX, bounds[0], 1.0e-3);
+        assertEquals(minY, bounds[1], 1.0e-3);
+        assertEquals(maxX, bounds[2], 1.0e-3);
+        assertEquals(maxY, bounds[3], 1.0e-3);
+    }
+
+    @Test
+    public void arcBoundsContainArc() {
+        double offset = Math.sqrt(2.0) / 2.0;
+        Path path = new SimplePathBuilder(new Translation2d(offset, -offset), new Rotation2d())
+                .arcTo(new Translation2d(offset, offset), new Translation2d(), new Rotation2d())
+                .build();
+        double[] bounds = PathCollisionChecker.getBounds(path.getSegments()[0], SAMPLE_DISTANCE);
+
+        // The arc passes through the x axis so it reaches further than its ends
+        assertArrayEquals(new double[]{offset, -offset, 1.0, offset}, bounds, 1.0e-9);
+    }
+
+    @Test
+    public void findsRootsOfPolynomial() {
+        // (t - 0.25)(t - 0.5)(t - 2) = t^3 - 2.75t^2 + 1.625t - 0.25
+        List<Double> roots = PathCollisionChecker.findRoots(new double[]{-0.25, 1.625, -2.75, 1.0});
+
+        assertEquals(2, roots.size());
+        assertEquals(0.25, roots.get(0), 1.0e-9);
+        assertEquals(0.5, roots.get(1), 1.0e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void concaveFootprintIsRejected() {
+        new PathCollisionChecker(new Obstacle[0], new Translation2d[]{
+                new Translation2d(0.0, 0.0),
+                new Translation2d(1.0, 0.0),
+                new Translation2d(0.2, 0.2),
+                new Translation2d(0.0, 1.0)
+        }, SAMPLE_DISTANCE);
+    }
+}
@@ -0,0 +1,117 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PathTest {
+    private static final Path SPLINE_PATH = new SplinePathBuilder(new Translation2d(), Rotation2d.fromDegrees(0.0),
+            Rotation2d.fromDegrees(0.0))
+            .hermite(new Translation2d(5.0, 3.0), Rotation2d.fromDegrees(90.0))
+            .hermite(new Translation2d(2.0, 6.0), Rotation2d.fromDegrees(180.0))
+            .build();
+
+    private static final Path SIMPLE_PATH = new SimplePathBuilder(new Translation2d(), Rotation2d.fromDegrees(0.0))
+            .lineTo(new Translation2d(4.0, 0.0))
+            .arcTo(new Translation2d(6.0, 2.0), new Translation2d(4.0, 2.0))
+            .lineTo(new Translation2d(6.0, 5.0))
+            .build();
+
+    /**
+     * Finds the closest point by checking every point along the path, first coarsely and then around the closest
+     * coarse point.
+     */
+    private static double projectByScanning(Path path, Translation2d position) {
+        double closestDistance = scan(path, position, 0.0, path.getLength(), 1.0e-2);
+        return scan(path, position, Math.max(0.0, closestDistance - 1.0e-2),
+                Math.min(path.getLength(), closestDistance + 1.0e-2), 1.0e-6);
+    }
+
+    private static double scan(Path path, Translation2d position, double minDistance, double maxDistance,
+                               double step) {
+        double closestDistance = minDistance;
+        double closestDistanceToPosition = Double.POSITIVE_INFINITY;
+        int steps = (int) Math.ceil((maxDistance - minDistance) / step);
+        for (int i = 0; i <= steps; i++) {
+            double distance = Math.min(minDistance + i * step, maxDistance);
+            double distanceToPosition = path.calculate(distance).getPosition().getDistance(position);
+            if (distanceToPosition < closestDistanceToPosition) {
+                closestDistance = distance;
+                closestDistanceToPosition = distanceToPosition;
+            }
+        }
+
+        return closestDistance;
+    }
+
+    private static void assertProjectsToClosestPoint(Path path) {
+        Random random = new Random(2910);
+        for (int i = 0; i < 100; i++) {
+            Translation2d position = new Translation2d(random.nextDouble() * 8.0 - 1.0,
+                    random.nextDouble() * 8.0 - 1.0);
+
+            double expected = projectByScanning(path, position);
+            double actual = path.project(position);
+
+            // Compare how close the points are rather than the distances in case two points are equally close
+            assertEquals(path.calculate(expected).getPosition().getDistance(position),
+                    path.calculate(actual).getPosition().getDistance(position), 1.0e-6);
+        }
+    }
+
+    @Test
+    public void projectsOntoSplinePath() {
+        assertProjectsToClosestPoint(SPLINE_PATH);
+    }
+
+    @Test
+    public void projectsOntoLinesAndArcs() {
+        assertProjectsToClosestPoint(SIMPLE_PATH);
+
+        assertEquals(2.0, SIMPLE_PATH.project(new Translation2d(2.0, -1.0)), 1.0e-9);
+        assertEquals(4.0 + Math.PI / 3.0, SIMPLE_PATH.project(new Translation2d(5.0, 2.0 - Math.sqrt(3.0))), 1.0e-9);
+        assertEquals(SIMPLE_PATH.getLength(), SIMPLE_PATH.project(new Translation2d(6.0, 10.0)), 1.0e-9);
+    }
+
+    @Test
+    public void projectionOfPointOnPathIsItsDistance() {
+        for (double distance = 0.0; distance <= SPLINE_PATH.getLength(); distance += 0.1) {
+            Translation2d position = SPLINE_PATH.calculate(distance).getPosition();
+            assertEquals(distance, SPLINE_PATH.project(position), 1.0e-6);
+        }
+    }
+
+    @Test
+    public void hintedProjectionOnlySearchesNearHint() {
+        // The end of the path comes back close to the start
+        Path path = new SimplePathBuilder(new Translation2d(), Rotation2d.fromDegrees(0.0))
+                .lineTo(new Translation2d(4.0, 0.0))
+                .lineTo(new Translation2d(4.0, 1.0))
+                .lineTo(new Translation2d(0.0, 1.0))
+                .build();
+        Translation2d position = new Translation2d(1.0, 0.4);
+
+        assertEquals(1.0, path.project(position), 1.0e-9);
+        assertEquals(8.0, path.project(position, 8.0, 1.0), 1.0e-9);
+        assertEquals(7.5, path.project(new Translation2d(-1.0, 1.0), 6.0, 1.5), 1.0e-9);
+    }
+
+    @Test
+    public void projectionWithoutSearchDistanceReturnsHint() {
+        assertEquals(3.0, SIMPLE_PATH.project(new Translation2d(1.0, 1.0), 3.0, 0.0), 1.0e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void projectionRejectsNegativeSearchDistance() {
+        SIMPLE_PATH.project(new Translation2d(), 1.0, -1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void projectionRejectsNaNHint() {
+        SIMPLE_PATH.project(new Translation2d(), Double.NaN, 1.0);
+    }
+}
@@ -0,0 +1,35 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.math.MathUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SimplePathBuilderTest {
+    @Test
+    public void arcSegmentTest() {
+        // Quarter circle counter-clockwise around (0, 5) starting at the origin
+        PathSegment arc = new SimplePathBuilder.ArcSegment(new Translation2d(), new Translation2d(5.0, 5.0),
+                new Translation2d(0.0, 5.0));
+
+        assertEquals(5.0 * Math.PI / 2.0, arc.getLength(), MathUtils.EPSILON);
+        assertEquals(new Translation2d(), arc.getStart().getPosition());
+        assertEquals(new Translation2d(5.0, 5.0), arc.getEnd().getPosition());
+        assertEquals(new Rotation2d(), arc.getStart().getHeading());
+        assertEquals(Rotation2d.fromDegrees(90.0), arc.getEnd().getHeading());
+        assertEquals(0.2, arc.getStart().getCurvature(), MathUtils.EPSILON);
+
+        PathSegment.State middle = arc.calculate(arc.getLength() / 2.0);
+        assertEquals(5.0, middle.getPosition().minus(new Translation2d(0.0, 5.0)).getNorm(), MathUtils.EPSILON);
+        assertEquals(Rotation2d.fromDegrees(45.0), middle.getHeading());
+
+        // Same arc travelled clockwise
+        PathSegment reversed = new SimplePathBuilder.ArcSegment(new Translation2d(5.0, 5.0), new Translation2d(),
+                new Translation2d(0.0, 5.0));
+        assertEquals(new Translation2d(), reversed.getEnd().getPosition());
+        assertEquals(Rotation2d.fromDegrees(-90.0), reversed.getStart().getHeading());
+        assertEquals(-0.2, reversed.getStart().getCurvature(), MathUtils.EPSILON);
+    }
+}
@@ -0,0 +1,53 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Translation2d;
+import org.ejml.simple.SimpleMatrix;
+import org.frcteam2910.common.math.spline.CubicHermiteSpline;
+import org.frcteam2910.common.math.spline.Spline;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SplinePathSegmentTest {
+    private static final double ALLOWABLE_ERROR = 1.0e-9;
+
+    @Test
+    public void lengthOfParabola() {
+        // x = t, y = t^2
+        Spline spline = new Spline(SimpleMatrix.identity(3), new SimpleMatrix(new double[][]{
+                new double[]{0.0, 0.0},
+                new double[]{1.0, 0.0},
+                new double[]{0.0, 1.0}
+        }));
+
+        double expected = (2.0 * Math.sqrt(5.0) + Math.log(2.0 + Math.sqrt(5.0))) / 4.0;
+        assertEquals(expected, new SplinePathSegment(spline).getLength(), ALLOWABLE_ERROR);
+    }
+
+    @Test
+    public void lengthOfSplineThatStops() {
+        // The speed is zero at both ends of the spline, which is where the quadrature converges slowest
+        Spline spline = new CubicHermiteSpline(new Translation2d(1.0, 2.0), new Translation2d(),
+                new Translation2d(4.0, 6.0), new Translation2d());
+
+        assertEquals(5.0, new SplinePathSegment(spline).getLength(), ALLOWABLE_ERROR);
+    }
+
+    @Test
+    public void lengthOfSplineWithCusp() {
+        // x = 3t(2t - 1)(t - 1) turns around with a speed of zero at t = (3 +/- sqrt(3)) / 6, where it reaches
+        // +/- sqrt(3) / 6
+        Spline spline = new CubicHermiteSpline(new Translation2d(), new Translation2d(3.0, 0.0),
+                new Translation2d(), new Translation2d(3.0, 0.0));
+
+        assertEquals(4.0 * Math.sqrt(3.0) / 6.0, new SplinePathSegment(spline).getLength(), ALLOWABLE_ERROR);
+    }
+
+    @Test
+    public void lengthOfPointIsZero() {
+        Spline spline = new CubicHermiteSpline(new Translation2d(1.0, 1.0), new Translation2d(),
+                new Translation2d(1.0, 1.0), new Translation2d());
+
+        assertEquals(0.0, new SplinePathSegment(spline).getLength(), 0.0);
+    }
+}
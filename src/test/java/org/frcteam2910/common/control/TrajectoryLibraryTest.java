@@ -0,0 +1,88 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TrajectoryLibraryTest {
+    private static final double SAMPLE_DISTANCE = 1.0e-2;
+    private static final TrajectoryConstraint[] CONSTRAINTS = {
+            new MaxVelocityConstraint(4.0),
+            new MaxAccelerationConstraint(3.0)
+    };
+
+    private static final Pose2d GOAL = new Pose2d(10.0, 2.0, Rotation2d.fromDegrees(90.0));
+
+    private static Trajectory createTrajectory(Translation2d start) {
+        Path path = new SimplePathBuilder(start, GOAL.getRotation())
+                .lineTo(new Translation2d(start.getX(), GOAL.getY()))
+                .lineTo(GOAL.getTranslation(), GOAL.getRotation())
+                .build();
+        return new Trajectory(path, CONSTRAINTS, SAMPLE_DISTANCE);
+    }
+
+    private static final TrajectoryLibrary LIBRARY = new TrajectoryLibrary(new Pose2d[]{GOAL, new Pose2d()},
+            new Trajectory[][]{
+                    {
+                            createTrajectory(new Translation2d(0.0, 0.0)),
+                            createTrajectory(new Translation2d(0.0, 5.0)),
+                            createTrajectory(new Translation2d(5.0, 5.0))
+                    },
+                    {}
+            });
+
+    @Test
+    public void findsNearestTrajectory() {
+        Trajectory trajectory = LIBRARY.getNearestTrajectory(new Translation2d(4.0, 4.0), 0);
+
+        assertEquals(new Translation2d(5.0, 5.0), trajectory.getPath().calculate(0.0).getPosition());
+        assertNull(LIBRARY.getNearestTrajectory(new Translation2d(), 1));
+    }
+
+    @Test
+    public void splicedTrajectoryStartsAtPose() {
+        Pose2d pose = new Pose2d(0.3, 4.6, Rotation2d.fromDegrees(-30.0));
+        Trajectory stored = LIBRARY.getNearestTrajectory(pose.getTranslation(), 0);
+        Trajectory trajectory = LIBRARY.getTrajectory(pose, 0);
+
+        Trajectory.State start = trajectory.calculate(0.0);
+        assertEquals(0.0, start.getPathState().getPosition().getDistance(pose.getTranslation()), 1.0e-9);
+        assertEquals(-30.0, start.getPathState().getRotation().getDegrees(), 1.0e-9);
+        assertEquals(0.0, start.getVelocity(), 1.0e-9);
+
+        Trajectory.State end = trajectory.calculate(trajectory.getDuration());
+        assertEquals(0.0, end.getPathState().getPosition().getDistance(GOAL.getTranslation()), 1.0e-6);
+        assertEquals(90.0, end.getPathState().getRotation().getDegrees(), 1.0e-9);
+        assertEquals(0.0, end.getVelocity(), 1.0e-6);
+
+        // The end of the spliced trajectory is the stored trajectory shifted in time
+        double connectorDuration = trajectory.getDuration() - stored.getDuration();
+        assertTrue(connectorDuration > 0.0);
+        for (double time = 0.0; time < stored.getDuration(); time += 0.05) {
+            assertEquals(stored.calculate(time).getVelocity(),
+                    trajectory.calculate(time + connectorDuration).getVelocity(), 1.0e-6);
+        }
+
+        Translation2d previousPosition = start.getPathState().getPosition();
+        for (double time = 0.0; time <= trajectory.getDuration(); time += 1.0e-3) {
+            Trajectory.State state = trajectory.calculate(time);
+            assertTrue("Velocity exceeded max velocity", state.getVelocity() <= 4.0 + 1.0e-9);
+
+            Translation2d position = state.getPathState().getPosition();
+            assertTrue("Position is not continuous", position.getDistance(previousPosition) <= 4.0 * 1.0e-3 + 1.0e-6);
+            previousPosition = position;
+        }
+    }
+
+    @Test
+    public void splicingAtStoredStartKeepsStoredTrajectory() {
+        Trajectory stored = LIBRARY.getNearestTrajectory(new Translation2d(), 0);
+        Trajectory trajectory = LIBRARY.getTrajectory(new Pose2d(0.0, 0.0, GOAL.getRotation()), 0);
+
+        assertEquals(stored.getDuration(), trajectory.getDuration(), 1.0e-9);
+        assertEquals(stored.getPath().getLength(), trajectory.getPath().getLength(), 1.0e-9);
+    }
+}
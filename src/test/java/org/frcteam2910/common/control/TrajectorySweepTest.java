@@ -0,0 +1,102 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.junit.Test;
+
+import java.util.OptionalDouble;
+
+import static org.junit.Assert.*;
+
+public class TrajectorySweepTest {
+    private static final double SAMPLE_DISTANCE = 1.0e-2;
+    private static final double TIME_STEP = 5.0e-3;
+    private static final TrajectoryConstraint[] CONSTRAINTS = {
+            new MaxVelocityConstraint(4.0),
+            new MaxAccelerationConstraint(3.0)
+    };
+
+    private static TrajectorySweep createSweep(Translation2d... positions) {
+        SimplePathBuilder builder = new SimplePathBuilder(positions[0], new Rotation2d());
+        for (int i = 1; i < positions.length; i++) {
+            builder.lineTo(positions[i]);
+        }
+        return new TrajectorySweep(new Trajectory(builder.build(), CONSTRAINTS, SAMPLE_DISTANCE));
+    }
+
+    private static OptionalDouble findEarliestApproachByScanning(TrajectorySweep a, TrajectorySweep b,
+                                                                 double distance) {
+        double duration = Math.max(a.getTrajectory().getDuration(), b.getTrajectory().getDuration());
+        for (long step = 0; step * TIME_STEP <= duration + TIME_STEP; step++) {
+            double time = step * TIME_STEP;
+            if (a.getPosition(time).getDistance(b.getPosition(time)) < distance) {
+                return OptionalDouble.of(time);
+            }
+        }
+
+        return OptionalDouble.empty();
+    }
+
+    private static void assertMatchesScanning(TrajectorySweep a, TrajectorySweep b, double distance) {
+        OptionalDouble expected = findEarliestApproachByScanning(a, b, distance);
+        assertEquals(expected, a.findEarliestApproach(b, distance, TIME_STEP));
+        assertEquals(expected, b.findEarliestApproach(a, distance, TIME_STEP));
+    }
+
+    @Test
+    public void findsCrossingRobots() {
+        TrajectorySweep a = createSweep(new Translation2d(0.0, 0.0), new Translation2d(10.0, 0.0));
+        TrajectorySweep b = createSweep(new Translation2d(5.0, -5.0), new Translation2d(5.0, 5.0));
+
+        OptionalDouble approach = a.findEarliestApproach(b, 1.0, TIME_STEP);
+        assertTrue("Robots driving through the same point at the same time did not approach", approach.isPresent());
+        assertTrue("Approach was found after the robots met",
+                approach.getAsDouble() < a.getTrajectory().getDuration() / 2.0);
+        for (double distance = 0.5; distance <= 3.0; distance += 0.5) {
+            assertMatchesScanning(a, b, distance);
+        }
+    }
+
+    @Test
+    public void robotsThatPassAtDifferentTimesDoNotApproach() {
+        TrajectorySweep a = createSweep(new Translation2d(0.0, 0.0), new Translation2d(10.0, 0.0));
+        TrajectorySweep b = createSweep(new Translation2d(5.0, -12.0), new Translation2d(5.0, -1.0),
+                new Translation2d(5.0, 5.0));
+
+        assertFalse(a.findEarliestApproach(b, 0.5, TIME_STEP).isPresent());
+        for (double distance = 0.5; distance <= 3.0; distance += 0.5) {
+            assertMatchesScanning(a, b, distance);
+        }
+    }
+
+    @Test
+    public void finishedRobotsStayAtTheirEnd() {
+        // The first robot finishes long before the second robot drives through where it stopped
+        TrajectorySweep a = createSweep(new Translation2d(0.0, 0.0), new Translation2d(1.0, 0.0));
+        TrajectorySweep b = createSweep(new Translation2d(8.0, 0.0), new Translation2d(8.0, 2.0),
+                new Translation2d(1.0, 2.0), new Translation2d(1.0, -2.0));
+
+        OptionalDouble approach = a.findEarliestApproach(b, 1.0, TIME_STEP);
+        assertTrue("Robot driving through a finished robot did not approach", approach.isPresent());
+        assertTrue("Approach was found before the first robot finished",
+                approach.getAsDouble() > a.getTrajectory().getDuration());
+        assertMatchesScanning(a, b, 1.0);
+    }
+
+    @Test
+    public void findsEarliestApproachBetweenManyRobots() {
+        TrajectorySweep a = createSweep(new Translation2d(0.0, 0.0), new Translation2d(10.0, 0.0));
+        TrajectorySweep b = createSweep(new Translation2d(5.0, -5.0), new Translation2d(5.0, 5.0));
+        TrajectorySweep c = createSweep(new Translation2d(2.0, 2.0), new Translation2d(2.0, -2.0));
+
+        OptionalDouble ab = findEarliestApproachByScanning(a, b, 1.0);
+        OptionalDouble ac = findEarliestApproachByScanning(a, c, 1.0);
+        OptionalDouble bc = findEarliestApproachByScanning(b, c, 1.0);
+        double expected = Math.min(ab.orElse(Double.POSITIVE_INFINITY),
+                Math.min(ac.orElse(Double.POSITIVE_INFINITY), bc.orElse(Double.POSITIVE_INFINITY)));
+        assertTrue("Robots did not approach", Double.isFinite(expected));
+
+        OptionalDouble actual = TrajectorySweep.findEarliestApproach(new TrajectorySweep[]{a, b, c}, 1.0, TIME_STEP);
+        assertEquals(OptionalDouble.of(expected), actual);
+    }
+}
@@ -7,6 +7,8 @@ import org.frcteam2910.common.util.MovingAverage;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 public class TrajectoryTest {
     private static final double SAMPLE_DISTANCE = 1.0e-2;
 
@@ -59,6 +61,144 @@ public class TrajectoryTest {
         }
     }
 
+    /**
+     * Checks that the acceleration of the trajectory is continuous, starts and ends at zero and changes no faster than
+     * the jerk limit.
+     */
+    private static void assertJerkLimited(Trajectory trajectory, double maxJerk) {
+        Trajectory.StateTable table = trajectory.getStateTable();
+        double previousAcceleration = 0.0;
+        for (int i = 0; i < table.getStateCount(); i++) {
+            double duration = (i + 1 < table.getStateCount() ? table.startTimes[i + 1] : table.duration) -
+                    table.startTimes[i];
+            Assert.assertTrue("Jerk exceeded maximum jerk", Math.abs(table.jerks[i]) <= maxJerk + 1.0e-9);
+            Assert.assertEquals("Acceleration is not continuous", previousAcceleration, table.accelerations[i],
+                    1.0e-6);
+
+            previousAcceleration = table.accelerations[i] + table.jerks[i] * duration;
+        }
+        Assert.assertEquals("Trajectory should end without accelerating", 0.0, previousAcceleration, 1.0e-6);
+    }
+
+    /**
+     * Checks that the velocity and position of the trajectory are what its acceleration integrates to.
+     */
+    private static void assertAccelerationMatchesVelocity(Trajectory trajectory) {
+        Trajectory.StateTable table = trajectory.getStateTable();
+        for (int i = 0; i < table.getStateCount(); i++) {
+            double duration = (i + 1 < table.getStateCount() ? table.startTimes[i + 1] : table.duration) -
+                    table.startTimes[i];
+            Assert.assertEquals("Acceleration does not match velocity", table.endingVelocities[i],
+                    table.startingVelocities[i] + duration * (table.accelerations[i] + 0.5 * table.jerks[i] * duration),
+                    1.0e-6);
+            Assert.assertEquals("Velocity does not match position", table.lengths[i],
+                    duration * (table.startingVelocities[i] +
+                            duration * (0.5 * table.accelerations[i] + duration * table.jerks[i] / 6.0)), 1.0e-6);
+        }
+
+        Trajectory.State previousState = trajectory.calculate(0.0);
+        double velocity = previousState.getVelocity();
+        double distance = previousState.getPathState().getDistance();
+        int samples = (int) Math.ceil(trajectory.getDuration() / DT);
+        for (int i = 1; i <= samples; i++) {
+            double time = Math.min(i * DT, trajectory.getDuration());
+            double timeStep = time - (i - 1) * DT;
+            Trajectory.State currentState = trajectory.calculate(time);
+            velocity += 0.5 * (previousState.getAcceleration() + currentState.getAcceleration()) * timeStep;
+            distance += 0.5 * (previousState.getVelocity() + currentState.getVelocity()) * timeStep;
+
+            Assert.assertEquals("Integrated acceleration does not match velocity", currentState.getVelocity(), velocity,
+                    ALLOWABLE_VELOCITY_ERROR);
+            Assert.assertEquals("Integrated velocity does not match position",
+                    currentState.getPathState().getDistance(), distance, 1.0e-3);
+
+            previousState = currentState;
+        }
+    }
+
+    @Test
+    public void jerkLimitedTrajectoryHasContinuousAcceleration() {
+        final double maxJerk = 100.0;
+
+        Path path = new SplinePathBuilder(new Translation2d(), Rotation2d.fromDegrees(90.0), Rotation2d.fromDegrees(90.0))
+                .hermite(new Translation2d(50.0, 50.0), Rotation2d.fromDegrees(90.0), new Rotation2d())
+                .build();
+        TrajectoryConstraint[] constraints = {
+                new MaxVelocityConstraint(12.0),
+                new MaxAccelerationConstraint(10.0),
+                new CentripetalAccelerationConstraint(7.5),
+                new MaxJerkConstraint(maxJerk)
+        };
+        Trajectory trajectory = new Trajectory(path, constraints, SAMPLE_DISTANCE);
+        Trajectory unlimitedTrajectory = new Trajectory(path, Arrays.copyOf(constraints, 3), SAMPLE_DISTANCE);
+
+        Assert.assertTrue("Trajectory should be jerk limited", trajectory.isJerkLimited());
+        Assert.assertFalse("Trajectory should not be jerk limited", unlimitedTrajectory.isJerkLimited());
+        Assert.assertTrue("Limiting jerk should make the trajectory take longer",
+                trajectory.getDuration() > unlimitedTrajectory.getDuration());
+
+        Trajectory.State lastState = trajectory.calculate(trajectory.getDuration());
+        Assert.assertEquals("Trajectory should end at the end of the path", path.getLength(),
+                lastState.getPathState().getDistance(), 1.0e-6);
+
+        int samples = (int) Math.ceil(trajectory.getDuration() / DT);
+        for (int i = 0; i <= samples; i++) {
+            Trajectory.State currentState = trajectory.calculate(i * DT);
+
+            double maximumVelocity = Double.POSITIVE_INFINITY;
+            for (TrajectoryConstraint constraint : constraints) {
+                maximumVelocity = Math.min(maximumVelocity, constraint.getMaxVelocity(currentState.getPathState()));
+            }
+            Assert.assertTrue("Velocity exceeded maximum velocity",
+                    maximumVelocity + ALLOWABLE_VELOCITY_ERROR >= currentState.getVelocity());
+        }
+
+        assertJerkLimited(trajectory, maxJerk);
+        assertAccelerationMatchesVelocity(trajectory);
+    }
+
+    @Test
+    public void jerkLimitedTrajectoryReachesStartAndEndVelocities() {
+        final double maxJerk = 20.0;
+
+        Path path = new SimplePathBuilder(new Translation2d(), new Rotation2d())
+                .lineTo(new Translation2d(50.0, 0.0))
+                .build();
+        TrajectoryConstraint[] constraints = {
+                new MaxVelocityConstraint(12.0),
+                new MaxAccelerationConstraint(10.0),
+                new MaxJerkConstraint(maxJerk)
+        };
+        Trajectory trajectory = new Trajectory(path, constraints, SAMPLE_DISTANCE, 5.0, 3.0);
+
+        Assert.assertEquals("Trajectory should start at the start velocity", 5.0,
+                trajectory.calculate(0.0).getVelocity(), 1.0e-9);
+        Assert.assertEquals("Trajectory should end at the end velocity", 3.0,
+                trajectory.calculate(trajectory.getDuration()).getVelocity(), 1.0e-9);
+
+        assertJerkLimited(trajectory, maxJerk);
+        assertAccelerationMatchesVelocity(trajectory);
+    }
+
+    @Test
+    public void jerkLimitedTrajectoryFollowsChangingAccelerationLimit() {
+        final double maxJerk = 50.0;
+
+        // The feedforward constraint allows less acceleration the faster the robot goes
+        Path path = new SplinePathBuilder(new Translation2d(), Rotation2d.fromDegrees(90.0), Rotation2d.fromDegrees(90.0))
+                .hermite(new Translation2d(50.0, 50.0), Rotation2d.fromDegrees(90.0), new Rotation2d())
+                .build();
+        TrajectoryConstraint[] constraints = {
+                new FeedforwardConstraint(MAX_FEEDFORWARD, KV, KA, true),
+                new CentripetalAccelerationConstraint(7.5),
+                new MaxJerkConstraint(maxJerk)
+        };
+        Trajectory trajectory = new Trajectory(path, constraints, SAMPLE_DISTANCE);
+
+        assertJerkLimited(trajectory, maxJerk);
+        assertAccelerationMatchesVelocity(trajectory);
+    }
+
     @Test
     public void speedTest() {
         final int speedRuns = 10;
@@ -0,0 +1,192 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VisibilityGraphPlannerTest {
+    private static final double ROBOT_RADIUS = 0.5;
+    private static final double SAMPLE_DISTANCE = 1.0e-2;
+
+    private static final Obstacle[] OBSTACLES = {
+            Obstacle.rectangle(new Translation2d(5.0, 0.0), 2.0, 6.0),
+            Obstacle.rectangle(new Translation2d(10.0, 4.0), 3.0, 3.0),
+            new Obstacle(new Translation2d(12.0, -3.0), new Translation2d(15.0, -1.0), new Translation2d(12.0, 1.0))
+    };
+
+    private static double getDistanceToSegment(Translation2d point, Translation2d start, Translation2d end) {
+        Translation2d delta = end.minus(start);
+        double t = ((point.getX() - start.getX()) * delta.getX() + (point.getY() - start.getY()) * delta.getY()) /
+                (delta.getX() * delta.getX() + delta.getY() * delta.getY());
+        t = Math.max(0.0, Math.min(1.0, t));
+        return point.getDistance(start.plus(delta.times(t)));
+    }
+
+    private static double getDistanceToObstacle(Translation2d point, Obstacle obstacle) {
+        if (obstacle.contains(point)) {
+            return 0.0;
+        }
+
+        double distance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < obstacle.getVertexCount(); i++) {
+            distance = Math.min(distance, getDistanceToSegment(point, obstacle.getVertex(i),
+                    obstacle.getVertex((i + 1) % obstacle.getVertexCount())));
+        }
+        return distance;
+    }
+
+    private static void assertPathIsClear(Path path, Translation2d start, Translation2d goal, Obstacle[] obstacles,
+                                          double robotRadius) {
+        assertEquals("Path does not start at the start", 0.0,
+                path.calculate(0.0).getPosition().getDistance(start), 1.0e-6);
+        assertEquals("Path does not end at the goal", 0.0,
+                path.calculate(path.getLength()).getPosition().getDistance(goal), 1.0e-6);
+
+        Translation2d previousPosition = start;
+        for (double distance = 0.0; distance <= path.getLength(); distance += SAMPLE_DISTANCE) {
+            Translation2d position = path.calculate(distance).getPosition();
+            for (Obstacle obstacle : obstacles) {
+                assertTrue("Path is too close to an obstacle",
+                        getDistanceToObstacle(position, obstacle) >= robotRadius - 1.0e-6);
+            }
+
+            assertTrue("Path is not continuous", position.getDistance(previousPosition) <= SAMPLE_DISTANCE + 1.0e-6);
+            previousPosition = position;
+        }
+
+        PathSegment[] segments = path.getSegments();
+        for (int i = 1; i < segments.length; i++) {
+            Rotation2d headingChange = segments[i].getStart().getHeading().minus(segments[i - 1].getEnd().getHeading());
+            assertEquals("Path has a sharp corner", 0.0, headingChange.getRadians(), 1.0e-6);
+        }
+    }
+
+    @Test
+    public void plansStraightLineWhenNothingIsInTheWay() {
+        VisibilityGraphPlanner planner = new VisibilityGraphPlanner(OBSTACLES, ROBOT_RADIUS);
+
+        Path path = planner.plan(new Translation2d(0.0, 5.0), Rotation2d.fromDegrees(0.0),
+                new Translation2d(7.0, 5.0), Rotation2d.fromDegrees(90.0));
+
+        assertNotNull(path);
+        assertEquals(7.0, path.getLength(), 1.0e-9);
+        assertEquals(90.0, path.calculate(path.getLength()).getRotation().getDegrees(), 1.0e-9);
+    }
+
+    @Test
+    public void plansAroundObstacles() {
+        VisibilityGraphPlanner planner = new VisibilityGraphPlanner(OBSTACLES, ROBOT_RADIUS);
+
+        Translation2d start = new Translation2d(0.0, 0.0);
+        Translation2d goal = new Translation2d(17.0, 0.5);
+        Path path = planner.plan(start, Rotation2d.fromDegrees(0.0), goal, Rotation2d.fromDegrees(180.0));
+
+        assertNotNull(path);
+        assertPathIsClear(path, start, goal, OBSTACLES, ROBOT_RADIUS);
+        assertEquals(180.0, Math.abs(path.calculate(path.getLength()).getRotation().getDegrees()), 1.0e-9);
+    }
+
+    @Test
+    public void plansFromEveryDirection() {
+        VisibilityGraphPlanner planner = new VisibilityGraphPlanner(OBSTACLES, ROBOT_RADIUS);
+
+        Translation2d goal = new Translation2d(8.5, 0.0);
+        for (int i = 0; i < 16; i++) {
+            double angle = 2.0 * Math.PI * i / 16;
+            Translation2d start = new Translation2d(8.5 + 9.0 * Math.cos(angle), 9.0 * Math.sin(angle));
+
+            Path path = planner.plan(start, new Rotation2d(), goal, new Rotation2d());
+            assertNotNull(path);
+            assertPathIsClear(path, start, goal, OBSTACLES, ROBOT_RADIUS);
+        }
+    }
+
+    @Test
+    public void segmentThroughOppositeCornersIntersects() {
+        Obstacle obstacle = Obstacle.rectangle(new Translation2d(2.5, 2.5), 1.0, 1.0);
+
+        // The segment enters and leaves through vertices and its middle is outside the obstacle
+        assertTrue(obstacle.intersects(1.0, 1.0, 5.0, 5.0));
+        assertTrue(obstacle.intersects(2.0, 2.0, 3.0, 3.0));
+        assertFalse("Segment along an edge does not go through the obstacle", obstacle.intersects(1.0, 2.0, 5.0, 2.0));
+        assertFalse("Segment touching a corner does not go through the obstacle",
+                obstacle.intersects(1.0, 5.0, 5.0, 1.0));
+    }
+
+    @Test
+    public void plansAroundObstaclesOnTheDiagonal() {
+        Obstacle[] obstacles = {
+                Obstacle.rectangle(new Translation2d(2.5, 2.5), 1.0, 1.0),
+                Obstacle.rectangle(new Translation2d(4.5, 4.5), 1.0, 1.0)
+        };
+        VisibilityGraphPlanner planner = new VisibilityGraphPlanner(obstacles, 0.0);
+
+        Translation2d start = new Translation2d(1.0, 1.0);
+        Translation2d goal = new Translation2d(6.0, 6.0);
+        Path path = planner.plan(start, new Rotation2d(), goal, new Rotation2d());
+
+        assertNotNull(path);
+        assertTrue("Path went straight through the obstacles", path.getLength() > start.getDistance(goal) + 1.0e-3);
+        assertPathIsClear(path, start, goal, obstacles, 0.0);
+    }
+
+    @Test
+    public void rejectsGoalInsideObstacle() {
+        VisibilityGraphPlanner planner = new VisibilityGraphPlanner(OBSTACLES, ROBOT_RADIUS);
+
+        assertNull(planner.plan(new Translation2d(), new Rotation2d(), new Translation2d(5.0, 3.2), new Rotation2d()));
+    }
+
+    @Test
+    public void returnsNullWhenGoalIsUnreachable() {
+        Obstacle[] walls = {
+                Obstacle.rectangle(new Translation2d(0.0, 3.0), 8.0, 1.0),
+                Obstacle.rectangle(new Translation2d(0.0, -3.0), 8.0, 1.0),
+                Obstacle.rectangle(new Translation2d(3.0, 0.0), 1.0, 8.0),
+                Obstacle.rectangle(new Translation2d(-3.0, 0.0), 1.0, 8.0)
+        };
+        VisibilityGraphPlanner planner = new VisibilityGraphPlanner(walls, ROBOT_RADIUS);
+
+        assertNull(planner.plan(new Translation2d(), new Rotation2d(), new Translation2d(10.0, 0.0), new Rotation2d()));
+    }
+
+    @Test
+    public void plansAroundOverlappingObstacles() {
+        // The top edge of the inflated wide obstacle goes straight through the inflated small obstacle
+        Obstacle[] obstacles = {
+                Obstacle.rectangle(new Translation2d(0.0, 0.0), 4.0, 1.0),
+                Obstacle.rectangle(new Translation2d(0.0, 0.9), 1.0, 1.0)
+        };
+        double robotRadius = 0.4;
+        VisibilityGraphPlanner planner = new VisibilityGraphPlanner(obstacles, robotRadius);
+
+        Translation2d start = new Translation2d(-3.0, 1.0);
+        Translation2d goal = new Translation2d(3.0, 1.0);
+        Path path = planner.plan(start, new Rotation2d(), goal, new Rotation2d());
+
+        assertNotNull(path);
+        assertPathIsClear(path, start, goal, obstacles, robotRadius);
+    }
+
+    @Test
+    public void plansAroundTouchingObstacles() {
+        Obstacle[] obstacles = {
+                Obstacle.rectangle(new Translation2d(0.0, 0.0), 2.0, 2.0),
+                Obstacle.rectangle(new Translation2d(2.0, 0.5), 2.0, 2.0),
+                Obstacle.rectangle(new Translation2d(4.0, -0.5), 2.0, 2.0)
+        };
+        VisibilityGraphPlanner planner = new VisibilityGraphPlanner(obstacles, ROBOT_RADIUS);
+
+        for (int i = 0; i < 8; i++) {
+            double angle = 2.0 * Math.PI * i / 8;
+            Translation2d start = new Translation2d(2.0 + 6.0 * Math.cos(angle), 6.0 * Math.sin(angle));
+            Translation2d goal = new Translation2d(2.0 - 6.0 * Math.cos(angle), -6.0 * Math.sin(angle));
+
+            Path path = planner.plan(start, new Rotation2d(), goal, new Rotation2d());
+            assertNotNull(path);
+            assertPathIsClear(path, start, goal, obstacles, ROBOT_RADIUS);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.frcteam2910.common.control;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WaypointPathBuilderTest {
+    @Test
+    public void rotationsAreAtWaypoints() {
+        Path path = new WaypointPathBuilder(new Translation2d(), new Rotation2d())
+                .waypoint(new Translation2d(2.0, 1.0))
+                .waypoint(new Translation2d(4.0, 0.0), Rotation2d.fromDegrees(90.0))
+                .waypoint(new Translation2d(6.0, 2.0))
+                .buildNatural();
+
+        PathSegment[] segments = path.getSegments();
+        assertEquals(3, segments.length);
+
+        double rotationDistance = segments[0].getLength() + segments[1].getLength();
+        Path.State state = path.calculate(rotationDistance);
+        assertEquals(0.0, state.getPosition().getDistance(new Translation2d(4.0, 0.0)), 1.0e-9);
+        assertEquals(90.0, state.getRotation().getDegrees(), 1.0e-9);
+        assertEquals(45.0, path.calculate(rotationDistance / 2.0).getRotation().getDegrees(), 1.0e-9);
+
+        // Waypoints after the last rotation keep that rotation
+        assertEquals(90.0, path.calculate(path.getLength()).getRotation().getDegrees(), 1.0e-9);
+        assertEquals(0.0, path.calculate(path.getLength()).getPosition().getDistance(new Translation2d(6.0, 2.0)),
+                1.0e-9);
+    }
+}
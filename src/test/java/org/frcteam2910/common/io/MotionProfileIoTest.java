@@ -0,0 +1,53 @@
+package org.frcteam2910.common.io;
+
+import org.frcteam2910.common.motion.MotionProfile;
+import org.frcteam2910.common.motion.SampledMotionProfile;
+import org.frcteam2910.common.motion.TrapezoidalMotionProfile;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class MotionProfileIoTest {
+    private static final SampledMotionProfile PROFILE = new SampledMotionProfile(
+            new TrapezoidalMotionProfile(new MotionProfile.Goal(0.0, 0.0), new MotionProfile.Goal(2.5, 0.0),
+                    new MotionProfile.Constraints(2.0, 4.0)), 5.0e-3);
+
+    private static byte[] writeProfile(SampledMotionProfile profile) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (MotionProfileWriter writer = new MotionProfileWriter(buffer)) {
+            writer.write(profile);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Test
+    public void writtenProfileCanBeRead() throws IOException {
+        SampledMotionProfile read;
+        try (MotionProfileReader reader = new MotionProfileReader(new ByteArrayInputStream(writeProfile(PROFILE)))) {
+            read = reader.read();
+        }
+
+        assertEquals(PROFILE.getDuration(), read.getDuration(), 0.0);
+        assertEquals(PROFILE.getDt(), read.getDt(), 0.0);
+        assertEquals(PROFILE.getEnd().position, read.getEnd().position, 0.0);
+        assertEquals(PROFILE.getConstraints().maxAcceleration, read.getConstraints().maxAcceleration, 0.0);
+        assertEquals(PROFILE.getSampleCount(), read.getSampleCount());
+        for (int i = 0; i < PROFILE.getSampleCount(); i++) {
+            assertEquals(PROFILE.getPosition(i), read.getPosition(i), 0.0);
+            assertEquals(PROFILE.getVelocity(i), read.getVelocity(i), 0.0);
+            assertEquals(PROFILE.getAcceleration(i), read.getAcceleration(i), 0.0);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedProfileIsRejected() throws IOException {
+        byte[] bytes = writeProfile(PROFILE);
+        try (MotionProfileReader reader = new MotionProfileReader(
+                new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length / 2)))) {
+            reader.read();
+        }
+    }
+}
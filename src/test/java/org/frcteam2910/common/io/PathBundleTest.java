@@ -0,0 +1,148 @@
+package org.frcteam2910.common.io;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.control.*;
+import org.frcteam2910.common.math.MathUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class PathBundleTest {
+    private static Map<String, Path> createPaths() {
+        Map<String, Path> paths = new LinkedHashMap<>();
+        paths.put("forward", new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d())
+                .hermite(new Translation2d(10.0, 0.0), new Rotation2d())
+                .build());
+        paths.put("curve", new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d())
+                .bezier(new Translation2d(5.0, 0.0), new Translation2d(45.0, 50.0), new Translation2d(50.0, 50.0), Rotation2d.fromDegrees(90.0))
+                .build());
+        return paths;
+    }
+
+    private static File writeBundle(Map<String, Path> paths) throws IOException {
+        File tempFile = File.createTempFile("pathbundle-", ".tmp");
+        tempFile.deleteOnExit();
+
+        try (PathBundleWriter writer = new PathBundleWriter(new FileOutputStream(tempFile))) {
+            writer.write(paths);
+        }
+
+        return tempFile;
+    }
+
+    @Test
+    public void bundleIsCompatibleWithWriter() throws IOException {
+        Map<String, Path> expectedPaths = createPaths();
+        PathBundle bundle = PathBundle.open(writeBundle(expectedPaths));
+
+        assertEquals(expectedPaths.keySet(), bundle.getPathNames());
+        for (Map.Entry<String, Path> expected : expectedPaths.entrySet()) {
+            Path actual = bundle.getPath(expected.getKey());
+
+            assertEquals("Path length is not correct", expected.getValue().getLength(), actual.getLength(), MathUtils.EPSILON);
+            assertEquals("Path end is not correct", expected.getValue().calculate(expected.getValue().getLength()).getPosition(),
+                    actual.calculate(actual.getLength()).getPosition());
+        }
+    }
+
+    @Test
+    public void bundleStoresTrajectories() throws IOException {
+        TrajectoryConstraint[] constraints = {
+                new MaxVelocityConstraint(12.0),
+                new MaxAccelerationConstraint(10.0)
+        };
+        Map<String, Path> paths = createPaths();
+        Trajectory expected = new Trajectory(paths.get("curve"), constraints, 1.0e-2);
+
+        File file = File.createTempFile("pathbundle-", ".tmp");
+        file.deleteOnExit();
+        try (PathBundleWriter writer = new PathBundleWriter(new FileOutputStream(file))) {
+            writer.write(Collections.emptyMap(), Collections.singletonMap("curve", expected));
+        }
+
+        PathBundle bundle = PathBundle.open(file);
+        assertTrue(bundle.hasPath("curve"));
+        assertTrue(bundle.hasTrajectory("curve"));
+        assertFalse(bundle.hasTrajectory("forward"));
+
+        TrajectoryIoTest.assertTrajectoriesAreEqual(expected, bundle.getTrajectory("curve", constraints, 1.0e-2));
+    }
+
+    @Test
+    public void pathsAreCached() throws IOException {
+        PathBundle bundle = PathBundle.open(writeBundle(createPaths()));
+
+        assertSame(bundle.getPath("curve"), bundle.getPath("curve"));
+    }
+
+    @Test(expected = IOException.class)
+    public void throwsOnMissingPath() throws IOException {
+        PathBundle bundle = PathBundle.open(writeBundle(createPaths()));
+
+        assertFalse(bundle.hasPath("missing"));
+        bundle.getPath("missing");
+    }
+
+    @Test(expected = IOException.class)
+    public void throwsOnCorruptedEntry() throws IOException {
+        File file = writeBundle(createPaths());
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // Corrupt a byte of the last entry
+            raf.seek(raf.length() - 4);
+            raf.write('9');
+        }
+
+        PathBundle bundle = PathBundle.open(file);
+        bundle.getPath("forward");
+        bundle.getPath("curve");
+    }
+
+    @Test(expected = IOException.class)
+    public void throwsOnInvalidFile() throws IOException {
+        File file = File.createTempFile("pathbundle-", ".tmp");
+        file.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        }
+
+        PathBundle.open(file);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsOnLongName() throws IOException {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i <= PathBundleWriter.MAX_NAME_LENGTH; i++) {
+            name.append('a');
+        }
+
+        writeBundle(Collections.singletonMap(name.toString(), createPaths().get("forward")));
+    }
+
+    @Test
+    public void throwsOnSecondWrite() throws IOException {
+        File file = File.createTempFile("pathbundle-", ".tmp");
+        file.deleteOnExit();
+        try (PathBundleWriter writer = new PathBundleWriter(new FileOutputStream(file))) {
+            writer.write(createPaths());
+            try {
+                writer.write(createPaths());
+                fail("Second write did not throw");
+            } catch (IllegalStateException e) {
+                // The second index would have made the bundle unreadable
+            }
+        }
+
+        PathBundle bundle = PathBundle.open(file);
+        assertNotNull(bundle.getPath("forward"));
+        assertNotNull(bundle.getPath("curve"));
+    }
+}
@@ -0,0 +1,150 @@
+package org.frcteam2910.common.io;
+
+import org.frcteam2910.common.control.MotionProfileFollower;
+import org.frcteam2910.common.control.PidConstants;
+import org.frcteam2910.common.control.PidController;
+import org.frcteam2910.common.motion.MotionProfile;
+import org.frcteam2910.common.motion.TrapezoidalMotionProfile;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class TelemetryLoggerTest {
+    private static File createDirectory() throws IOException {
+        File directory = Files.createTempDirectory("telemetry-").toFile();
+        directory.deleteOnExit();
+        return directory;
+    }
+
+    @Test
+    public void recordsAreWrittenInOrderAcrossFiles() throws IOException {
+        File directory = createDirectory();
+
+        // Small files so the log has to be rotated several times
+        try (TelemetryLogger logger = new TelemetryLogger(directory, "test", 1024,
+                TelemetryLogger.HEADER_SIZE + 100 * TelemetryLogger.RECORD_SIZE)) {
+            TelemetryLogger.Channel first = logger.getChannel(1);
+            TelemetryLogger.Channel second = logger.getChannel(2);
+            for (int i = 0; i < 1000; i++) {
+                while (!first.log(i, i, i, i, i, i, i)) {
+                    Thread.yield();
+                }
+                while (!second.log(-i, 0, 0, 0, 0, 0, 0)) {
+                    Thread.yield();
+                }
+            }
+        }
+
+        List<File> files = TelemetryCsvConverter.findFiles(directory, "test");
+        assertEquals(20, files.size());
+        for (File file : files) {
+            file.deleteOnExit();
+        }
+
+        StringWriter csv = new StringWriter();
+        assertEquals(1000, TelemetryCsvConverter.convert(files, 1, csv));
+
+        String[] lines = csv.toString().split(System.lineSeparator());
+        assertEquals(TelemetryCsvConverter.HEADER, lines[0]);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(String.format("%1$s,%1$s,%1$s,%1$s,%1$s,%1$s,%1$s", (double) i), lines[i + 1]);
+        }
+    }
+
+    @Test
+    public void fullQueueDropsRecords() throws IOException {
+        File directory = createDirectory();
+
+        TelemetryLogger logger = new TelemetryLogger(directory, "test", 2, 1 << 20);
+        int logged = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (logger.log(0, i, 0, 0, 0, 0, 0, 0)) {
+                logged++;
+            }
+        }
+        logger.close();
+        TelemetryLogger.getFile(directory, "test", 0).deleteOnExit();
+
+        assertEquals(100_000 - logged, logger.getDroppedRecords());
+        assertEquals(logged, logger.getWrittenRecords());
+        assertFalse(logger.log(0, 0, 0, 0, 0, 0, 0, 0));
+    }
+
+    @Test
+    public void recordsLoggedWhileClosingAreWrittenOrDropped() throws Exception {
+        for (int run = 0; run < 20; run++) {
+            File directory = createDirectory();
+            TelemetryLogger logger = new TelemetryLogger(directory, "test", 1024, 1L << 30);
+
+            // More producers than processors so some are preempted halfway through logging a record
+            AtomicBoolean stop = new AtomicBoolean();
+            AtomicLong attempted = new AtomicLong();
+            AtomicLong accepted = new AtomicLong();
+            Thread[] producers = new Thread[8];
+            for (int i = 0; i < producers.length; i++) {
+                int source = i;
+                producers[i] = new Thread(() -> {
+                    while (!stop.get()) {
+                        attempted.incrementAndGet();
+                        if (logger.log(source, 0, 0, 0, 0, 0, 0, 0)) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                });
+                producers[i].start();
+            }
+
+            // Close while the producers are still logging
+            Thread.sleep(5);
+            logger.close();
+            stop.set(true);
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            TelemetryLogger.getFile(directory, "test", 0).deleteOnExit();
+
+            assertEquals("A record was accepted but never written", accepted.get(), logger.getWrittenRecords());
+            assertEquals(attempted.get(), logger.getWrittenRecords() + logger.getDroppedRecords());
+        }
+    }
+
+    @Test
+    public void motionProfileFollowerLogsStates() throws IOException {
+        File directory = createDirectory();
+
+        MotionProfile profile = new TrapezoidalMotionProfile(
+                new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(10.0, 0.0),
+                new MotionProfile.Constraints(5.0, 5.0)
+        );
+        MotionProfileFollower follower = new MotionProfileFollower(
+                new PidController(new PidConstants(0.0, 0.0, 0.0)), 0.5, 0.0);
+
+        try (TelemetryLogger logger = new TelemetryLogger(directory, "test", 1024, 1 << 20)) {
+            follower.setTelemetryChannel(logger.getChannel(7));
+            follower.follow(profile);
+            for (int i = 0; i < 10; i++) {
+                follower.update(0.0, i * 0.02, 0.02);
+            }
+        }
+        TelemetryLogger.getFile(directory, "test", 0).deleteOnExit();
+
+        StringWriter csv = new StringWriter();
+        assertEquals(10, TelemetryCsvConverter.convert(TelemetryCsvConverter.findFiles(directory, "test"), 7, csv));
+
+        String[] last = csv.toString().split(System.lineSeparator())[10].split(",");
+        MotionProfile.State expected = profile.calculate(0.18);
+        assertEquals(0.18, Double.parseDouble(last[0]), 1.0e-9);
+        assertTrue(Double.isNaN(Double.parseDouble(last[1])));
+        assertEquals(expected.position, Double.parseDouble(last[3]), 1.0e-9);
+        assertEquals(0.5 * expected.velocity, Double.parseDouble(last[6]), 1.0e-9);
+    }
+}
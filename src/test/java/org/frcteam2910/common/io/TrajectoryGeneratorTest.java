@@ -0,0 +1,109 @@
+package org.frcteam2910.common.io;
+
+import org.frcteam2910.common.control.Path;
+import org.frcteam2910.common.control.Trajectory;
+import org.frcteam2910.common.motion.MotionProfile;
+import org.frcteam2910.common.motion.SampledMotionProfile;
+import org.frcteam2910.common.motion.TrapezoidalMotionProfile;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import static org.junit.Assert.*;
+
+public class TrajectoryGeneratorTest {
+    private static final String SETTINGS = "{\"sampleDistance\": 0.01, \"constraints\": [" +
+            "{\"type\": \"maxVelocity\", \"maxVelocity\": 12.0}," +
+            "{\"type\": \"maxAcceleration\", \"maxAcceleration\": 10.0}]}";
+
+    @Test
+    public void generatesOnlyOutOfDateTrajectories() throws IOException {
+        File sourceDirectory = Files.createTempDirectory("trajectory-sources-").toFile();
+        File outputDirectory = Files.createTempDirectory("trajectory-outputs-").toFile();
+        sourceDirectory.deleteOnExit();
+        outputDirectory.deleteOnExit();
+
+        Files.write(new File(sourceDirectory, TrajectorySettings.FILE_NAME).toPath(),
+                SETTINGS.getBytes(StandardCharsets.UTF_8));
+        try (InputStream in = getClass().getResourceAsStream("example_path.json")) {
+            assertNotNull("Unable to find example path", in);
+            Files.copy(in, new File(sourceDirectory, "example.json").toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        TrajectoryGenerator generator = new TrajectoryGenerator(sourceDirectory, outputDirectory);
+        TrajectoryGenerator.Result result = generator.generate();
+        assertEquals(1, result.getGenerated());
+        assertEquals(0, result.getUpToDate());
+
+        result = generator.generate();
+        assertEquals(0, result.getGenerated());
+        assertEquals(1, result.getUpToDate());
+
+        TrajectorySettings settings;
+        try (Reader in = new StringReader(SETTINGS)) {
+            settings = TrajectorySettings.read(in);
+        }
+        Path path;
+        try (PathReader reader = new PathReader(Files.newBufferedReader(new File(outputDirectory, "example.json").toPath()))) {
+            path = reader.read();
+        }
+        try (TrajectoryReader reader = new TrajectoryReader(new FileInputStream(new File(outputDirectory, "example.trajectory")))) {
+            Trajectory trajectory = reader.read(path, settings.getConstraints(), settings.getSampleDistance());
+
+            assertFalse("Trajectory should not have been regenerated", reader.wasRegenerated());
+            TrajectoryIoTest.assertTrajectoriesAreEqual(
+                    new Trajectory(path, settings.getConstraints(), settings.getSampleDistance()), trajectory);
+        }
+    }
+
+    @Test
+    public void copiesProfiles() throws IOException {
+        File sourceDirectory = Files.createTempDirectory("trajectory-sources-").toFile();
+        File outputDirectory = Files.createTempDirectory("trajectory-outputs-").toFile();
+        sourceDirectory.deleteOnExit();
+        outputDirectory.deleteOnExit();
+
+        Files.write(new File(sourceDirectory, TrajectorySettings.FILE_NAME).toPath(),
+                SETTINGS.getBytes(StandardCharsets.UTF_8));
+        SampledMotionProfile profile = new SampledMotionProfile(new TrapezoidalMotionProfile(
+                new MotionProfile.Goal(0.0, 0.0), new MotionProfile.Goal(2.5, 0.0),
+                new MotionProfile.Constraints(2.0, 4.0)), 5.0e-3);
+        try (MotionProfileWriter writer = new MotionProfileWriter(new FileOutputStream(
+                new File(sourceDirectory, "lift" + TrajectoryGenerator.MOTION_PROFILE_EXTENSION)))) {
+            writer.write(profile);
+        }
+        File staleProfileFile = new File(outputDirectory, "removed" + TrajectoryGenerator.MOTION_PROFILE_EXTENSION);
+        File staleTrajectoryFile = new File(outputDirectory, "removed" + TrajectoryGenerator.TRAJECTORY_EXTENSION);
+        Files.write(staleProfileFile.toPath(), new byte[]{1, 2, 3});
+        Files.write(staleTrajectoryFile.toPath(), new byte[]{1, 2, 3});
+
+        new TrajectoryGenerator(sourceDirectory, outputDirectory).generate();
+
+        try (MotionProfileReader reader = new MotionProfileReader(new FileInputStream(
+                new File(outputDirectory, "lift" + TrajectoryGenerator.MOTION_PROFILE_EXTENSION)))) {
+            SampledMotionProfile copied = reader.read();
+            assertEquals(profile.getDuration(), copied.getDuration(), 0.0);
+            assertEquals(profile.getSampleCount(), copied.getSampleCount());
+        }
+        assertFalse("Profile without a source was not removed", staleProfileFile.exists());
+        assertFalse("Trajectory without a path was not removed", staleTrajectoryFile.exists());
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsUnreadableProfiles() throws IOException {
+        File sourceDirectory = Files.createTempDirectory("trajectory-sources-").toFile();
+        File outputDirectory = Files.createTempDirectory("trajectory-outputs-").toFile();
+        sourceDirectory.deleteOnExit();
+        outputDirectory.deleteOnExit();
+
+        Files.write(new File(sourceDirectory, TrajectorySettings.FILE_NAME).toPath(),
+                SETTINGS.getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(sourceDirectory, "lift" + TrajectoryGenerator.MOTION_PROFILE_EXTENSION).toPath(),
+                new byte[]{1, 2, 3});
+
+        new TrajectoryGenerator(sourceDirectory, outputDirectory).generate();
+    }
+}
@@ -0,0 +1,133 @@
+package org.frcteam2910.common.io;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.control.*;
+import org.frcteam2910.common.math.MathUtils;
+import org.junit.Test;
+
+import java.io.*;
+
+import static org.junit.Assert.*;
+
+public class TrajectoryIoTest {
+    private static final double SAMPLE_DISTANCE = 1.0e-2;
+
+    private static final TrajectoryConstraint[] CONSTRAINTS = {
+            new MaxVelocityConstraint(12.0),
+            new MaxAccelerationConstraint(10.0),
+            new CentripetalAccelerationConstraint(7.5)
+    };
+
+    private static final Path PATH = new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d())
+            .hermite(new Translation2d(20.0, 10.0), Rotation2d.fromDegrees(90.0), Rotation2d.fromDegrees(90.0))
+            .build();
+
+    private static byte[] writeTrajectory(Trajectory trajectory) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (TrajectoryWriter writer = new TrajectoryWriter(buffer)) {
+            writer.write(trajectory);
+        }
+        return buffer.toByteArray();
+    }
+
+    static void assertTrajectoriesAreEqual(Trajectory expected, Trajectory actual) {
+        assertEquals("Duration does not match", expected.getDuration(), actual.getDuration(), MathUtils.EPSILON);
+
+        final int iterations = 1000;
+        for (int i = 0; i <= iterations; i++) {
+            double time = expected.getDuration() * i / iterations;
+
+            Trajectory.State expectedState = expected.calculate(time);
+            Trajectory.State actualState = actual.calculate(time);
+
+            assertEquals("Distance does not match", expectedState.getPathState().getDistance(),
+                    actualState.getPathState().getDistance(), MathUtils.EPSILON);
+            assertEquals("Velocity does not match", expectedState.getVelocity(), actualState.getVelocity(),
+                    MathUtils.EPSILON);
+            assertEquals("Acceleration does not match", expectedState.getAcceleration(),
+                    actualState.getAcceleration(), MathUtils.EPSILON);
+        }
+    }
+
+    @Test
+    public void readerIsCompatibleWithWriter() throws IOException {
+        Trajectory expected = new Trajectory(PATH, CONSTRAINTS, SAMPLE_DISTANCE);
+
+        try (TrajectoryReader reader = new TrajectoryReader(new ByteArrayInputStream(writeTrajectory(expected)))) {
+            Trajectory actual = reader.read(PATH, CONSTRAINTS, SAMPLE_DISTANCE);
+
+            assertFalse("Trajectory should not have been regenerated", reader.wasRegenerated());
+            assertTrajectoriesAreEqual(expected, actual);
+        }
+    }
+
+    @Test
+    public void readerKeepsJerkLimit() throws IOException {
+        TrajectoryConstraint[] constraints = {
+                new MaxVelocityConstraint(12.0),
+                new MaxAccelerationConstraint(10.0),
+                new CentripetalAccelerationConstraint(7.5),
+                new MaxJerkConstraint(50.0)
+        };
+        Trajectory expected = new Trajectory(PATH, constraints, SAMPLE_DISTANCE);
+
+        try (TrajectoryReader reader = new TrajectoryReader(new ByteArrayInputStream(writeTrajectory(expected)))) {
+            Trajectory actual = reader.read(PATH, constraints, SAMPLE_DISTANCE);
+
+            assertFalse("Trajectory should not have been regenerated", reader.wasRegenerated());
+            assertTrue("Trajectory should be jerk limited", actual.isJerkLimited());
+            assertTrajectoriesAreEqual(expected, actual);
+        }
+    }
+
+    @Test
+    public void readerRegeneratesOnFingerprintMismatch() throws IOException {
+        Trajectory stored = new Trajectory(PATH, CONSTRAINTS, SAMPLE_DISTANCE);
+
+        TrajectoryConstraint[] newConstraints = {
+                new MaxVelocityConstraint(8.0),
+                new MaxAccelerationConstraint(10.0),
+                new CentripetalAccelerationConstraint(7.5)
+        };
+        Trajectory expected = new Trajectory(PATH, newConstraints, SAMPLE_DISTANCE);
+
+        try (TrajectoryReader reader = new TrajectoryReader(new ByteArrayInputStream(writeTrajectory(stored)))) {
+            Trajectory actual = reader.read(PATH, newConstraints, SAMPLE_DISTANCE);
+
+            assertTrue("Trajectory should have been regenerated", reader.wasRegenerated());
+            assertTrajectoriesAreEqual(expected, actual);
+        }
+    }
+
+    @Test
+    public void fingerprintChangesWithGenerationParameters() {
+        TrajectoryConstraint[] constraints = {new FeedforwardConstraint(11.0, 1.0, 0.1, false)};
+        long fingerprint = TrajectoryFingerprint.calculate(PATH, constraints, SAMPLE_DISTANCE, 0.0, 0.0);
+
+        assertEquals("Same parameters should have the same fingerprint", fingerprint,
+                TrajectoryFingerprint.calculate(PATH, new TrajectoryConstraint[]{
+                        new FeedforwardConstraint(11.0, 1.0, 0.1, false)
+                }, SAMPLE_DISTANCE, 0.0, 0.0));
+        assertNotEquals("Fingerprint should change with a constraint parameter", fingerprint,
+                TrajectoryFingerprint.calculate(PATH, new TrajectoryConstraint[]{
+                        new FeedforwardConstraint(11.0, 1.0, 0.1, true)
+                }, SAMPLE_DISTANCE, 0.0, 0.0));
+        assertNotEquals("Fingerprint should change with the sample distance", fingerprint,
+                TrajectoryFingerprint.calculate(PATH, constraints, SAMPLE_DISTANCE / 2.0, 0.0, 0.0));
+
+        Path movedPath = new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d())
+                .hermite(new Translation2d(20.0, 10.0 + 1.0e-9), Rotation2d.fromDegrees(90.0),
+                        Rotation2d.fromDegrees(90.0))
+                .build();
+        assertNotEquals("Fingerprint should change with the path", fingerprint,
+                TrajectoryFingerprint.calculate(movedPath, constraints, SAMPLE_DISTANCE, 0.0, 0.0));
+    }
+
+    @Test(expected = IOException.class)
+    public void readerThrowsOnBadInput() throws IOException {
+        try (TrajectoryReader reader = new TrajectoryReader(new ByteArrayInputStream(new byte[]{1, 2, 3}))) {
+            reader.read(PATH, CONSTRAINTS, SAMPLE_DISTANCE);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.frcteam2910.common.io;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.control.*;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TrajectoryLibraryIoTest {
+    private static final double SAMPLE_DISTANCE = 1.0e-2;
+    private static final TrajectoryConstraint[] CONSTRAINTS = {
+            new MaxVelocityConstraint(4.0),
+            new MaxAccelerationConstraint(3.0),
+            new CentripetalAccelerationConstraint(5.0)
+    };
+
+    private static final Obstacle[] OBSTACLES = {
+            Obstacle.rectangle(new Translation2d(4.0, 3.0), 1.0, 4.0)
+    };
+
+    private static final Pose2d[] GOALS = {
+            new Pose2d(9.0, 3.0, Rotation2d.fromDegrees(180.0)),
+            new Pose2d(5.0, 7.0, Rotation2d.fromDegrees(90.0))
+    };
+
+    private static TrajectoryLibrary generateLibrary() throws IOException {
+        TrajectoryLibraryGenerator generator = new TrajectoryLibraryGenerator(
+                new VisibilityGraphPlanner(OBSTACLES, 0.4), CONSTRAINTS, SAMPLE_DISTANCE);
+
+        return generator.generate(TrajectoryLibraryGenerator.createGrid(new Translation2d(0.0, 0.0),
+                new Translation2d(6.0, 6.0), 2.0), GOALS);
+    }
+
+    private static byte[] writeLibrary(TrajectoryLibrary library) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (TrajectoryLibraryWriter writer = new TrajectoryLibraryWriter(buffer)) {
+            writer.write(library);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Test
+    public void generatesTrajectoriesFromReachableStarts() throws IOException {
+        TrajectoryLibrary library = generateLibrary();
+
+        assertEquals(GOALS.length, library.getGoalCount());
+        for (int i = 0; i < GOALS.length; i++) {
+            // The grid positions at (4, 2) and (4, 4) are inside the obstacle
+            assertEquals(14, library.getTrajectories(i).length);
+            for (Trajectory trajectory : library.getTrajectories(i)) {
+                Path.State end = trajectory.getPath().calculate(trajectory.getPath().getLength());
+                assertEquals(0.0, end.getPosition().getDistance(GOALS[i].getTranslation()), 1.0e-6);
+            }
+        }
+    }
+
+    @Test
+    public void writtenLibraryCanBeRead() throws IOException {
+        TrajectoryLibrary library = generateLibrary();
+
+        TrajectoryLibrary read;
+        try (TrajectoryLibraryReader reader = new TrajectoryLibraryReader(
+                new ByteArrayInputStream(writeLibrary(library)))) {
+            read = reader.read(CONSTRAINTS, SAMPLE_DISTANCE);
+        }
+
+        assertEquals(library.getGoalCount(), read.getGoalCount());
+        for (int i = 0; i < library.getGoalCount(); i++) {
+            assertEquals(library.getGoal(i), read.getGoal(i));
+
+            Trajectory[] expected = library.getTrajectories(i);
+            Trajectory[] actual = read.getTrajectories(i);
+            assertEquals(expected.length, actual.length);
+            for (int j = 0; j < expected.length; j++) {
+                TrajectoryIoTest.assertTrajectoriesAreEqual(expected[j], actual[j]);
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedLibraryIsRejected() throws IOException {
+        byte[] bytes = writeLibrary(generateLibrary());
+        try (TrajectoryLibraryReader reader = new TrajectoryLibraryReader(
+                new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)))) {
+            reader.read(CONSTRAINTS, SAMPLE_DISTANCE);
+        }
+    }
+}
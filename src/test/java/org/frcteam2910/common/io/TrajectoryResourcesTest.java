@@ -0,0 +1,28 @@
+package org.frcteam2910.common.io;
+
+import org.frcteam2910.common.control.Path;
+import org.frcteam2910.common.control.Trajectory;
+import org.junit.Test;
+
+import java.io.IOException;
+
+/**
+ * Loads the trajectories the build generates from {@code src/test/trajectories} with {@code gradle/trajectories.gradle}.
+ */
+public class TrajectoryResourcesTest {
+    @Test
+    public void loadsGeneratedTrajectories() throws IOException {
+        TrajectoryResources resources = new TrajectoryResources();
+        TrajectorySettings settings = resources.getSettings();
+        Path path = resources.loadPath("example");
+
+        TrajectoryIoTest.assertTrajectoriesAreEqual(new Trajectory(path, settings.getConstraints(),
+                settings.getSampleDistance(), settings.getStartingVelocity(), settings.getEndingVelocity()),
+                resources.loadTrajectory("example"));
+    }
+
+    @Test(expected = IOException.class)
+    public void missingTrajectoriesCanNotBeLoaded() throws IOException {
+        new TrajectoryResources().loadTrajectory("missing");
+    }
+}
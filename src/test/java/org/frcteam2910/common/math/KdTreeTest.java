@@ -0,0 +1,49 @@
+package org.frcteam2910.common.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class KdTreeTest {
+	@Test
+	public void findsSameNearestPointAsBruteForce() {
+		Random random = new Random(2910);
+
+		double[] xs = new double[500];
+		double[] ys = new double[500];
+		for (int i = 0; i < xs.length; i++) {
+			xs[i] = random.nextDouble() * 16.0;
+			ys[i] = random.nextDouble() * 8.0;
+		}
+		KdTree tree = new KdTree(xs, ys);
+
+		for (int i = 0; i < 1000; i++) {
+			double x = random.nextDouble() * 20.0 - 2.0;
+			double y = random.nextDouble() * 12.0 - 2.0;
+
+			int expected = 0;
+			for (int j = 1; j < xs.length; j++) {
+				if (Math.hypot(xs[j] - x, ys[j] - y) < Math.hypot(xs[expected] - x, ys[expected] - y)) {
+					expected = j;
+				}
+			}
+
+			assertEquals(expected, tree.nearest(x, y));
+		}
+	}
+
+	@Test
+	public void handlesDuplicatePoints() {
+		KdTree tree = new KdTree(new double[]{1.0, 1.0, 1.0, 5.0}, new double[]{2.0, 2.0, 2.0, 5.0});
+
+		assertEquals(3, tree.nearest(4.0, 4.0));
+		assertTrue(tree.nearest(0.0, 0.0) < 3);
+	}
+
+	@Test
+	public void emptyTreeHasNoNearestPoint() {
+		assertEquals(-1, new KdTree(new double[0], new double[0]).nearest(0.0, 0.0));
+	}
+}
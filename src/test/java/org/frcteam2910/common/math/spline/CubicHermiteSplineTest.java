@@ -5,6 +5,7 @@ import edu.wpi.first.math.geometry.Translation2d;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class CubicHermiteSplineTest {
     @Test
@@ -40,4 +41,69 @@ public class CubicHermiteSplineTest {
         assertEquals("Starting heading is not correct", Rotation2d.fromDegrees(90), spline.getHeading(0.0));
         assertEquals("Ending heading is not correct", Rotation2d.fromDegrees(45), spline.getHeading(1.0));
     }
+
+    private static final Translation2d[] WAYPOINTS = {
+            new Translation2d(0.0, 0.0),
+            new Translation2d(2.0, 1.0),
+            new Translation2d(3.0, 4.0),
+            new Translation2d(7.0, 4.5),
+            new Translation2d(8.0, 0.0)
+    };
+
+    private static void assertGoesThroughWaypoints(CubicHermiteSpline[] splines) {
+        assertEquals(WAYPOINTS.length - 1, splines.length);
+        for (int i = 0; i < splines.length; i++) {
+            assertEquals(0.0, splines[i].getPoint(0.0).getDistance(WAYPOINTS[i]), 1.0e-9);
+            assertEquals(0.0, splines[i].getPoint(1.0).getDistance(WAYPOINTS[i + 1]), 1.0e-9);
+
+            if (i > 0) {
+                assertEquals("Heading is not continuous", 0.0,
+                        splines[i].getHeading(0.0).minus(splines[i - 1].getHeading(1.0)).getRadians(), 1.0e-9);
+            }
+        }
+    }
+
+    @Test
+    public void naturalSplineHasContinuousCurvature() {
+        CubicHermiteSpline[] splines = CubicHermiteSpline.fitNatural(WAYPOINTS);
+        assertGoesThroughWaypoints(splines);
+
+        for (int i = 1; i < splines.length; i++) {
+            assertEquals("Curvature is not continuous", splines[i - 1].getCurvature(1.0),
+                    splines[i].getCurvature(0.0), 1.0e-9);
+        }
+
+        // Natural splines are straight at both ends
+        assertEquals(0.0, splines[0].getCurvature(0.0), 1.0e-9);
+        assertEquals(0.0, splines[splines.length - 1].getCurvature(1.0), 1.0e-9);
+    }
+
+    @Test
+    public void catmullRomTangentsPointBetweenNeighbours() {
+        CubicHermiteSpline[] splines = CubicHermiteSpline.fitCatmullRom(WAYPOINTS);
+        assertGoesThroughWaypoints(splines);
+
+        for (int i = 1; i < splines.length; i++) {
+            Translation2d direction = WAYPOINTS[i + 1].minus(WAYPOINTS[i - 1]);
+            assertEquals(0.0, splines[i].getHeading(0.0)
+                    .minus(new Rotation2d(direction.getX(), direction.getY())).getRadians(), 1.0e-9);
+        }
+    }
+
+    @Test
+    public void twoWaypointsFitALine() {
+        CubicHermiteSpline[] splines = CubicHermiteSpline.fitNatural(new Translation2d(1.0, 1.0),
+                new Translation2d(4.0, 5.0));
+
+        assertEquals(1, splines.length);
+        for (double t = 0.0; t <= 1.0; t += 0.1) {
+            assertEquals(0.0, splines[0].getCurvature(t), 1.0e-9);
+        }
+        assertTrue(splines[0].getPoint(0.5).getDistance(new Translation2d(2.5, 3.0)) < 1.0e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void repeatedWaypointsAreRejected() {
+        CubicHermiteSpline.fitNatural(new Translation2d(), new Translation2d(1.0, 0.0), new Translation2d(1.0, 0.0));
+    }
 }
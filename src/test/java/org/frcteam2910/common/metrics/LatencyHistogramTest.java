@@ -0,0 +1,48 @@
+package org.frcteam2910.common.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+    @Test
+    public void bucketsCoverEveryValue() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123456789, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.getBucketIndex(value);
+            assertTrue("Value is above its bucket", value <= LatencyHistogram.getHighestValueInBucket(index));
+            if (index > 0) {
+                assertTrue("Value is below its bucket", value > LatencyHistogram.getHighestValueInBucket(index - 1));
+            }
+        }
+    }
+
+    @Test
+    public void percentilesAreWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(10000, snapshot.getCount());
+        assertEquals(1000, snapshot.getMin());
+        assertEquals(10_000_000, snapshot.getMax());
+        assertEquals(5_000_500.0, snapshot.getMean(), 1.0e-6);
+        assertEquals(5_000_000, snapshot.getValueAtPercentile(50.0), 5_000_000 * 0.0625);
+        assertEquals(9_900_000, snapshot.getValueAtPercentile(99.0), 9_900_000 * 0.0625);
+        assertEquals(snapshot.getMax(), snapshot.getValueAtPercentile(100.0));
+    }
+
+    @Test
+    public void emptySnapshot() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.reset();
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMax());
+        assertEquals(0, snapshot.getValueAtPercentile(50.0));
+    }
+}
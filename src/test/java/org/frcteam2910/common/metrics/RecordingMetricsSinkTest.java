@@ -0,0 +1,51 @@
+package org.frcteam2910.common.metrics;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.control.*;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RecordingMetricsSinkTest {
+    @After
+    public void removeSink() {
+        Metrics.setSink(NoOpMetricsSink.INSTANCE);
+    }
+
+    @Test
+    public void recordsTrajectoryGeneration() {
+        RecordingMetricsSink sink = new RecordingMetricsSink();
+        Metrics.setSink(sink);
+
+        Path path = new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d())
+                .hermite(new Translation2d(10.0, 0.0), new Rotation2d())
+                .build();
+        Trajectory trajectory = new Trajectory(path, new TrajectoryConstraint[]{
+                new MaxVelocityConstraint(12.0),
+                new MaxAccelerationConstraint(10.0)
+        }, 1.0e-1);
+
+        MetricsSnapshot snapshot = sink.snapshot();
+        for (String name : new String[]{Trajectory.SAMPLING_METRIC, Trajectory.FORWARD_PASS_METRIC,
+                Trajectory.BACKWARD_PASS_METRIC, Trajectory.TIMING_METRIC, Trajectory.GENERATION_METRIC}) {
+            assertEquals(name + " was not recorded", 1, snapshot.getDurations().get(name).getCount());
+        }
+        assertEquals(trajectory.getStateTable().getStateCount(),
+                snapshot.getValues().get(Trajectory.SAMPLE_COUNT_METRIC).getMax());
+        assertTrue(snapshot.toString().contains(Trajectory.GENERATION_METRIC));
+    }
+
+    @Test
+    public void resetClearsMetrics() {
+        RecordingMetricsSink sink = new RecordingMetricsSink();
+        sink.recordDuration("duration", 100);
+        sink.recordValue("value", 5);
+        sink.reset();
+
+        MetricsSnapshot snapshot = sink.snapshot();
+        assertEquals(0, snapshot.getDurations().get("duration").getCount());
+        assertEquals(0, snapshot.getValues().get("value").getCount());
+    }
+}
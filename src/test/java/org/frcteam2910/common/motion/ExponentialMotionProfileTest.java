@@ -0,0 +1,90 @@
+package org.frcteam2910.common.motion;
+
+import org.frcteam2910.common.util.DrivetrainFeedforwardConstants;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ExponentialMotionProfileTest {
+    private static final double DT = 1.0e-4;
+    private static final double ALLOWABLE_ERROR = 1.0e-6;
+
+    private static final DrivetrainFeedforwardConstants FEEDFORWARD_CONSTANTS =
+            new DrivetrainFeedforwardConstants(1.0, 0.2, 0.5);
+    private static final double MAX_VOLTAGE = 12.0;
+
+    private static void assertProfileIsValid(MotionProfile profile) {
+        MotionProfile.State firstState = profile.calculate(0.0);
+        assertEquals(profile.getStart().position, firstState.position, ALLOWABLE_ERROR);
+        assertEquals(profile.getStart().velocity, firstState.velocity, ALLOWABLE_ERROR);
+
+        MotionProfile.State lastState = profile.calculate(profile.getDuration());
+        assertEquals("Profile does not end at the end position", profile.getEnd().position, lastState.position,
+                ALLOWABLE_ERROR);
+        assertEquals("Profile does not end at the end velocity", profile.getEnd().velocity, lastState.velocity,
+                ALLOWABLE_ERROR);
+
+        MotionProfile.State previousState = firstState;
+        for (double time = DT; time <= profile.getDuration(); time += DT) {
+            MotionProfile.State state = profile.calculate(time);
+
+            double voltage = FEEDFORWARD_CONSTANTS.calculateFeedforward(state.velocity, state.acceleration);
+            assertTrue("Voltage exceeded max voltage", Math.abs(voltage) <= MAX_VOLTAGE + ALLOWABLE_ERROR);
+            // Decelerating from full speed can be up to twice as fast as accelerating from rest
+            assertTrue("Velocity jumped", Math.abs(state.velocity - previousState.velocity) <=
+                    2.0 * profile.getConstraints().maxAcceleration * DT + ALLOWABLE_ERROR);
+
+            previousState = state;
+        }
+    }
+
+    @Test
+    public void neverReachesMaxVelocity() {
+        assertProfileIsValid(new ExponentialMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(3.0, 0.0), FEEDFORWARD_CONSTANTS, MAX_VOLTAGE));
+    }
+
+    @Test
+    public void cruisesAtMaxVelocity() {
+        ExponentialMotionProfile profile = new ExponentialMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(10.0, 0.0), FEEDFORWARD_CONSTANTS, MAX_VOLTAGE, 8.0);
+
+        assertProfileIsValid(profile);
+        assertEquals(8.0, profile.calculate(profile.getDuration() / 2.0).velocity, ALLOWABLE_ERROR);
+
+        // The fastest trapezoid that stays within the max voltage has to use the acceleration available at 8 units
+        // per second for the whole move
+        double maxAcceleration = (MAX_VOLTAGE - FEEDFORWARD_CONSTANTS.getStaticConstant() -
+                FEEDFORWARD_CONSTANTS.getVelocityConstant() * 8.0) / FEEDFORWARD_CONSTANTS.getAccelerationConstant();
+        TrapezoidalMotionProfile trapezoidalProfile = new TrapezoidalMotionProfile(profile.getStart(), profile.getEnd(),
+                new MotionProfile.Constraints(8.0, maxAcceleration));
+        assertTrue("Exponential profile should be faster than a trapezoidal profile",
+                profile.getDuration() < trapezoidalProfile.getDuration());
+    }
+
+    @Test
+    public void nonZeroVelocitiesAndBackwards() {
+        assertProfileIsValid(new ExponentialMotionProfile(new MotionProfile.Goal(1.0, 2.0),
+                new MotionProfile.Goal(4.0, 1.0), FEEDFORWARD_CONSTANTS, MAX_VOLTAGE));
+        assertProfileIsValid(new ExponentialMotionProfile(new MotionProfile.Goal(1.0, 0.0),
+                new MotionProfile.Goal(-4.0, 0.0), FEEDFORWARD_CONSTANTS, MAX_VOLTAGE, 6.0));
+        // Moving too quickly to stop before the goal
+        assertProfileIsValid(new ExponentialMotionProfile(new MotionProfile.Goal(0.0, 6.0),
+                new MotionProfile.Goal(0.2, 0.0), FEEDFORWARD_CONSTANTS, MAX_VOLTAGE));
+    }
+
+    @Test
+    public void holdsPositionAfterOvershooting() {
+        // Reaching the end velocity from rest takes longer than the distance to the end
+        ExponentialMotionProfile profile = new ExponentialMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(0.01, 5.0), FEEDFORWARD_CONSTANTS, MAX_VOLTAGE);
+
+        MotionProfile.State lastState = profile.calculate(profile.getDuration() - 1.0e-9);
+        assertTrue("Profile did not overshoot", lastState.position > 0.01 + 0.1);
+        for (double time = profile.getDuration(); time < profile.getDuration() + 1.0; time += 0.1) {
+            MotionProfile.State state = profile.calculate(time);
+            assertEquals("Profile jumped to the end position", lastState.position, state.position, ALLOWABLE_ERROR);
+            assertEquals(5.0, state.velocity, ALLOWABLE_ERROR);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package org.frcteam2910.common.motion;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SCurveMotionProfileTest {
+    private static final double DT = 1.0e-4;
+    private static final double ALLOWABLE_ERROR = 1.0e-6;
+
+    private static final MotionProfile.Constraints CONSTRAINTS = new MotionProfile.Constraints(2.0, 4.0);
+    private static final double MAX_JERK = 20.0;
+
+    private static void assertProfileIsValid(SCurveMotionProfile profile) {
+        MotionProfile.Goal start = profile.getStart();
+        MotionProfile.Goal end = profile.getEnd();
+
+        MotionProfile.State firstState = profile.calculate(0.0);
+        assertEquals("Profile does not start at the start position", start.position, firstState.position, ALLOWABLE_ERROR);
+        assertEquals("Profile does not start at the start velocity", start.velocity, firstState.velocity, ALLOWABLE_ERROR);
+        assertEquals("Profile does not start at rest", 0.0, firstState.acceleration, ALLOWABLE_ERROR);
+
+        MotionProfile.State lastState = profile.calculate(profile.getDuration() - 1.0e-9);
+        assertEquals("Profile does not end at the end position", end.position, lastState.position, 1.0e-5);
+        assertEquals("Profile does not end at the end velocity", end.velocity, lastState.velocity, 1.0e-5);
+        assertEquals("Profile does not end at rest", 0.0, lastState.acceleration, 1.0e-5);
+
+        MotionProfile.State previousState = firstState;
+        for (double time = DT; time <= profile.getDuration(); time += DT) {
+            MotionProfile.State state = profile.calculate(time);
+
+            assertTrue("Velocity exceeded max velocity",
+                    Math.abs(state.velocity) <= CONSTRAINTS.maxVelocity + ALLOWABLE_ERROR);
+            assertTrue("Acceleration exceeded max acceleration",
+                    Math.abs(state.acceleration) <= CONSTRAINTS.maxAcceleration + ALLOWABLE_ERROR);
+
+            double jerk = (state.acceleration - previousState.acceleration) / DT;
+            assertTrue("Jerk exceeded max jerk", Math.abs(jerk) <= MAX_JERK + 1.0e-3);
+
+            double averageVelocity = (state.position - previousState.position) / DT;
+            assertEquals("Position is not continuous", (state.velocity + previousState.velocity) / 2.0,
+                    averageVelocity, 1.0e-3);
+
+            previousState = state;
+        }
+    }
+
+    @Test
+    public void reachesMaxVelocity() {
+        SCurveMotionProfile profile = new SCurveMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(5.0, 0.0), CONSTRAINTS, MAX_JERK);
+
+        assertProfileIsValid(profile);
+        assertEquals(CONSTRAINTS.maxVelocity, profile.calculate(profile.getDuration() / 2.0).velocity, ALLOWABLE_ERROR);
+    }
+
+    @Test
+    public void neverReachesMaxVelocity() {
+        SCurveMotionProfile profile = new SCurveMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(1.0, 0.0), CONSTRAINTS, MAX_JERK);
+
+        assertProfileIsValid(profile);
+        assertTrue(profile.calculate(profile.getDuration() / 2.0).velocity < CONSTRAINTS.maxVelocity);
+    }
+
+    @Test
+    public void neverReachesMaxAcceleration() {
+        SCurveMotionProfile profile = new SCurveMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(0.1, 0.0), CONSTRAINTS, MAX_JERK);
+
+        assertProfileIsValid(profile);
+        assertTrue(profile.calculate(profile.getDuration() / 4.0).acceleration < CONSTRAINTS.maxAcceleration);
+    }
+
+    @Test
+    public void nonZeroStartAndEndVelocities() {
+        assertProfileIsValid(new SCurveMotionProfile(new MotionProfile.Goal(0.0, 1.0),
+                new MotionProfile.Goal(3.0, 0.5), CONSTRAINTS, MAX_JERK));
+        assertProfileIsValid(new SCurveMotionProfile(new MotionProfile.Goal(0.0, 1.5),
+                new MotionProfile.Goal(0.6, 0.25), CONSTRAINTS, MAX_JERK));
+        assertProfileIsValid(new SCurveMotionProfile(new MotionProfile.Goal(0.0, 0.5),
+                new MotionProfile.Goal(0.4, 0.5), CONSTRAINTS, MAX_JERK));
+    }
+
+    @Test
+    public void reachesMaxAccelerationWithNonZeroVelocities() {
+        SCurveMotionProfile profile = new SCurveMotionProfile(new MotionProfile.Goal(0.0, 0.3),
+                new MotionProfile.Goal(0.9, 0.2), CONSTRAINTS, MAX_JERK);
+
+        assertProfileIsValid(profile);
+        assertEquals(CONSTRAINTS.maxAcceleration, profile.calculate(profile.getDuration() / 4.0).acceleration,
+                ALLOWABLE_ERROR);
+        assertTrue(profile.calculate(profile.getDuration() / 2.0).velocity < CONSTRAINTS.maxVelocity);
+    }
+
+    @Test
+    public void movesBackwards() {
+        assertProfileIsValid(new SCurveMotionProfile(new MotionProfile.Goal(2.0, 0.0),
+                new MotionProfile.Goal(-3.0, -0.5), CONSTRAINTS, MAX_JERK));
+    }
+
+    @Test
+    public void returnsToGoalInsideStoppingDistance() {
+        SCurveMotionProfile profile = new SCurveMotionProfile(new MotionProfile.Goal(0.0, 2.0),
+                new MotionProfile.Goal(0.1, 0.0), CONSTRAINTS, MAX_JERK);
+
+        assertProfileIsValid(profile);
+        assertTrue("Profile did not overshoot", profile.calculate(profile.getDuration() / 2.0).position > 0.1);
+    }
+
+    @Test
+    public void startsWithAcceleration() {
+        double[][] cases = {
+                // Start position, start velocity, start acceleration, end position, end velocity
+                {0.0, 0.0, 2.0, 3.0, 0.0},
+                {0.0, 1.0, -3.0, 3.0, 0.5},
+                {0.0, 1.5, 4.0, 0.5, 0.0},
+                {1.0, -1.0, 2.0, -2.0, 0.0},
+                {0.0, 1.8, 4.0, 5.0, 0.0}
+        };
+        for (double[] c : cases) {
+            SCurveMotionProfile profile = new SCurveMotionProfile(new MotionProfile.Goal(c[0], c[1]), c[2],
+                    new MotionProfile.Goal(c[3], c[4]), CONSTRAINTS, MAX_JERK);
+
+            MotionProfile.State firstState = profile.calculate(0.0);
+            assertEquals(c[0], firstState.position, ALLOWABLE_ERROR);
+            assertEquals(c[1], firstState.velocity, ALLOWABLE_ERROR);
+            assertEquals(c[2], firstState.acceleration, ALLOWABLE_ERROR);
+
+            MotionProfile.State previousState = firstState;
+            for (double time = DT; time < profile.getDuration(); time += DT) {
+                MotionProfile.State state = profile.calculate(time);
+                assertTrue("Jerk exceeded max jerk",
+                        Math.abs(state.acceleration - previousState.acceleration) <= MAX_JERK * DT + 1.0e-9);
+                assertEquals("Velocity is not continuous", (state.acceleration + previousState.acceleration) / 2.0,
+                        (state.velocity - previousState.velocity) / DT, 1.0e-3);
+                previousState = state;
+            }
+
+            MotionProfile.State lastState = profile.calculate(profile.getDuration() - 1.0e-9);
+            assertEquals("Profile does not end at the end position", c[3], lastState.position, 1.0e-5);
+            assertEquals("Profile does not end at the end velocity", c[4], lastState.velocity, 1.0e-5);
+        }
+    }
+
+    @Test
+    public void replanningToTheSameGoalContinuesTheProfile() {
+        SCurveMotionProfile profile = new SCurveMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(3.0, 0.5), CONSTRAINTS, MAX_JERK);
+
+        for (double replanTime = 0.05; replanTime < profile.getDuration(); replanTime += 0.05) {
+            SCurveMotionProfile replanned = profile.replan(profile.calculate(replanTime), profile.getEnd());
+
+            assertEquals(profile.getDuration() - replanTime, replanned.getDuration(), ALLOWABLE_ERROR);
+            for (double time = 0.0; time < replanned.getDuration(); time += 0.01) {
+                MotionProfile.State expected = profile.calculate(replanTime + time);
+                MotionProfile.State actual = replanned.calculate(time);
+
+                assertEquals(expected.position, actual.position, ALLOWABLE_ERROR);
+                assertEquals(expected.velocity, actual.velocity, ALLOWABLE_ERROR);
+                assertEquals(expected.acceleration, actual.acceleration, ALLOWABLE_ERROR);
+            }
+        }
+    }
+
+    @Test
+    public void holdsPositionAfterOvershooting() {
+        // Speeding up to the end velocity takes longer than the distance to the end
+        SCurveMotionProfile profile = new SCurveMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(0.1, 2.0), CONSTRAINTS, MAX_JERK);
+
+        MotionProfile.State lastState = profile.calculate(profile.getDuration() - 1.0e-9);
+        assertTrue("Profile did not overshoot", lastState.position > 0.1 + 0.1);
+        for (double time = profile.getDuration(); time < profile.getDuration() + 1.0; time += 0.1) {
+            MotionProfile.State state = profile.calculate(time);
+            assertEquals("Profile jumped to the end position", lastState.position, state.position, 1.0e-6);
+            assertEquals(2.0, state.velocity, ALLOWABLE_ERROR);
+        }
+    }
+
+    @Test
+    public void endIsContinuous() {
+        Random random = new Random(40);
+        for (int i = 0; i < 3000; i++) {
+            MotionProfile.Goal start = new MotionProfile.Goal(random.nextDouble() * 2.0 - 1.0,
+                    random.nextDouble() * 4.0 - 2.0);
+            MotionProfile.Goal end = new MotionProfile.Goal(random.nextDouble() * 2.0 - 1.0,
+                    random.nextDouble() * 4.0 - 2.0);
+            SCurveMotionProfile profile = new SCurveMotionProfile(start, end, CONSTRAINTS, MAX_JERK);
+
+            MotionProfile.State lastState = profile.calculate(profile.getDuration() - 1.0e-9);
+            MotionProfile.State endState = profile.calculate(profile.getDuration());
+            assertEquals("Position jumped at the end of the profile", lastState.position, endState.position, 1.0e-6);
+            assertEquals("Velocity jumped at the end of the profile", lastState.velocity, endState.velocity, 1.0e-5);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveJerk() {
+        new SCurveMotionProfile(new MotionProfile.Goal(0.0, 0.0), new MotionProfile.Goal(1.0, 0.0), CONSTRAINTS, 0.0);
+    }
+}
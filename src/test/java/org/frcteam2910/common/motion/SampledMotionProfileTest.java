@@ -0,0 +1,94 @@
+package org.frcteam2910.common.motion;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SampledMotionProfileTest {
+    private static final double DT = 5.0e-3;
+    private static final double ALLOWABLE_ERROR = 1.0e-9;
+
+    private static final MotionProfile.Constraints CONSTRAINTS = new MotionProfile.Constraints(2.0, 4.0);
+
+    @Test
+    public void matchesProfileAtSamples() {
+        MotionProfile profile = new SCurveMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(3.0, 0.0), CONSTRAINTS, 20.0);
+        SampledMotionProfile sampled = new SampledMotionProfile(profile, DT);
+
+        assertEquals(profile.getDuration(), sampled.getDuration(), ALLOWABLE_ERROR);
+        for (int i = 0; i * DT < profile.getDuration(); i++) {
+            MotionProfile.State expected = profile.calculate(i * DT);
+            MotionProfile.State actual = sampled.calculate(i * DT);
+
+            assertEquals(expected.position, actual.position, ALLOWABLE_ERROR);
+            assertEquals(expected.velocity, actual.velocity, ALLOWABLE_ERROR);
+            assertEquals(expected.acceleration, actual.acceleration, ALLOWABLE_ERROR);
+        }
+    }
+
+    @Test
+    public void interpolatesBetweenSamples() {
+        MotionProfile profile = new TrapezoidalMotionProfile(new MotionProfile.Goal(1.0, 0.5),
+                new MotionProfile.Goal(-2.0, 0.0), CONSTRAINTS);
+        SampledMotionProfile sampled = new SampledMotionProfile(profile, DT);
+
+        for (double time = 0.0; time < profile.getDuration(); time += DT / 3.0) {
+            MotionProfile.State expected = profile.calculate(time);
+            MotionProfile.State actual = sampled.calculate(time);
+
+            assertEquals(expected.position, actual.position, CONSTRAINTS.maxAcceleration * DT * DT);
+            assertEquals(expected.velocity, actual.velocity, CONSTRAINTS.maxAcceleration * DT);
+        }
+    }
+
+    @Test
+    public void holdsEndStateAfterDuration() {
+        MotionProfile profile = new TrapezoidalMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(1.0, 0.0), CONSTRAINTS);
+        SampledMotionProfile sampled = new SampledMotionProfile(profile, DT);
+
+        MotionProfile.State state = sampled.calculate(profile.getDuration() + 1.0);
+        assertEquals(1.0, state.position, ALLOWABLE_ERROR);
+        assertEquals(0.0, state.velocity, ALLOWABLE_ERROR);
+        assertEquals(0.0, state.acceleration, ALLOWABLE_ERROR);
+
+        double[] out = new double[MotionProfile.STATE_SIZE];
+        sampled.calculate(-1.0, out, 0);
+        assertEquals(0.0, out[0], ALLOWABLE_ERROR);
+        assertEquals(0.0, out[1], ALLOWABLE_ERROR);
+    }
+
+    @Test
+    public void holdsOvershootAfterDuration() {
+        MotionProfile profile = new SCurveMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(0.1, 2.0), CONSTRAINTS, 20.0);
+        SampledMotionProfile sampled = new SampledMotionProfile(profile, DT);
+
+        double position = profile.calculate(profile.getDuration()).position;
+        assertTrue("Profile did not overshoot", position > 0.1 + 0.1);
+        assertEquals(position, sampled.calculate(profile.getDuration() + 1.0).position, ALLOWABLE_ERROR);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsSamplesThatDoNotCoverDuration() {
+        new SampledMotionProfile(new MotionProfile.Goal(0.0, 0.0), new MotionProfile.Goal(1.0, 0.0), CONSTRAINTS,
+                DT, 1.0, new double[2], new double[2], new double[2]);
+    }
+
+    @Test
+    public void copiesSamples() {
+        double[] positions = {0.0, 0.5, 1.0};
+        double[] velocities = {1.0, 1.0, 1.0};
+        double[] accelerations = {0.0, 0.0, 0.0};
+        SampledMotionProfile sampled = new SampledMotionProfile(new MotionProfile.Goal(0.0, 1.0),
+                new MotionProfile.Goal(1.0, 1.0), CONSTRAINTS, 0.5, 1.0, positions, velocities, accelerations);
+
+        positions[1] = 100.0;
+        velocities[1] = 100.0;
+        accelerations[1] = 100.0;
+        assertEquals(0.5, sampled.getPosition(1), ALLOWABLE_ERROR);
+        assertEquals(1.0, sampled.getVelocity(1), ALLOWABLE_ERROR);
+        assertEquals(0.0, sampled.getAcceleration(1), ALLOWABLE_ERROR);
+    }
+}
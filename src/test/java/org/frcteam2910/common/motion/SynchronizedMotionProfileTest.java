@@ -0,0 +1,176 @@
+package org.frcteam2910.common.motion;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SynchronizedMotionProfileTest {
+    private static final double DT = 5.0e-3;
+    private static final double ALLOWABLE_ERROR = 1.0e-6;
+
+    private static SynchronizedMotionProfile assertAxesFinishTogether(MotionProfile.Goal[] starts,
+                                                                      MotionProfile.Goal[] ends,
+                                                                      MotionProfile.Constraints[] constraints) {
+        SynchronizedMotionProfile profile = new SynchronizedMotionProfile(starts, ends, constraints);
+
+        double slowestDuration = 0.0;
+        for (int i = 0; i < starts.length; i++) {
+            slowestDuration = Math.max(slowestDuration,
+                    new TrapezoidalMotionProfile(starts[i], ends[i], constraints[i]).getDuration());
+        }
+        assertEquals(slowestDuration, profile.getDuration(), ALLOWABLE_ERROR);
+
+        for (int i = 0; i < profile.getAxisCount(); i++) {
+            assertEquals("Axis " + i + " does not finish with the others", profile.getDuration(),
+                    profile.getStartTime(i) + profile.getProfile(i).getDuration(), ALLOWABLE_ERROR);
+        }
+
+        double[] states = new double[profile.getAxisCount() * MotionProfile.STATE_SIZE];
+        double[] previousStates = new double[states.length];
+        profile.calculate(0.0, previousStates);
+        for (int i = 0; i < profile.getAxisCount(); i++) {
+            assertEquals(starts[i].position, previousStates[i * MotionProfile.STATE_SIZE], ALLOWABLE_ERROR);
+            assertEquals(starts[i].velocity, previousStates[i * MotionProfile.STATE_SIZE + 1], ALLOWABLE_ERROR);
+        }
+
+        for (double time = DT; time <= profile.getDuration(); time += DT) {
+            profile.calculate(time, states);
+            for (int i = 0; i < profile.getAxisCount(); i++) {
+                double position = states[i * MotionProfile.STATE_SIZE];
+                double velocity = states[i * MotionProfile.STATE_SIZE + 1];
+                double acceleration = states[i * MotionProfile.STATE_SIZE + 2];
+                if (time >= profile.getStartTime(i)) {
+                    MotionProfile.State state = profile.getProfile(i).calculate(time - profile.getStartTime(i));
+                    assertEquals(state.position, position, ALLOWABLE_ERROR);
+                    assertEquals(state.velocity, velocity, ALLOWABLE_ERROR);
+                    assertEquals(state.acceleration, acceleration, ALLOWABLE_ERROR);
+                }
+
+                assertTrue("Axis " + i + " exceeded its max velocity",
+                        Math.abs(velocity) <= constraints[i].maxVelocity + ALLOWABLE_ERROR);
+                assertTrue("Axis " + i + " exceeded its max acceleration",
+                        Math.abs(acceleration) <= constraints[i].maxAcceleration + ALLOWABLE_ERROR);
+
+                double maxVelocityChange = constraints[i].maxAcceleration * DT;
+                assertEquals("Axis " + i + " velocity is not continuous",
+                        previousStates[i * MotionProfile.STATE_SIZE + 1], velocity, maxVelocityChange + ALLOWABLE_ERROR);
+                assertEquals("Axis " + i + " position is not continuous",
+                        previousStates[i * MotionProfile.STATE_SIZE] + velocity * DT, position,
+                        maxVelocityChange * DT + ALLOWABLE_ERROR);
+            }
+
+            double[] swap = previousStates;
+            previousStates = states;
+            states = swap;
+        }
+
+        profile.calculate(profile.getDuration(), states);
+        for (int i = 0; i < profile.getAxisCount(); i++) {
+            assertEquals("Axis " + i + " does not end at its end position", ends[i].position,
+                    states[i * MotionProfile.STATE_SIZE], ALLOWABLE_ERROR);
+            assertEquals("Axis " + i + " does not end at its end velocity", ends[i].velocity,
+                    states[i * MotionProfile.STATE_SIZE + 1], ALLOWABLE_ERROR);
+        }
+
+        return profile;
+    }
+
+    @Test
+    public void axesFinishTogether() {
+        SynchronizedMotionProfile profile = assertAxesFinishTogether(new MotionProfile.Goal[]{
+                new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(1.0, 0.0),
+                new MotionProfile.Goal(0.0, 0.5)
+        }, new MotionProfile.Goal[]{
+                new MotionProfile.Goal(5.0, 0.0),
+                new MotionProfile.Goal(-0.5, 0.0),
+                new MotionProfile.Goal(2.0, 0.0)
+        }, new MotionProfile.Constraints[]{
+                new MotionProfile.Constraints(2.0, 4.0),
+                new MotionProfile.Constraints(1.0, 2.0),
+                new MotionProfile.Constraints(3.0, 1.0)
+        });
+
+        for (int i = 0; i < profile.getAxisCount(); i++) {
+            assertEquals(0.0, profile.getStartTime(i), 0.0);
+        }
+    }
+
+    @Test
+    public void axisWithEndVelocityWaitsToFinishTogether() {
+        // The second axis reaches its end velocity in 0.86 seconds even when it cruises as slowly as it can
+        SynchronizedMotionProfile profile = assertAxesFinishTogether(new MotionProfile.Goal[]{
+                new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(0.0, 0.0)
+        }, new MotionProfile.Goal[]{
+                new MotionProfile.Goal(5.0, 0.0),
+                new MotionProfile.Goal(1.0, 1.5)
+        }, new MotionProfile.Constraints[]{
+                new MotionProfile.Constraints(2.0, 4.0),
+                new MotionProfile.Constraints(2.0, 4.0)
+        });
+
+        assertTrue("Axis did not wait", profile.getStartTime(1) > 2.0);
+    }
+
+    @Test
+    public void axisThatStaysStillHoldsItsPosition() {
+        SynchronizedMotionProfile profile = assertAxesFinishTogether(new MotionProfile.Goal[]{
+                new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(1.0, 0.0)
+        }, new MotionProfile.Goal[]{
+                new MotionProfile.Goal(5.0, 0.0),
+                new MotionProfile.Goal(1.0, 0.0)
+        }, new MotionProfile.Constraints[]{
+                new MotionProfile.Constraints(2.0, 4.0),
+                new MotionProfile.Constraints(2.0, 4.0)
+        });
+
+        assertTrue(Double.isFinite(profile.getDuration()));
+        double[] states = new double[profile.getAxisCount() * MotionProfile.STATE_SIZE];
+        for (double time = 0.0; time < profile.getDuration(); time += DT) {
+            profile.calculate(time, states);
+            assertEquals(1.0, states[MotionProfile.STATE_SIZE], 0.0);
+            assertEquals(0.0, states[MotionProfile.STATE_SIZE + 1], 0.0);
+            assertEquals(0.0, states[MotionProfile.STATE_SIZE + 2], 0.0);
+        }
+    }
+
+    @Test
+    public void axisMovingPastItsEndTurnsAround() {
+        // The second axis can't stop before it passes its end, so it has to come back like a trapezoidal profile
+        SynchronizedMotionProfile profile = assertAxesFinishTogether(new MotionProfile.Goal[]{
+                new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(0.0, 2.0)
+        }, new MotionProfile.Goal[]{
+                new MotionProfile.Goal(5.0, 0.0),
+                new MotionProfile.Goal(0.2, 0.0)
+        }, new MotionProfile.Constraints[]{
+                new MotionProfile.Constraints(2.0, 4.0),
+                new MotionProfile.Constraints(2.0, 4.0)
+        });
+
+        assertEquals(0.0, profile.getStartTime(1), 0.0);
+        assertTrue("Axis cruised at its max velocity", profile.getProfile(1).getConstraints().maxVelocity < 2.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMovingAxisThatCanNotBeSlowedDown() {
+        new SynchronizedMotionProfile(new MotionProfile.Goal[]{
+                new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(0.0, 2.0)
+        }, new MotionProfile.Goal[]{
+                new MotionProfile.Goal(5.0, 0.0),
+                new MotionProfile.Goal(0.5, 2.0)
+        }, new MotionProfile.Constraints[]{
+                new MotionProfile.Constraints(2.0, 4.0),
+                new MotionProfile.Constraints(2.0, 4.0)
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMismatchedAxes() {
+        new SynchronizedMotionProfile(new MotionProfile.Goal[1], new MotionProfile.Goal[2],
+                new MotionProfile.Constraints[1]);
+    }
+}
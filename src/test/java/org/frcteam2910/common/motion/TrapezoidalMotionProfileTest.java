@@ -0,0 +1,53 @@
+package org.frcteam2910.common.motion;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TrapezoidalMotionProfileTest {
+    private static final double DT = 5.0e-3;
+    private static final double ALLOWABLE_ERROR = 1.0e-6;
+
+    private static final MotionProfile.Constraints CONSTRAINTS = new MotionProfile.Constraints(2.0, 4.0);
+
+    private static void assertReplanIsContinuous(MotionProfile.State current, MotionProfile.Goal goal) {
+        TrapezoidalMotionProfile profile = new TrapezoidalMotionProfile(new MotionProfile.Goal(0.0, 0.0),
+                new MotionProfile.Goal(1.0, 0.0), CONSTRAINTS).replan(current, goal);
+        assertEquals(current.position, profile.getStart().position, 0.0);
+        assertEquals(current.velocity, profile.getStart().velocity, 0.0);
+
+        MotionProfile.State firstState = profile.calculate(0.0);
+        assertEquals("Replanned profile does not start at the current position", current.position,
+                firstState.position, ALLOWABLE_ERROR);
+        assertEquals("Replanned profile does not start at the current velocity", current.velocity,
+                firstState.velocity, ALLOWABLE_ERROR);
+
+        MotionProfile.State previousState = firstState;
+        for (double time = DT; time <= profile.getDuration(); time += DT) {
+            MotionProfile.State state = profile.calculate(time);
+            assertTrue("Velocity jumped",
+                    Math.abs(state.velocity - previousState.velocity) <= CONSTRAINTS.maxAcceleration * DT + ALLOWABLE_ERROR);
+            assertTrue("Velocity exceeded max velocity",
+                    Math.abs(state.velocity) <= CONSTRAINTS.maxVelocity + ALLOWABLE_ERROR);
+            previousState = state;
+        }
+
+        MotionProfile.State lastState = profile.calculate(profile.getDuration());
+        assertEquals("Replanned profile does not end at the goal", goal.position, lastState.position, ALLOWABLE_ERROR);
+        assertEquals(goal.velocity, lastState.velocity, ALLOWABLE_ERROR);
+    }
+
+    @Test
+    public void replanContinuesFromCurrentState() {
+        assertReplanIsContinuous(new MotionProfile.State(0.3, 0.2, 1.2, 4.0), new MotionProfile.Goal(3.0, 0.0));
+        assertReplanIsContinuous(new MotionProfile.State(0.3, 0.2, 1.2, 4.0), new MotionProfile.Goal(-3.0, 0.0));
+        assertReplanIsContinuous(new MotionProfile.State(0.3, 0.2, -1.2, 4.0), new MotionProfile.Goal(3.0, 0.0));
+    }
+
+    @Test
+    public void replanOvershootsGoalsWithinStoppingDistance() {
+        // Stopping from 2 units per second takes 0.5 units
+        assertReplanIsContinuous(new MotionProfile.State(0.0, 0.0, 2.0, 0.0), new MotionProfile.Goal(0.1, 0.0));
+        assertReplanIsContinuous(new MotionProfile.State(0.0, 0.0, -2.0, 0.0), new MotionProfile.Goal(-0.1, 0.0));
+    }
+}
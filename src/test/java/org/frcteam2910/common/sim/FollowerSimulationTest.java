@@ -0,0 +1,136 @@
+package org.frcteam2910.common.sim;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.control.*;
+import org.frcteam2910.common.util.DrivetrainFeedforwardConstants;
+import org.frcteam2910.common.util.HolonomicDriveSignal;
+import org.frcteam2910.common.util.HolonomicFeedforward;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class FollowerSimulationTest {
+    private static final DrivetrainFeedforwardConstants TRANSLATION_CONSTANTS =
+            new DrivetrainFeedforwardConstants(2.0, 0.2, 0.3);
+    private static final DrivetrainFeedforwardConstants ROTATION_CONSTANTS =
+            new DrivetrainFeedforwardConstants(1.0, 0.1, 0.2);
+
+    @Test
+    public void constantVoltageReachesSteadyStateVelocity() {
+        HolonomicDrivetrainSimulator simulator = new HolonomicDrivetrainSimulator(TRANSLATION_CONSTANTS,
+                ROTATION_CONSTANTS);
+        HolonomicDriveSignal signal = new HolonomicDriveSignal(new Translation2d(6.3, 0.0), 0.0, true);
+        for (int i = 0; i < 1000; i++) {
+            simulator.update(signal, 0.005);
+        }
+
+        // (V - kS) / kV
+        assertEquals(3.0, simulator.getVelocity().getX(), 1.0e-6);
+        assertEquals(0.0, simulator.getVelocity().getY(), 0.0);
+    }
+
+    @Test
+    public void forwardAndStrafeAxesTurnWithRobot() {
+        DrivetrainFeedforwardConstants strafeConstants = new DrivetrainFeedforwardConstants(4.0, 0.2, 0.3);
+        HolonomicDrivetrainSimulator simulator = new HolonomicDrivetrainSimulator(TRANSLATION_CONSTANTS,
+                strafeConstants, ROTATION_CONSTANTS);
+        simulator.reset(new Pose2d(0.0, 0.0, Rotation2d.fromDegrees(90.0)));
+
+        // Driving along the field's y axis drives the robot forward when it faces 90 degrees
+        HolonomicDriveSignal signal = new HolonomicDriveSignal(new Translation2d(0.0, 6.3), 0.0, true);
+        for (int i = 0; i < 1000; i++) {
+            simulator.update(signal, 0.005);
+        }
+
+        // (V - kS) / kV using the forward constants
+        assertEquals(0.0, simulator.getVelocity().getX(), 1.0e-6);
+        assertEquals(3.0, simulator.getVelocity().getY(), 1.0e-6);
+    }
+
+    @Test
+    public void staticFrictionHoldsDrivetrainStill() {
+        HolonomicDrivetrainSimulator simulator = new HolonomicDrivetrainSimulator(TRANSLATION_CONSTANTS,
+                ROTATION_CONSTANTS);
+        HolonomicDriveSignal signal = new HolonomicDriveSignal(new Translation2d(0.25, 0.0), 0.1, true);
+        for (int i = 0; i < 100; i++) {
+            simulator.update(signal, 0.02);
+        }
+
+        assertEquals(0.0, simulator.getPose().getTranslation().getX(), 0.0);
+        assertEquals(0.0, simulator.getPose().getRotation().getRadians(), 0.0);
+    }
+
+    @Test
+    public void latencyDelaysSignals() {
+        HolonomicDrivetrainSimulator simulator = new HolonomicDrivetrainSimulator(TRANSLATION_CONSTANTS,
+                ROTATION_CONSTANTS);
+        simulator.setLatencySteps(3);
+
+        HolonomicDriveSignal signal = new HolonomicDriveSignal(new Translation2d(6.0, 0.0), 0.0, true);
+        for (int i = 0; i < 3; i++) {
+            simulator.update(signal, 0.02);
+            assertEquals(0.0, simulator.getVelocity().getX(), 0.0);
+        }
+        simulator.update(signal, 0.02);
+        assertTrue(simulator.getVelocity().getX() > 0.0);
+    }
+
+    @Test
+    public void followerTracksTrajectory() {
+        Path path = new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d())
+                .hermite(new Translation2d(3.0, 2.0), Rotation2d.fromDegrees(90.0), Rotation2d.fromDegrees(45.0))
+                .build();
+        Trajectory trajectory = new Trajectory(path, new TrajectoryConstraint[]{
+                new MaxVelocityConstraint(2.0),
+                new MaxAccelerationConstraint(3.0)
+        }, 1.0e-2);
+
+        HolonomicMotionProfiledTrajectoryFollower follower = new HolonomicMotionProfiledTrajectoryFollower(
+                new PidConstants(20.0, 0.0, 0.0),
+                new PidConstants(10.0, 0.0, 0.0),
+                new HolonomicFeedforward(TRANSLATION_CONSTANTS)
+        );
+        HolonomicDrivetrainSimulator simulator = new HolonomicDrivetrainSimulator(TRANSLATION_CONSTANTS,
+                ROTATION_CONSTANTS);
+        simulator.setMeasurementNoise(new Random(2910), 1.0e-3, 1.0e-3, 1.0e-3);
+
+        long startTime = System.nanoTime();
+        FollowerSimulation.Result result = new FollowerSimulation(follower, simulator, 0.005)
+                .run(trajectory, 2.0 * trajectory.getDuration());
+        double elapsedTime = (System.nanoTime() - startTime) / 1.0e9;
+
+        assertTrue("Follower did not finish", result.isCompleted());
+        assertEquals(trajectory.getDuration(), result.getCompletionTime(), 0.05);
+        assertTrue("Final position error is too large", result.getFinalPositionError() < 0.05);
+        assertTrue("Final rotation error is too large", result.getFinalRotationError() < 0.1);
+        assertTrue("Tracking error is too large", result.getMaxTrackingError() < 0.15);
+        assertTrue("Simulation is slower than real time", elapsedTime < trajectory.getDuration());
+    }
+
+    @Test
+    public void timeoutCancelsFollower() {
+        Path path = new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d())
+                .hermite(new Translation2d(3.0, 0.0), new Rotation2d())
+                .build();
+        Trajectory trajectory = new Trajectory(path, new TrajectoryConstraint[]{
+                new MaxVelocityConstraint(2.0),
+                new MaxAccelerationConstraint(3.0)
+        }, 1.0e-2);
+        HolonomicMotionProfiledTrajectoryFollower follower = new HolonomicMotionProfiledTrajectoryFollower(
+                new PidConstants(1.0, 0.0, 0.0),
+                new PidConstants(1.0, 0.0, 0.0),
+                new HolonomicFeedforward(TRANSLATION_CONSTANTS)
+        );
+
+        FollowerSimulation.Result result = new FollowerSimulation(follower,
+                new HolonomicDrivetrainSimulator(TRANSLATION_CONSTANTS, ROTATION_CONSTANTS), 0.02)
+                .run(trajectory, new Pose2d(), 0.5);
+
+        assertFalse(result.isCompleted());
+        assertFalse(follower.getCurrentTrajectory().isPresent());
+    }
+}
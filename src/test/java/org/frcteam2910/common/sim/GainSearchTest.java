@@ -0,0 +1,81 @@
+package org.frcteam2910.common.sim;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.control.*;
+import org.frcteam2910.common.util.DrivetrainFeedforwardConstants;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GainSearchTest {
+    private static final DrivetrainFeedforwardConstants TRANSLATION_CONSTANTS =
+            new DrivetrainFeedforwardConstants(2.0, 0.2, 0.3);
+    private static final DrivetrainFeedforwardConstants ROTATION_CONSTANTS =
+            new DrivetrainFeedforwardConstants(1.0, 0.1, 0.2);
+
+    private static GainSearch createSearch() {
+        Path path = new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d())
+                .hermite(new Translation2d(2.0, 1.0), Rotation2d.fromDegrees(45.0))
+                .build();
+        Trajectory trajectory = new Trajectory(path, new TrajectoryConstraint[]{
+                new MaxVelocityConstraint(2.0),
+                new MaxAccelerationConstraint(3.0)
+        }, 1.0e-2);
+
+        GainSearch search = new GainSearch(Collections.singletonList(trajectory), TRANSLATION_CONSTANTS,
+                ROTATION_CONSTANTS, 0.01);
+        search.setRange(GainSearch.Gain.TRANSLATION_P, 0.0, 30.0);
+        search.setRange(GainSearch.Gain.ROTATION_P, 10.0, 10.0);
+        search.setRange(GainSearch.Gain.FEEDFORWARD_VELOCITY, 1.0, 3.0);
+        search.setRange(GainSearch.Gain.FEEDFORWARD_ACCELERATION, 0.2, 0.2);
+        search.setRange(GainSearch.Gain.FEEDFORWARD_STATIC, 0.3, 0.3);
+        return search;
+    }
+
+    @Test
+    public void gridSearchReturnsParetoFront() {
+        GainSearch.Result result = createSearch().gridSearch(5);
+        assertEquals(25, result.getEvaluatedCount());
+
+        List<GainSearch.Candidate> front = result.getParetoFront();
+        assertFalse(front.isEmpty());
+        for (int i = 1; i < front.size(); i++) {
+            assertTrue(front.get(i).getTrackingError() > front.get(i - 1).getTrackingError());
+            assertTrue(front.get(i).getControlEffort() < front.get(i - 1).getControlEffort());
+        }
+
+        // The most accurate candidate should use the true velocity constant and the highest P
+        GainSearch.Candidate best = front.get(0);
+        assertEquals(2.0, best.getGain(GainSearch.Gain.FEEDFORWARD_VELOCITY), 1.0e-9);
+        assertEquals(30.0, best.getTranslationConstants().p, 1.0e-9);
+    }
+
+    @Test
+    public void badCandidatesAreRejected() {
+        GainSearch search = createSearch();
+        search.setMaxTrackingError(0.05);
+
+        GainSearch.Result result = search.gridSearch(5);
+        assertTrue(result.getRejectedCount() > 0);
+        for (GainSearch.Candidate candidate : result.getParetoFront()) {
+            assertFalse(candidate.isRejected());
+        }
+    }
+
+    @Test
+    public void evolutionSearchImprovesOnRandomSearch() {
+        GainSearch search = createSearch();
+        search.setEffortWeight(0.0);
+
+        GainSearch.Result random = search.randomSearch(12, 2910);
+        GainSearch.Result evolution = search.evolutionSearch(6, 12, 2910);
+
+        assertEquals(72, evolution.getEvaluatedCount());
+        assertTrue(evolution.getParetoFront().get(0).getTrackingError() <=
+                random.getParetoFront().get(0).getTrackingError());
+    }
+}
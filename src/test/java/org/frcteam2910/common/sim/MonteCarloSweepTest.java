@@ -0,0 +1,79 @@
+package org.frcteam2910.common.sim;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import org.frcteam2910.common.control.*;
+import org.frcteam2910.common.util.DrivetrainFeedforwardConstants;
+import org.frcteam2910.common.util.HolonomicFeedforward;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class MonteCarloSweepTest {
+    private static final DrivetrainFeedforwardConstants TRANSLATION_CONSTANTS =
+            new DrivetrainFeedforwardConstants(2.0, 0.2, 0.3);
+    private static final DrivetrainFeedforwardConstants ROTATION_CONSTANTS =
+            new DrivetrainFeedforwardConstants(1.0, 0.1, 0.2);
+
+    private static MonteCarloSweep createSweep() {
+        Path path = new SplinePathBuilder(new Translation2d(), new Rotation2d(), new Rotation2d())
+                .hermite(new Translation2d(2.0, 1.0), Rotation2d.fromDegrees(45.0))
+                .build();
+        Trajectory trajectory = new Trajectory(path, new TrajectoryConstraint[]{
+                new MaxVelocityConstraint(2.0),
+                new MaxAccelerationConstraint(3.0)
+        }, 1.0e-2);
+
+        return new MonteCarloSweep(trajectory, () -> new HolonomicMotionProfiledTrajectoryFollower(
+                new PidConstants(20.0, 0.0, 0.0),
+                new PidConstants(10.0, 0.0, 0.0),
+                new HolonomicFeedforward(TRANSLATION_CONSTANTS)
+        ), TRANSLATION_CONSTANTS, ROTATION_CONSTANTS, 0.01);
+    }
+
+    @Test
+    public void resultsDoNotDependOnParallelism() {
+        MonteCarloSweep sweep = createSweep();
+        sweep.setConstantVariation(0.1);
+        sweep.setMeasurementNoise(1.0e-3, 1.0e-3, 1.0e-2);
+        sweep.setLatencySteps(2);
+
+        MonteCarloSweep.Results serial = sweep.run(64, 2910, new ForkJoinPool(1));
+        MonteCarloSweep.Results parallel = sweep.run(64, 2910, new ForkJoinPool(4));
+
+        for (int i = 0; i < serial.getRunCount(); i++) {
+            assertEquals(serial.getRun(i).getFinalPositionError(), parallel.getRun(i).getFinalPositionError(), 0.0);
+            assertEquals(serial.getRun(i).getMaxTrackingError(), parallel.getRun(i).getMaxTrackingError(), 0.0);
+        }
+    }
+
+    @Test
+    public void variationSpreadsResults() {
+        MonteCarloSweep sweep = createSweep();
+        MonteCarloSweep.Results nominal = sweep.run(16, 1);
+        assertEquals(16, nominal.getCompletedRunCount());
+        assertEquals(0.0, nominal.getMaxTrackingError().getStandardDeviation(), 1.0e-12);
+
+        sweep.setConstantVariation(0.2);
+        MonteCarloSweep.Results varied = sweep.run(128, 1);
+        assertEquals(128, varied.getCompletedRunCount());
+        assertTrue(varied.getMaxTrackingError().getStandardDeviation() > 0.0);
+        assertTrue(varied.getMaxTrackingError().getMax() > nominal.getMaxTrackingError().getMax());
+    }
+
+    @Test
+    public void distributionStatistics() {
+        Distribution distribution = new Distribution(new double[]{5.0, 1.0, 3.0, 2.0, 4.0});
+
+        assertEquals(5, distribution.getSampleCount());
+        assertEquals(3.0, distribution.getMean(), 1.0e-12);
+        assertEquals(Math.sqrt(2.0), distribution.getStandardDeviation(), 1.0e-12);
+        assertEquals(1.0, distribution.getMin(), 0.0);
+        assertEquals(5.0, distribution.getMax(), 0.0);
+        assertEquals(3.0, distribution.getPercentile(50.0), 0.0);
+        assertEquals(5.0, distribution.getPercentile(100.0), 0.0);
+        assertTrue(Double.isNaN(new Distribution(new double[0]).getMean()));
+    }
+}
@@ -0,0 +1,140 @@
+package org.frcteam2910.common.util;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import org.junit.Assume;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures how much memory code allocates on the calling thread using HotSpot's per-thread allocation counters.
+ * <p>
+ * The code being measured is warmed up first so the JIT has a chance to compile it and remove allocations through
+ * escape analysis. The result is the average number of bytes allocated per call after warming up.
+ */
+public final class AllocationMeter {
+    private static final int DEFAULT_WARMUP_CALLS = 50_000;
+    private static final int DEFAULT_MEASURED_CALLS = 10_000;
+
+    /**
+     * How many bytes per call a measurement can be over its baseline. Allocations made once during a measurement,
+     * like those of code that only runs every so often, show up as a fraction of a byte per call.
+     */
+    private static final double BASELINE_TOLERANCE_BYTES = 1.0;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+    private AllocationMeter() {
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!bean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        bean.setThreadAllocatedMemoryEnabled(true);
+
+        return bean;
+    }
+
+    public static boolean isSupported() {
+        return THREAD_MX_BEAN != null;
+    }
+
+    /**
+     * Checks if escape analysis is disabled, in which case every object the code creates is allocated no matter how
+     * the JIT compiles it.
+     */
+    public static boolean isEscapeAnalysisDisabled() {
+        try {
+            HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return bean != null && "false".equals(bean.getVMOption("DoEscapeAnalysis").getValue());
+        } catch (IllegalArgumentException e) {
+            // The JVM does not have the option
+            return false;
+        }
+    }
+
+    /**
+     * Measures the average number of bytes allocated by each call.
+     *
+     * @param warmupCalls   how many times to call the code before measuring
+     * @param measuredCalls how many calls to average over
+     * @param call          the code to measure
+     * @return the average number of bytes allocated per call
+     */
+    public static double measure(int warmupCalls, int measuredCalls, Runnable call) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Thread allocation measurement is not supported by this JVM");
+        }
+
+        for (int i = 0; i < warmupCalls; i++) {
+            call.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+
+        // Measuring allocates a little by itself so measure the overhead and subtract it
+        long overheadStart = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        long overheadEnd = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        long overhead = overheadEnd - overheadStart;
+
+        long start = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < measuredCalls; i++) {
+            call.run();
+        }
+        long end = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+
+        return Math.max(0.0, (double) (end - start - overhead) / measuredCalls);
+    }
+
+    /**
+     * Asserts that each call allocates at most a certain number of bytes on average once warmed up.
+     * <p>
+     * The assertion is skipped on JVMs that do not support measuring allocations.
+     *
+     * @param name        the name of the code being measured, used in the failure message
+     * @param budgetBytes the maximum number of bytes each call may allocate
+     * @param call        the code to measure
+     */
+    public static void assertAllocatesAtMost(String name, double budgetBytes, Runnable call) {
+        Assume.assumeTrue("Thread allocation measurement is not supported by this JVM", isSupported());
+
+        double allocated = measure(DEFAULT_WARMUP_CALLS, DEFAULT_MEASURED_CALLS, call);
+        assertTrue(String.format("%s allocated %.1f bytes per call which is over its budget of %.1f bytes",
+                name, allocated, budgetBytes), allocated <= budgetBytes);
+    }
+
+    /**
+     * Asserts that each call allocates at most as much as a baseline call on average once both are warmed up.
+     * <p>
+     * The baseline usually allocates just the objects the code has to return. Measuring it in the same run keeps the
+     * budget independent of how large objects are on the JVM running the test. Escape analysis removes a different
+     * set of allocations depending on how the code happens to be compiled, so the assertion is skipped unless it is
+     * disabled, as it is for the Gradle build. It is also skipped on JVMs that do not support measuring allocations.
+     *
+     * @param name     the name of the code being measured, used in the failure message
+     * @param baseline the code that allocates what each call is allowed to
+     * @param call     the code to measure
+     */
+    public static void assertAllocatesAtMostBaseline(String name, Runnable baseline, Runnable call) {
+        Assume.assumeTrue("Thread allocation measurement is not supported by this JVM", isSupported());
+        Assume.assumeTrue("Allocations are only compared with escape analysis disabled", isEscapeAnalysisDisabled());
+
+        // Both are warmed up before either is measured so they are measured with the same code compiled
+        for (int i = 0; i < DEFAULT_WARMUP_CALLS; i++) {
+            baseline.run();
+            call.run();
+        }
+
+        double budget = measure(0, DEFAULT_MEASURED_CALLS, baseline);
+        double allocated = measure(0, DEFAULT_MEASURED_CALLS, call);
+        assertTrue(String.format("%s allocated %.1f bytes per call which is over its baseline of %.1f bytes",
+                name, allocated, budget), allocated <= budget + BASELINE_TOLERANCE_BYTES);
+    }
+}